@@ -0,0 +1,182 @@
+package com.metrics.demo.benchmarks;
+
+import com.metrics.demo.dto.request.DatasetGenerationRequest;
+import com.metrics.demo.dto.response.DatasetGenerationResponse;
+import com.metrics.demo.enums.SyncJobStatus;
+import com.metrics.demo.service.DatasetGeneratorService;
+import com.metrics.demo.service.RetentionService;
+import com.metrics.demo.service.RollingWindowService;
+import com.metrics.demo.service.impl.DatasetGeneratorServiceImpl;
+import com.metrics.demo.service.impl.MetricsCalculationServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * An H2 database with the application's schema and repositories, loaded with
+ * a generated dataset, for benchmarks that include the database.
+ *
+ * Only the persistence layer and the services under test are started: no
+ * web server, schedulers or vendor clients. The data is written by the
+ * application's own DatasetGeneratorService, so it has the production schema,
+ * indexes and value distributions. The database is file-backed, as the larger
+ * datasets do not fit in the heap, and kept under java.io.tmpdir: every
+ * benchmark forks its own JVM, and loading 10M rows takes minutes, so a
+ * dataset is generated once and reused by later forks and runs. Delete the
+ * metrics-benchmark directory after schema changes.
+ *
+ */
+public final class BenchmarkDatabase implements AutoCloseable {
+
+    private static final long SEED = 42;
+
+    /**
+     * Written once a dataset is completely generated.
+     */
+    private static final String COMPLETE_MARKER = "complete";
+
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkDatabase(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Opens the dataset of the given size between {@link Datasets#START} and {@link Datasets#END},
+     * generating it first unless an earlier run did.
+     *
+     * @param deployments number of deployments in the dataset
+     * @param incidents number of incidents in the dataset
+     * @return the loaded database
+     */
+    public static BenchmarkDatabase load(long deployments, long incidents) {
+        Path directory = Path.of(System.getProperty("java.io.tmpdir"), "metrics-benchmark",
+                deployments + "-" + incidents + "-" + SEED);
+        boolean generated = Files.exists(directory.resolve(COMPLETE_MARKER));
+        try {
+            if (!generated) {
+                // Left over from an interrupted generation
+                FileSystemUtils.deleteRecursively(directory);
+                Files.createDirectories(directory);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Keep the benchmarks' logback.xml instead of the application's logging configuration
+        System.setProperty(LoggingSystem.SYSTEM_PROPERTY, LoggingSystem.NONE);
+        SpringApplication application = new SpringApplication(Persistence.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setBannerMode(Banner.Mode.OFF);
+        application.setLogStartupInfo(false);
+        // Arguments take precedence over the application.properties packaged with the application
+        ConfigurableApplicationContext context = application.run(
+                "--spring.datasource.url=jdbc:h2:file:" + directory.resolve("metrics") + ";DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.jpa.hibernate.ddl-auto=" + (generated ? "none" : "create"),
+                "--dataset.generator.writers=" + Runtime.getRuntime().availableProcessors());
+        BenchmarkDatabase database = new BenchmarkDatabase(context);
+        if (!generated) {
+            try {
+                database.generate(deployments, incidents);
+                Files.createFile(directory.resolve(COMPLETE_MARKER));
+            } catch (IOException e) {
+                database.close();
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                database.close();
+                throw e;
+            }
+        }
+        return database;
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private void generate(long deployments, long incidents) {
+        DatasetGeneratorService generator = context.getBean(DatasetGeneratorService.class);
+        String generationId = generator.startGeneration(DatasetGenerationRequest.builder()
+                .deployments(deployments)
+                .incidents(incidents)
+                .from(Datasets.START)
+                .to(Datasets.END)
+                .seed(SEED)
+                .build()).getGenerationId();
+        DatasetGenerationResponse generation;
+        do {
+            sleep(Duration.ofMillis(200));
+            generation = generator.getGeneration(generationId).orElseThrow();
+        } while (generation.getFinishedAt() == null);
+        if (generation.getStatus() != SyncJobStatus.SUCCEEDED) {
+            throw new IllegalStateException("Dataset generation failed: " + generation.getError());
+        }
+        // Fresh statistics, as a long-running database would have
+        context.getBean(JdbcTemplate.class).execute("ANALYZE");
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating the dataset", e);
+        }
+    }
+
+    /**
+     * The persistence layer, with the metrics calculation and dataset generator services on top.
+     */
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+            JdbcTemplateAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan("com.metrics.demo.entity")
+    @EnableJpaRepositories("com.metrics.demo.repository")
+    @Import({MetricsCalculationServiceImpl.class, DatasetGeneratorServiceImpl.class})
+    static class Persistence {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        RetentionService retentionService() {
+            return Datasets.retentionService();
+        }
+
+        @Bean
+        RollingWindowService rollingWindowService() {
+            return Datasets.rollingWindowService();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.metrics.demo.benchmarks;
+
+import com.metrics.demo.config.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Dashboard read latency while a large backfill writes, with one shared
+ * connection pool and with separate write and read pools.
+ *
+ * Background writers each hold a connection for a long transaction that
+ * batch-inserts deployments, as backfill slices and dataset generator
+ * writers do, and then roll it back so the table stays the same size. There
+ * are more writers than connections. The measured operation is a read-only
+ * transaction counting a month of deployments, as a custom-range dashboard
+ * request does; sample mode reports its percentiles, p99 included.
+ *
+ * Both setups have the same number of connections in total. With a shared
+ * pool, dashboard reads queue for a connection behind the writers; with
+ * split pools the writers only compete among themselves.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class ConnectionPoolSplitBenchmark {
+
+    private static final int TOTAL_CONNECTIONS = 10;
+    private static final int WRITE_CONNECTIONS = 4;
+
+    /**
+     * Concurrent backfill writers: two sources with four slices each, plus the generator's writers
+     */
+    private static final int WRITERS = 12;
+    private static final int ROWS_PER_TRANSACTION = 5_000;
+    private static final int BATCH_SIZE = 500;
+    private static final int STORED_ROWS = 200_000;
+
+    private static final Instant END = Datasets.END.toInstant(ZoneOffset.UTC);
+    private static final Instant START = END.minus(30, ChronoUnit.DAYS);
+
+    @Param({"shared", "split"})
+    private String pools;
+
+    private final List<HikariDataSource> hikariPools = new ArrayList<>();
+    private final AtomicBoolean backfilling = new AtomicBoolean();
+    private ExecutorService writers;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWriteTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = "jdbc:h2:mem:pools-" + pools + ";DB_CLOSE_DELAY=-1";
+        DataSource dataSource;
+        if (pools.equals("split")) {
+            dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+                    pool(url, "write", WRITE_CONNECTIONS),
+                    pool(url, "read", TOTAL_CONNECTIONS - WRITE_CONNECTIONS)));
+        } else {
+            dataSource = pool(url, "shared", TOTAL_CONNECTIONS);
+        }
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        jdbcTemplate.execute("CREATE TABLE deployments (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "deployment_id VARCHAR(64) NOT NULL, timestamp TIMESTAMP(6) WITH TIME ZONE NOT NULL, "
+                + "status VARCHAR(32) NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX idx_deployment_timestamp ON deployments (timestamp)");
+        readWriteTransaction.executeWithoutResult(status -> insert(new Random(1), "seed", STORED_ROWS));
+
+        backfilling.set(true);
+        writers = Executors.newFixedThreadPool(WRITERS);
+        for (int writer = 0; writer < WRITERS; writer++) {
+            int writerIndex = writer;
+            writers.submit(() -> backfill(writerIndex));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        backfilling.set(false);
+        writers.shutdown();
+        writers.awaitTermination(1, TimeUnit.MINUTES);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        hikariPools.forEach(HikariDataSource::close);
+    }
+
+    @Benchmark
+    public Long dashboard() {
+        return readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM deployments WHERE timestamp >= ? AND timestamp < ?",
+                Long.class, Timestamp.from(START), Timestamp.from(END)));
+    }
+
+    private void backfill(int writer) {
+        Random random = new Random(writer);
+        while (backfilling.get()) {
+            readWriteTransaction.executeWithoutResult(status -> {
+                insert(random, "backfill-" + writer, ROWS_PER_TRANSACTION);
+                status.setRollbackOnly();
+            });
+        }
+    }
+
+    private void insert(Random random, String prefix, int rows) {
+        long spanSeconds = ChronoUnit.SECONDS.between(Datasets.START, Datasets.END);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int row = 0; row < rows; row++) {
+            Instant timestamp = Datasets.START.toInstant(ZoneOffset.UTC).plusSeconds(random.nextLong(spanSeconds));
+            batch.add(new Object[]{prefix + "-" + row, Timestamp.from(timestamp), "SUCCESS"});
+            if (batch.size() == BATCH_SIZE || row == rows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO deployments (deployment_id, timestamp, status) VALUES (?, ?, ?)",
+                        batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private HikariDataSource pool(String url, String name, int size) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(size);
+        hikariPools.add(dataSource);
+        return dataSource;
+    }
+}
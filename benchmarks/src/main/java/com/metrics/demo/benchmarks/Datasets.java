@@ -0,0 +1,66 @@
+package com.metrics.demo.benchmarks;
+
+import com.metrics.demo.service.RetentionService;
+import com.metrics.demo.service.RollingWindowService;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Date range of the synthetic datasets and service stubs for the benchmarks.
+ *
+ * Datasets span a fixed range so runs are comparable; {@link BenchmarkDatabase}
+ * generates them from a fixed seed.
+ *
+ */
+public final class Datasets {
+
+    /**
+     * Start of the synthetic data, fixed so runs are comparable.
+     */
+    public static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    /**
+     * End of the synthetic data.
+     */
+    public static final LocalDateTime END = START.plusDays(90);
+
+    private Datasets() {
+    }
+
+    /**
+     * Stubs a retention policy that has compacted nothing, so the calculations read raw rows only.
+     */
+    public static RetentionService retentionService() {
+        return stub(RetentionService.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getCompactedBefore" -> Optional.empty();
+            default -> objectMethod(proxy, method.getName(), args);
+        });
+    }
+
+    /**
+     * Stubs rolling window counters that ignore changes; the benchmarks calculate over custom ranges only.
+     */
+    public static RollingWindowService rollingWindowService() {
+        return stub(RollingWindowService.class, (proxy, method, args) -> switch (method.getName()) {
+            case "apply", "rebuild" -> null;
+            case "getCounts" -> Optional.empty();
+            default -> objectMethod(proxy, method.getName(), args);
+        });
+    }
+
+    private static <T> T stub(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object objectMethod(Object proxy, String name, Object[] args) {
+        return switch (name) {
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "Stub@" + Integer.toHexString(System.identityHashCode(proxy));
+            default -> throw new UnsupportedOperationException(name + " is not stubbed");
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.metrics.demo.benchmarks;
+
+import com.metrics.demo.dto.response.ChangeFailureRateResponse;
+import com.metrics.demo.dto.response.MTTRResponse;
+import com.metrics.demo.service.MetricsCalculationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the metrics calculations, database included, as the data grows.
+ *
+ * Each size is a fresh H2 database with the application's schema, loaded by
+ * the dataset generator over the 90 days the calculations query, so the
+ * measurements cover the SUM/COUNT queries on the range indexes as well as
+ * the service itself. Nothing is compacted, so every calculation reads raw
+ * rows. The first run at 10M deployments spends several minutes generating
+ * the dataset; later runs reuse it.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsCalculationBenchmark {
+
+    /**
+     * Number of deployments in the range; there is one incident for every ten.
+     */
+    @Param({"10000", "1000000", "10000000"})
+    private int size;
+
+    private BenchmarkDatabase database;
+    private MetricsCalculationService metricsCalculationService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.load(size, size / 10);
+        metricsCalculationService = database.getBean(MetricsCalculationService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public ChangeFailureRateResponse changeFailureRate() {
+        return metricsCalculationService.calculateChangeFailureRate(Datasets.START, Datasets.END);
+    }
+
+    @Benchmark
+    public MTTRResponse meanTimeToRecovery() {
+        return metricsCalculationService.calculateMeanTimeToRecovery(Datasets.START, Datasets.END);
+    }
+
+    /**
+     * Both calculations, as requested by the dashboard.
+     */
+    @Benchmark
+    public void dashboard(Blackhole blackhole) {
+        blackhole.consume(metricsCalculationService.calculateChangeFailureRate(Datasets.START, Datasets.END));
+        blackhole.consume(metricsCalculationService.calculateMeanTimeToRecovery(Datasets.START, Datasets.END));
+    }
+}
@@ -0,0 +1,131 @@
+package com.metrics.demo.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metrics.demo.dto.response.ChangeFailureRateResponse;
+import com.metrics.demo.dto.response.DashboardResponse;
+import com.metrics.demo.dto.response.MTTRResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cost of encoding the metrics responses as JSON against the negotiable
+ * binary encodings, Smile and CBOR.
+ *
+ * Encoded sizes, raw and gzipped, are printed once per trial, since bytes on
+ * the wire are not something JMH measures.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"changeFailureRate", "mttr", "dashboard"})
+    private String response;
+
+    private ObjectMapper mapper;
+    private Object payload;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Same settings as spring.jackson.* in application.properties
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        mapper = builder.timeZone("UTC").build();
+        payload = switch (response) {
+            case "changeFailureRate" -> changeFailureRate();
+            case "mttr" -> meanTimeToRecovery();
+            case "dashboard" -> dashboard();
+            default -> throw new IllegalArgumentException("Unknown response: " + response);
+        };
+        encoded = mapper.writeValueAsBytes(payload);
+        System.out.printf("%n%s %s: %d bytes, %d bytes gzipped%n", response, format, encoded.length, gzip(encoded));
+    }
+
+    @Benchmark
+    public byte[] encode() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return mapper.readValue(encoded, payload.getClass());
+    }
+
+    private static ChangeFailureRateResponse changeFailureRate() {
+        return ChangeFailureRateResponse.builder()
+                .changeFailureRatePercentage(11.842105263157894)
+                .totalDeployments(1_216)
+                .totalIncidents(144)
+                .startDate(Datasets.START)
+                .endDate(Datasets.END)
+                .timeRange("90d")
+                .calculatedAt(Datasets.END)
+                .build();
+    }
+
+    private static MTTRResponse meanTimeToRecovery() {
+        return MTTRResponse.builder()
+                .meanTimeToRecoveryMinutes(187.41666666666666)
+                .meanTimeToRecoveryHours(3.123611111111111)
+                .totalResolvedIncidents(130)
+                .unresolvedIncidents(14)
+                .startDate(Datasets.START)
+                .endDate(Datasets.END)
+                .timeRange("90d")
+                .calculatedAt(Datasets.END)
+                .build();
+    }
+
+    private static DashboardResponse dashboard() {
+        return DashboardResponse.builder()
+                .changeFailureRate(changeFailureRate())
+                .meanTimeToRecovery(meanTimeToRecovery())
+                .summary(DashboardResponse.DashboardSummary.builder()
+                        .timeRange("90d")
+                        .totalIncidents(144)
+                        .totalDeployments(1_216)
+                        .resolvedIncidents(130)
+                        .build())
+                .build();
+    }
+
+    private static int gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.size();
+    }
+}
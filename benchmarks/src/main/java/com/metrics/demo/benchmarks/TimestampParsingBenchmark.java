@@ -0,0 +1,65 @@
+package com.metrics.demo.benchmarks;
+
+import com.metrics.demo.util.Rfc3339;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of parsing one vendor timestamp: the formatter-based path the sync
+ * services used before the shared {@link Rfc3339} parser, against the parser.
+ *
+ * Run with {@code -prof gc} to compare allocation per operation as well.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimestampParsingBenchmark {
+
+    private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    /**
+     * GitHub sends whole seconds; PagerDuty may send fractions.
+     */
+    @Param({"2025-06-01T10:15:30Z", "2025-06-01T10:15:30.123Z"})
+    private String timestamp;
+
+    /**
+     * The previous per-field path: strip the 'Z' and parse with the ISO formatter.
+     */
+    @Benchmark
+    public LocalDateTime formatterParse() {
+        return LocalDateTime.parse(timestamp.replace("Z", ""), ISO_FORMATTER);
+    }
+
+    @Benchmark
+    public long rfc3339EpochSecond() {
+        return Rfc3339.parseEpochSecond(timestamp);
+    }
+
+    @Benchmark
+    public Instant rfc3339Instant() {
+        return Rfc3339.parseInstant(timestamp);
+    }
+
+    @Benchmark
+    public LocalDateTime rfc3339UtcDateTime() {
+        return Rfc3339.parseUtcDateTime(timestamp);
+    }
+}
@@ -0,0 +1,142 @@
+package com.metrics.demo.service.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metrics.demo.dto.external.GitHubWorkflowRun;
+import com.metrics.demo.dto.external.PagerDutyIncident;
+import com.metrics.demo.entity.Deployment;
+import com.metrics.demo.entity.Incident;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-record cost of converting vendor API payloads during ingestion.
+ *
+ * Lives in the service implementation package to reach the package-private
+ * conversion helpers. Payloads are decoded by Jackson into maps exactly as
+ * WebClient does, so the conversions see realistic value types.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IngestionConversionBenchmark {
+
+    private static final String WORKFLOW_RUN_JSON = """
+            {
+              "id": 9876543210,
+              "name": "Release Pipeline",
+              "status": "completed",
+              "conclusion": "success",
+              "html_url": "https://github.com/acme/shop/actions/runs/9876543210",
+              "created_at": "2025-06-01T10:15:30Z",
+              "updated_at": "2025-06-01T10:21:02Z",
+              "run_started_at": "2025-06-01T10:15:31Z",
+              "head_branch": "main",
+              "event": "push",
+              "repository": {"id": 123456789, "name": "shop", "full_name": "acme/shop"},
+              "head_commit": {
+                "id": "3f786850e387550fdab836ed7e6dc881de23001b",
+                "message": "Fix checkout rounding",
+                "timestamp": "2025-06-01T10:14:58Z"
+              }
+            }
+            """;
+
+    private static final String INCIDENT_JSON = """
+            {
+              "id": "Q2K3LMN4OP5QR",
+              "title": "Checkout error rate above 5%",
+              "status": "resolved",
+              "incident_key": "checkout/error-rate",
+              "urgency": "high",
+              "created_at": "2025-06-01T10:30:00Z",
+              "updated_at": "2025-06-01T11:45:00Z",
+              "acknowledged_at": "2025-06-01T10:34:12Z",
+              "resolved_at": "2025-06-01T11:45:00Z",
+              "service": {"id": "PSVC123", "summary": "checkout"}
+            }
+            """;
+
+    private GitHubActionsServiceImpl gitHubActionsService;
+    private PagerDutyServiceImpl pagerDutyService;
+
+    private Map<String, Object> workflowRunData;
+    private Map<String, Object> incidentData;
+    private GitHubWorkflowRun workflowRun;
+    private PagerDutyIncident incident;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // Only the conversion helpers are exercised; none of them touch the collaborators
+        gitHubActionsService = new GitHubActionsServiceImpl(null, null, null, null, null, null, null, null, null);
+        pagerDutyService = new PagerDutyServiceImpl(null, null, null, null, null, null, null, null, null);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        TypeReference<Map<String, Object>> mapType = new TypeReference<>() { };
+        workflowRunData = objectMapper.readValue(WORKFLOW_RUN_JSON, mapType);
+        incidentData = objectMapper.readValue(INCIDENT_JSON, mapType);
+        workflowRun = gitHubActionsService.convertMapToWorkflowRun(workflowRunData);
+        incident = pagerDutyService.convertMapToIncident(incidentData);
+    }
+
+    @Benchmark
+    public GitHubWorkflowRun convertMapToWorkflowRun() {
+        return gitHubActionsService.convertMapToWorkflowRun(workflowRunData);
+    }
+
+    @Benchmark
+    public PagerDutyIncident convertMapToIncident() {
+        return pagerDutyService.convertMapToIncident(incidentData);
+    }
+
+    @Benchmark
+    public Deployment convertWorkflowRunToEntity() {
+        return gitHubActionsService.convertToEntity(workflowRun);
+    }
+
+    @Benchmark
+    public Incident convertIncidentToEntity() {
+        return pagerDutyService.convertToEntity(incident);
+    }
+
+    /**
+     * A full page as fetched during a sync: map to DTO to entity, 100 records.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void workflowRunPage(Blackhole blackhole) {
+        for (int i = 0; i < 100; i++) {
+            blackhole.consume(gitHubActionsService.convertToEntity(
+                    gitHubActionsService.convertMapToWorkflowRun(workflowRunData)));
+        }
+    }
+
+    /**
+     * A full page as fetched during a sync: map to DTO to entity, 100 records.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void incidentPage(Blackhole blackhole) {
+        for (int i = 0; i < 100; i++) {
+            blackhole.consume(pagerDutyService.convertToEntity(
+                    pagerDutyService.convertMapToIncident(incidentData)));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.metrics.demo.config;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Executor for asynchronously written responses such as raw data exports.
+ *
+ * Streaming bodies run here instead of on servlet request threads, so a long
+ * export does not hold a request thread. The pool is bounded: exports beyond
+ * its capacity are rejected with 503 rather than queued indefinitely.
+ *
+ * Not registered as a bean, so the auto-configured application task
+ * executor is left in place.
+ *
+ */
+@Configuration
+public class AsyncRequestConfig implements WebMvcConfigurer {
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final Duration requestTimeout;
+
+    public AsyncRequestConfig(@Value("${export.concurrency:4}") int concurrency,
+                              @Value("${export.queue-capacity:16}") int queueCapacity,
+                              @Value("${export.request-timeout:PT1H}") Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("async-response-");
+        executor.initialize();
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(executor);
+        configurer.setDefaultTimeout(requestTimeout.toMillis());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
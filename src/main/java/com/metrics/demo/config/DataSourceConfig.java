@@ -0,0 +1,65 @@
+package com.metrics.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Separate connection pools for ingest writes and dashboard reads.
+ *
+ * Sync, backfill and the dataset generator write through a small pool, and
+ * read-only transactions (metrics calculations, listings, exports) use a
+ * larger one, so a long backfill can hold at most the write pool and the
+ * dashboard always has connections to read with. The read pool connects to
+ * datasource.read.url when set, such as a read replica; reads then see
+ * ingested rows only once the replica has caught up.
+ *
+ * Both pools are Hikari pools named "write" and "read", published as
+ * hikaricp.connections.* tagged with the pool name. Setting
+ * datasource.split-pools=false restores the single auto-configured pool.
+ *
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.split-pools", havingValue = "true", matchIfMissing = true)
+public class DataSourceConfig {
+
+    @Bean
+    public HikariDataSource writeDataSource(DataSourceProperties properties,
+                                            @Value("${datasource.write.pool-size:4}") int poolSize) {
+        return pool(properties, "write", poolSize);
+    }
+
+    @Bean
+    public HikariDataSource readDataSource(DataSourceProperties properties,
+                                           @Value("${datasource.read.pool-size:10}") int poolSize,
+                                           @Value("${datasource.read.url:}") String replicaUrl) {
+        HikariDataSource dataSource = pool(properties, "read", poolSize);
+        if (!replicaUrl.isBlank()) {
+            dataSource.setJdbcUrl(replicaUrl);
+        }
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+                                 @Qualifier("readDataSource") DataSource readDataSource) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(writeDataSource, readDataSource));
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, String name, int poolSize) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(poolSize);
+        return dataSource;
+    }
+}
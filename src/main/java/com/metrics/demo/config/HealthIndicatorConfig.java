@@ -0,0 +1,29 @@
+package com.metrics.demo.config;
+
+import com.metrics.demo.enums.SyncSource;
+import com.metrics.demo.integration.ExternalHealthMonitor;
+import com.metrics.demo.integration.ExternalServiceHealthIndicator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Actuator health indicators for the external services.
+ *
+ * Indicators are exposed as "gitHubActions" and "pagerDuty" and grouped
+ * under /actuator/health/external. They are excluded from the liveness and
+ * readiness groups, since a vendor outage is no reason to restart this service.
+ *
+ */
+@Configuration
+public class HealthIndicatorConfig {
+
+    @Bean
+    public ExternalServiceHealthIndicator gitHubActionsHealthIndicator(ExternalHealthMonitor externalHealthMonitor) {
+        return new ExternalServiceHealthIndicator(externalHealthMonitor, SyncSource.GITHUB_ACTIONS);
+    }
+
+    @Bean
+    public ExternalServiceHealthIndicator pagerDutyHealthIndicator(ExternalHealthMonitor externalHealthMonitor) {
+        return new ExternalServiceHealthIndicator(externalHealthMonitor, SyncSource.PAGERDUTY);
+    }
+}
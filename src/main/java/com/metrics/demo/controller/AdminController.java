@@ -0,0 +1,162 @@
+package com.metrics.demo.controller;
+
+import com.metrics.demo.dto.request.DatasetGenerationRequest;
+import com.metrics.demo.dto.response.BackfillResponse;
+import com.metrics.demo.dto.response.CompactionResponse;
+import com.metrics.demo.dto.response.DatasetGenerationResponse;
+import com.metrics.demo.dto.response.ProfilingResponse;
+import com.metrics.demo.enums.SyncSource;
+import com.metrics.demo.service.BackfillService;
+import com.metrics.demo.service.DatasetGeneratorService;
+import com.metrics.demo.service.ProfilingService;
+import com.metrics.demo.service.RetentionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST controller for administrative data operations.
+ *
+ */
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Admin", description = "Administrative data import and profiling endpoints")
+public class AdminController {
+
+    private final BackfillService backfillService;
+    private final DatasetGeneratorService datasetGeneratorService;
+    private final RetentionService retentionService;
+    private final ProfilingService profilingService;
+
+    @PostMapping("/backfill")
+    @Operation(summary = "Start Historical Backfill",
+            description = "Imports vendor history for a window in concurrently fetched time slices. " +
+                    "Returns immediately; poll the returned backfill for progress. " +
+                    "Re-submitting the window of a failed backfill resumes it.")
+    public ResponseEntity<BackfillResponse> startBackfill(
+            @Parameter(description = "Source to backfill (GITHUB_ACTIONS, PAGERDUTY)")
+            @RequestParam SyncSource source,
+
+            @Parameter(description = "Start of the window (ISO format)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+
+            @Parameter(description = "End of the window (ISO format)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        log.info("Backfill requested for {} from {} to {}", source, from, to);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(backfillService.startBackfill(source, from, to));
+    }
+
+    @GetMapping("/backfill/{backfillId}")
+    @Operation(summary = "Get Backfill Progress",
+            description = "Returns slice and row progress of a backfill")
+    public ResponseEntity<BackfillResponse> getBackfill(@PathVariable String backfillId) {
+        return backfillService.getBackfill(backfillId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/backfill")
+    @Operation(summary = "List Backfills",
+            description = "Returns backfills submitted to this instance, newest first")
+    public ResponseEntity<List<BackfillResponse>> getBackfills() {
+        return ResponseEntity.ok(backfillService.getBackfills());
+    }
+
+    @PostMapping("/dataset")
+    @Operation(summary = "Generate Synthetic Dataset",
+            description = "Bulk-loads synthetic deployments and incidents for capacity testing, using batched " +
+                    "JDBC inserts. Returns immediately; poll the returned generation for progress. " +
+                    "Generated vendor ids start with 'synthetic-'.")
+    public ResponseEntity<DatasetGenerationResponse> startGeneration(
+            @Valid @RequestBody(required = false) DatasetGenerationRequest request) {
+
+        DatasetGenerationRequest effective = request != null ? request : new DatasetGenerationRequest();
+        log.info("Dataset generation requested: {}", effective);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(datasetGeneratorService.startGeneration(effective));
+    }
+
+    @GetMapping("/dataset/{generationId}")
+    @Operation(summary = "Get Dataset Generation Progress",
+            description = "Returns row progress and insert rate of a dataset generation")
+    public ResponseEntity<DatasetGenerationResponse> getGeneration(@PathVariable String generationId) {
+        return datasetGeneratorService.getGeneration(generationId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/dataset")
+    @Operation(summary = "List Dataset Generations",
+            description = "Returns dataset generations submitted to this instance, newest first")
+    public ResponseEntity<List<DatasetGenerationResponse>> getGenerations() {
+        return ResponseEntity.ok(datasetGeneratorService.getGenerations());
+    }
+
+    @PostMapping("/retention/compact")
+    @Operation(summary = "Run Retention Compaction",
+            description = "Folds raw deployments and incidents older than the retention window into daily " +
+                    "rollups and deletes them. Also runs on a schedule; returns when the run is complete.")
+    public ResponseEntity<CompactionResponse> compact() {
+        log.info("Retention compaction requested");
+        return ResponseEntity.ok(retentionService.compact());
+    }
+
+    @PostMapping("/profiling/start")
+    @Operation(summary = "Start Profiling",
+            description = "Starts a continuous JDK Flight Recorder recording that keeps only its most recent " +
+                    "events and stops by itself after a maximum duration. Returns 409 while one is running.")
+    public ResponseEntity<ProfilingResponse> startProfiling() {
+        log.info("Profiling recording requested");
+        return ResponseEntity.status(HttpStatus.CREATED).body(profilingService.start());
+    }
+
+    @GetMapping("/profiling")
+    @Operation(summary = "Get Profiling Recording",
+            description = "Returns the state and size of the current recording")
+    public ResponseEntity<ProfilingResponse> getProfiling() {
+        return profilingService.getRecording()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/profiling/stop")
+    @Operation(summary = "Stop Profiling",
+            description = "Stops the current recording and downloads it as a .jfr file, for JDK Mission " +
+                    "Control or 'jfr print'. The recording is discarded once downloaded.")
+    public ResponseEntity<StreamingResponseBody> stopProfiling() {
+        Optional<ProfilingResponse> stopped = profilingService.stop();
+        if (stopped.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        long recordingId = stopped.get().getRecordingId();
+        String fileName = "profiling-" + recordingId + ".jfr";
+
+        StreamingResponseBody body = out -> profilingService.writeRecording(recordingId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+}
@@ -1,14 +1,15 @@
 package com.metrics.demo.controller;
 
 
-import com.metrics.demo.dto.response.DashboardResponse;
+import com.metrics.demo.dto.response.DashboardSnapshot;
+import com.metrics.demo.service.DashboardService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -23,9 +24,14 @@ public class DashboardController {
 
 
 
+    private static final DateTimeFormatter LAST_UPDATED_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm:ss");
+
     @Autowired
     private MetricsController metricsController;
 
+    @Autowired
+    private DashboardService dashboardService;
+
     /**
      * Main dashboard page
      */
@@ -51,16 +57,15 @@ public class DashboardController {
                 }
             }
 
-            // Get the ResponseEntity and extract the body
-            ResponseEntity<DashboardResponse> response = metricsController.getDashboardData(timeRange, start, end);
-            DashboardResponse dashboardData = response.getBody();
+            // Built-in ranges come from a precomputed snapshot
+            DashboardSnapshot snapshot = dashboardService.getDashboard(timeRange, start, end);
 
-            model.addAttribute("dashboardData", dashboardData);
+            model.addAttribute("dashboardData", snapshot.getDashboard());
             model.addAttribute("selectedTimeRange", timeRange);
             model.addAttribute("startDate", startDate);
             model.addAttribute("endDate", endDate);
-            model.addAttribute("lastUpdated",
-                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm")));
+            model.addAttribute("lastUpdated", snapshot.getComputedAt().format(LAST_UPDATED_FORMATTER));
+            model.addAttribute("snapshotAge", describeAge(snapshot.getAge()));
 
         } catch (Exception e) {
             log.error("Error loading dashboard data: {}", e.getMessage(), e);
@@ -69,6 +74,18 @@ public class DashboardController {
 
         return "dashboard";
     }
+
+    /**
+     * Age of the dashboard data, e.g. "just now", "42s ago" or "3 min ago".
+     */
+    private static String describeAge(Duration age) {
+        long seconds = Math.max(age.toSeconds(), 0);
+        if (seconds < 5) {
+            return "just now";
+        }
+        return seconds < 60 ? seconds + "s ago" : seconds / 60 + " min ago";
+    }
+
     /**
      * Sync deployments from GitHub
      */
@@ -0,0 +1,124 @@
+package com.metrics.demo.controller;
+
+import com.metrics.demo.enums.ExportFormat;
+import com.metrics.demo.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST controller for raw data exports.
+ *
+ * Responses are written by the async request executor, not the servlet
+ * request thread, and are gzip-encoded when the client accepts it.
+ *
+ */
+@RestController
+@RequestMapping("/api/v1/export")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Export", description = "Raw deployment and incident exports")
+public class ExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private static final DateTimeFormatter FILE_NAME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final ExportService exportService;
+
+    @GetMapping("/deployments")
+    @Operation(summary = "Export Deployments",
+            description = "Streams the raw deployments of a period as CSV or NDJSON, oldest first")
+    public ResponseEntity<StreamingResponseBody> exportDeployments(
+            @Parameter(description = "Start of the period (ISO format, UTC)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+
+            @Parameter(description = "End of the period (ISO format, UTC)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+
+            @Parameter(description = "Output format (csv, ndjson)")
+            @RequestParam(defaultValue = "csv") String format,
+
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        return export("deployments", start, end, exportFormat, acceptEncoding,
+                out -> exportService.exportDeployments(start, end, exportFormat, out));
+    }
+
+    @GetMapping("/incidents")
+    @Operation(summary = "Export Incidents",
+            description = "Streams the raw incidents created in a period as CSV or NDJSON, oldest first")
+    public ResponseEntity<StreamingResponseBody> exportIncidents(
+            @Parameter(description = "Start of the period (ISO format, UTC)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+
+            @Parameter(description = "End of the period (ISO format, UTC)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+
+            @Parameter(description = "Output format (csv, ndjson)")
+            @RequestParam(defaultValue = "csv") String format,
+
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        return export("incidents", start, end, exportFormat, acceptEncoding,
+                out -> exportService.exportIncidents(start, end, exportFormat, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String dataset, LocalDateTime start, LocalDateTime end,
+                                                         ExportFormat format, String acceptEncoding,
+                                                         Exporter exporter) {
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("start must not be after end");
+        }
+        log.info("Exporting {} from {} to {} as {}", dataset, start, end, format);
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        String fileName = dataset + "_" + start.format(FILE_NAME_FORMATTER) + "_" + end.format(FILE_NAME_FORMATTER)
+                + "." + format.getExtension();
+
+        StreamingResponseBody body = out -> {
+            long started = System.nanoTime();
+            long rows;
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                rows = exporter.export(compressed);
+                compressed.finish();
+            } else {
+                rows = exporter.export(out);
+            }
+            log.info("Exported {} {} rows in {} ms", rows, dataset, (System.nanoTime() - started) / 1_000_000);
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, format.getContentType() + ";charset=UTF-8")
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @FunctionalInterface
+    private interface Exporter {
+        long export(OutputStream out) throws IOException;
+    }
+}
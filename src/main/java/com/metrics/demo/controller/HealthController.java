@@ -2,8 +2,9 @@ package com.metrics.demo.controller;
 
 
 
-import com.metrics.demo.service.GitHubActionsService;
-import com.metrics.demo.service.PagerDutyService;
+import com.metrics.demo.dto.response.ExternalServiceHealth;
+import com.metrics.demo.enums.SyncSource;
+import com.metrics.demo.integration.ExternalHealthMonitor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -13,11 +14,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Health check controller for monitoring external service connectivity.
  *
+ * Results come from the background checks of {@link ExternalHealthMonitor};
+ * requests never call the vendors directly.
  *
  */
 @RestController
@@ -26,32 +31,26 @@ import java.util.Map;
 @Tag(name = "Health", description = "Health check endpoints")
 public class HealthController {
 
-    private final PagerDutyService pagerDutyService;
-    private final GitHubActionsService gitHubActionsService;
+    private final ExternalHealthMonitor externalHealthMonitor;
 
     @GetMapping("/external-services")
     @Operation(summary = "Check External Services Health",
-            description = "Checks connectivity to PagerDuty and GitHub Actions APIs")
+            description = "Returns the latest cached connectivity check of the PagerDuty and GitHub Actions APIs, with its age")
     public ResponseEntity<Map<String, Object>> checkExternalServices() {
 
         Map<String, Object> health = new HashMap<>();
 
         // Check PagerDuty
-        boolean pagerDutyHealthy = pagerDutyService.isHealthy();
-        health.put("pagerduty", Map.of(
-                "status", pagerDutyHealthy ? "UP" : "DOWN",
-                "healthy", pagerDutyHealthy
-        ));
+        Optional<ExternalServiceHealth> pagerDuty = externalHealthMonitor.getHealth(SyncSource.PAGERDUTY);
+        health.put("pagerduty", toStatus(pagerDuty));
 
         // Check GitHub Actions
-        boolean githubHealthy = gitHubActionsService.isHealthy();
-        health.put("github_actions", Map.of(
-                "status", githubHealthy ? "UP" : "DOWN",
-                "healthy", githubHealthy
-        ));
+        Optional<ExternalServiceHealth> github = externalHealthMonitor.getHealth(SyncSource.GITHUB_ACTIONS);
+        health.put("github_actions", toStatus(github));
 
         // Overall status
-        boolean overallHealthy = pagerDutyHealthy && githubHealthy;
+        boolean overallHealthy = pagerDuty.map(ExternalServiceHealth::isHealthy).orElse(false)
+                && github.map(ExternalServiceHealth::isHealthy).orElse(false);
         health.put("overall", Map.of(
                 "status", overallHealthy ? "UP" : "DEGRADED",
                 "healthy", overallHealthy
@@ -59,4 +58,25 @@ public class HealthController {
 
         return ResponseEntity.ok(health);
     }
-}
\ No newline at end of file
+
+    private Map<String, Object> toStatus(Optional<ExternalServiceHealth> result) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (result.isEmpty()) {
+            // The first background check has not completed yet
+            status.put("status", "UNKNOWN");
+            status.put("healthy", false);
+            return status;
+        }
+
+        ExternalServiceHealth health = result.get();
+        status.put("status", health.isHealthy() ? "UP" : "DOWN");
+        status.put("healthy", health.isHealthy());
+        status.put("checked_at", health.getCheckedAt());
+        status.put("age_seconds", health.getAgeSeconds());
+        status.put("latency_ms", health.getLatencyMs());
+        if (health.getError() != null) {
+            status.put("error", health.getError());
+        }
+        return status;
+    }
+}
@@ -0,0 +1,100 @@
+package com.metrics.demo.controller;
+
+import com.metrics.demo.dto.response.DashboardResponse;
+import com.metrics.demo.dto.response.PageResponse;
+import com.metrics.demo.enums.DeploymentStatus;
+import com.metrics.demo.enums.IncidentStatus;
+import com.metrics.demo.service.ListingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * REST controller listing stored deployments and incidents, newest first.
+ *
+ * Pages are requested with the cursor returned by the previous page.
+ *
+ */
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "Listing", description = "Paginated deployment and incident listings")
+public class ListingController {
+
+    private final ListingService listingService;
+
+    @GetMapping("/deployments")
+    @Operation(summary = "List Deployments",
+            description = "Returns one page of deployments, newest first, with the cursor of the next page")
+    public ResponseEntity<PageResponse<DashboardResponse.DeploymentSummary>> listDeployments(
+            @Parameter(description = "Status to filter by (SUCCESS, FAILURE, CANCELLED)")
+            @RequestParam(required = false) DeploymentStatus status,
+
+            @Parameter(description = "Application name to filter by")
+            @RequestParam(required = false) String service,
+
+            @Parameter(description = "Start of the period (ISO format, UTC)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+
+            @Parameter(description = "End of the period (ISO format, UTC)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+
+            @Parameter(description = "Cursor returned with the previous page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Maximum number of deployments to return")
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit) {
+
+        return ResponseEntity.ok(listingService.listDeployments(status, service, start, end, cursor, limit));
+    }
+
+    @GetMapping("/incidents")
+    @Operation(summary = "List Incidents",
+            description = "Returns one page of incidents, newest first, with the cursor of the next page")
+    public ResponseEntity<PageResponse<DashboardResponse.IncidentSummary>> listIncidents(
+            @Parameter(description = "Status to filter by (TRIGGERED, ACKNOWLEDGED, RESOLVED)")
+            @RequestParam(required = false) IncidentStatus status,
+
+            @Parameter(description = "Service name to filter by")
+            @RequestParam(required = false) String service,
+
+            @Parameter(description = "Start of the period (ISO format, UTC)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+
+            @Parameter(description = "End of the period (ISO format, UTC)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+
+            @Parameter(description = "Cursor returned with the previous page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Maximum number of incidents to return")
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit) {
+
+        return ResponseEntity.ok(listingService.listIncidents(status, service, start, end, cursor, limit));
+    }
+
+    @GetMapping("/incidents/{incidentId}/transitions")
+    @Operation(summary = "Incident Timeline",
+            description = "Returns the status changes recorded for an incident, oldest first")
+    public ResponseEntity<List<DashboardResponse.IncidentTransitionSummary>> listIncidentTransitions(
+            @Parameter(description = "PagerDuty incident ID")
+            @PathVariable String incidentId) {
+
+        return ResponseEntity.ok(listingService.listIncidentTransitions(incidentId));
+    }
+}
@@ -3,10 +3,15 @@ package com.metrics.demo.controller;
 
 import com.metrics.demo.dto.response.ChangeFailureRateResponse;
 import com.metrics.demo.dto.response.DashboardResponse;
+import com.metrics.demo.dto.response.DeploymentDurationResponse;
+import com.metrics.demo.dto.response.MTTAResponse;
 import com.metrics.demo.dto.response.MTTRResponse;
+import com.metrics.demo.service.DashboardService;
 import com.metrics.demo.service.GitHubActionsService;
 import com.metrics.demo.service.MetricsCalculationService;
 import com.metrics.demo.service.PagerDutyService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -23,7 +28,8 @@ import java.time.LocalDateTime;
  * REST controller for metrics endpoints.
  *
  * Provides endpoints to calculate and retrieve engineering metrics
- * such as Change Failure Rate and Mean Time to Recovery.
+ * such as Change Failure Rate, Mean Time to Recovery and Mean Time to
+ * Acknowledge, and deployment duration percentiles.
  *
  *
  */
@@ -36,8 +42,10 @@ import java.time.LocalDateTime;
 public class MetricsController {
 
     private final MetricsCalculationService metricsCalculationService;
+    private final DashboardService dashboardService;
     private final PagerDutyService pagerDutyService;
     private final GitHubActionsService gitHubActionsService;
+    private final MeterRegistry meterRegistry;
 
     @GetMapping("/changeFailureRate")
     @Operation(summary = "Calculate Change Failure Rate",
@@ -84,9 +92,47 @@ public class MetricsController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/mtta")
+    @Operation(summary = "Calculate Mean Time to Acknowledge",
+            description = "Calculates the Mean Time to Acknowledge (MTTA) for a specified time period")
+    public ResponseEntity<MTTAResponse> getMeanTimeToAcknowledge(
+            @Parameter(description = "Start date for calculation (ISO format)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+
+            @Parameter(description = "End date for calculation (ISO format)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        log.info("Calculating MTTA for period {} to {}", startDate, endDate);
+
+        MTTAResponse response = metricsCalculationService
+                .calculateMeanTimeToAcknowledge(startDate, endDate);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/deploymentDuration")
+    @Operation(summary = "Calculate Deployment Duration Percentiles",
+            description = "Calculates the p50, p90 and p99 run duration of completed deployments per repository "
+                    + "and workflow for a specified time period, slowest p90 first")
+    public ResponseEntity<DeploymentDurationResponse> getDeploymentDuration(
+            @Parameter(description = "Start date for calculation (ISO format)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+
+            @Parameter(description = "End date for calculation (ISO format)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        log.info("Calculating deployment duration percentiles for period {} to {}", startDate, endDate);
+
+        DeploymentDurationResponse response = metricsCalculationService
+                .calculateDeploymentDuration(startDate, endDate);
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/dashboard")
     @Operation(summary = "Get Dashboard Data",
-            description = "Returns comprehensive dashboard data including both CFR and MTTR metrics")
+            description = "Returns comprehensive dashboard data including the CFR, MTTR and MTTA metrics. "
+                    + "The 7d, 30d and 90d ranges are served from snapshots refreshed every minute and after each sync")
     public ResponseEntity<DashboardResponse> getDashboardData(
             @Parameter(description = "Time range (7d, 30d, 90d, or custom)")
             @RequestParam(defaultValue = "7d") String timeRange,
@@ -101,61 +147,31 @@ public class MetricsController {
                 ) {
 
         log.info("Getting dashboard data for timeRange: {}", timeRange);
-
-        // Determine date range
-        LocalDateTime[] dateRange = calculateDateRange(timeRange, startDate, endDate);
-        LocalDateTime calculationStart = dateRange[0];
-        LocalDateTime calculationEnd = dateRange[1];
-
-        // Get both metrics
-        ChangeFailureRateResponse cfr = metricsCalculationService
-                .calculateChangeFailureRate(calculationStart, calculationEnd);
-
-        MTTRResponse mttr = metricsCalculationService
-                .calculateMeanTimeToRecovery(calculationStart, calculationEnd);
-
-        // Build dashboard response
-        DashboardResponse dashboard = DashboardResponse.builder()
-                .changeFailureRate(cfr)
-                .meanTimeToRecovery(mttr)
-                .summary(DashboardResponse.DashboardSummary.builder()
-                        .timeRange(timeRange)
-                        .totalIncidents((int) cfr.getTotalIncidents())
-                        .totalDeployments((int) cfr.getTotalDeployments())
-                        .resolvedIncidents(mttr.getTotalResolvedIncidents())
-                        .build())
-                .build();
-
-        return ResponseEntity.ok(dashboard);
-    }
-
-
-
-    private LocalDateTime[] calculateDateRange(String timeRange, LocalDateTime customStart, LocalDateTime customEnd) {
-        LocalDateTime end = LocalDateTime.now();
-        LocalDateTime start;
-
-        switch (timeRange.toLowerCase()) {
-            case "7d" -> start = end.minusDays(7);
-            case "30d" -> start = end.minusDays(30);
-            case "90d" -> start = end.minusDays(90);
-            case "custom" -> {
-                if (customStart == null || customEnd == null) {
-                    throw new IllegalArgumentException("Custom start and end dates are required for custom time range");
-                }
-                start = customStart;
-                end = customEnd;
-            }
-            default -> {
-                log.warn("Unknown time range: {}, defaulting to 7d", timeRange);
-                start = end.minusDays(7);
-            }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return ResponseEntity.ok(dashboardService.getDashboard(timeRange, startDate, endDate).getDashboard());
+        } finally {
+            sample.stop(dashboardTimer(timeRange));
         }
+    }
 
-        return new LocalDateTime[]{start, end};
+    /**
+     * End-to-end latency of the dashboard data, tagged by the requested time range.
+     */
+    private Timer dashboardTimer(String timeRange) {
+        String range = switch (timeRange.toLowerCase()) {
+            case "7d", "30d", "90d", "custom" -> timeRange.toLowerCase();
+            default -> "other";
+        };
+        return Timer.builder("metrics.dashboard")
+                .description("End-to-end latency of building the dashboard data")
+                .tag("timeRange", range)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
 
+
     @GetMapping("/incidents")
     @Operation(summary = "Sync Incidents Data",
             description = "Calls the PagerDuty service to sync incidents data")
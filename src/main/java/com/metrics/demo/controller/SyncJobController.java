@@ -0,0 +1,46 @@
+package com.metrics.demo.controller;
+
+import com.metrics.demo.entity.SyncJobRun;
+import com.metrics.demo.enums.SyncSource;
+import com.metrics.demo.service.SyncJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller exposing the sync job history.
+ *
+ */
+@RestController
+@RequestMapping("/api/v1/sync")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "Sync Jobs", description = "Sync job history endpoints")
+public class SyncJobController {
+
+    private final SyncJobService syncJobService;
+
+    @GetMapping("/jobs")
+    @Operation(summary = "List Sync Job Runs",
+            description = "Returns the most recent sync job runs with their progress counters and errors")
+    public ResponseEntity<List<SyncJobRun>> getRecentRuns(
+            @Parameter(description = "Source to filter by (GITHUB_ACTIONS, PAGERDUTY)")
+            @RequestParam(required = false) SyncSource source,
+
+            @Parameter(description = "Maximum number of runs to return")
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit) {
+
+        return ResponseEntity.ok(syncJobService.getRecentRuns(source, limit));
+    }
+}
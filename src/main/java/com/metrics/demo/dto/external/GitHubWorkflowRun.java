@@ -34,6 +34,18 @@ public class GitHubWorkflowRun {
     @JsonProperty("name")
     private String name;
 
+    /**
+     * Id of the workflow the run belongs to.
+     */
+    @JsonProperty("workflow_id")
+    private Long workflowId;
+
+    /**
+     * Path of the workflow file, e.g. .github/workflows/deploy.yml.
+     */
+    @JsonProperty("path")
+    private String path;
+
     /**
      * Current status of the workflow run.
      */
@@ -0,0 +1,128 @@
+package com.metrics.demo.dto.request;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Request DTO describing a synthetic dataset to bulk-load for capacity testing.
+ *
+ * Every field has a default, so an empty body generates a modest dataset
+ * over the last 90 days.
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatasetGenerationRequest {
+
+    /**
+     * Number of deployments to generate.
+     */
+    @Min(0)
+    @Builder.Default
+    private long deployments = 100_000;
+
+    /**
+     * Number of incidents to generate.
+     */
+    @Min(0)
+    @Builder.Default
+    private long incidents = 10_000;
+
+    /**
+     * Start of the generated history; defaults to 90 days before {@link #to}.
+     */
+    private LocalDateTime from;
+
+    /**
+     * End of the generated history; defaults to now.
+     */
+    private LocalDateTime to;
+
+    /**
+     * Number of distinct services deployments and incidents are spread over.
+     */
+    @Min(1)
+    @Max(100_000)
+    @Builder.Default
+    private int services = 50;
+
+    /**
+     * Zipf exponent of the per-service deploy rate: 0 gives every service the
+     * same rate, larger values concentrate deploys on the first services.
+     */
+    @DecimalMin("0.0")
+    @DecimalMax("5.0")
+    @Builder.Default
+    private double serviceSkew = 1.0;
+
+    /**
+     * Share of deployments that fail.
+     */
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    @Builder.Default
+    private double failureRatio = 0.15;
+
+    /**
+     * Share of deployments that are cancelled.
+     */
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    @Builder.Default
+    private double cancelledRatio = 0.02;
+
+    /**
+     * Share of incidents that are resolved; the rest stay triggered or acknowledged.
+     */
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    @Builder.Default
+    private double resolvedRatio = 0.95;
+
+    /**
+     * Median of the lognormal recovery time distribution.
+     */
+    @NotNull
+    @Builder.Default
+    private Duration recoveryMedian = Duration.ofMinutes(45);
+
+    /**
+     * Shape (sigma) of the lognormal recovery time distribution.
+     */
+    @DecimalMin("0.0")
+    @DecimalMax("5.0")
+    @Builder.Default
+    private double recoverySigma = 1.2;
+
+    /**
+     * Median of the lognormal time to acknowledge; acknowledgement never follows resolution.
+     */
+    @NotNull
+    @Builder.Default
+    private Duration acknowledgeMedian = Duration.ofMinutes(4);
+
+    /**
+     * Median of the lognormal deployment run duration; queue times have a median of 20 seconds.
+     */
+    @NotNull
+    @Builder.Default
+    private Duration deploymentDurationMedian = Duration.ofMinutes(8);
+
+    /**
+     * Random seed; the same seed and parameters generate the same data.
+     * A random seed is chosen when omitted.
+     */
+    private Long seed;
+}
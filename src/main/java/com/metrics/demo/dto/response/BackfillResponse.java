@@ -0,0 +1,97 @@
+package com.metrics.demo.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.metrics.demo.enums.SyncJobStatus;
+import com.metrics.demo.enums.SyncSource;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO describing a historical backfill and its progress.
+ *
+ * Progress counters are live while the backfill is running.
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillResponse {
+
+    /**
+     * Identifier used to poll the backfill's progress.
+     */
+    private String backfillId;
+
+    /**
+     * Source being backfilled.
+     */
+    private SyncSource source;
+
+    /**
+     * Start of the backfilled window.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime from;
+
+    /**
+     * End of the backfilled window.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime to;
+
+    /**
+     * Current status; null while the backfill is queued.
+     */
+    private SyncJobStatus status;
+
+    /**
+     * Id of the sync job run recording this backfill, once started.
+     */
+    private Long jobRunId;
+
+    /**
+     * Number of time slices the window was split into.
+     */
+    private int slicesTotal;
+
+    /**
+     * Number of slices fully imported, including slices completed by a resumed earlier run.
+     */
+    private int slicesCompleted;
+
+    /**
+     * Number of slices that failed.
+     */
+    private int slicesFailed;
+
+    /**
+     * Completed slices as a percentage of all slices.
+     */
+    private double percentComplete;
+
+    private long pagesFetched;
+
+    private long rowsFetched;
+
+    private long rowsInserted;
+
+    private long rowsUpdated;
+
+    /**
+     * Fetched records skipped because their stored copy was unchanged.
+     */
+    private long rowsSkipped;
+
+    private long errorCount;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime submittedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime finishedAt;
+}
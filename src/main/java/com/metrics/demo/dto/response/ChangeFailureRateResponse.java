@@ -17,7 +17,7 @@ import java.time.LocalDateTime;
  *
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ChangeFailureRateResponse {
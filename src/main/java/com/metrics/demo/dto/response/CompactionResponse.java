@@ -0,0 +1,41 @@
+package com.metrics.demo.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO summarizing a retention compaction run.
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompactionResponse {
+
+    /**
+     * Raw events before this UTC day are kept only as daily rollups.
+     */
+    private LocalDate compactedBefore;
+
+    /**
+     * Days folded into rollups by this run.
+     */
+    private int daysCompacted;
+
+    private long deploymentsCompacted;
+
+    private long incidentsCompacted;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime finishedAt;
+}
@@ -1,10 +1,15 @@
 package com.metrics.demo.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.metrics.demo.enums.DeploymentStatus;
+import com.metrics.demo.enums.IncidentStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 /**
  * Response DTO for dashboard endpoint that provides
  * a comprehensive view of both metrics and recent activity.
@@ -27,6 +32,11 @@ public class DashboardResponse {
      */
     private MTTRResponse meanTimeToRecovery;
 
+    /**
+     * Mean Time to Acknowledge metric data.
+     */
+    private MTTAResponse meanTimeToAcknowledge;
+
     /**
      * Summary information about the dashboard data.
      */
@@ -40,15 +50,40 @@ public class DashboardResponse {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class IncidentSummary {
+        /**
+         * Database id, used with createdAt as the listing cursor.
+         */
+        @JsonIgnore
+        private Long id;
         private String incidentId;
         private String title;
-        private String status;
+        private IncidentStatus status;
         private String serviceName;
-        private String createdAt;
-        private String resolvedAt;
+        private Instant createdAt;
+        private Instant resolvedAt;
         private Long recoveryTimeMinutes;
     }
 
+    /**
+     * Nested class for one status change in an incident's timeline.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class IncidentTransitionSummary {
+        private IncidentStatus fromStatus;
+        private IncidentStatus toStatus;
+        /**
+         * Vendor time of the change, or null when the vendor reported none.
+         */
+        private Instant occurredAt;
+        /**
+         * When a sync observed the change.
+         */
+        private Instant observedAt;
+    }
+
     /**
      * Nested class for deployment summary information.
      */
@@ -57,11 +92,16 @@ public class DashboardResponse {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class DeploymentSummary {
+        /**
+         * Database id, used with timestamp as the listing cursor.
+         */
+        @JsonIgnore
+        private Long id;
         private String deploymentId;
-        private String status;
+        private DeploymentStatus status;
         private String applicationName;
         private String version;
-        private String timestamp;
+        private Instant timestamp;
     }
 
     /**
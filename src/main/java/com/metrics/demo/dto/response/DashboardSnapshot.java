@@ -0,0 +1,38 @@
+package com.metrics.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Dashboard data together with the time it was calculated.
+ *
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSnapshot {
+
+    /**
+     * The dashboard data.
+     */
+    private DashboardResponse dashboard;
+
+    /**
+     * Timestamp when the dashboard data was calculated.
+     */
+    private LocalDateTime computedAt;
+
+    /**
+     * Time elapsed since the dashboard data was calculated.
+     */
+    public Duration getAge() {
+        return Duration.between(computedAt, LocalDateTime.now());
+    }
+}
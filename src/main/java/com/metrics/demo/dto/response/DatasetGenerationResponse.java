@@ -0,0 +1,73 @@
+package com.metrics.demo.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.metrics.demo.enums.SyncJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO describing a synthetic dataset generation and its progress.
+ *
+ * Progress counters are live while the generation is running.
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatasetGenerationResponse {
+
+    /**
+     * Identifier used to poll the generation's progress.
+     */
+    private String generationId;
+
+    /**
+     * Current status; null while the generation is queued.
+     */
+    private SyncJobStatus status;
+
+    /**
+     * Seed the data was generated from, to reproduce it.
+     */
+    private long seed;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime from;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime to;
+
+    private long deploymentsRequested;
+
+    private long incidentsRequested;
+
+    private long deploymentsInserted;
+
+    private long incidentsInserted;
+
+    /**
+     * Inserted rows as a percentage of all requested rows.
+     */
+    private double percentComplete;
+
+    /**
+     * Average insert rate since the generation started.
+     */
+    private double rowsPerSecond;
+
+    /**
+     * Failure message, if the generation failed.
+     */
+    private String error;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime submittedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime finishedAt;
+}
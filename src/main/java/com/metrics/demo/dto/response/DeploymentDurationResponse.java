@@ -0,0 +1,75 @@
+package com.metrics.demo.dto.response;
+
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for deployment duration percentiles.
+ *
+ * Contains the p50, p90 and p99 run duration of the completed deployments
+ * of each repository and workflow. Percentiles come from bucketed
+ * histograms and are within 1% of the exact values.
+ *
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeploymentDurationResponse {
+
+    /**
+     * Percentiles per repository and workflow, slowest p90 first.
+     */
+    private List<WorkflowDuration> workflows;
+
+    /**
+     * Total number of completed deployments used in the calculation.
+     */
+    private long totalDeployments;
+
+    /**
+     * Start date of the calculation period.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startDate;
+
+    /**
+     * End date of the calculation period.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime endDate;
+
+    /**
+     * Time range identifier (e.g., "7d", "30d", "custom").
+     */
+    private String timeRange;
+
+    /**
+     * Timestamp when this metric was calculated.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime calculatedAt;
+
+    /**
+     * Nested class for the duration percentiles of one workflow.
+     */
+    @Data
+    @Builder(toBuilder = true)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WorkflowDuration {
+        private String repositoryName;
+        private String workflowName;
+        private long deployments;
+        private long p50Seconds;
+        private long p90Seconds;
+        private long p99Seconds;
+    }
+}
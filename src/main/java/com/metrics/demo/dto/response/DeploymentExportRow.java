@@ -0,0 +1,40 @@
+package com.metrics.demo.dto.response;
+
+import com.metrics.demo.enums.DeploymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One deployment as written by the raw data export.
+ *
+ * Selected directly by the export query, so streamed rows are not managed
+ * entities and the persistence context does not grow during an export.
+ * Field order is the CSV column order.
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeploymentExportRow {
+
+    private String deploymentId;
+
+    private Instant timestamp;
+
+    private DeploymentStatus status;
+
+    private String applicationName;
+
+    private String version;
+
+    private Long workflowRunId;
+
+    private String repositoryName;
+
+    private String workflowName;
+}
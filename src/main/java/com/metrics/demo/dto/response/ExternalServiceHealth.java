@@ -0,0 +1,57 @@
+package com.metrics.demo.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.metrics.demo.enums.SyncSource;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Result of the most recent background health check of an external service.
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExternalServiceHealth {
+
+    /**
+     * Service that was checked.
+     */
+    private SyncSource source;
+
+    /**
+     * Whether the service was reachable and healthy.
+     */
+    private boolean healthy;
+
+    /**
+     * When the check completed.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime checkedAt;
+
+    /**
+     * How long the check took, in milliseconds.
+     */
+    private long latencyMs;
+
+    /**
+     * Why the check failed, or null when healthy.
+     */
+    private String error;
+
+    /**
+     * Returns the age of this result in seconds.
+     *
+     * @return seconds since the check completed
+     */
+    public long getAgeSeconds() {
+        return checkedAt != null ? Duration.between(checkedAt, LocalDateTime.now()).toSeconds() : 0;
+    }
+}
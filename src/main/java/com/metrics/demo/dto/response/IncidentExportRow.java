@@ -0,0 +1,42 @@
+package com.metrics.demo.dto.response;
+
+import com.metrics.demo.enums.IncidentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One incident as written by the raw data export.
+ *
+ * Selected directly by the export query, so streamed rows are not managed
+ * entities and the persistence context does not grow during an export.
+ * Field order is the CSV column order.
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IncidentExportRow {
+
+    private String incidentId;
+
+    private String title;
+
+    private IncidentStatus status;
+
+    private String urgency;
+
+    private String serviceName;
+
+    private Instant createdAt;
+
+    private Instant acknowledgedAt;
+
+    private Instant resolvedAt;
+
+    private Long recoverySeconds;
+}
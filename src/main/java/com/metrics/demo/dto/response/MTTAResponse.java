@@ -0,0 +1,67 @@
+package com.metrics.demo.dto.response;
+
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for Mean Time to Acknowledge (MTTA) metric.
+ *
+ * Contains the calculated MTTA in multiple time units
+ * along with supporting statistics.
+ *
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class MTTAResponse {
+
+    /**
+     * Mean Time to Acknowledge in minutes.
+     */
+    private double meanTimeToAcknowledgeMinutes;
+
+    /**
+     * Mean Time to Acknowledge in hours (for easier reading).
+     */
+    private double meanTimeToAcknowledgeHours;
+
+    /**
+     * Total number of acknowledged incidents used in the calculation.
+     */
+    private int totalAcknowledgedIncidents;
+
+    /**
+     * Number of incidents never acknowledged in the time range.
+     */
+    private int unacknowledgedIncidents;
+
+    /**
+     * Start date of the calculation period.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startDate;
+
+    /**
+     * End date of the calculation period.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime endDate;
+
+    /**
+     * Time range identifier (e.g., "7d", "30d", "custom").
+     */
+    private String timeRange;
+
+    /**
+     * Timestamp when this metric was calculated.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime calculatedAt;
+}
@@ -18,7 +18,7 @@ import java.time.LocalDateTime;
  *
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class MTTRResponse {
@@ -0,0 +1,30 @@
+package com.metrics.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for one page of a keyset-paginated listing.
+ *
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponse<T> {
+
+    /**
+     * Items of this page, in listing order.
+     */
+    private List<T> items;
+
+    /**
+     * Opaque cursor to pass back for the next page, or null on the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,59 @@
+package com.metrics.demo.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO describing an on-demand flight recording.
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfilingResponse {
+
+    private long recordingId;
+
+    /**
+     * Recording state: RUNNING, or STOPPED once stopped or past its maximum duration.
+     */
+    private String state;
+
+    /**
+     * Settings the recording was started with (e.g., "default", "profile").
+     */
+    private String settings;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime stoppedAt;
+
+    /**
+     * Older events are discarded from the recording.
+     */
+    private Duration maxAge;
+
+    /**
+     * The recording keeps at most this many bytes of events, discarding the oldest.
+     */
+    private long maxSizeBytes;
+
+    /**
+     * The recording stops by itself after this long.
+     */
+    private Duration maxDuration;
+
+    /**
+     * Bytes of events recorded so far.
+     */
+    private long sizeBytes;
+}
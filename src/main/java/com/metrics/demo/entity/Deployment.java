@@ -1,6 +1,8 @@
 package com.metrics.demo.entity;
 
+import com.metrics.demo.entity.converter.EpochMillisConverter;
 import com.metrics.demo.enums.DeploymentStatus;
+import com.metrics.demo.util.DurationSketch;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -11,6 +13,7 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 /**
@@ -21,23 +24,34 @@ import java.time.LocalDateTime;
  * could potentially cause incidents.
  *
  * Key fields for metrics calculation:
- * - timestamp: When the deployment occurred (used for time-range filtering)
+ * - timestamp: When the deployment occurred (used for time-range filtering),
+ *   stored as UTC epoch milliseconds
  * - status: Whether the deployment was successful or failed
+ * - queueSeconds/durationSeconds: Time the run waited for a runner and the time
+ *   it ran, from the run timestamps
+ * - durationBucket: The {@link DurationSketch} bucket of durationSeconds,
+ *   maintained on every write so duration percentiles are grouped in the database
  *
  *
  */
 @Entity
 @Table(name = "deployments", indexes = {
         @Index(name = "idx_deployment_timestamp", columnList = "timestamp"),
-        @Index(name = "idx_deployment_status", columnList = "status")})
+        @Index(name = "idx_deployment_timestamp_id_desc", columnList = "timestamp DESC, id DESC"),
+        @Index(name = "idx_deployment_timestamp_duration",
+                columnList = "timestamp, repository_name, workflow_name, duration_bucket")})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Deployment {
 
+    /**
+     * Sequence-generated so Hibernate can batch inserts (IDENTITY disables JDBC batching)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "deployment_seq")
+    @SequenceGenerator(name = "deployment_seq", sequenceName = "deployments_seq", allocationSize = 100)
     private Long id;
 
     /**
@@ -49,12 +63,13 @@ public class Deployment {
     private String deploymentId;
 
     /**
-     * When the deployment occurred
+     * When the deployment occurred, stored as UTC epoch milliseconds
      * Critical for determining deployment count in time ranges for CFR calculation
      */
     @Column(name = "timestamp", nullable = false)
+    @Convert(converter = EpochMillisConverter.class)
     @NotNull
-    private LocalDateTime timestamp;
+    private Instant timestamp;
 
     /**
      * Status of the deployment (SUCCESS, FAILURE, CANCELLED)
@@ -100,6 +115,33 @@ public class Deployment {
     @Size(max = 255)
     private String workflowName;
 
+    /**
+     * Seconds between the run being created and starting (run_started_at - created_at),
+     * null if the run has not started
+     */
+    @Column(name = "queue_seconds")
+    private Integer queueSeconds;
+
+    /**
+     * Seconds the run took from starting to completing (updated_at - run_started_at),
+     * null until the run has completed
+     */
+    @Column(name = "duration_seconds")
+    private Integer durationSeconds;
+
+    /**
+     * Duration bucket of durationSeconds, null while it is unknown
+     */
+    @Column(name = "duration_bucket")
+    private Integer durationBucket;
+
+    /**
+     * Fingerprint of the fields a sync writes (status, application, version, repository and workflow name, timings),
+     * used to skip unchanged records on later syncs; null for rows not written by a sync
+     */
+    @Column(name = "source_fingerprint")
+    private Long sourceFingerprint;
+
     /**
      * Record creation timestamp (for auditing)
      */
@@ -114,6 +156,15 @@ public class Deployment {
     @Column(name = "record_updated_at")
     private LocalDateTime recordUpdatedAt;
 
+    /**
+     * Keeps durationBucket in step with durationSeconds.
+     */
+    @PrePersist
+    @PreUpdate
+    void updateDurationBucket() {
+        durationBucket = durationSeconds != null ? DurationSketch.bucketOf(durationSeconds) : null;
+    }
+
     /**
      * Checks if this deployment was successful.
      *
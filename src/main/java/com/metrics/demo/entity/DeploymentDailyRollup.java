@@ -0,0 +1,55 @@
+package com.metrics.demo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Permanent per-day deployment counts for days whose raw deployments were
+ * removed by the retention compaction.
+ *
+ * A day either has raw deployments or a rollup, never both: compaction folds
+ * a whole UTC day at once, and ingestion drops events for compacted days.
+ *
+ */
+@Entity
+@Table(name = "deployment_daily_rollups")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeploymentDailyRollup {
+
+    /**
+     * UTC day of the deployment timestamps
+     */
+    @Id
+    @Column(name = "day_utc")
+    private LocalDate day;
+
+    /**
+     * All deployments of the day; the CFR denominator
+     */
+    @Column(name = "deployments", nullable = false)
+    private long deployments;
+
+    /**
+     * Deployments of the day with status FAILURE
+     */
+    @Column(name = "failed_deployments", nullable = false)
+    private long failedDeployments;
+
+    /**
+     * When raw rows were last folded into this day
+     */
+    @Column(name = "compacted_at", nullable = false)
+    private LocalDateTime compactedAt;
+}
@@ -0,0 +1,73 @@
+package com.metrics.demo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Permanent per-day deployment duration histograms for days whose raw
+ * deployments were removed by the retention compaction.
+ *
+ * Each row counts the deployments of one workflow on one UTC day whose
+ * duration falls into one {@link com.metrics.demo.util.DurationSketch}
+ * bucket. Rows are only inserted; percentiles sum the counts of a bucket
+ * over days.
+ *
+ */
+@Entity
+@Table(name = "deployment_duration_rollups", indexes = {
+        @Index(name = "idx_deployment_duration_rollup_day", columnList = "day_utc")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeploymentDurationRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "deployment_duration_rollup_seq")
+    @SequenceGenerator(name = "deployment_duration_rollup_seq", sequenceName = "deployment_duration_rollups_seq",
+            allocationSize = 100)
+    private Long id;
+
+    /**
+     * UTC day of the deployment timestamps
+     */
+    @Column(name = "day_utc", nullable = false)
+    private LocalDate day;
+
+    /**
+     * GitHub repository of the deployments
+     */
+    @Column(name = "repository_name")
+    private String repositoryName;
+
+    /**
+     * GitHub workflow name of the deployments
+     */
+    @Column(name = "workflow_name")
+    private String workflowName;
+
+    /**
+     * Duration bucket of the deployments
+     */
+    @Column(name = "bucket", nullable = false)
+    private int bucket;
+
+    /**
+     * Deployments of the day, repository and workflow in the bucket
+     */
+    @Column(name = "deployments", nullable = false)
+    private long deployments;
+}
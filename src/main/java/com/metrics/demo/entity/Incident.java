@@ -1,5 +1,6 @@
 package com.metrics.demo.entity;
 
+import com.metrics.demo.entity.converter.EpochMillisConverter;
 import com.metrics.demo.enums.IncidentStatus;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -11,6 +12,8 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 /**
@@ -22,15 +25,24 @@ import java.time.LocalDateTime;
  * Key fields for metrics calculation:
  * - createdAt: When the incident was first triggered
  * - acknowledgedAt: When someone acknowledged the incident
- * - resolvedAt: When the incident was resolved (used for MTTR calculation)
+ * - resolvedAt: When the incident was resolved
+ * - recoverySeconds: resolvedAt - createdAt, maintained on every write so MTTR
+ *   is aggregated in the database
+ * - acknowledgeSeconds: acknowledgedAt - createdAt, maintained the same way for
+ *   Mean Time To Acknowledge (MTTA)
+ *
+ * Status changes observed by syncs are appended to {@link IncidentTransition}.
+ *
+ * Timestamps are stored as UTC epoch milliseconds.
  *
  *
  */
 @Entity
 @Table(name = "incidents", indexes = {
         @Index(name = "idx_incident_created_at", columnList = "created_at"),
-        @Index(name = "idx_incident_resolved_at", columnList = "resolved_at"),
-        @Index(name = "idx_incident_status", columnList = "status")
+        @Index(name = "idx_incident_created_at_id_desc", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_incident_status_created_at_recovery", columnList = "status, created_at, recovery_seconds"),
+        @Index(name = "idx_incident_created_at_acknowledge", columnList = "created_at, acknowledge_seconds")
 })
 @Data
 @Builder
@@ -38,8 +50,12 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Incident {
 
+    /**
+     * Sequence-generated so Hibernate can batch inserts (IDENTITY disables JDBC batching)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "incident_seq")
+    @SequenceGenerator(name = "incident_seq", sequenceName = "incidents_seq", allocationSize = 100)
     private Long id;
 
     /**
@@ -84,22 +100,38 @@ public class Incident {
      * Critical for determining incident count in time ranges
      */
     @Column(name = "created_at", nullable = false)
+    @Convert(converter = EpochMillisConverter.class)
     @NotNull
-    private LocalDateTime createdAt;
+    private Instant createdAt;
 
     /**
      * When the incident was acknowledged by someone
      * Used for response time metrics
      */
     @Column(name = "acknowledged_at")
-    private LocalDateTime acknowledgedAt;
+    @Convert(converter = EpochMillisConverter.class)
+    private Instant acknowledgedAt;
 
     /**
      * When the incident was resolved
-     * Critical for MTTR calculation: resolvedAt - createdAt = recovery time
      */
     @Column(name = "resolved_at")
-    private LocalDateTime resolvedAt;
+    @Convert(converter = EpochMillisConverter.class)
+    private Instant resolvedAt;
+
+    /**
+     * Recovery time in seconds (resolvedAt - createdAt), null while unresolved
+     * Precomputed on every write so MTTR is a SUM/COUNT in the database
+     */
+    @Column(name = "recovery_seconds")
+    private Long recoverySeconds;
+
+    /**
+     * Time to acknowledge in seconds (acknowledgedAt - createdAt), null until acknowledged
+     * Precomputed on every write so MTTA is a SUM/COUNT in the database
+     */
+    @Column(name = "acknowledge_seconds")
+    private Long acknowledgeSeconds;
 
     /**
      * Original PagerDuty incident key for reference
@@ -108,6 +140,14 @@ public class Incident {
     @Size(max = 255)
     private String pagerdutyIncidentKey;
 
+    /**
+     * Fingerprint of the fields a sync writes (title, status, urgency, service, incident key and
+     * the acknowledged and resolved timestamps),
+     * used to skip unchanged records on later syncs; null for rows not written by a sync
+     */
+    @Column(name = "source_fingerprint")
+    private Long sourceFingerprint;
+
     /**
      * Record creation timestamp (for auditing)
      */
@@ -122,6 +162,18 @@ public class Incident {
     @Column(name = "record_updated_at")
     private LocalDateTime recordUpdatedAt;
 
+    /**
+     * Keeps recoverySeconds and acknowledgeSeconds in step with the timestamps.
+     */
+    @PrePersist
+    @PreUpdate
+    void updateRecoverySeconds() {
+        recoverySeconds = resolvedAt != null && createdAt != null ?
+                Duration.between(createdAt, resolvedAt).toSeconds() : null;
+        acknowledgeSeconds = acknowledgedAt != null && createdAt != null ?
+                Duration.between(createdAt, acknowledgedAt).toSeconds() : null;
+    }
+
     /**
      * Calculates the recovery time in minutes for resolved incidents.
      *
@@ -131,7 +183,7 @@ public class Incident {
         if (resolvedAt == null || createdAt == null) {
             return null;
         }
-        return java.time.Duration.between(createdAt, resolvedAt).toMinutes();
+        return Duration.between(createdAt, resolvedAt).toMinutes();
     }
 
     /**
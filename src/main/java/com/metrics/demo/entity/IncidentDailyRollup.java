@@ -0,0 +1,74 @@
+package com.metrics.demo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Permanent per-day incident counts, recovery and acknowledgement totals for days whose raw
+ * incidents were removed by the retention compaction.
+ *
+ * Incidents are bucketed by the UTC day they were created, like the raw
+ * CFR and MTTR queries. Incidents still open when compacted count towards
+ * the day's incidents but not its resolved incidents.
+ *
+ */
+@Entity
+@Table(name = "incident_daily_rollups")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IncidentDailyRollup {
+
+    /**
+     * UTC day the incidents were created
+     */
+    @Id
+    @Column(name = "day_utc")
+    private LocalDate day;
+
+    /**
+     * All incidents created that day; the CFR numerator
+     */
+    @Column(name = "incidents", nullable = false)
+    private long incidents;
+
+    /**
+     * Resolved incidents with a recovery time
+     */
+    @Column(name = "resolved_incidents", nullable = false)
+    private long resolvedIncidents;
+
+    /**
+     * Sum of recovery_seconds over the resolved incidents; the MTTR numerator
+     */
+    @Column(name = "total_recovery_seconds", nullable = false)
+    private long totalRecoverySeconds;
+
+    /**
+     * Acknowledged incidents with a time to acknowledge
+     */
+    @Column(name = "acknowledged_incidents", nullable = false)
+    private long acknowledgedIncidents;
+
+    /**
+     * Sum of acknowledge_seconds over the acknowledged incidents; the MTTA numerator
+     */
+    @Column(name = "total_acknowledge_seconds", nullable = false)
+    private long totalAcknowledgeSeconds;
+
+    /**
+     * When raw rows were last folded into this day
+     */
+    @Column(name = "compacted_at", nullable = false)
+    private LocalDateTime compactedAt;
+}
@@ -0,0 +1,98 @@
+package com.metrics.demo.entity;
+
+import com.metrics.demo.entity.converter.EpochMillisConverter;
+import com.metrics.demo.enums.IncidentStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Entity representing one observed status change of a PagerDuty incident.
+ *
+ * The table is an append-only audit log: a sync appends a row when it first
+ * sees an incident (with no previous status) and whenever a later sync sees its
+ * status change. Rows are never updated; they are removed only together with
+ * their incidents by the retention compaction. Metrics do not read the log;
+ * MTTR and MTTA come from the incidents' own timestamps.
+ *
+ * Key fields:
+ * - fromStatus/toStatus: The status change; fromStatus is null for the first sighting
+ * - occurredAt: Vendor timestamp of the change (acknowledged_at, resolved_at or
+ *   updated_at), or null when the vendor reports none
+ * - observedAt: When the sync saw the change, which is never taken for occurredAt
+ *
+ */
+@Entity
+@Immutable
+@Table(name = "incident_transitions", indexes = {
+        @Index(name = "idx_incident_transition_incident_id", columnList = "incident_id, id"),
+        @Index(name = "idx_incident_transition_incident_created_at", columnList = "incident_created_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IncidentTransition {
+
+    /**
+     * Sequence-generated so Hibernate can batch inserts (IDENTITY disables JDBC batching)
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "incident_transition_seq")
+    @SequenceGenerator(name = "incident_transition_seq", sequenceName = "incident_transitions_seq",
+            allocationSize = 100)
+    private Long id;
+
+    /**
+     * PagerDuty incident ID of the incident that changed
+     */
+    @Column(name = "incident_id", nullable = false)
+    @NotNull
+    @Size(max = 255)
+    private String incidentId;
+
+    /**
+     * Status before the change, or null when the incident was first seen
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status")
+    private IncidentStatus fromStatus;
+
+    /**
+     * Status after the change
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false)
+    @NotNull
+    private IncidentStatus toStatus;
+
+    /**
+     * When the change happened according to the vendor, or null if it does not say
+     */
+    @Column(name = "occurred_at")
+    @Convert(converter = EpochMillisConverter.class)
+    private Instant occurredAt;
+
+    /**
+     * When the sync observed the change; at most one sync interval after it happened
+     */
+    @Column(name = "observed_at", nullable = false)
+    @Convert(converter = EpochMillisConverter.class)
+    @NotNull
+    private Instant observedAt;
+
+    /**
+     * Creation time of the incident, so the log is compacted with its incidents
+     */
+    @Column(name = "incident_created_at", nullable = false)
+    @Convert(converter = EpochMillisConverter.class)
+    @NotNull
+    private Instant incidentCreatedAt;
+}
@@ -0,0 +1,162 @@
+package com.metrics.demo.entity;
+
+import com.metrics.demo.enums.SyncJobStatus;
+import com.metrics.demo.enums.SyncJobType;
+import com.metrics.demo.enums.SyncSource;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a single run of a sync job.
+ *
+ * Every sync attempt is recorded here, including runs that were skipped
+ * because another run for the same source was still in progress. The
+ * history is used to size the sync schedule against real ingest cost and
+ * to resume long runs from their last checkpoint.
+ *
+ * Key fields:
+ * - windowStart/windowEnd: The vendor time window the run covers
+ * - checkpoint: Last fully persisted position (e.g. page or offset)
+ *
+ */
+@Entity
+@Table(name = "sync_job_runs", indexes = {
+        @Index(name = "idx_sync_job_source_started_at", columnList = "source, started_at"),
+        @Index(name = "idx_sync_job_started_at", columnList = "started_at DESC"),
+        @Index(name = "idx_sync_job_status", columnList = "status"),
+        @Index(name = "idx_sync_job_resumed_from", columnList = "resumed_from_run_id")})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncJobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * External system the job synchronizes from
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source", nullable = false, length = 50)
+    @NotNull
+    private SyncSource source;
+
+    /**
+     * Kind of job (INCREMENTAL, BACKFILL)
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false, length = 50)
+    @NotNull
+    private SyncJobType jobType;
+
+    /**
+     * Outcome of the run (RUNNING, SUCCEEDED, FAILED, SKIPPED)
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 50)
+    @NotNull
+    private SyncJobStatus status;
+
+    /**
+     * Start of the vendor time window covered by the run
+     */
+    @Column(name = "window_start")
+    private LocalDateTime windowStart;
+
+    /**
+     * End of the vendor time window covered by the run
+     */
+    @Column(name = "window_end")
+    private LocalDateTime windowEnd;
+
+    /**
+     * When the run started
+     */
+    @Column(name = "started_at", nullable = false)
+    @NotNull
+    private LocalDateTime startedAt;
+
+    /**
+     * When the run finished, or null while it is running
+     */
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    /**
+     * Number of API pages fetched from the vendor
+     */
+    @Column(name = "pages_fetched")
+    private long pagesFetched;
+
+    /**
+     * Number of records returned by the vendor
+     */
+    @Column(name = "rows_fetched")
+    private long rowsFetched;
+
+    /**
+     * Number of new rows inserted
+     */
+    @Column(name = "rows_inserted")
+    private long rowsInserted;
+
+    /**
+     * Number of existing rows updated
+     */
+    @Column(name = "rows_updated")
+    private long rowsUpdated;
+
+    /**
+     * Number of fetched records skipped because their stored row was unchanged
+     */
+    @Column(name = "rows_skipped")
+    private long rowsSkipped;
+
+    /**
+     * Number of records or pages that failed to process
+     */
+    @Column(name = "error_count")
+    private long errorCount;
+
+    /**
+     * Message of the error that aborted the run, or of the last record-level error
+     */
+    @Column(name = "error_message", length = 1000)
+    @Size(max = 1000)
+    private String errorMessage;
+
+    /**
+     * Last fully persisted position within the window, used to resume the run
+     */
+    @Column(name = "checkpoint")
+    @Size(max = 255)
+    private String checkpoint;
+
+    /**
+     * Id of the failed run this run resumed from, if any
+     */
+    @Column(name = "resumed_from_run_id")
+    private Long resumedFromRunId;
+
+    /**
+     * Calculates the wall-clock duration of the run.
+     *
+     * @return run duration, or null if the run has not finished
+     */
+    public Duration getDuration() {
+        if (startedAt == null || finishedAt == null) {
+            return null;
+        }
+        return Duration.between(startedAt, finishedAt);
+    }
+}
@@ -0,0 +1,28 @@
+package com.metrics.demo.entity.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.Instant;
+
+/**
+ * Stores an Instant as UTC milliseconds since the epoch in a BIGINT column.
+ *
+ * Range predicates and duration arithmetic on such columns are plain integer
+ * comparisons in the database, independent of session or JVM time zones.
+ * Precision below one millisecond is dropped.
+ *
+ */
+@Converter
+public class EpochMillisConverter implements AttributeConverter<Instant, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Instant instant) {
+        return instant != null ? instant.toEpochMilli() : null;
+    }
+
+    @Override
+    public Instant convertToEntityAttribute(Long epochMillis) {
+        return epochMillis != null ? Instant.ofEpochMilli(epochMillis) : null;
+    }
+}
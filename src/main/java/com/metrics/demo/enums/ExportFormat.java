@@ -0,0 +1,55 @@
+package com.metrics.demo.enums;
+
+import java.util.Locale;
+
+/**
+ * Enumeration of raw data export formats.
+ *
+ * - CSV: RFC 4180 with a header row
+ * - NDJSON: one JSON object per line
+ *
+ */
+public enum ExportFormat {
+
+    /**
+     * Comma-separated values with a header row.
+     */
+    CSV("text/csv", "csv"),
+
+    /**
+     * Newline-delimited JSON, one object per row.
+     */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Parses a format request parameter, ignoring case.
+     *
+     * @param value the parameter value, e.g. "csv"
+     * @return the format
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static ExportFormat fromParameter(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equals(value.toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format '" + value + "'; expected csv or ndjson");
+    }
+}
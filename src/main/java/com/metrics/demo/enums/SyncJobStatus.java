@@ -0,0 +1,33 @@
+package com.metrics.demo.enums;
+
+/**
+ * Enumeration of sync job run outcomes.
+ *
+ * - RUNNING: Job is in progress
+ * - SUCCEEDED: Job finished without errors
+ * - FAILED: Job aborted; it may be resumed from its last checkpoint
+ * - SKIPPED: Job was not started because another run for the same source was in progress
+ *
+ */
+public enum SyncJobStatus {
+
+    /**
+     * Job is in progress.
+     */
+    RUNNING,
+
+    /**
+     * Job finished without errors.
+     */
+    SUCCEEDED,
+
+    /**
+     * Job aborted with an error or was interrupted by a shutdown.
+     */
+    FAILED,
+
+    /**
+     * Job was rejected because another run for the same source was still in progress.
+     */
+    SKIPPED
+}
@@ -0,0 +1,22 @@
+package com.metrics.demo.enums;
+
+/**
+ * Enumeration of sync job types.
+ *
+ * - INCREMENTAL: Periodic or manual sync of a recent, sliding window
+ * - BACKFILL: Import of a fixed historical window
+ *
+ */
+public enum SyncJobType {
+
+    /**
+     * Sync of the most recent window, triggered by the scheduler or manually.
+     */
+    INCREMENTAL,
+
+    /**
+     * Import of a fixed historical window.
+     * Backfill windows never move, so interrupted runs can be resumed from their checkpoint.
+     */
+    BACKFILL
+}
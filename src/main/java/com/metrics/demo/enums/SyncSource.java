@@ -0,0 +1,23 @@
+package com.metrics.demo.enums;
+
+/**
+ * Enumeration of the external systems data is synchronized from.
+ *
+ * Each source has its own sync lock, so runs for different sources may
+ * proceed concurrently while runs for the same source never overlap:
+ * - GITHUB_ACTIONS: Workflow runs imported as deployments
+ * - PAGERDUTY: Incidents imported for CFR and MTTR
+ *
+ */
+public enum SyncSource {
+
+    /**
+     * GitHub Actions workflow runs.
+     */
+    GITHUB_ACTIONS,
+
+    /**
+     * PagerDuty incidents.
+     */
+    PAGERDUTY
+}
@@ -0,0 +1,18 @@
+package com.metrics.demo.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a profiling recording is requested while another one is still running.
+ *
+ */
+@Getter
+public class ProfilingInProgressException extends RuntimeException {
+
+    private final long recordingId;
+
+    public ProfilingInProgressException(long recordingId) {
+        super("Profiling recording " + recordingId + " is already running");
+        this.recordingId = recordingId;
+    }
+}
@@ -0,0 +1,19 @@
+package com.metrics.demo.exception;
+
+import com.metrics.demo.enums.SyncSource;
+import lombok.Getter;
+
+/**
+ * Thrown when a sync job is requested for a source that already has a job running.
+ *
+ */
+@Getter
+public class SyncInProgressException extends RuntimeException {
+
+    private final SyncSource source;
+
+    public SyncInProgressException(SyncSource source) {
+        super("A sync job for " + source + " is already running");
+        this.source = source;
+    }
+}
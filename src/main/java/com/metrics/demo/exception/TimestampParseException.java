@@ -0,0 +1,28 @@
+package com.metrics.demo.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a vendor timestamp is missing or is not a valid RFC 3339 date-time.
+ *
+ */
+@Getter
+public class TimestampParseException extends RuntimeException {
+
+    /**
+     * The rejected input, or null if the timestamp was missing.
+     */
+    private final String input;
+
+    /**
+     * Index of the offending character in the input, or -1 if the timestamp was missing.
+     */
+    private final int errorIndex;
+
+    public TimestampParseException(String input, int errorIndex, String reason) {
+        super(input == null ? "Missing timestamp"
+                : "Invalid RFC 3339 timestamp '" + input + "' at index " + errorIndex + ": " + reason);
+        this.input = input;
+        this.errorIndex = errorIndex;
+    }
+}
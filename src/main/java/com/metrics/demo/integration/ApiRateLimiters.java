@@ -0,0 +1,71 @@
+package com.metrics.demo.integration;
+
+import com.metrics.demo.enums.SyncSource;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-source request budgets for the vendor APIs.
+ *
+ * Every outgoing call acquires a permit first (see {@link ExternalApiGuard}), so concurrent work such as
+ * parallel backfill slices and the scheduled sync share one budget per
+ * vendor instead of each exhausting the vendor's rate limit on its own.
+ * Permits are spread evenly over the minute rather than granted in bursts.
+ *
+ */
+@Component
+@Slf4j
+public class ApiRateLimiters {
+
+    private final Map<SyncSource, RateLimiter> rateLimiters = new EnumMap<>(SyncSource.class);
+
+    public ApiRateLimiters(@Value("${github.api.rate-limit:80}") int gitHubRequestsPerMinute,
+                           @Value("${pagerduty.api.rate-limit:120}") int pagerDutyRequestsPerMinute,
+                           @Value("${sync.rate-limit.max-wait:PT10M}") Duration maxWait) {
+        rateLimiters.put(SyncSource.GITHUB_ACTIONS, create("github", gitHubRequestsPerMinute, maxWait));
+        rateLimiters.put(SyncSource.PAGERDUTY, create("pagerduty", pagerDutyRequestsPerMinute, maxWait));
+    }
+
+    /**
+     * Returns the rate limiter guarding a source's budget.
+     * Callers wait up to the configured maximum for a permit, after which
+     * the call fails with {@link io.github.resilience4j.ratelimiter.RequestNotPermitted}.
+     *
+     * @param source the vendor about to be called
+     * @return the source's rate limiter
+     */
+    public RateLimiter get(SyncSource source) {
+        return rateLimiters.get(source);
+    }
+
+    /**
+     * Returns the configured budget of a source.
+     *
+     * @param source the vendor
+     * @return allowed requests per minute
+     */
+    public int getRequestsPerMinute(SyncSource source) {
+        RateLimiterConfig config = rateLimiters.get(source).getRateLimiterConfig();
+        return (int) (Duration.ofMinutes(1).toNanos() / config.getLimitRefreshPeriod().toNanos());
+    }
+
+    private static RateLimiter create(String name, int requestsPerMinute, Duration maxWait) {
+        if (requestsPerMinute <= 0) {
+            throw new IllegalArgumentException("Rate limit for " + name + " must be positive");
+        }
+        log.info("Rate limiting {} API calls to {} requests per minute", name, requestsPerMinute);
+
+        return RateLimiter.of(name, RateLimiterConfig.custom()
+                .limitForPeriod(1)
+                .limitRefreshPeriod(Duration.ofMinutes(1).dividedBy(requestsPerMinute))
+                .timeoutDuration(maxWait)
+                .build());
+    }
+}
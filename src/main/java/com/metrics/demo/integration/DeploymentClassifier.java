@@ -0,0 +1,132 @@
+package com.metrics.demo.integration;
+
+import com.metrics.demo.dto.external.GitHubWorkflowRun;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Decides which GitHub Actions workflow runs are deployments.
+ *
+ * Runs can be restricted by workflow (file name, path or id), workflow
+ * display name, head branch and triggering event, and to completed runs.
+ * An empty criterion matches every run. Whatever the GitHub API can filter
+ * on is pushed into the request: each configured workflow is listed through
+ * its own runs endpoint, and a single branch or event and the completed
+ * status become query parameters. Everything is checked again on the
+ * returned runs, which also covers the criteria GitHub cannot filter on.
+ *
+ * Workflow runs carry no deployment environment, so environment-specific
+ * deployments are selected through the workflows that deploy to them.
+ *
+ */
+@Component
+@Slf4j
+public class DeploymentClassifier {
+
+    private final List<String> workflows;
+    private final Set<String> workflowNames;
+    private final Set<String> branches;
+    private final Set<String> events;
+    private final boolean completedOnly;
+
+    public DeploymentClassifier(@Value("${github.deployments.workflows:}") List<String> workflows,
+                                @Value("${github.deployments.workflow-names:}") List<String> workflowNames,
+                                @Value("${github.deployments.branches:}") List<String> branches,
+                                @Value("${github.deployments.events:}") List<String> events,
+                                @Value("${github.deployments.completed-only:true}") boolean completedOnly) {
+        this.workflows = clean(workflows).stream().map(DeploymentClassifier::fileName).distinct().toList();
+        this.workflowNames = clean(workflowNames).stream()
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.branches = Set.copyOf(clean(branches));
+        this.events = Set.copyOf(clean(events));
+        this.completedOnly = completedOnly;
+        log.info("Counting as deployments the {} runs of {}, named {}, on branches {}, triggered by {}",
+                completedOnly ? "completed" : "all", this.workflows.isEmpty() ? "all workflows" : this.workflows,
+                this.workflowNames.isEmpty() ? "anything" : this.workflowNames,
+                this.branches.isEmpty() ? "any" : this.branches, this.events.isEmpty() ? "any event" : this.events);
+    }
+
+    /**
+     * Workflows whose runs are listed through their own endpoint, as file names or ids.
+     *
+     * @return the workflows, or an empty list to list the runs of the whole repository
+     */
+    public List<String> getWorkflows() {
+        return workflows;
+    }
+
+    /**
+     * Query parameters that let GitHub filter the runs it returns.
+     *
+     * @return parameter names and values, in a fixed order
+     */
+    public Map<String, String> getQueryFilters() {
+        Map<String, String> filters = new LinkedHashMap<>();
+        if (branches.size() == 1) {
+            filters.put("branch", branches.iterator().next());
+        }
+        if (events.size() == 1) {
+            filters.put("event", events.iterator().next());
+        }
+        if (completedOnly) {
+            filters.put("status", "completed");
+        }
+        return filters;
+    }
+
+    /**
+     * Checks a returned run against every criterion.
+     *
+     * @param workflowRun the run
+     * @return true if the run is a deployment
+     */
+    public boolean isDeployment(GitHubWorkflowRun workflowRun) {
+        if (completedOnly && workflowRun.getStatus() != null && !"completed".equals(workflowRun.getStatus())) {
+            return false;
+        }
+        if (!branches.isEmpty() && !branches.contains(workflowRun.getHeadBranch())) {
+            return false;
+        }
+        if (!events.isEmpty() && !events.contains(workflowRun.getEvent())) {
+            return false;
+        }
+        if (!workflowNames.isEmpty() && (workflowRun.getName() == null
+                || !workflowNames.contains(workflowRun.getName().toLowerCase(Locale.ROOT)))) {
+            return false;
+        }
+        return workflows.isEmpty() || isConfiguredWorkflow(workflowRun);
+    }
+
+    /**
+     * Runs without a workflow id or path were listed through a configured workflow's endpoint
+     * and are trusted to belong to it.
+     */
+    private boolean isConfiguredWorkflow(GitHubWorkflowRun workflowRun) {
+        if (workflowRun.getWorkflowId() == null && workflowRun.getPath() == null) {
+            return true;
+        }
+        return (workflowRun.getWorkflowId() != null && workflows.contains(workflowRun.getWorkflowId().toString()))
+                || (workflowRun.getPath() != null && workflows.contains(fileName(workflowRun.getPath())));
+    }
+
+    private static List<String> clean(List<String> values) {
+        return values.stream().map(String::trim).filter(value -> !value.isEmpty()).toList();
+    }
+
+    /**
+     * The workflows endpoint takes the file name, not the path; a path may also carry a ref (@main).
+     */
+    private static String fileName(String workflow) {
+        String path = workflow.contains("@") ? workflow.substring(0, workflow.indexOf('@')) : workflow;
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+}
@@ -0,0 +1,193 @@
+package com.metrics.demo.integration;
+
+import com.metrics.demo.enums.SyncSource;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.ratelimiter.operator.RateLimiterOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Resilience policies wrapped around every vendor API call.
+ *
+ * Calls are decorated, from the outside in, with:
+ * - Retry: exponential backoff with jitter for transient failures (5xx, 429,
+ *   I/O errors, timeouts, full bulkhead). Only idempotent GETs go through the
+ *   guard, so retrying is always safe.
+ * - Rate limiter: the shared per-source budget from {@link ApiRateLimiters}.
+ *   Waiting for a permit happens outside the breaker so it never counts as a slow call.
+ * - Circuit breaker: once the failure rate crosses the threshold, calls fail
+ *   fast for a cool-down period instead of hammering a vendor that is down.
+ * - Bulkhead: caps concurrent in-flight calls per source.
+ * - Timeout: bounds each individual attempt.
+ *
+ * Each source has its own breaker and bulkhead, so an outage at one vendor
+ * never affects calls to the other.
+ *
+ */
+@Component
+@Slf4j
+public class ExternalApiGuard {
+
+    private final ApiRateLimiters apiRateLimiters;
+    private final Map<SyncSource, CircuitBreaker> circuitBreakers = new EnumMap<>(SyncSource.class);
+    private final Map<SyncSource, Bulkhead> bulkheads = new EnumMap<>(SyncSource.class);
+
+    private final int maxRetries;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration callTimeout;
+
+    public ExternalApiGuard(ApiRateLimiters apiRateLimiters,
+                            @Value("${resilience.retry.max-retries:3}") int maxRetries,
+                            @Value("${resilience.retry.initial-backoff:PT0.5S}") Duration initialBackoff,
+                            @Value("${resilience.retry.max-backoff:PT10S}") Duration maxBackoff,
+                            @Value("${resilience.call-timeout:PT30S}") Duration callTimeout,
+                            @Value("${resilience.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+                            @Value("${resilience.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+                            @Value("${resilience.circuit-breaker.wait-in-open-state:PT60S}") Duration waitInOpenState,
+                            @Value("${resilience.bulkhead.max-concurrent-calls:4}") int maxConcurrentCalls) {
+        this.apiRateLimiters = apiRateLimiters;
+        this.maxRetries = maxRetries;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.callTimeout = callTimeout;
+
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(Math.min(5, slidingWindowSize))
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(1)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // Client errors (bad token, unknown repo) are not outages
+                .recordException(ExternalApiGuard::isTransient)
+                .build();
+
+        // Calls never wait for a bulkhead slot; a full bulkhead is retried with backoff instead
+        BulkheadConfig bulkheadConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+
+        for (SyncSource source : SyncSource.values()) {
+            String name = source.name().toLowerCase();
+            CircuitBreaker circuitBreaker = CircuitBreaker.of(name, circuitBreakerConfig);
+            circuitBreaker.getEventPublisher().onStateTransition(event ->
+                    log.warn("Circuit breaker for {} changed state: {}", source, event.getStateTransition()));
+            circuitBreakers.put(source, circuitBreaker);
+            bulkheads.put(source, Bulkhead.of(name, bulkheadConfig));
+        }
+    }
+
+    /**
+     * Decorates an idempotent vendor call with the source's resilience policies.
+     *
+     * @param source the vendor being called
+     * @param call the call; subscribed once per attempt
+     * @return the decorated call
+     */
+    public <T> Mono<T> guard(SyncSource source, Mono<T> call) {
+        return call
+                .timeout(callTimeout)
+                .transformDeferred(BulkheadOperator.of(bulkheads.get(source)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakers.get(source)))
+                .transformDeferred(RateLimiterOperator.of(apiRateLimiters.get(source)))
+                .retryWhen(Retry.backoff(maxRetries, initialBackoff)
+                        .maxBackoff(maxBackoff)
+                        .jitter(0.5)
+                        .filter(ExternalApiGuard::isRetryable)
+                        .doBeforeRetry(signal -> log.warn("Retrying {} call (attempt {}) after: {}",
+                                source, signal.totalRetries() + 2, signal.failure().toString()))
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    /**
+     * Decorates a health probe: a single attempt through the source's circuit breaker.
+     * Probes are not retried and do not wait for a rate limit permit, so a
+     * health check answers quickly even while a sync holds the budget.
+     *
+     * @param source the vendor being probed
+     * @param call the probe call
+     * @return the decorated probe
+     */
+    public <T> Mono<T> probe(SyncSource source, Mono<T> call) {
+        return call
+                .timeout(callTimeout)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakers.get(source)));
+    }
+
+    /**
+     * Returns the current circuit breaker state of a source without calling it.
+     *
+     * @param source the vendor
+     * @return the breaker state
+     */
+    public CircuitBreaker.State getState(SyncSource source) {
+        return circuitBreakers.get(source).getState();
+    }
+
+    /**
+     * Derives a source's health from recent real traffic, without making a call.
+     *
+     * @param source the vendor
+     * @return true/false when the breaker has recent calls to judge by, or null if it has none
+     */
+    public Boolean healthFromRecentCalls(SyncSource source) {
+        CircuitBreaker circuitBreaker = circuitBreakers.get(source);
+        return switch (circuitBreaker.getState()) {
+            case OPEN, FORCED_OPEN -> false;
+            case DISABLED, METRICS_ONLY -> null;
+            case CLOSED, HALF_OPEN -> {
+                CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+                if (metrics.getNumberOfBufferedCalls() == 0) {
+                    yield null;
+                }
+                // Failure rate is -1 until the minimum number of calls was recorded
+                float failureRate = metrics.getFailureRate();
+                yield failureRate < 0 ?
+                        metrics.getNumberOfFailedCalls() == 0 :
+                        failureRate < circuitBreaker.getCircuitBreakerConfig().getFailureRateThreshold();
+            }
+        };
+    }
+
+    /**
+     * Failures that indicate the vendor (or the network path to it) is unwell.
+     */
+    static boolean isTransient(Throwable throwable) {
+        if (throwable instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError()
+                    || responseException.getStatusCode().value() == 429;
+        }
+        return throwable instanceof WebClientRequestException
+                || throwable instanceof TimeoutException;
+    }
+
+    /**
+     * Failures worth another attempt. An open breaker is deliberately not retried.
+     */
+    static boolean isRetryable(Throwable throwable) {
+        if (throwable instanceof CallNotPermittedException) {
+            return false;
+        }
+        return isTransient(throwable) || throwable instanceof BulkheadFullException;
+    }
+}
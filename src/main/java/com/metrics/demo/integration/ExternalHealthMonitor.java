@@ -0,0 +1,121 @@
+package com.metrics.demo.integration;
+
+import com.metrics.demo.dto.response.ExternalServiceHealth;
+import com.metrics.demo.enums.SyncSource;
+import com.metrics.demo.observability.CacheLookupEvent;
+import com.metrics.demo.service.GitHubActionsService;
+import com.metrics.demo.service.PagerDutyService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Keeps a cached snapshot of the external services' health.
+ *
+ * Both services are checked in parallel on a background schedule, each
+ * bounded by a timeout, so health endpoints and probes only ever read the
+ * snapshot and never call a vendor themselves.
+ *
+ */
+@Component
+@Slf4j
+public class ExternalHealthMonitor {
+
+    private final GitHubActionsService gitHubActionsService;
+    private final PagerDutyService pagerDutyService;
+    private final Duration timeout;
+
+    private final ExecutorService probeExecutor;
+
+    private final AtomicReference<Map<SyncSource, ExternalServiceHealth>> snapshot =
+            new AtomicReference<>(Collections.emptyMap());
+
+    public ExternalHealthMonitor(GitHubActionsService gitHubActionsService,
+                                 PagerDutyService pagerDutyService,
+                                 @Value("${health.external.timeout:PT5S}") Duration timeout) {
+        this.gitHubActionsService = gitHubActionsService;
+        this.pagerDutyService = pagerDutyService;
+        this.timeout = timeout;
+        this.probeExecutor = Executors.newCachedThreadPool(new CustomizableThreadFactory("health-probe-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        probeExecutor.shutdownNow();
+    }
+
+    /**
+     * Re-checks all external services and replaces the snapshot.
+     */
+    @Scheduled(fixedDelayString = "${health.external.refresh-interval:PT30S}")
+    public void refresh() {
+        CompletableFuture<ExternalServiceHealth> gitHub =
+                check(SyncSource.GITHUB_ACTIONS, gitHubActionsService::isHealthy);
+        CompletableFuture<ExternalServiceHealth> pagerDuty =
+                check(SyncSource.PAGERDUTY, pagerDutyService::isHealthy);
+
+        Map<SyncSource, ExternalServiceHealth> results = new EnumMap<>(SyncSource.class);
+        results.put(SyncSource.GITHUB_ACTIONS, gitHub.join());
+        results.put(SyncSource.PAGERDUTY, pagerDuty.join());
+        snapshot.set(Collections.unmodifiableMap(results));
+
+        log.debug("Refreshed external service health: GitHub Actions {}, PagerDuty {}",
+                results.get(SyncSource.GITHUB_ACTIONS).isHealthy() ? "UP" : "DOWN",
+                results.get(SyncSource.PAGERDUTY).isHealthy() ? "UP" : "DOWN");
+    }
+
+    /**
+     * Returns the latest health check result of a service.
+     *
+     * @param source the service
+     * @return the latest result, or empty before the first check has completed
+     */
+    public Optional<ExternalServiceHealth> getHealth(SyncSource source) {
+        CacheLookupEvent lookup = new CacheLookupEvent("externalHealth", source.name());
+        ExternalServiceHealth health = snapshot.get().get(source);
+        lookup.lookedUp(health != null);
+        return Optional.ofNullable(health);
+    }
+
+    private CompletableFuture<ExternalServiceHealth> check(SyncSource source, BooleanSupplier probe) {
+        long started = System.nanoTime();
+        return CompletableFuture.supplyAsync(probe::getAsBoolean, probeExecutor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((healthy, failure) -> {
+                    String error = null;
+                    if (failure != null) {
+                        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ?
+                                failure.getCause() : failure;
+                        error = cause instanceof TimeoutException ?
+                                "Health check timed out after " + timeout.toMillis() + " ms" : cause.getMessage();
+                    } else if (!healthy) {
+                        error = "Health check failed";
+                    }
+                    return ExternalServiceHealth.builder()
+                            .source(source)
+                            .healthy(failure == null && healthy)
+                            .checkedAt(LocalDateTime.now())
+                            .latencyMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                            .error(error)
+                            .build();
+                });
+    }
+}
@@ -0,0 +1,42 @@
+package com.metrics.demo.integration;
+
+import com.metrics.demo.dto.response.ExternalServiceHealth;
+import com.metrics.demo.enums.SyncSource;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Actuator health indicator reporting the cached health of one external service.
+ *
+ * Reads the snapshot maintained by {@link ExternalHealthMonitor}, so it never
+ * calls the vendor itself.
+ *
+ */
+public class ExternalServiceHealthIndicator implements HealthIndicator {
+
+    private final ExternalHealthMonitor externalHealthMonitor;
+    private final SyncSource source;
+
+    public ExternalServiceHealthIndicator(ExternalHealthMonitor externalHealthMonitor, SyncSource source) {
+        this.externalHealthMonitor = externalHealthMonitor;
+        this.source = source;
+    }
+
+    @Override
+    public Health health() {
+        return externalHealthMonitor.getHealth(source)
+                .map(ExternalServiceHealthIndicator::toHealth)
+                .orElseGet(() -> Health.unknown().withDetail("reason", "Not checked yet").build());
+    }
+
+    private static Health toHealth(ExternalServiceHealth health) {
+        Health.Builder builder = health.isHealthy() ? Health.up() : Health.down();
+        builder.withDetail("checkedAt", health.getCheckedAt().toString())
+                .withDetail("ageSeconds", health.getAgeSeconds())
+                .withDetail("latencyMs", health.getLatencyMs());
+        if (health.getError() != null) {
+            builder.withDetail("error", health.getError());
+        }
+        return builder.build();
+    }
+}
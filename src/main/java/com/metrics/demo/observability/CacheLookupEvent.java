@@ -0,0 +1,48 @@
+package com.metrics.demo.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a lookup in one of the in-memory caches, such as
+ * the dashboard snapshots or the external health results.
+ *
+ */
+@Name("com.metrics.demo.CacheLookup")
+@Label("Cache Lookup")
+@Category({"Metrics Dashboard", "Cache"})
+@Description("A lookup in an in-memory cache and whether it hit")
+@StackTrace(false)
+public class CacheLookupEvent extends jdk.jfr.Event {
+
+    @Label("Cache")
+    String cache;
+
+    @Label("Key")
+    String key;
+
+    @Label("Hit")
+    boolean hit;
+
+    /**
+     * Creates the event and starts timing it.
+     */
+    public CacheLookupEvent(String cache, String key) {
+        this.cache = cache;
+        this.key = key;
+        begin();
+    }
+
+    /**
+     * Ends the event with its outcome and records it if enabled.
+     *
+     * @param hit whether the cache held the key
+     */
+    public void lookedUp(boolean hit) {
+        this.hit = hit;
+        commit();
+    }
+}
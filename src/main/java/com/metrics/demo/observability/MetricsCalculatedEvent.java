@@ -0,0 +1,69 @@
+package com.metrics.demo.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+import java.time.Instant;
+
+/**
+ * Flight recorder event for one metrics calculation against the database,
+ * with its range and the rows it counted.
+ *
+ */
+@Name("com.metrics.demo.MetricsCalculated")
+@Label("Metrics Calculated")
+@Category({"Metrics Dashboard", "Metrics"})
+@Description("One metric calculated from the database for a date range")
+@StackTrace(false)
+public class MetricsCalculatedEvent extends jdk.jfr.Event {
+
+    @Label("Metric")
+    String metric;
+
+    @Label("Range Start")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    long rangeStart;
+
+    @Label("Range End")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    long rangeEnd;
+
+    @Label("Deployments")
+    @Description("Deployments counted, raw and rolled up")
+    long deployments;
+
+    @Label("Incidents")
+    @Description("Incidents counted, raw and rolled up")
+    long incidents;
+
+    @Label("Rolled-up Days Read")
+    boolean rolledUpDays;
+
+    /**
+     * Creates the event and starts timing it.
+     */
+    public MetricsCalculatedEvent(String metric, Instant rangeStart, Instant rangeEnd) {
+        this.metric = metric;
+        this.rangeStart = rangeStart.toEpochMilli();
+        this.rangeEnd = rangeEnd.toEpochMilli();
+        begin();
+    }
+
+    /**
+     * Ends the event with the rows counted and records it if enabled.
+     *
+     * @param deployments deployments counted
+     * @param incidents incidents counted
+     * @param rolledUpDays whether daily rollups were read
+     */
+    public void calculated(long deployments, long incidents, boolean rolledUpDays) {
+        this.deployments = deployments;
+        this.incidents = incidents;
+        this.rolledUpDays = rolledUpDays;
+        commit();
+    }
+}
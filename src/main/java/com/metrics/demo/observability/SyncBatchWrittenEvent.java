@@ -0,0 +1,59 @@
+package com.metrics.demo.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one fetched page written by a sync, in its own
+ * transaction: the fingerprint lookup, the batched writes and the commit.
+ *
+ */
+@Name("com.metrics.demo.SyncBatchWritten")
+@Label("Sync Batch Written")
+@Category({"Metrics Dashboard", "Sync"})
+@Description("One page of vendor records upserted by a sync, commit included")
+@StackTrace(false)
+public class SyncBatchWrittenEvent extends jdk.jfr.Event {
+
+    @Label("Source")
+    String source;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Inserted")
+    int inserted;
+
+    @Label("Updated")
+    int updated;
+
+    @Label("Skipped")
+    @Description("Rows left alone because their stored copy is unchanged")
+    int skipped;
+
+    /**
+     * Creates the event and starts timing it.
+     */
+    public SyncBatchWrittenEvent(String source, int rows) {
+        this.source = source;
+        this.rows = rows;
+        begin();
+    }
+
+    /**
+     * Sets the outcome of the batch; the event is recorded by {@link #commit()} once the
+     * transaction has committed.
+     *
+     * @param inserted rows inserted
+     * @param updated rows updated
+     * @param skipped rows skipped
+     */
+    public void written(int inserted, int updated, int skipped) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.skipped = skipped;
+    }
+}
@@ -0,0 +1,149 @@
+package com.metrics.demo.observability;
+
+import com.metrics.demo.enums.SyncSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Meters for the vendor sync hot path.
+ *
+ * Published per source:
+ * - sync.fetch: latency of each API page fetch, including retries and rate-limit waits
+ * - sync.parse: time spent converting a fetched page into DTOs
+ * - sync.rows.fetched / sync.rows.inserted / sync.rows.updated: row counters
+ * - sync.rows.skipped: fetched rows left alone because their stored copy is unchanged
+ * - sync.lag: seconds between now and the newest ingested record timestamp
+ *
+ * Meters are registered up front so recording on the hot path does not
+ * look them up in the registry.
+ *
+ */
+@Component
+public class SyncMetrics {
+
+    private final Map<SyncSource, Timer> fetchSuccessTimers = new EnumMap<>(SyncSource.class);
+    private final Map<SyncSource, Timer> fetchErrorTimers = new EnumMap<>(SyncSource.class);
+    private final Map<SyncSource, Timer> parseTimers = new EnumMap<>(SyncSource.class);
+    private final Map<SyncSource, Counter> rowsFetched = new EnumMap<>(SyncSource.class);
+    private final Map<SyncSource, Counter> rowsInserted = new EnumMap<>(SyncSource.class);
+    private final Map<SyncSource, Counter> rowsUpdated = new EnumMap<>(SyncSource.class);
+    private final Map<SyncSource, Counter> rowsSkipped = new EnumMap<>(SyncSource.class);
+    private final Map<SyncSource, AtomicReference<Instant>> newestIngested = new EnumMap<>(SyncSource.class);
+
+    public SyncMetrics(MeterRegistry meterRegistry) {
+        for (SyncSource source : SyncSource.values()) {
+            String sourceTag = source.name();
+            fetchSuccessTimers.put(source, fetchTimer(meterRegistry, sourceTag, "success"));
+            fetchErrorTimers.put(source, fetchTimer(meterRegistry, sourceTag, "error"));
+            parseTimers.put(source, Timer.builder("sync.parse")
+                    .description("Time to convert a fetched page into DTOs")
+                    .tag("source", sourceTag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            rowsFetched.put(source, rowCounter(meterRegistry, "sync.rows.fetched", sourceTag));
+            rowsInserted.put(source, rowCounter(meterRegistry, "sync.rows.inserted", sourceTag));
+            rowsUpdated.put(source, rowCounter(meterRegistry, "sync.rows.updated", sourceTag));
+            rowsSkipped.put(source, rowCounter(meterRegistry, "sync.rows.skipped", sourceTag));
+
+            AtomicReference<Instant> newest = new AtomicReference<>();
+            newestIngested.put(source, newest);
+            Gauge.builder("sync.lag", newest, SyncMetrics::lagSeconds)
+                    .description("Seconds since the newest ingested record; NaN until a record was ingested")
+                    .tag("source", sourceTag)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Times one API page fetch.
+     *
+     * @param source the vendor being called
+     * @param fetch the fetch
+     * @return the fetched page
+     */
+    public <T> T timeFetch(SyncSource source, Supplier<T> fetch) {
+        long started = System.nanoTime();
+        try {
+            T page = fetch.get();
+            fetchSuccessTimers.get(source).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return page;
+        } catch (RuntimeException e) {
+            fetchErrorTimers.get(source).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * Times the conversion of one fetched page.
+     *
+     * @param source the vendor the page came from
+     * @param parse the conversion
+     * @return the converted page
+     */
+    public <T> T timeParse(SyncSource source, Supplier<T> parse) {
+        return parseTimers.get(source).record(parse);
+    }
+
+    public void rowsFetched(SyncSource source, int rows) {
+        rowsFetched.get(source).increment(rows);
+    }
+
+    public void rowsInserted(SyncSource source, int rows) {
+        rowsInserted.get(source).increment(rows);
+    }
+
+    public void rowsUpdated(SyncSource source, int rows) {
+        rowsUpdated.get(source).increment(rows);
+    }
+
+    public void rowsSkipped(SyncSource source, int rows) {
+        rowsSkipped.get(source).increment(rows);
+    }
+
+    /**
+     * Advances the newest ingested timestamp of a source, used for the lag gauge.
+     * Older timestamps (e.g. from a backfill) never move it backwards.
+     *
+     * @param source the vendor
+     * @param timestamp timestamp of an ingested record
+     */
+    public void recordIngested(SyncSource source, Instant timestamp) {
+        if (timestamp == null) {
+            return;
+        }
+        newestIngested.get(source).accumulateAndGet(timestamp,
+                (current, candidate) -> current == null || candidate.isAfter(current) ? candidate : current);
+    }
+
+    private static Timer fetchTimer(MeterRegistry meterRegistry, String source, String outcome) {
+        return Timer.builder("sync.fetch")
+                .description("Latency of one vendor API page fetch, including retries and rate-limit waits")
+                .tags("source", source, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String name, String source) {
+        return Counter.builder(name)
+                .tag("source", source)
+                .baseUnit("rows")
+                .register(meterRegistry);
+    }
+
+    private static double lagSeconds(AtomicReference<Instant> newest) {
+        Instant timestamp = newest.get();
+        return timestamp != null ? Duration.between(timestamp, Instant.now()).toMillis() / 1000.0 : Double.NaN;
+    }
+}
@@ -0,0 +1,50 @@
+package com.metrics.demo.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one vendor API page fetched by a sync, from the
+ * request until the page is converted to DTOs, retries and rate-limit waits
+ * included.
+ *
+ */
+@Name("com.metrics.demo.SyncPageFetched")
+@Label("Sync Page Fetched")
+@Category({"Metrics Dashboard", "Sync"})
+@Description("One vendor API page fetched and parsed by a sync")
+@StackTrace(false)
+public class SyncPageFetchedEvent extends jdk.jfr.Event {
+
+    @Label("Source")
+    String source;
+
+    @Label("Page")
+    @Description("Page requested, as stored in the sync checkpoint")
+    String page;
+
+    @Label("Rows")
+    int rows;
+
+    /**
+     * Creates the event and starts timing it.
+     */
+    public SyncPageFetchedEvent(String source, String page) {
+        this.source = source;
+        this.page = page;
+        begin();
+    }
+
+    /**
+     * Ends the event with the rows the page held and records it if enabled.
+     *
+     * @param rows rows on the page
+     */
+    public void fetched(int rows) {
+        this.rows = rows;
+        commit();
+    }
+}
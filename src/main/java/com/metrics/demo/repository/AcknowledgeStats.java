@@ -0,0 +1,30 @@
+package com.metrics.demo.repository;
+
+/**
+ * Aggregated acknowledgement times of acknowledged incidents, as computed by the database.
+ *
+ * @param acknowledgedIncidents number of acknowledged incidents
+ * @param totalAcknowledgeSeconds sum of their times to acknowledge in seconds
+ */
+public record AcknowledgeStats(long acknowledgedIncidents, long totalAcknowledgeSeconds) {
+
+    /**
+     * Mean time to acknowledge in minutes, or 0 when nothing was acknowledged.
+     *
+     * @return mean time to acknowledge in minutes
+     */
+    public double meanAcknowledgeMinutes() {
+        return acknowledgedIncidents > 0 ? totalAcknowledgeSeconds / 60.0 / acknowledgedIncidents : 0.0;
+    }
+
+    /**
+     * Combines these totals with those of a disjoint set of incidents.
+     *
+     * @param other totals of other incidents
+     * @return the combined totals
+     */
+    public AcknowledgeStats plus(AcknowledgeStats other) {
+        return new AcknowledgeStats(acknowledgedIncidents + other.acknowledgedIncidents,
+                totalAcknowledgeSeconds + other.totalAcknowledgeSeconds);
+    }
+}
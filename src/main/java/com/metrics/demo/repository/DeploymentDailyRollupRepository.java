@@ -0,0 +1,49 @@
+package com.metrics.demo.repository;
+
+import com.metrics.demo.entity.DeploymentDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for DeploymentDailyRollup entity operations.
+ *
+ * Provides the deployment counts of compacted days to the metrics
+ * calculations and the retention compaction.
+ *
+ */
+@Repository
+public interface DeploymentDailyRollupRepository extends JpaRepository<DeploymentDailyRollup, LocalDate> {
+
+    /**
+     * Sums the deployments of the rolled-up days within a day range.
+     *
+     * @param startDay first day (inclusive)
+     * @param endDay last day (inclusive)
+     * @return total deployments of the rolled-up days
+     */
+    @Query("SELECT COALESCE(SUM(r.deployments), 0) FROM DeploymentDailyRollup r " +
+            "WHERE r.day >= :startDay AND r.day <= :endDay")
+    long sumDeploymentsBetween(@Param("startDay") LocalDate startDay, @Param("endDay") LocalDate endDay);
+
+    /**
+     * Finds the rolled-up days from a day on.
+     * Used to load the rolling window counters.
+     *
+     * @param day first day (inclusive)
+     * @return the rollups of the days
+     */
+    List<DeploymentDailyRollup> findByDayGreaterThanEqual(LocalDate day);
+
+    /**
+     * Finds the most recent rolled-up day.
+     *
+     * @return the latest day, or null if nothing has been compacted
+     */
+    @Query("SELECT MAX(r.day) FROM DeploymentDailyRollup r")
+    LocalDate findLatestDay();
+}
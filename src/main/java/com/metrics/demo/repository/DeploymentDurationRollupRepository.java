@@ -0,0 +1,35 @@
+package com.metrics.demo.repository;
+
+import com.metrics.demo.entity.DeploymentDurationRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for DeploymentDurationRollup entity operations.
+ *
+ * Provides the duration histograms of compacted days to the deployment
+ * duration percentiles.
+ *
+ */
+@Repository
+public interface DeploymentDurationRollupRepository extends JpaRepository<DeploymentDurationRollup, Long> {
+
+    /**
+     * Sums the duration histograms of the rolled-up days within a day range per workflow.
+     *
+     * @param startDay first day (inclusive)
+     * @param endDay last day (inclusive)
+     * @return the deployments of each repository, workflow and bucket that has any
+     */
+    @Query("SELECT new com.metrics.demo.repository.DurationBucketCount(r.repositoryName, r.workflowName, " +
+            "r.bucket, SUM(r.deployments)) FROM DeploymentDurationRollup r " +
+            "WHERE r.day >= :startDay AND r.day <= :endDay " +
+            "GROUP BY r.repositoryName, r.workflowName, r.bucket")
+    List<DurationBucketCount> sumDurationBucketsBetween(@Param("startDay") LocalDate startDay,
+                                                        @Param("endDay") LocalDate endDay);
+}
@@ -1,13 +1,26 @@
 package com.metrics.demo.repository;
 
 
+import com.metrics.demo.dto.response.DashboardResponse;
+import com.metrics.demo.dto.response.DeploymentExportRow;
 import com.metrics.demo.entity.Deployment;
+import com.metrics.demo.enums.DeploymentStatus;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Deployment entity operations.
@@ -28,14 +41,136 @@ public interface DeploymentRepository extends JpaRepository<Deployment, Long> {
      */
     Optional<Deployment> findByDeploymentId(String deploymentId);
 
+    /**
+     * Finds all deployments with the given deployment IDs.
+     * Used to upsert a page of synced workflow runs with a single lookup.
+     *
+     * @param deploymentIds the unique deployment identifiers
+     * @return deployments that already exist
+     */
+    List<Deployment> findByDeploymentIdIn(Collection<String> deploymentIds);
+
+    /**
+     * Reads the stored fingerprints of the deployments with the given deployment IDs.
+     * Used by sync to skip unchanged workflow runs before loading any entity.
+     *
+     * @param deploymentIds the unique deployment identifiers
+     * @return the id and fingerprint of each deployment that already exists
+     */
+    @Query("SELECT d.deploymentId AS sourceId, d.sourceFingerprint AS fingerprint FROM Deployment d " +
+            "WHERE d.deploymentId IN :deploymentIds")
+    List<SourceFingerprint> findFingerprintsByDeploymentIdIn(@Param("deploymentIds") Collection<String> deploymentIds);
+
     /**
      * Counts total deployments within a date range.
-     * Used for Change Failure Rate calculation.
+     * Used for Change Failure Rate calculation; compares epoch-millisecond columns.
      *
      * @param startDate start of the date range (inclusive)
      * @param endDate end of the date range (inclusive)
      * @return count of deployments in the date range
      */
-    long countByTimestampBetween(LocalDateTime startDate, LocalDateTime endDate);
+    long countByTimestampBetween(Instant startDate, Instant endDate);
+
+    /**
+     * Counts the deployments of every minute from a point in time on.
+     * Used to load the rolling window counters; the grouping is done by the database.
+     *
+     * @param startMillis start of the first minute, in epoch milliseconds (inclusive)
+     * @return the deployments of each minute that has any
+     */
+    @Query(value = "SELECT timestamp / 60000 AS epochMinute, COUNT(*) AS count FROM deployments " +
+            "WHERE timestamp >= :startMillis GROUP BY timestamp / 60000", nativeQuery = true)
+    List<MinuteCount> countPerMinuteSince(@Param("startMillis") long startMillis);
+
+    /**
+     * Counts deployments with the given status within a date range.
+     * Used when folding a day of deployments into its daily rollup.
+     *
+     * @param status the deployment status
+     * @param startDate start of the date range (inclusive)
+     * @param endDate end of the date range (inclusive)
+     * @return count of matching deployments
+     */
+    long countByStatusAndTimestampBetween(DeploymentStatus status, Instant startDate, Instant endDate);
+
+    /**
+     * Counts the deployments within a date range per workflow and duration bucket.
+     * Used for the deployment duration percentiles and when folding a day into its
+     * duration rollups; the grouping reads only the covering timestamp/duration index.
+     *
+     * @param startDate start of the date range (inclusive)
+     * @param endDate end of the date range (inclusive)
+     * @return the deployments of each repository, workflow and bucket that has any
+     */
+    @Query("SELECT new com.metrics.demo.repository.DurationBucketCount(d.repositoryName, d.workflowName, " +
+            "d.durationBucket, COUNT(d)) FROM Deployment d " +
+            "WHERE d.timestamp >= :startDate AND d.timestamp <= :endDate AND d.durationBucket IS NOT NULL " +
+            "GROUP BY d.repositoryName, d.workflowName, d.durationBucket")
+    List<DurationBucketCount> countDurationBucketsBetween(@Param("startDate") Instant startDate,
+                                                          @Param("endDate") Instant endDate);
+
+    /**
+     * Finds the oldest stored deployment.
+     * Used by the retention compaction to find the next day to fold.
+     *
+     * @return Optional containing the oldest deployment if any exist
+     */
+    Optional<Deployment> findFirstByOrderByTimestampAsc();
+
+    /**
+     * Deletes the deployments within a date range in a single statement.
+     * Used by the retention compaction once the range is folded into rollups.
+     *
+     * @param startDate start of the date range (inclusive)
+     * @param endDate end of the date range (inclusive)
+     * @return number of deployments deleted
+     */
+    @Modifying
+    @Query("DELETE FROM Deployment d WHERE d.timestamp >= :startDate AND d.timestamp <= :endDate")
+    int deleteByTimestampBetween(@Param("startDate") Instant startDate, @Param("endDate") Instant endDate);
 
-}
\ No newline at end of file
+    /**
+     * Streams the deployments within a date range as export rows, oldest first.
+     * Rows are read through a forward-only cursor in batches of 1000; the stream must be
+     * consumed and closed within a transaction.
+     *
+     * @param startDate start of the date range (inclusive)
+     * @param endDate end of the date range (inclusive)
+     * @return the rows, to be closed after use
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.metrics.demo.dto.response.DeploymentExportRow(d.deploymentId, d.timestamp, d.status, " +
+            "d.applicationName, d.version, d.workflowRunId, d.repositoryName, d.workflowName) " +
+            "FROM Deployment d WHERE d.timestamp >= :startDate AND d.timestamp <= :endDate " +
+            "ORDER BY d.timestamp, d.id")
+    Stream<DeploymentExportRow> streamExportRowsBetween(@Param("startDate") Instant startDate,
+                                                        @Param("endDate") Instant endDate);
+
+    /**
+     * Finds one page of deployments within a date range, newest first.
+     * Pages are seeked by (timestamp, id) rather than skipped with OFFSET: the next page
+     * passes the timestamp and id of the last row as endDate and beforeId, so every page
+     * starts with an index seek. Null filters match every deployment.
+     *
+     * @param startDate start of the date range (inclusive)
+     * @param endDate end of the date range (inclusive), or the timestamp of the last row seen
+     * @param beforeId rows at endDate must have a lower id; Long.MAX_VALUE on the first page
+     * @param status the deployment status, or null
+     * @param applicationName the application name, or null
+     * @param pageable the page size; the page number must be 0
+     * @return the deployments of the page
+     */
+    @Query("SELECT new com.metrics.demo.dto.response.DashboardResponse$DeploymentSummary(d.id, d.deploymentId, " +
+            "d.status, d.applicationName, d.version, d.timestamp) " +
+            "FROM Deployment d WHERE d.timestamp >= :startDate AND d.timestamp <= :endDate " +
+            "AND (d.timestamp < :endDate OR d.id < :beforeId) " +
+            "AND (:status IS NULL OR d.status = :status) " +
+            "AND (:applicationName IS NULL OR d.applicationName = :applicationName) " +
+            "ORDER BY d.timestamp DESC, d.id DESC")
+    List<DashboardResponse.DeploymentSummary> findSummaryPage(@Param("startDate") Instant startDate,
+                                                              @Param("endDate") Instant endDate,
+                                                              @Param("beforeId") long beforeId,
+                                                              @Param("status") DeploymentStatus status,
+                                                              @Param("applicationName") String applicationName,
+                                                              Pageable pageable);
+}
@@ -0,0 +1,13 @@
+package com.metrics.demo.repository;
+
+/**
+ * Number of deployments of one workflow whose duration falls into one
+ * {@link com.metrics.demo.util.DurationSketch} bucket, as grouped by the database.
+ *
+ * @param repositoryName the repository, or null if unknown
+ * @param workflowName the workflow, or null if unknown
+ * @param bucket the duration bucket
+ * @param count number of deployments
+ */
+public record DurationBucketCount(String repositoryName, String workflowName, int bucket, long count) {
+}
@@ -0,0 +1,74 @@
+package com.metrics.demo.repository;
+
+import com.metrics.demo.entity.IncidentDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for IncidentDailyRollup entity operations.
+ *
+ * Provides the incident counts, recovery and acknowledgement totals of compacted days to the
+ * metrics calculations and the retention compaction.
+ *
+ */
+@Repository
+public interface IncidentDailyRollupRepository extends JpaRepository<IncidentDailyRollup, LocalDate> {
+
+    /**
+     * Sums the incidents of the rolled-up days within a day range.
+     *
+     * @param startDay first day (inclusive)
+     * @param endDay last day (inclusive)
+     * @return total incidents of the rolled-up days
+     */
+    @Query("SELECT COALESCE(SUM(r.incidents), 0) FROM IncidentDailyRollup r " +
+            "WHERE r.day >= :startDay AND r.day <= :endDay")
+    long sumIncidentsBetween(@Param("startDay") LocalDate startDay, @Param("endDay") LocalDate endDay);
+
+    /**
+     * Aggregates the recovery totals of the rolled-up days within a day range.
+     *
+     * @param startDay first day (inclusive)
+     * @param endDay last day (inclusive)
+     * @return number of resolved incidents and their total recovery time
+     */
+    @Query("SELECT new com.metrics.demo.repository.RecoveryStats(COALESCE(SUM(r.resolvedIncidents), 0), " +
+            "COALESCE(SUM(r.totalRecoverySeconds), 0)) FROM IncidentDailyRollup r " +
+            "WHERE r.day >= :startDay AND r.day <= :endDay")
+    RecoveryStats aggregateRecoveryBetween(@Param("startDay") LocalDate startDay, @Param("endDay") LocalDate endDay);
+
+    /**
+     * Aggregates the acknowledgement totals of the rolled-up days within a day range.
+     *
+     * @param startDay first day (inclusive)
+     * @param endDay last day (inclusive)
+     * @return number of acknowledged incidents and their total time to acknowledge
+     */
+    @Query("SELECT new com.metrics.demo.repository.AcknowledgeStats(COALESCE(SUM(r.acknowledgedIncidents), 0), " +
+            "COALESCE(SUM(r.totalAcknowledgeSeconds), 0)) FROM IncidentDailyRollup r " +
+            "WHERE r.day >= :startDay AND r.day <= :endDay")
+    AcknowledgeStats aggregateAcknowledgeBetween(@Param("startDay") LocalDate startDay,
+                                                 @Param("endDay") LocalDate endDay);
+
+    /**
+     * Finds the rolled-up days from a day on.
+     * Used to load the rolling window counters.
+     *
+     * @param day first day (inclusive)
+     * @return the rollups of the days
+     */
+    List<IncidentDailyRollup> findByDayGreaterThanEqual(LocalDate day);
+
+    /**
+     * Finds the most recent rolled-up day.
+     *
+     * @return the latest day, or null if nothing has been compacted
+     */
+    @Query("SELECT MAX(r.day) FROM IncidentDailyRollup r")
+    LocalDate findLatestDay();
+}
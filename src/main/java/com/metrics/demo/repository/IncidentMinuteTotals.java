@@ -0,0 +1,37 @@
+package com.metrics.demo.repository;
+
+/**
+ * Incident totals of the incidents created in one UTC minute, as grouped by the database.
+ */
+public interface IncidentMinuteTotals {
+
+    /**
+     * @return the minute, in minutes since the epoch
+     */
+    long getEpochMinute();
+
+    /**
+     * @return number of incidents created in the minute
+     */
+    long getIncidents();
+
+    /**
+     * @return number of them that are resolved
+     */
+    long getResolvedIncidents();
+
+    /**
+     * @return sum of their recovery times in seconds
+     */
+    long getTotalRecoverySeconds();
+
+    /**
+     * @return number of them that are acknowledged
+     */
+    long getAcknowledgedIncidents();
+
+    /**
+     * @return sum of their times to acknowledge in seconds
+     */
+    long getTotalAcknowledgeSeconds();
+}
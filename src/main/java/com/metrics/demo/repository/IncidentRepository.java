@@ -1,20 +1,31 @@
 package com.metrics.demo.repository;
 
+import com.metrics.demo.dto.response.DashboardResponse;
+import com.metrics.demo.dto.response.IncidentExportRow;
 import com.metrics.demo.entity.Incident;
+import com.metrics.demo.enums.IncidentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Incident entity operations.
  *
  * Provides methods for querying incidents needed for metrics calculations,
- * particularly for Change Failure Rate and Mean Time to Recovery.
+ * particularly for Change Failure Rate, Mean Time to Recovery and Mean Time
+ * to Acknowledge.
  *
  *
  */
@@ -29,6 +40,26 @@ public interface IncidentRepository extends JpaRepository<Incident, Long> {
      */
     Optional<Incident> findByIncidentId(String incidentId);
 
+    /**
+     * Finds all incidents with the given PagerDuty incident IDs.
+     * Used to upsert a page of synced incidents with a single lookup.
+     *
+     * @param incidentIds the PagerDuty incident IDs
+     * @return incidents that already exist
+     */
+    List<Incident> findByIncidentIdIn(Collection<String> incidentIds);
+
+    /**
+     * Reads the stored fingerprints of the incidents with the given PagerDuty incident IDs.
+     * Used by sync to skip unchanged incidents before loading any entity.
+     *
+     * @param incidentIds the PagerDuty incident IDs
+     * @return the id and fingerprint of each incident that already exists
+     */
+    @Query("SELECT i.incidentId AS sourceId, i.sourceFingerprint AS fingerprint FROM Incident i " +
+            "WHERE i.incidentId IN :incidentIds")
+    List<SourceFingerprint> findFingerprintsByIncidentIdIn(@Param("incidentIds") Collection<String> incidentIds);
+
     /**
      * Counts total incidents created within a date range.
      * Used for Change Failure Rate calculation.
@@ -37,20 +68,117 @@ public interface IncidentRepository extends JpaRepository<Incident, Long> {
      * @param endDate end of the date range (inclusive)
      * @return count of incidents in the date range
      */
-    long countByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
+    long countByCreatedAtBetween(Instant startDate, Instant endDate);
+
+    /**
+     * Aggregates the recovery times of resolved incidents created within a date range.
+     * Used for Mean Time to Recovery calculation; sums the precomputed recovery_seconds
+     * column, so no incident rows are loaded.
+     *
+     * @param startDate start of the date range (inclusive)
+     * @param endDate end of the date range (inclusive)
+     * @return number of resolved incidents and their total recovery time
+     */
+    @Query("SELECT new com.metrics.demo.repository.RecoveryStats(COUNT(i), COALESCE(SUM(i.recoverySeconds), 0)) " +
+            "FROM Incident i WHERE i.createdAt >= :startDate AND i.createdAt <= :endDate " +
+            "AND i.status = 'RESOLVED' AND i.recoverySeconds IS NOT NULL")
+    RecoveryStats aggregateRecoveryBetween(@Param("startDate") Instant startDate,
+                                           @Param("endDate") Instant endDate);
 
     /**
-     * Finds all resolved incidents within a date range.
-     * Used for Mean Time to Recovery calculation.
+     * Aggregates the acknowledgement times of acknowledged incidents created within a date range.
+     * Used for Mean Time to Acknowledge calculation; sums the precomputed acknowledge_seconds
+     * column, so no incident rows are loaded.
      *
      * @param startDate start of the date range (inclusive)
      * @param endDate end of the date range (inclusive)
-     * @return list of resolved incidents in the date range
+     * @return number of acknowledged incidents and their total time to acknowledge
+     */
+    @Query("SELECT new com.metrics.demo.repository.AcknowledgeStats(COUNT(i), COALESCE(SUM(i.acknowledgeSeconds), 0)) " +
+            "FROM Incident i WHERE i.createdAt >= :startDate AND i.createdAt <= :endDate " +
+            "AND i.acknowledgeSeconds IS NOT NULL")
+    AcknowledgeStats aggregateAcknowledgeBetween(@Param("startDate") Instant startDate,
+                                                 @Param("endDate") Instant endDate);
+
+    /**
+     * Aggregates the incidents of every minute of creation from a point in time on.
+     * Used to load the rolling window counters; resolved and acknowledged incidents are
+     * counted as in {@link #aggregateRecoveryBetween(Instant, Instant)} and
+     * {@link #aggregateAcknowledgeBetween(Instant, Instant)}.
+     *
+     * @param startMillis start of the first minute, in epoch milliseconds (inclusive)
+     * @return the incident totals of each minute that has any
      */
-    @Query("SELECT i FROM Incident i WHERE i.createdAt >= :startDate AND i.createdAt <= :endDate AND i.status = 'RESOLVED'")
-    List<Incident> findResolvedIncidentsBetween(@Param("startDate") LocalDateTime startDate,
-                                                @Param("endDate") LocalDateTime endDate);
+    @Query(value = "SELECT created_at / 60000 AS epochMinute, COUNT(*) AS incidents, " +
+            "COUNT(CASE WHEN status = 'RESOLVED' THEN recovery_seconds END) AS resolvedIncidents, " +
+            "COALESCE(SUM(CASE WHEN status = 'RESOLVED' THEN recovery_seconds END), 0) AS totalRecoverySeconds, " +
+            "COUNT(acknowledge_seconds) AS acknowledgedIncidents, " +
+            "COALESCE(SUM(acknowledge_seconds), 0) AS totalAcknowledgeSeconds " +
+            "FROM incidents WHERE created_at >= :startMillis GROUP BY created_at / 60000", nativeQuery = true)
+    List<IncidentMinuteTotals> aggregatePerMinuteSince(@Param("startMillis") long startMillis);
 
+    /**
+     * Finds the oldest stored incident by creation time.
+     * Used by the retention compaction to find the next day to fold.
+     *
+     * @return Optional containing the oldest incident if any exist
+     */
+    Optional<Incident> findFirstByOrderByCreatedAtAsc();
+
+    /**
+     * Deletes the incidents created within a date range in a single statement.
+     * Used by the retention compaction once the range is folded into rollups.
+     *
+     * @param startDate start of the date range (inclusive)
+     * @param endDate end of the date range (inclusive)
+     * @return number of incidents deleted
+     */
+    @Modifying
+    @Query("DELETE FROM Incident i WHERE i.createdAt >= :startDate AND i.createdAt <= :endDate")
+    int deleteByCreatedAtBetween(@Param("startDate") Instant startDate, @Param("endDate") Instant endDate);
 
+    /**
+     * Streams the incidents created within a date range as export rows, oldest first.
+     * Rows are read through a forward-only cursor in batches of 1000; the stream must be
+     * consumed and closed within a transaction.
+     *
+     * @param startDate start of the date range (inclusive)
+     * @param endDate end of the date range (inclusive)
+     * @return the rows, to be closed after use
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.metrics.demo.dto.response.IncidentExportRow(i.incidentId, i.title, i.status, " +
+            "i.urgency, i.serviceName, i.createdAt, i.acknowledgedAt, i.resolvedAt, i.recoverySeconds) " +
+            "FROM Incident i WHERE i.createdAt >= :startDate AND i.createdAt <= :endDate " +
+            "ORDER BY i.createdAt, i.id")
+    Stream<IncidentExportRow> streamExportRowsBetween(@Param("startDate") Instant startDate,
+                                                      @Param("endDate") Instant endDate);
 
-}
\ No newline at end of file
+    /**
+     * Finds one page of incidents created within a date range, newest first.
+     * Pages are seeked by (createdAt, id) rather than skipped with OFFSET: the next page
+     * passes the creation time and id of the last row as endDate and beforeId, so every
+     * page starts with an index seek. Null filters match every incident.
+     *
+     * @param startDate start of the date range (inclusive)
+     * @param endDate end of the date range (inclusive), or the creation time of the last row seen
+     * @param beforeId rows at endDate must have a lower id; Long.MAX_VALUE on the first page
+     * @param status the incident status, or null
+     * @param serviceName the service name, or null
+     * @param pageable the page size; the page number must be 0
+     * @return the incidents of the page
+     */
+    @Query("SELECT new com.metrics.demo.dto.response.DashboardResponse$IncidentSummary(i.id, i.incidentId, " +
+            "i.title, i.status, i.serviceName, i.createdAt, i.resolvedAt, i.recoverySeconds / 60) " +
+            "FROM Incident i WHERE i.createdAt >= :startDate AND i.createdAt <= :endDate " +
+            "AND (i.createdAt < :endDate OR i.id < :beforeId) " +
+            "AND (:status IS NULL OR i.status = :status) " +
+            "AND (:serviceName IS NULL OR i.serviceName = :serviceName) " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<DashboardResponse.IncidentSummary> findSummaryPage(@Param("startDate") Instant startDate,
+                                                            @Param("endDate") Instant endDate,
+                                                            @Param("beforeId") long beforeId,
+                                                            @Param("status") IncidentStatus status,
+                                                            @Param("serviceName") String serviceName,
+                                                            Pageable pageable);
+}
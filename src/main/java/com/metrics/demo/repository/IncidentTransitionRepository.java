@@ -0,0 +1,44 @@
+package com.metrics.demo.repository;
+
+import com.metrics.demo.entity.IncidentTransition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for IncidentTransition entity operations.
+ *
+ * The transition log is an append-only audit trail: syncs save new rows, the
+ * incident timeline reads them back per incident, and only the retention
+ * compaction deletes them, together with their incidents.
+ *
+ */
+@Repository
+public interface IncidentTransitionRepository extends JpaRepository<IncidentTransition, Long> {
+
+    /**
+     * Finds the recorded status changes of an incident, in the order they were observed.
+     *
+     * @param incidentId the PagerDuty incident ID
+     * @return the incident's transitions, oldest first
+     */
+    List<IncidentTransition> findByIncidentIdOrderByIdAsc(String incidentId);
+
+    /**
+     * Deletes the transitions of the incidents created within a date range in a single statement.
+     * Used by the retention compaction alongside the incidents themselves.
+     *
+     * @param startDate start of the date range (inclusive)
+     * @param endDate end of the date range (inclusive)
+     * @return number of transitions deleted
+     */
+    @Modifying
+    @Query("DELETE FROM IncidentTransition t WHERE t.incidentCreatedAt >= :startDate " +
+            "AND t.incidentCreatedAt <= :endDate")
+    int deleteByIncidentCreatedAtBetween(@Param("startDate") Instant startDate, @Param("endDate") Instant endDate);
+}
@@ -0,0 +1,17 @@
+package com.metrics.demo.repository;
+
+/**
+ * Number of rows whose timestamp falls in one UTC minute, as grouped by the database.
+ */
+public interface MinuteCount {
+
+    /**
+     * @return the minute, in minutes since the epoch
+     */
+    long getEpochMinute();
+
+    /**
+     * @return number of rows in the minute
+     */
+    long getCount();
+}
@@ -0,0 +1,30 @@
+package com.metrics.demo.repository;
+
+/**
+ * Aggregated recovery times of resolved incidents, as computed by the database.
+ *
+ * @param resolvedIncidents number of resolved incidents
+ * @param totalRecoverySeconds sum of their recovery times in seconds
+ */
+public record RecoveryStats(long resolvedIncidents, long totalRecoverySeconds) {
+
+    /**
+     * Mean recovery time in minutes, or 0 when nothing was resolved.
+     *
+     * @return mean time to recovery in minutes
+     */
+    public double meanRecoveryMinutes() {
+        return resolvedIncidents > 0 ? totalRecoverySeconds / 60.0 / resolvedIncidents : 0.0;
+    }
+
+    /**
+     * Combines these totals with those of a disjoint set of incidents.
+     *
+     * @param other totals of other incidents
+     * @return the combined totals
+     */
+    public RecoveryStats plus(RecoveryStats other) {
+        return new RecoveryStats(resolvedIncidents + other.resolvedIncidents,
+                totalRecoverySeconds + other.totalRecoverySeconds);
+    }
+}
@@ -0,0 +1,17 @@
+package com.metrics.demo.repository;
+
+/**
+ * Vendor id and stored content fingerprint of a synced row, read without loading the entity.
+ */
+public interface SourceFingerprint {
+
+    /**
+     * @return the vendor identifier (deployment or incident id)
+     */
+    String getSourceId();
+
+    /**
+     * @return the fingerprint written by the last sync, or null if none was
+     */
+    Long getFingerprint();
+}
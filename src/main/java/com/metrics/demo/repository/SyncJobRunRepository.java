@@ -0,0 +1,78 @@
+package com.metrics.demo.repository;
+
+import com.metrics.demo.entity.SyncJobRun;
+import com.metrics.demo.enums.SyncJobStatus;
+import com.metrics.demo.enums.SyncJobType;
+import com.metrics.demo.enums.SyncSource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for SyncJobRun entity operations.
+ *
+ * Provides access to the sync job history and to the checkpoints
+ * needed to resume interrupted runs.
+ *
+ */
+@Repository
+public interface SyncJobRunRepository extends JpaRepository<SyncJobRun, Long> {
+
+    /**
+     * Finds the most recent runs, newest first.
+     *
+     * @param pageable page size limiting the number of runs returned
+     * @return recent runs across all sources
+     */
+    List<SyncJobRun> findAllByOrderByStartedAtDesc(Pageable pageable);
+
+    /**
+     * Finds the most recent runs for a source, newest first.
+     *
+     * @param source the sync source
+     * @param pageable page size limiting the number of runs returned
+     * @return recent runs for the source
+     */
+    List<SyncJobRun> findBySourceOrderByStartedAtDesc(SyncSource source, Pageable pageable);
+
+    /**
+     * Finds the latest run covering exactly the given window with the given status.
+     * Used to locate a failed run whose checkpoint a new run can resume from.
+     *
+     * @param source the sync source
+     * @param jobType the job type
+     * @param windowStart start of the window
+     * @param windowEnd end of the window
+     * @param status status the run must have
+     * @return Optional containing the latest matching run if found
+     */
+    Optional<SyncJobRun> findFirstBySourceAndJobTypeAndWindowStartAndWindowEndAndStatusOrderByStartedAtDesc(
+            SyncSource source, SyncJobType jobType, LocalDateTime windowStart, LocalDateTime windowEnd,
+            SyncJobStatus status);
+
+    /**
+     * Checks whether a failed run has already been resumed by a later run.
+     *
+     * @param runId id of the failed run
+     * @return true if another run references it as its resume origin
+     */
+    boolean existsByResumedFromRunId(Long runId);
+
+    /**
+     * Marks runs left in RUNNING state (e.g. by a crash) as failed so they can be resumed.
+     *
+     * @param finishedAt timestamp to record as the finish time
+     * @return number of runs updated
+     */
+    @Modifying
+    @Query("UPDATE SyncJobRun r SET r.status = 'FAILED', r.finishedAt = :finishedAt, " +
+            "r.errorMessage = 'Interrupted by application shutdown' WHERE r.status = 'RUNNING'")
+    int failInterruptedRuns(@Param("finishedAt") LocalDateTime finishedAt);
+}
@@ -0,0 +1,46 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.dto.response.BackfillResponse;
+import com.metrics.demo.enums.SyncSource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface for importing historical vendor data.
+ *
+ * A backfill splits its window into time slices which are fetched
+ * concurrently within the source's rate budget, each streaming its pages
+ * into batched inserts. The whole backfill runs as a single BACKFILL sync
+ * job, so it never overlaps other syncs of the same source.
+ *
+ */
+public interface BackfillService {
+
+    /**
+     * Starts a backfill in the background.
+     *
+     * @param source the source to import from
+     * @param from start of the window (inclusive)
+     * @param to end of the window (inclusive)
+     * @return the submitted backfill, to be polled for progress
+     * @throws com.metrics.demo.exception.SyncInProgressException if a job for the source is already running
+     */
+    BackfillResponse startBackfill(SyncSource source, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Returns the progress of a backfill.
+     *
+     * @param backfillId the backfill identifier
+     * @return Optional containing the backfill if known
+     */
+    Optional<BackfillResponse> getBackfill(String backfillId);
+
+    /**
+     * Returns all backfills known to this instance, newest first.
+     *
+     * @return recent backfills
+     */
+    List<BackfillResponse> getBackfills();
+}
@@ -0,0 +1,33 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.dto.response.DashboardSnapshot;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for the dashboard data.
+ *
+ * The built-in 7d, 30d and 90d ranges are served from snapshots that are
+ * refreshed in the background from the rolling window counters, so reading
+ * them costs the same whatever the amount of stored data. Custom ranges are
+ * calculated on request.
+ *
+ */
+public interface DashboardService {
+
+    /**
+     * Returns the dashboard data of a time range.
+     *
+     * @param timeRange 7d, 30d, 90d or custom; anything else falls back to 7d
+     * @param startDate start of a custom range (inclusive)
+     * @param endDate end of a custom range (inclusive)
+     * @return the dashboard data and when it was calculated
+     * @throws IllegalArgumentException if a custom range lacks its start or end
+     */
+    DashboardSnapshot getDashboard(String timeRange, LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Recalculates the snapshots of the built-in ranges.
+     */
+    void refreshSnapshots();
+}
@@ -0,0 +1,48 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.dto.request.DatasetGenerationRequest;
+import com.metrics.demo.dto.response.DatasetGenerationResponse;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface for bulk-loading synthetic history for capacity testing.
+ *
+ * Rows are written straight into the deployments and incidents tables with
+ * batched JDBC inserts, bypassing JPA, and satisfy the same constraints as
+ * synced rows. Their vendor ids start with {@link #SYNTHETIC_ID_PREFIX} so
+ * they never collide with real vendor records and are easy to remove.
+ *
+ */
+public interface DatasetGeneratorService {
+
+    /**
+     * Prefix of the deployment and incident ids of generated rows.
+     */
+    String SYNTHETIC_ID_PREFIX = "synthetic-";
+
+    /**
+     * Starts a generation in the background.
+     *
+     * @param request sizes and distributions of the data to generate
+     * @return the submitted generation, to be polled for progress
+     * @throws IllegalArgumentException if the request is inconsistent
+     */
+    DatasetGenerationResponse startGeneration(DatasetGenerationRequest request);
+
+    /**
+     * Returns the progress of a generation.
+     *
+     * @param generationId the generation identifier
+     * @return Optional containing the generation if known
+     */
+    Optional<DatasetGenerationResponse> getGeneration(String generationId);
+
+    /**
+     * Returns all generations known to this instance, newest first.
+     *
+     * @return recent generations
+     */
+    List<DatasetGenerationResponse> getGenerations();
+}
@@ -0,0 +1,43 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for exporting raw deployments and incidents.
+ *
+ * Rows are streamed from a database cursor straight into the output, so an
+ * export runs in constant memory regardless of its size. Date ranges are UTC.
+ *
+ */
+public interface ExportService {
+
+    /**
+     * Writes the deployments within a date range, oldest first.
+     *
+     * @param startDate start of the date range (inclusive)
+     * @param endDate end of the date range (inclusive)
+     * @param format output format
+     * @param out destination; flushed but not closed
+     * @return number of rows written
+     * @throws IOException if writing to the destination fails
+     */
+    long exportDeployments(LocalDateTime startDate, LocalDateTime endDate, ExportFormat format,
+                           OutputStream out) throws IOException;
+
+    /**
+     * Writes the incidents created within a date range, oldest first.
+     *
+     * @param startDate start of the date range (inclusive)
+     * @param endDate end of the date range (inclusive)
+     * @param format output format
+     * @param out destination; flushed but not closed
+     * @return number of rows written
+     * @throws IOException if writing to the destination fails
+     */
+    long exportIncidents(LocalDateTime startDate, LocalDateTime endDate, ExportFormat format,
+                         OutputStream out) throws IOException;
+}
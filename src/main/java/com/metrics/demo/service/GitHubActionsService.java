@@ -29,9 +29,21 @@ public interface GitHubActionsService {
     /**
      * Synchronizes deployments from GitHub Actions to local database.
      * This method fetches recent workflow runs and updates the database.
+     * Runs through the sync job runner, so it never overlaps another GitHub sync.
      */
     void syncDeployments();
 
+    /**
+     * Synchronizes all workflow runs created within a window, page by page.
+     * Each page is committed in its own transaction and checkpointed, so an
+     * interrupted run can resume after the last committed page.
+     *
+     * @param since start of the window (UTC)
+     * @param until end of the window (UTC)
+     * @param context progress tracker of the running sync job
+     */
+    void syncRange(LocalDateTime since, LocalDateTime until, SyncJobContext context);
+
     /**
      * Converts GitHub workflow run DTO to internal deployment entity.
      *
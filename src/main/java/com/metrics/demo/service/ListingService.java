@@ -0,0 +1,60 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.dto.response.DashboardResponse;
+import com.metrics.demo.dto.response.PageResponse;
+import com.metrics.demo.enums.DeploymentStatus;
+import com.metrics.demo.enums.IncidentStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for listing stored deployments and incidents.
+ *
+ * Listings are newest first and paginated by cursor: each page ends with a
+ * cursor for the next one, and reading a page costs the same however deep it
+ * is. Date ranges are UTC; a null filter or range bound matches everything.
+ *
+ */
+public interface ListingService {
+
+    /**
+     * Lists one page of deployments.
+     *
+     * @param status deployment status to filter by, or null
+     * @param applicationName application name to filter by, or null
+     * @param startDate start of the date range (inclusive), or null
+     * @param endDate end of the date range (inclusive), or null
+     * @param cursor cursor returned with the previous page, or null for the first page
+     * @param limit maximum number of deployments in the page
+     * @return the page and the cursor of the next one
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    PageResponse<DashboardResponse.DeploymentSummary> listDeployments(DeploymentStatus status, String applicationName,
+                                                                      LocalDateTime startDate, LocalDateTime endDate,
+                                                                      String cursor, int limit);
+
+    /**
+     * Lists one page of incidents by creation time.
+     *
+     * @param status incident status to filter by, or null
+     * @param serviceName service name to filter by, or null
+     * @param startDate start of the date range (inclusive), or null
+     * @param endDate end of the date range (inclusive), or null
+     * @param cursor cursor returned with the previous page, or null for the first page
+     * @param limit maximum number of incidents in the page
+     * @return the page and the cursor of the next one
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    PageResponse<DashboardResponse.IncidentSummary> listIncidents(IncidentStatus status, String serviceName,
+                                                                  LocalDateTime startDate, LocalDateTime endDate,
+                                                                  String cursor, int limit);
+
+    /**
+     * Lists the status changes the syncs recorded for an incident.
+     *
+     * @param incidentId the PagerDuty incident ID
+     * @return the incident's status changes in the order they were observed; empty for an unknown incident
+     */
+    List<DashboardResponse.IncidentTransitionSummary> listIncidentTransitions(String incidentId);
+}
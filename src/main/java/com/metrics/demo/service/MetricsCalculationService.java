@@ -2,6 +2,8 @@ package com.metrics.demo.service;
 
 
 import com.metrics.demo.dto.response.ChangeFailureRateResponse;
+import com.metrics.demo.dto.response.DeploymentDurationResponse;
+import com.metrics.demo.dto.response.MTTAResponse;
 import com.metrics.demo.dto.response.MTTRResponse;
 
 import java.time.LocalDateTime;
@@ -9,8 +11,9 @@ import java.time.LocalDateTime;
 /**
  * Service interface for calculating engineering metrics.
  *
- * Provides methods to calculate key metrics such as Change Failure Rate
- * and Mean Time to Recovery based on incident and deployment data.
+ * Provides methods to calculate key metrics such as Change Failure Rate,
+ * Mean Time to Recovery and Mean Time to Acknowledge based on incident and
+ * deployment data, and deployment duration percentiles.
  *
  *
  */
@@ -40,6 +43,29 @@ public interface MetricsCalculationService {
     MTTRResponse calculateMeanTimeToRecovery(LocalDateTime startDate,
                                              LocalDateTime endDate);
 
+    /**
+     * Calculates the Mean Time to Acknowledge for a given time period.
+     *
+     * MTTA = Total time to acknowledge of acknowledged incidents / Number of acknowledged incidents
+     *
+     * @param startDate start of the calculation period (inclusive)
+     * @param endDate end of the calculation period (inclusive)
+     * @return MTTAResponse containing the calculated metric
+     */
+    MTTAResponse calculateMeanTimeToAcknowledge(LocalDateTime startDate,
+                                                LocalDateTime endDate);
+
+    /**
+     * Calculates the p50, p90 and p99 run duration of completed deployments
+     * per repository and workflow for a given time period.
+     *
+     * @param startDate start of the calculation period (inclusive)
+     * @param endDate end of the calculation period (inclusive)
+     * @return DeploymentDurationResponse containing the percentiles
+     */
+    DeploymentDurationResponse calculateDeploymentDuration(LocalDateTime startDate,
+                                                           LocalDateTime endDate);
+
     /**
      * Determines the time range identifier based on the date range.
      *
@@ -29,9 +29,21 @@ public interface PagerDutyService {
     /**
      * Synchronizes incidents from PagerDuty to local database.
      * This method fetches recent incidents and updates the database.
+     * Runs through the sync job runner, so it never overlaps another PagerDuty sync.
      */
     void syncIncidents();
 
+    /**
+     * Synchronizes all incidents created within a window, page by page.
+     * Each page is committed in its own transaction and checkpointed, so an
+     * interrupted run can resume after the last committed page.
+     *
+     * @param since start of the window (UTC)
+     * @param until end of the window (UTC)
+     * @param context progress tracker of the running sync job
+     */
+    void syncRange(LocalDateTime since, LocalDateTime until, SyncJobContext context);
+
     /**
      * Converts PagerDuty incident DTO to internal entity.
      *
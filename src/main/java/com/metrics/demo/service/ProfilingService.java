@@ -0,0 +1,52 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.dto.response.ProfilingResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+/**
+ * Service interface for on-demand JDK Flight Recorder profiling.
+ *
+ * One continuous recording at a time is kept bounded by age and size and
+ * stops by itself after a maximum duration, so a forgotten recording cannot
+ * fill the disk. The recording includes the application's own sync, metrics
+ * and cache events next to the JVM's.
+ *
+ */
+public interface ProfilingService {
+
+    /**
+     * Starts a recording, discarding a stopped one that was never downloaded.
+     *
+     * @return the started recording
+     * @throws com.metrics.demo.exception.ProfilingInProgressException if a recording is running
+     */
+    ProfilingResponse start();
+
+    /**
+     * Returns the current recording, running or stopped.
+     *
+     * @return Optional containing the recording, if one was started and not yet downloaded
+     */
+    Optional<ProfilingResponse> getRecording();
+
+    /**
+     * Stops the current recording; a recording that reached its maximum duration
+     * is already stopped and is returned as is.
+     *
+     * @return Optional containing the stopped recording, if one was started and not yet downloaded
+     */
+    Optional<ProfilingResponse> stop();
+
+    /**
+     * Writes a stopped recording in .jfr format and then discards it.
+     *
+     * @param recordingId the stopped recording
+     * @param out destination; not closed
+     * @throws IOException if reading the recording or writing to the destination fails
+     * @throws IllegalArgumentException if the recording is not the current stopped one
+     */
+    void writeRecording(long recordingId, OutputStream out) throws IOException;
+}
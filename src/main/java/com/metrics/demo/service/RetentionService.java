@@ -0,0 +1,44 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.dto.response.CompactionResponse;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Service interface for the raw data retention policy.
+ *
+ * Raw deployments and incidents older than the retention window are folded
+ * into permanent daily rollups and deleted, one UTC day at a time, so storage
+ * stays bounded while CFR and MTTR remain available for all history.
+ * Compacted history has day granularity.
+ *
+ */
+public interface RetentionService {
+
+    /**
+     * Folds every day before the retention window into the daily rollups and
+     * deletes its raw rows. Runs on a schedule; concurrent calls run one after
+     * the other.
+     *
+     * @return summary of the run
+     */
+    CompactionResponse compact();
+
+    /**
+     * Returns the day before which raw events no longer exist.
+     *
+     * @return Optional containing the first day still stored raw, if anything was compacted
+     */
+    Optional<LocalDate> getCompactedBefore();
+
+    /**
+     * Checks whether an event falls on a compacted day. Such events are dropped
+     * on ingestion, since their day is already counted in its rollup.
+     *
+     * @param timestamp time of the event
+     * @return true if the event's day has been compacted
+     */
+    boolean isCompacted(Instant timestamp);
+}
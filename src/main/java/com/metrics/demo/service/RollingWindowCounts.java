@@ -0,0 +1,26 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.repository.AcknowledgeStats;
+import com.metrics.demo.repository.RecoveryStats;
+
+import java.time.LocalDateTime;
+
+/**
+ * Totals of one built-in rolling window, as kept by the rolling window counters.
+ *
+ * @param range the window, e.g. 7d
+ * @param startDate start of the first minute in the window (UTC)
+ * @param endDate when the totals were read (UTC)
+ * @param deployments deployments in the window
+ * @param incidents incidents created in the window
+ * @param recovery resolved incidents created in the window and their total recovery time
+ * @param acknowledgement acknowledged incidents created in the window and their total time to acknowledge
+ */
+public record RollingWindowCounts(String range,
+                                  LocalDateTime startDate,
+                                  LocalDateTime endDate,
+                                  long deployments,
+                                  long incidents,
+                                  RecoveryStats recovery,
+                                  AcknowledgeStats acknowledgement) {
+}
@@ -0,0 +1,138 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.entity.Deployment;
+import com.metrics.demo.entity.Incident;
+import com.metrics.demo.enums.IncidentStatus;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Changes to the rolling window counters made by one unit of ingest work.
+ *
+ * Ingest code records the rows it writes here and hands the delta to
+ * {@link RollingWindowService#apply(RollingWindowDelta)} once it has written
+ * them. Entries are kept in a primitive array, so recording a row allocates
+ * nothing beyond the occasional growth of that array. Not thread-safe; each
+ * unit of work uses its own delta.
+ *
+ * An incident counts as resolved exactly when the metrics calculations count
+ * it: its status is RESOLVED and it has a resolution time. It counts as
+ * acknowledged whenever it has an acknowledgement time.
+ *
+ */
+public class RollingWindowDelta {
+
+    private static final int FIELDS = 7;
+
+    /**
+     * Entries of (epoch millis, deployments, incidents, resolved incidents, recovery seconds,
+     * acknowledged incidents, acknowledge seconds)
+     */
+    private long[] entries = new long[FIELDS * 16];
+    private int size;
+
+    /**
+     * Records a stored deployment.
+     *
+     * @param timestampMillis when it happened, in epoch milliseconds
+     */
+    public void addDeployment(long timestampMillis) {
+        add(timestampMillis, 1, 0, 0, 0, 0, 0);
+    }
+
+    public void addDeployment(Deployment deployment) {
+        if (deployment.getTimestamp() != null) {
+            addDeployment(deployment.getTimestamp().toEpochMilli());
+        }
+    }
+
+    /**
+     * Records a stored incident.
+     *
+     * @param createdAtMillis when it was created, in epoch milliseconds
+     * @param resolved whether it is counted as resolved
+     * @param recoverySeconds its recovery time, ignored unless resolved
+     * @param acknowledged whether it is counted as acknowledged
+     * @param acknowledgeSeconds its time to acknowledge, ignored unless acknowledged
+     */
+    public void addIncident(long createdAtMillis, boolean resolved, long recoverySeconds,
+                            boolean acknowledged, long acknowledgeSeconds) {
+        add(createdAtMillis, 0, 1, resolved ? 1 : 0, resolved ? recoverySeconds : 0,
+                acknowledged ? 1 : 0, acknowledged ? acknowledgeSeconds : 0);
+    }
+
+    public void addIncident(Incident incident) {
+        incident(incident, 1);
+    }
+
+    /**
+     * Withdraws an incident as previously recorded. Called with the stored state
+     * before an update, and followed by {@link #addIncident(Incident)} with the
+     * updated state, so a status change moves only the recovery and acknowledgement totals.
+     *
+     * @param incident the incident in its stored state
+     */
+    public void removeIncident(Incident incident) {
+        incident(incident, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Visits the recorded entries in the order they were recorded.
+     *
+     * @param visitor receives each entry
+     */
+    public void forEach(EntryVisitor visitor) {
+        for (int i = 0; i < size * FIELDS; i += FIELDS) {
+            visitor.visit(entries[i], entries[i + 1], entries[i + 2], entries[i + 3], entries[i + 4],
+                    entries[i + 5], entries[i + 6]);
+        }
+    }
+
+    private void incident(Incident incident, int sign) {
+        if (incident.getCreatedAt() == null) {
+            return;
+        }
+        boolean resolved = incident.getStatus() == IncidentStatus.RESOLVED && incident.getResolvedAt() != null;
+        long recoverySeconds = resolved ?
+                Duration.between(incident.getCreatedAt(), incident.getResolvedAt()).toSeconds() : 0;
+        boolean acknowledged = incident.getAcknowledgedAt() != null;
+        long acknowledgeSeconds = acknowledged ?
+                Duration.between(incident.getCreatedAt(), incident.getAcknowledgedAt()).toSeconds() : 0;
+        add(incident.getCreatedAt().toEpochMilli(), 0, sign, resolved ? sign : 0, sign * recoverySeconds,
+                acknowledged ? sign : 0, sign * acknowledgeSeconds);
+    }
+
+    private void add(long atMillis, long deployments, long incidents, long resolvedIncidents, long recoverySeconds,
+                     long acknowledgedIncidents, long acknowledgeSeconds) {
+        int offset = size * FIELDS;
+        if (offset == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[offset] = atMillis;
+        entries[offset + 1] = deployments;
+        entries[offset + 2] = incidents;
+        entries[offset + 3] = resolvedIncidents;
+        entries[offset + 4] = recoverySeconds;
+        entries[offset + 5] = acknowledgedIncidents;
+        entries[offset + 6] = acknowledgeSeconds;
+        size++;
+    }
+
+    /**
+     * Receives one recorded entry; counts are negative for withdrawn rows.
+     */
+    @FunctionalInterface
+    public interface EntryVisitor {
+        void visit(long atMillis, long deployments, long incidents, long resolvedIncidents, long recoverySeconds,
+                   long acknowledgedIncidents, long acknowledgeSeconds);
+    }
+}
@@ -0,0 +1,38 @@
+package com.metrics.demo.service;
+
+import java.util.Optional;
+
+/**
+ * Service interface for the rolling counters of the built-in 7d, 30d and 90d windows.
+ *
+ * The counters hold the deployments, incidents, resolved incidents and total
+ * recovery time of each window ending now. Ingest adds to them as it stores
+ * rows, and rows leave each window as they age out of it, so reading a
+ * window never touches the database.
+ *
+ */
+public interface RollingWindowService {
+
+    /**
+     * Adds ingested rows to the counters. Within a transaction the rows are
+     * added once it commits, and dropped if it rolls back.
+     *
+     * @param delta the rows written
+     */
+    void apply(RollingWindowDelta delta);
+
+    /**
+     * Returns the current totals of a built-in window.
+     *
+     * @param range 7d, 30d or 90d
+     * @return the totals, or empty for other ranges
+     */
+    Optional<RollingWindowCounts> getCounts(String range);
+
+    /**
+     * Reloads the counters from the stored data. Rows ingested while the
+     * database is being read may be missed or counted twice, so this is
+     * meant for startup, before ingest runs.
+     */
+    void rebuild();
+}
@@ -0,0 +1,12 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.entity.SyncJobRun;
+
+/**
+ * Published after a sync job run that inserted or updated rows has finished,
+ * whether it succeeded or failed part way through.
+ *
+ * @param run the finished run with its final counters
+ */
+public record SyncJobCompletedEvent(SyncJobRun run) {
+}
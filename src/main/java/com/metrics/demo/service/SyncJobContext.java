@@ -0,0 +1,172 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.enums.SyncJobType;
+import com.metrics.demo.enums.SyncSource;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Progress tracker handed to the work of a running sync job.
+ *
+ * Sync implementations report pages, rows and errors here while they run,
+ * and call {@link #checkpoint(String)} after each fully persisted unit of
+ * work. Counters are thread-safe so a single job may process pages concurrently.
+ *
+ */
+public class SyncJobContext {
+
+    @Getter
+    private final SyncSource source;
+
+    @Getter
+    private final SyncJobType jobType;
+
+    /**
+     * Checkpoint of the failed run this job resumes, or null when starting from the beginning.
+     */
+    @Getter
+    private final String resumeCheckpoint;
+
+    private final Consumer<String> checkpointWriter;
+
+    /**
+     * Context of the enclosing job when this context tracks a slice of it, otherwise null.
+     */
+    private final SyncJobContext parent;
+
+    private final AtomicLong pagesFetched = new AtomicLong();
+    private final AtomicLong rowsFetched = new AtomicLong();
+    private final AtomicLong rowsInserted = new AtomicLong();
+    private final AtomicLong rowsUpdated = new AtomicLong();
+    private final AtomicLong rowsSkipped = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final AtomicReference<String> lastError = new AtomicReference<>();
+    private final AtomicReference<String> lastCheckpoint = new AtomicReference<>();
+
+    public SyncJobContext(SyncSource source, SyncJobType jobType, String resumeCheckpoint,
+                          Consumer<String> checkpointWriter) {
+        this.source = source;
+        this.jobType = jobType;
+        this.resumeCheckpoint = resumeCheckpoint;
+        this.checkpointWriter = checkpointWriter;
+        this.parent = null;
+        this.lastCheckpoint.set(resumeCheckpoint);
+    }
+
+    private SyncJobContext(SyncJobContext parent) {
+        this.source = parent.source;
+        this.jobType = parent.jobType;
+        this.resumeCheckpoint = null;
+        this.checkpointWriter = checkpoint -> { };
+        this.parent = parent;
+    }
+
+    /**
+     * Creates a context for one slice of this job, e.g. one time slice of a backfill.
+     * Counters and errors roll up into this context; slice checkpoints stay local,
+     * since only the enclosing job knows which slices are complete.
+     *
+     * @return a new slice context starting from the beginning of its slice
+     */
+    public SyncJobContext slice() {
+        return new SyncJobContext(this);
+    }
+
+    /**
+     * Records a fetched API page.
+     *
+     * @param rows number of records on the page
+     */
+    public void pageFetched(int rows) {
+        pagesFetched.incrementAndGet();
+        rowsFetched.addAndGet(rows);
+        if (parent != null) {
+            parent.pageFetched(rows);
+        }
+    }
+
+    public void rowsInserted(int rows) {
+        rowsInserted.addAndGet(rows);
+        if (parent != null) {
+            parent.rowsInserted(rows);
+        }
+    }
+
+    public void rowsUpdated(int rows) {
+        rowsUpdated.addAndGet(rows);
+        if (parent != null) {
+            parent.rowsUpdated(rows);
+        }
+    }
+
+    /**
+     * Records fetched records that were left alone because their stored copy is unchanged.
+     *
+     * @param rows number of records skipped
+     */
+    public void rowsSkipped(int rows) {
+        rowsSkipped.addAndGet(rows);
+        if (parent != null) {
+            parent.rowsSkipped(rows);
+        }
+    }
+
+    /**
+     * Records a record-level error that did not abort the job.
+     *
+     * @param message description of the error
+     */
+    public void recordError(String message) {
+        errorCount.incrementAndGet();
+        lastError.set(message);
+        if (parent != null) {
+            parent.recordError(message);
+        }
+    }
+
+    /**
+     * Persists the position up to which all work has been committed.
+     * A later run over the same window resumes after this position.
+     *
+     * @param checkpoint opaque, source-specific position (e.g. page number)
+     */
+    public void checkpoint(String checkpoint) {
+        lastCheckpoint.set(checkpoint);
+        checkpointWriter.accept(checkpoint);
+    }
+
+    public long getPagesFetched() {
+        return pagesFetched.get();
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched.get();
+    }
+
+    public long getRowsInserted() {
+        return rowsInserted.get();
+    }
+
+    public long getRowsUpdated() {
+        return rowsUpdated.get();
+    }
+
+    public long getRowsSkipped() {
+        return rowsSkipped.get();
+    }
+
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    public String getLastError() {
+        return lastError.get();
+    }
+
+    public String getLastCheckpoint() {
+        return lastCheckpoint.get();
+    }
+}
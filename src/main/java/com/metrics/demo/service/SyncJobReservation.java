@@ -0,0 +1,26 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.enums.SyncSource;
+
+/**
+ * A source reserved for a sync job that has not started yet.
+ *
+ * Obtained from {@link SyncJobService#reserve(SyncSource)}; while it is held,
+ * other jobs for the source are skipped as if it were running. Running the
+ * job releases the source when the job finishes; closing a reservation that
+ * was never run releases it immediately.
+ *
+ */
+public interface SyncJobReservation extends AutoCloseable {
+
+    /**
+     * @return the reserved source
+     */
+    SyncSource getSource();
+
+    /**
+     * Releases the source unless the reserved job has already started.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,82 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.entity.SyncJobRun;
+import com.metrics.demo.enums.SyncJobType;
+import com.metrics.demo.enums.SyncSource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Service interface for running sync jobs.
+ *
+ * Guarantees that at most one job per source runs at a time and records
+ * every run, including rejected ones, in the job history.
+ *
+ */
+public interface SyncJobService {
+
+    /**
+     * Runs a sync job unless another job for the same source is in progress.
+     *
+     * If a previous run over exactly the same window failed after writing a
+     * checkpoint, the new run resumes from it via {@link SyncJobContext#getResumeCheckpoint()}.
+     * Failures of the work are recorded on the returned run rather than thrown.
+     *
+     * @param source the source being synchronized
+     * @param jobType the kind of job
+     * @param windowStart start of the vendor time window
+     * @param windowEnd end of the vendor time window
+     * @param work the sync work, reporting progress through the context
+     * @return the finished run; SKIPPED if another run for the source was in progress
+     */
+    SyncJobRun runJob(SyncSource source, SyncJobType jobType,
+                      LocalDateTime windowStart, LocalDateTime windowEnd,
+                      Consumer<SyncJobContext> work);
+
+    /**
+     * Reserves the source for a job that will be run later, possibly on another thread.
+     * Jobs arriving for the source in the meantime are skipped, so the reserved job
+     * cannot lose the source between being accepted and being started.
+     *
+     * @param source the source to reserve
+     * @return the reservation, or empty if a job for the source is running or reserved
+     */
+    Optional<SyncJobReservation> reserve(SyncSource source);
+
+    /**
+     * Runs a sync job in a reservation from {@link #reserve(SyncSource)}, which is released
+     * when the job finishes. Otherwise behaves like the unreserved
+     * {@link #runJob(SyncSource, SyncJobType, LocalDateTime, LocalDateTime, Consumer)}, but is never skipped.
+     *
+     * @param reservation the reservation of the job's source
+     * @param jobType the kind of job
+     * @param windowStart start of the vendor time window
+     * @param windowEnd end of the vendor time window
+     * @param work the sync work, reporting progress through the context
+     * @return the finished run
+     * @throws IllegalStateException if the reservation was already run or closed
+     */
+    SyncJobRun runJob(SyncJobReservation reservation, SyncJobType jobType,
+                      LocalDateTime windowStart, LocalDateTime windowEnd,
+                      Consumer<SyncJobContext> work);
+
+    /**
+     * Checks whether a job for the source is currently running in this instance.
+     *
+     * @param source the sync source
+     * @return true if a job holds or has reserved the source's lock
+     */
+    boolean isRunning(SyncSource source);
+
+    /**
+     * Returns the most recent runs, newest first.
+     *
+     * @param source the source to filter by, or null for all sources
+     * @param limit maximum number of runs to return
+     * @return recent job runs
+     */
+    List<SyncJobRun> getRecentRuns(SyncSource source, int limit);
+}
@@ -0,0 +1,294 @@
+package com.metrics.demo.service.impl;
+
+import com.metrics.demo.dto.response.BackfillResponse;
+import com.metrics.demo.entity.SyncJobRun;
+import com.metrics.demo.enums.SyncJobStatus;
+import com.metrics.demo.enums.SyncJobType;
+import com.metrics.demo.enums.SyncSource;
+import com.metrics.demo.exception.SyncInProgressException;
+import com.metrics.demo.service.BackfillService;
+import com.metrics.demo.service.GitHubActionsService;
+import com.metrics.demo.service.PagerDutyService;
+import com.metrics.demo.service.SyncJobContext;
+import com.metrics.demo.service.SyncJobReservation;
+import com.metrics.demo.service.SyncJobService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of BackfillService.
+ *
+ * Slices are processed newest first so the most relevant history becomes
+ * visible early. The job checkpoint is the index of the last slice up to
+ * which every slice has completed; slices finish out of order, so later
+ * completed slices are re-imported on resume, which is harmless because
+ * page writes are upserts.
+ *
+ * The source is reserved when a backfill is accepted, so a scheduled sync
+ * starting before the backfill runs is skipped instead of the backfill.
+ *
+ */
+@Service
+@Slf4j
+public class BackfillServiceImpl implements BackfillService {
+
+    private static final int MAX_RETAINED_BACKFILLS = 50;
+
+    private final SyncJobService syncJobService;
+    private final GitHubActionsService gitHubActionsService;
+    private final PagerDutyService pagerDutyService;
+    private final Duration gitHubSlice;
+    private final Duration pagerDutySlice;
+
+    private final ExecutorService coordinatorExecutor;
+    private final ExecutorService sliceExecutor;
+
+    private final Map<String, BackfillJob> backfills = new ConcurrentHashMap<>();
+
+    public BackfillServiceImpl(SyncJobService syncJobService,
+                               GitHubActionsService gitHubActionsService,
+                               PagerDutyService pagerDutyService,
+                               @Value("${backfill.concurrency:4}") int concurrency,
+                               @Value("${backfill.github.slice:P1D}") Duration gitHubSlice,
+                               @Value("${backfill.pagerduty.slice:P7D}") Duration pagerDutySlice) {
+        this.syncJobService = syncJobService;
+        this.gitHubActionsService = gitHubActionsService;
+        this.pagerDutyService = pagerDutyService;
+        this.gitHubSlice = gitHubSlice;
+        this.pagerDutySlice = pagerDutySlice;
+        this.coordinatorExecutor = Executors.newCachedThreadPool(new CustomizableThreadFactory("backfill-"));
+        this.sliceExecutor = Executors.newFixedThreadPool(concurrency, new CustomizableThreadFactory("backfill-slice-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupted backfills are recorded as FAILED with their checkpoint and can be resumed
+        sliceExecutor.shutdownNow();
+        coordinatorExecutor.shutdownNow();
+    }
+
+    @Override
+    public BackfillResponse startBackfill(SyncSource source, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Backfill requires a 'from' date before the 'to' date");
+        }
+        // Vendor range filters work at second precision; fixed bounds also keep the window resumable
+        from = from.truncatedTo(ChronoUnit.SECONDS);
+        to = to.truncatedTo(ChronoUnit.SECONDS);
+
+        List<LocalDateTime[]> slices = splitIntoSlices(from, to, sliceDuration(source));
+
+        SyncJobReservation reservation = syncJobService.reserve(source)
+                .orElseThrow(() -> new SyncInProgressException(source));
+        BackfillJob job = new BackfillJob(UUID.randomUUID().toString(), source, from, to, slices);
+        try {
+            coordinatorExecutor.submit(() -> run(job, reservation));
+        } catch (RuntimeException e) {
+            reservation.close();
+            throw e;
+        }
+        evictFinishedBackfills();
+        backfills.put(job.id, job);
+
+        log.info("Submitted {} backfill {} from {} to {} in {} slices",
+                source, job.id, from, to, job.slices.size());
+
+        return job.toResponse();
+    }
+
+    @Override
+    public Optional<BackfillResponse> getBackfill(String backfillId) {
+        return Optional.ofNullable(backfills.get(backfillId)).map(BackfillJob::toResponse);
+    }
+
+    @Override
+    public List<BackfillResponse> getBackfills() {
+        return backfills.values().stream()
+                .sorted(Comparator.comparing((BackfillJob job) -> job.submittedAt).reversed())
+                .map(BackfillJob::toResponse)
+                .toList();
+    }
+
+    private void run(BackfillJob job, SyncJobReservation reservation) {
+        SyncJobRun run = syncJobService.runJob(reservation, SyncJobType.BACKFILL, job.from, job.to,
+                context -> importSlices(job, context));
+
+        job.jobRunId = run.getId();
+        job.status = run.getStatus();
+        job.finishedAt = LocalDateTime.now();
+    }
+
+    private void importSlices(BackfillJob job, SyncJobContext context) {
+        job.context = context;
+        job.status = SyncJobStatus.RUNNING;
+
+        int sliceCount = job.slices.size();
+        boolean[] completed = new boolean[sliceCount];
+        // Checkpoints are the index of the last slice up to which all slices are complete
+        int resumeFrom = context.getResumeCheckpoint() != null ?
+                Integer.parseInt(context.getResumeCheckpoint()) + 1 : 0;
+        for (int i = 0; i < resumeFrom && i < sliceCount; i++) {
+            completed[i] = true;
+        }
+        job.slicesCompleted.set(Math.min(resumeFrom, sliceCount));
+        int[] watermark = {resumeFrom - 1};
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = resumeFrom; i < sliceCount; i++) {
+            int index = i;
+            LocalDateTime[] slice = job.slices.get(index);
+            futures.add(sliceExecutor.submit(() -> {
+                importSlice(job.source, slice[0], slice[1], context.slice());
+                job.slicesCompleted.incrementAndGet();
+                synchronized (completed) {
+                    completed[index] = true;
+                    int advanced = watermark[0];
+                    while (advanced + 1 < sliceCount && completed[advanced + 1]) {
+                        advanced++;
+                    }
+                    if (advanced != watermark[0]) {
+                        watermark[0] = advanced;
+                        context.checkpoint(Integer.toString(advanced));
+                    }
+                }
+                return null;
+            }));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(future -> future.cancel(true));
+                throw new IllegalStateException("Backfill interrupted", e);
+            } catch (ExecutionException e) {
+                job.slicesFailed.incrementAndGet();
+                LocalDateTime[] slice = job.slices.get(resumeFrom + i);
+                log.warn("{} backfill slice {} to {} failed: {}", job.source, slice[0], slice[1],
+                        e.getCause().getMessage());
+                context.recordError("Slice " + slice[0] + " to " + slice[1] + ": " + e.getCause().getMessage());
+            }
+        }
+
+        if (job.slicesFailed.get() > 0) {
+            throw new IllegalStateException(job.slicesFailed.get() + " of " + sliceCount
+                    + " backfill slices failed; rerun the same window to resume");
+        }
+    }
+
+    private void importSlice(SyncSource source, LocalDateTime since, LocalDateTime until, SyncJobContext context) {
+        switch (source) {
+            case GITHUB_ACTIONS -> gitHubActionsService.syncRange(since, until, context);
+            case PAGERDUTY -> pagerDutyService.syncRange(since, until, context);
+        }
+    }
+
+    private Duration sliceDuration(SyncSource source) {
+        return switch (source) {
+            case GITHUB_ACTIONS -> gitHubSlice;
+            case PAGERDUTY -> pagerDutySlice;
+        };
+    }
+
+    /**
+     * Splits a window into consecutive, non-overlapping slices with inclusive
+     * bounds at second precision, newest first. Vendor range filters are
+     * inclusive on both ends, so adjacent slices must not share a boundary or
+     * concurrent slices could insert the same record twice.
+     */
+    static List<LocalDateTime[]> splitIntoSlices(LocalDateTime from, LocalDateTime to, Duration sliceDuration) {
+        List<LocalDateTime[]> slices = new ArrayList<>();
+        LocalDateTime exclusiveEnd = to.plusSeconds(1);
+        while (exclusiveEnd.isAfter(from)) {
+            LocalDateTime sliceStart = exclusiveEnd.minus(sliceDuration);
+            if (sliceStart.isBefore(from)) {
+                sliceStart = from;
+            }
+            slices.add(new LocalDateTime[]{sliceStart, exclusiveEnd.minusSeconds(1)});
+            exclusiveEnd = sliceStart;
+        }
+        return slices;
+    }
+
+    private void evictFinishedBackfills() {
+        if (backfills.size() < MAX_RETAINED_BACKFILLS) {
+            return;
+        }
+        backfills.values().stream()
+                .filter(job -> job.finishedAt != null)
+                .min(Comparator.comparing((BackfillJob job) -> job.submittedAt))
+                .ifPresent(job -> backfills.remove(job.id));
+    }
+
+    /**
+     * Mutable progress of a submitted backfill.
+     */
+    private static class BackfillJob {
+        private final String id;
+        private final SyncSource source;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final List<LocalDateTime[]> slices;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicInteger slicesCompleted = new AtomicInteger();
+        private final AtomicInteger slicesFailed = new AtomicInteger();
+        private volatile SyncJobContext context;
+        private volatile SyncJobStatus status;
+        private volatile Long jobRunId;
+        private volatile LocalDateTime finishedAt;
+
+        private BackfillJob(String id, SyncSource source, LocalDateTime from, LocalDateTime to,
+                            List<LocalDateTime[]> slices) {
+            this.id = id;
+            this.source = source;
+            this.from = from;
+            this.to = to;
+            this.slices = slices;
+        }
+
+        private BackfillResponse toResponse() {
+            SyncJobContext progress = context;
+            int total = slices.size();
+            return BackfillResponse.builder()
+                    .backfillId(id)
+                    .source(source)
+                    .from(from)
+                    .to(to)
+                    .status(status)
+                    .jobRunId(jobRunId)
+                    .slicesTotal(total)
+                    .slicesCompleted(slicesCompleted.get())
+                    .slicesFailed(slicesFailed.get())
+                    .percentComplete(total > 0 ? 100.0 * slicesCompleted.get() / total : 100.0)
+                    .pagesFetched(progress != null ? progress.getPagesFetched() : 0)
+                    .rowsFetched(progress != null ? progress.getRowsFetched() : 0)
+                    .rowsInserted(progress != null ? progress.getRowsInserted() : 0)
+                    .rowsUpdated(progress != null ? progress.getRowsUpdated() : 0)
+                    .rowsSkipped(progress != null ? progress.getRowsSkipped() : 0)
+                    .errorCount(progress != null ? progress.getErrorCount() : 0)
+                    .submittedAt(submittedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.metrics.demo.service.impl;
+
+import com.metrics.demo.dto.response.ChangeFailureRateResponse;
+import com.metrics.demo.dto.response.DeploymentDurationResponse;
+import com.metrics.demo.dto.response.MTTAResponse;
+import com.metrics.demo.dto.response.MTTRResponse;
+import com.metrics.demo.service.MetricsCalculationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Single-flight front of MetricsCalculationService.
+ *
+ * Concurrent calls for the same metric and range share one calculation: the
+ * first caller runs it on its own thread, and callers arriving while it is
+ * in flight wait for its result instead of querying the database again.
+ * Nothing is cached; a call arriving after the calculation finished starts
+ * a new one.
+ *
+ * Range bounds are keyed at metrics.coalescing.granularity (one second by
+ * default), floored, so callers that each compute "now minus 7 days" within
+ * the same second share a calculation. A joining caller gets the result for
+ * the leader's exact range, which differs from its own by less than the
+ * granularity. Each joining caller gets its own copy of the response, so a
+ * caller that modifies its response does not affect the others.
+ *
+ * Calls are counted as "metrics.calculation.requests", tagged with the
+ * metric and whether they ran the calculation or joined one in flight.
+ *
+ */
+@Service
+@Primary
+@Slf4j
+public class CoalescingMetricsCalculationService implements MetricsCalculationService {
+
+    private final MetricsCalculationService delegate;
+
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final long granularityMillis;
+
+    private final Counter changeFailureRateExecuted;
+    private final Counter changeFailureRateCoalesced;
+    private final Counter meanTimeToRecoveryExecuted;
+    private final Counter meanTimeToRecoveryCoalesced;
+    private final Counter meanTimeToAcknowledgeExecuted;
+    private final Counter meanTimeToAcknowledgeCoalesced;
+    private final Counter deploymentDurationExecuted;
+    private final Counter deploymentDurationCoalesced;
+
+    public CoalescingMetricsCalculationService(
+            @Qualifier("metricsCalculationServiceImpl") MetricsCalculationService delegate,
+            MeterRegistry meterRegistry,
+            @Value("${metrics.coalescing.granularity:PT1S}") Duration granularity) {
+        if (granularity.toMillis() < 1) {
+            throw new IllegalArgumentException("metrics.coalescing.granularity must be at least one millisecond");
+        }
+        this.delegate = delegate;
+        this.granularityMillis = granularity.toMillis();
+        this.changeFailureRateExecuted = requestCounter(meterRegistry, Metric.CHANGE_FAILURE_RATE, "executed");
+        this.changeFailureRateCoalesced = requestCounter(meterRegistry, Metric.CHANGE_FAILURE_RATE, "coalesced");
+        this.meanTimeToRecoveryExecuted = requestCounter(meterRegistry, Metric.MEAN_TIME_TO_RECOVERY, "executed");
+        this.meanTimeToRecoveryCoalesced = requestCounter(meterRegistry, Metric.MEAN_TIME_TO_RECOVERY, "coalesced");
+        this.meanTimeToAcknowledgeExecuted = requestCounter(meterRegistry, Metric.MEAN_TIME_TO_ACKNOWLEDGE, "executed");
+        this.meanTimeToAcknowledgeCoalesced = requestCounter(meterRegistry, Metric.MEAN_TIME_TO_ACKNOWLEDGE,
+                "coalesced");
+        this.deploymentDurationExecuted = requestCounter(meterRegistry, Metric.DEPLOYMENT_DURATION, "executed");
+        this.deploymentDurationCoalesced = requestCounter(meterRegistry, Metric.DEPLOYMENT_DURATION, "coalesced");
+    }
+
+    @Override
+    public ChangeFailureRateResponse calculateChangeFailureRate(LocalDateTime startDate, LocalDateTime endDate) {
+        return singleFlight(key(Metric.CHANGE_FAILURE_RATE, startDate, endDate),
+                changeFailureRateExecuted, changeFailureRateCoalesced,
+                () -> delegate.calculateChangeFailureRate(startDate, endDate),
+                response -> response.toBuilder().build());
+    }
+
+    @Override
+    public MTTRResponse calculateMeanTimeToRecovery(LocalDateTime startDate, LocalDateTime endDate) {
+        return singleFlight(key(Metric.MEAN_TIME_TO_RECOVERY, startDate, endDate),
+                meanTimeToRecoveryExecuted, meanTimeToRecoveryCoalesced,
+                () -> delegate.calculateMeanTimeToRecovery(startDate, endDate),
+                response -> response.toBuilder().build());
+    }
+
+    @Override
+    public MTTAResponse calculateMeanTimeToAcknowledge(LocalDateTime startDate, LocalDateTime endDate) {
+        return singleFlight(key(Metric.MEAN_TIME_TO_ACKNOWLEDGE, startDate, endDate),
+                meanTimeToAcknowledgeExecuted, meanTimeToAcknowledgeCoalesced,
+                () -> delegate.calculateMeanTimeToAcknowledge(startDate, endDate),
+                response -> response.toBuilder().build());
+    }
+
+    @Override
+    public DeploymentDurationResponse calculateDeploymentDuration(LocalDateTime startDate, LocalDateTime endDate) {
+        return singleFlight(key(Metric.DEPLOYMENT_DURATION, startDate, endDate),
+                deploymentDurationExecuted, deploymentDurationCoalesced,
+                () -> delegate.calculateDeploymentDuration(startDate, endDate),
+                CoalescingMetricsCalculationService::copy);
+    }
+
+    @Override
+    public String determineTimeRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return delegate.determineTimeRange(startDate, endDate);
+    }
+
+    /**
+     * Runs the calculation, or joins the one in flight for the same key and returns a
+     * copy of its result.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T singleFlight(Key key, Counter executed, Counter coalesced, Supplier<T> calculation,
+                               UnaryOperator<T> copy) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            coalesced.increment();
+            log.trace("Joining in-flight calculation of {}", key);
+            T result = (T) await(leader);
+            return result != null ? copy.apply(result) : null;
+        }
+
+        executed.increment();
+        try {
+            T result = calculation.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Waits for the leader's result and rethrows its failure as the leader saw it.
+     */
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static DeploymentDurationResponse copy(DeploymentDurationResponse response) {
+        return response.toBuilder()
+                .workflows(response.getWorkflows() != null ? response.getWorkflows().stream()
+                        .map(workflow -> workflow.toBuilder().build())
+                        .collect(Collectors.toCollection(ArrayList::new)) : null)
+                .build();
+    }
+
+    private Key key(Metric metric, LocalDateTime startDate, LocalDateTime endDate) {
+        return new Key(metric, truncate(startDate), truncate(endDate));
+    }
+
+    private LocalDateTime truncate(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return null;
+        }
+        long millis = dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis - Math.floorMod(millis, granularityMillis)),
+                ZoneOffset.UTC);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, Metric metric, String outcome) {
+        return Counter.builder("metrics.calculation.requests")
+                .description("Metric calculations requested, by whether they ran or joined one in flight")
+                .tag("metric", metric.tag)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private enum Metric {
+        CHANGE_FAILURE_RATE("changeFailureRate"),
+        MEAN_TIME_TO_RECOVERY("meanTimeToRecovery"),
+        MEAN_TIME_TO_ACKNOWLEDGE("meanTimeToAcknowledge"),
+        DEPLOYMENT_DURATION("deploymentDuration");
+
+        private final String tag;
+
+        Metric(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private record Key(Metric metric, LocalDateTime startDate, LocalDateTime endDate) {
+    }
+}
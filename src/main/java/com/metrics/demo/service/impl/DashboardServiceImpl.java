@@ -0,0 +1,209 @@
+package com.metrics.demo.service.impl;
+
+import com.metrics.demo.dto.response.ChangeFailureRateResponse;
+import com.metrics.demo.dto.response.DashboardResponse;
+import com.metrics.demo.dto.response.DashboardSnapshot;
+import com.metrics.demo.dto.response.MTTAResponse;
+import com.metrics.demo.dto.response.MTTRResponse;
+import com.metrics.demo.observability.CacheLookupEvent;
+import com.metrics.demo.service.DashboardService;
+import com.metrics.demo.service.MetricsCalculationService;
+import com.metrics.demo.service.RollingWindowCounts;
+import com.metrics.demo.service.RollingWindowService;
+import com.metrics.demo.service.SyncJobCompletedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implementation of DashboardService.
+ *
+ * Snapshots of the built-in ranges are recalculated on a short schedule, so
+ * their sliding end never lags by more than the refresh interval, and right
+ * after every sync run that changed data. A range whose recalculation fails
+ * keeps serving its previous snapshot.
+ *
+ * Snapshots are built from the rolling window counters, so refreshing them
+ * does not query the database either; the metrics calculations are only
+ * used for custom ranges and for ranges the counters do not keep.
+ *
+ */
+@Service
+@Slf4j
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final List<String> SNAPSHOT_RANGES = List.of("7d", "30d", "90d");
+
+    private static final String DEFAULT_RANGE = "7d";
+
+    private final MetricsCalculationService metricsCalculationService;
+    private final RollingWindowService rollingWindowService;
+
+    private final AtomicReference<Map<String, DashboardSnapshot>> snapshots =
+            new AtomicReference<>(Collections.emptyMap());
+
+    public DashboardServiceImpl(MetricsCalculationService metricsCalculationService,
+                                RollingWindowService rollingWindowService) {
+        this.metricsCalculationService = metricsCalculationService;
+        this.rollingWindowService = rollingWindowService;
+    }
+
+    @Override
+    public DashboardSnapshot getDashboard(String timeRange, LocalDateTime startDate, LocalDateTime endDate) {
+        String range = timeRange.toLowerCase();
+        if ("custom".equals(range)) {
+            if (startDate == null || endDate == null) {
+                throw new IllegalArgumentException("Custom start and end dates are required for custom time range");
+            }
+            return calculate("custom", startDate, endDate);
+        }
+        if (!SNAPSHOT_RANGES.contains(range)) {
+            log.warn("Unknown time range: {}, defaulting to {}", timeRange, DEFAULT_RANGE);
+            range = DEFAULT_RANGE;
+        }
+
+        CacheLookupEvent lookup = new CacheLookupEvent("dashboardSnapshot", range);
+        DashboardSnapshot snapshot = snapshots.get().get(range);
+        lookup.lookedUp(snapshot != null);
+        if (snapshot == null) {
+            // Only until the first refresh has completed
+            snapshot = calculatePreset(range);
+            store(Map.of(range, snapshot));
+        }
+        return snapshot;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${dashboard.snapshot.refresh-interval:PT1M}")
+    public synchronized void refreshSnapshots() {
+        long started = System.nanoTime();
+        Map<String, DashboardSnapshot> refreshed = new LinkedHashMap<>();
+        for (String range : SNAPSHOT_RANGES) {
+            try {
+                refreshed.put(range, calculatePreset(range));
+            } catch (RuntimeException e) {
+                log.error("Failed to refresh the {} dashboard snapshot; keeping the previous one", range, e);
+            }
+        }
+        store(refreshed);
+        if (log.isDebugEnabled()) {
+            log.debug("Refreshed dashboard snapshots in {} ms", (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    @EventListener
+    public void onSyncJobCompleted(SyncJobCompletedEvent event) {
+        log.debug("Refreshing dashboard snapshots after {} sync run {}",
+                event.run().getSource(), event.run().getId());
+        refreshSnapshots();
+    }
+
+    /**
+     * Publishes snapshots with a single copy of the map, however many ranges changed.
+     */
+    private void store(Map<String, DashboardSnapshot> changed) {
+        snapshots.updateAndGet(current -> {
+            Map<String, DashboardSnapshot> updated = new LinkedHashMap<>(current);
+            updated.putAll(changed);
+            return Collections.unmodifiableMap(updated);
+        });
+    }
+
+    private DashboardSnapshot calculatePreset(String range) {
+        Optional<RollingWindowCounts> counts = rollingWindowService.getCounts(range);
+        if (counts.isPresent()) {
+            return fromCounts(counts.get());
+        }
+
+        // Stored timestamps are UTC, so preset windows end at the current UTC time
+        LocalDateTime end = LocalDateTime.now(ZoneOffset.UTC);
+        LocalDateTime start = switch (range) {
+            case "30d" -> end.minusDays(30);
+            case "90d" -> end.minusDays(90);
+            default -> end.minusDays(7);
+        };
+        return calculate(range, start, end);
+    }
+
+    private DashboardSnapshot calculate(String range, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime computedAt = LocalDateTime.now();
+
+        ChangeFailureRateResponse cfr = metricsCalculationService.calculateChangeFailureRate(start, end);
+        MTTRResponse mttr = metricsCalculationService.calculateMeanTimeToRecovery(start, end);
+        MTTAResponse mtta = metricsCalculationService.calculateMeanTimeToAcknowledge(start, end);
+        return snapshot(range, cfr, mttr, mtta, computedAt);
+    }
+
+    /**
+     * Same figures as the metrics calculations, from the counters of a built-in range.
+     */
+    private DashboardSnapshot fromCounts(RollingWindowCounts counts) {
+        LocalDateTime computedAt = LocalDateTime.now();
+        long resolved = counts.recovery().resolvedIncidents();
+        double mttrMinutes = counts.recovery().meanRecoveryMinutes();
+        long acknowledged = counts.acknowledgement().acknowledgedIncidents();
+        double mttaMinutes = counts.acknowledgement().meanAcknowledgeMinutes();
+
+        ChangeFailureRateResponse cfr = ChangeFailureRateResponse.builder()
+                .changeFailureRatePercentage(counts.deployments() > 0 ?
+                        (double) counts.incidents() / counts.deployments() * 100.0 : 0.0)
+                .totalDeployments(counts.deployments())
+                .totalIncidents(counts.incidents())
+                .startDate(counts.startDate())
+                .endDate(counts.endDate())
+                .timeRange(counts.range())
+                .calculatedAt(computedAt)
+                .build();
+        MTTRResponse mttr = MTTRResponse.builder()
+                .meanTimeToRecoveryMinutes(mttrMinutes)
+                .meanTimeToRecoveryHours(mttrMinutes / 60.0)
+                .totalResolvedIncidents((int) resolved)
+                .unresolvedIncidents((int) (counts.incidents() - resolved))
+                .startDate(counts.startDate())
+                .endDate(counts.endDate())
+                .timeRange(counts.range())
+                .calculatedAt(computedAt)
+                .build();
+        MTTAResponse mtta = MTTAResponse.builder()
+                .meanTimeToAcknowledgeMinutes(mttaMinutes)
+                .meanTimeToAcknowledgeHours(mttaMinutes / 60.0)
+                .totalAcknowledgedIncidents((int) acknowledged)
+                .unacknowledgedIncidents((int) (counts.incidents() - acknowledged))
+                .startDate(counts.startDate())
+                .endDate(counts.endDate())
+                .timeRange(counts.range())
+                .calculatedAt(computedAt)
+                .build();
+        return snapshot(counts.range(), cfr, mttr, mtta, computedAt);
+    }
+
+    private static DashboardSnapshot snapshot(String range, ChangeFailureRateResponse cfr, MTTRResponse mttr,
+                                              MTTAResponse mtta, LocalDateTime computedAt) {
+        DashboardResponse dashboard = DashboardResponse.builder()
+                .changeFailureRate(cfr)
+                .meanTimeToRecovery(mttr)
+                .meanTimeToAcknowledge(mtta)
+                .summary(DashboardResponse.DashboardSummary.builder()
+                        .timeRange(range)
+                        .totalIncidents((int) cfr.getTotalIncidents())
+                        .totalDeployments((int) cfr.getTotalDeployments())
+                        .resolvedIncidents(mttr.getTotalResolvedIncidents())
+                        .build())
+                .build();
+
+        return DashboardSnapshot.builder()
+                .dashboard(dashboard)
+                .computedAt(computedAt)
+                .build();
+    }
+}
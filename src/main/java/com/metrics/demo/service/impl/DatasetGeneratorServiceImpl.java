@@ -0,0 +1,477 @@
+package com.metrics.demo.service.impl;
+
+import com.metrics.demo.dto.request.DatasetGenerationRequest;
+import com.metrics.demo.dto.response.DatasetGenerationResponse;
+import com.metrics.demo.enums.DeploymentStatus;
+import com.metrics.demo.enums.IncidentStatus;
+import com.metrics.demo.enums.SyncJobStatus;
+import com.metrics.demo.service.DatasetGeneratorService;
+import com.metrics.demo.service.RollingWindowDelta;
+import com.metrics.demo.service.RollingWindowService;
+import com.metrics.demo.util.DurationSketch;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of DatasetGeneratorService.
+ *
+ * Each table is generated in fixed-size batches claimed by a pool of writer
+ * threads; every batch is one JDBC batch insert in its own transaction and
+ * draws from its own random stream seeded by the batch index, so the data
+ * depends only on the seed, not on thread scheduling. Rows are produced
+ * inside the statement setter, so no entities or row objects are allocated.
+ *
+ * Ids are reserved from the entities' sequences one block of
+ * {@link #ID_BLOCK_SIZE} at a time. With the pooled-lo optimizer a sequence
+ * value n owns ids n to n + 99, exactly as Hibernate would use it, so
+ * generated rows and rows later saved through JPA never share an id.
+ *
+ * Each committed batch is added to the rolling window counters.
+ *
+ */
+@Service
+@Slf4j
+public class DatasetGeneratorServiceImpl implements DatasetGeneratorService {
+
+    /**
+     * Ids per sequence value; must match the allocationSize of the Deployment and Incident sequences.
+     */
+    static final int ID_BLOCK_SIZE = 100;
+
+    private static final int MAX_RETAINED_GENERATIONS = 20;
+
+    private static final String INSERT_DEPLOYMENT = "INSERT INTO deployments (id, deployment_id, timestamp, status, "
+            + "application_name, version, workflow_run_id, repository_name, workflow_name, "
+            + "record_created_at, record_updated_at, queue_seconds, duration_seconds, duration_bucket) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_INCIDENT = "INSERT INTO incidents (id, incident_id, title, status, urgency, "
+            + "service_name, created_at, acknowledged_at, resolved_at, recovery_seconds, pagerduty_incident_key, "
+            + "record_created_at, record_updated_at, acknowledge_seconds) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final double QUEUE_MEDIAN_SECONDS = 20;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RollingWindowService rollingWindowService;
+    private final int writers;
+    private final int batchSize;
+
+    private final ExecutorService coordinatorExecutor;
+    private final ExecutorService writerExecutor;
+
+    private final Map<String, GenerationJob> generations = new ConcurrentHashMap<>();
+
+    public DatasetGeneratorServiceImpl(JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       RollingWindowService rollingWindowService,
+                                       @Value("${dataset.generator.writers:4}") int writers,
+                                       @Value("${dataset.generator.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rollingWindowService = rollingWindowService;
+        this.writers = writers;
+        // Whole id blocks per batch, so a batch never leaves part of a reserved block unused
+        this.batchSize = Math.max(1, (batchSize + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE) * ID_BLOCK_SIZE;
+        this.coordinatorExecutor = Executors.newCachedThreadPool(new CustomizableThreadFactory("dataset-generator-"));
+        this.writerExecutor = Executors.newFixedThreadPool(writers, new CustomizableThreadFactory("dataset-writer-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writerExecutor.shutdownNow();
+        coordinatorExecutor.shutdownNow();
+    }
+
+    @Override
+    public DatasetGenerationResponse startGeneration(DatasetGenerationRequest request) {
+        LocalDateTime to = (request.getTo() != null ? request.getTo() : LocalDateTime.now(ZoneOffset.UTC))
+                .truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime from = (request.getFrom() != null ? request.getFrom() : to.minusDays(90))
+                .truncatedTo(ChronoUnit.SECONDS);
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Dataset generation requires a 'from' date before the 'to' date");
+        }
+        if (request.getFailureRatio() + request.getCancelledRatio() > 1.0) {
+            throw new IllegalArgumentException("failureRatio and cancelledRatio must not add up to more than 1");
+        }
+        if (request.getRecoveryMedian().isNegative() || request.getRecoveryMedian().isZero()
+                || request.getAcknowledgeMedian().isNegative() || request.getAcknowledgeMedian().isZero()) {
+            throw new IllegalArgumentException("recoveryMedian and acknowledgeMedian must be positive");
+        }
+
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+        GenerationJob job = new GenerationJob(UUID.randomUUID().toString(), request, seed, from, to);
+        evictFinishedGenerations();
+        generations.put(job.id, job);
+
+        log.info("Submitting dataset generation {}: {} deployments and {} incidents over {} services from {} to {}",
+                job.id, request.getDeployments(), request.getIncidents(), request.getServices(), from, to);
+        coordinatorExecutor.submit(() -> run(job));
+
+        return job.toResponse();
+    }
+
+    @Override
+    public Optional<DatasetGenerationResponse> getGeneration(String generationId) {
+        return Optional.ofNullable(generations.get(generationId)).map(GenerationJob::toResponse);
+    }
+
+    @Override
+    public List<DatasetGenerationResponse> getGenerations() {
+        return generations.values().stream()
+                .sorted(Comparator.comparing((GenerationJob job) -> job.submittedAt).reversed())
+                .map(GenerationJob::toResponse)
+                .toList();
+    }
+
+    private void run(GenerationJob job) {
+        job.status = SyncJobStatus.RUNNING;
+        job.startedNanos = System.nanoTime();
+        try {
+            DatasetModel model = new DatasetModel(job.request, job.seed, job.from, job.to);
+            insertAll(job.request.getDeployments(), job.deploymentsInserted, (batch, rows) -> insertDeployments(model, batch, rows));
+            insertAll(job.request.getIncidents(), job.incidentsInserted, (batch, rows) -> insertIncidents(model, batch, rows));
+            job.status = SyncJobStatus.SUCCEEDED;
+            log.info("Dataset generation {} finished: {} deployments and {} incidents in {}s",
+                    job.id, job.deploymentsInserted.get(), job.incidentsInserted.get(), job.elapsedSeconds());
+        } catch (Exception e) {
+            job.error = e.getMessage();
+            job.status = SyncJobStatus.FAILED;
+            log.error("Dataset generation {} failed", job.id, e);
+        } finally {
+            job.finishedNanos = System.nanoTime();
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * Inserts a table's rows batch by batch on the writer pool and waits for all writers.
+     */
+    private void insertAll(long total, AtomicLong inserted, BatchWriter writer) throws InterruptedException {
+        long batches = (total + batchSize - 1) / batchSize;
+        AtomicLong nextBatch = new AtomicLong();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < Math.min(writers, batches); i++) {
+            futures.add(writerExecutor.submit(() -> {
+                long batch;
+                while ((batch = nextBatch.getAndIncrement()) < batches && !Thread.currentThread().isInterrupted()) {
+                    int rows = (int) Math.min(batchSize, total - batch * batchSize);
+                    writer.write(batch, rows);
+                    inserted.addAndGet(rows);
+                }
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            // Stop the remaining writers; committed batches stay in place
+            nextBatch.set(batches);
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+    }
+
+    private void insertDeployments(DatasetModel model, long batch, int rows) {
+        long[] ids = reserveIds("deployments_seq", rows);
+        SplittableRandom random = model.random(batch, 1);
+        LocalDateTime now = LocalDateTime.now();
+        char[] version = new char[40];
+        RollingWindowDelta delta = new RollingWindowDelta();
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_DEPLOYMENT,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        long id = ids[i / ID_BLOCK_SIZE] + i % ID_BLOCK_SIZE;
+                        int service = model.pickService(random);
+                        for (int c = 0; c < version.length; c++) {
+                            version[c] = HEX[random.nextInt(16)];
+                        }
+                        ps.setLong(1, id);
+                        ps.setString(2, SYNTHETIC_ID_PREFIX + id);
+                        long timestamp = model.pickEpochSecond(random) * 1000;
+                        ps.setLong(3, timestamp);
+                        ps.setString(4, model.pickDeploymentStatus(random).name());
+                        ps.setString(5, model.serviceNames[service]);
+                        ps.setString(6, new String(version));
+                        ps.setLong(7, id);
+                        ps.setString(8, model.repositoryNames[service]);
+                        ps.setString(9, "Deploy");
+                        ps.setObject(10, now);
+                        ps.setObject(11, now);
+                        long durationSeconds = model.lognormalSeconds(random, model.deploymentDurationMedianSeconds, 0.6);
+                        ps.setLong(12, model.lognormalSeconds(random, QUEUE_MEDIAN_SECONDS, 1.0));
+                        ps.setLong(13, durationSeconds);
+                        ps.setInt(14, DurationSketch.bucketOf(durationSeconds));
+                        delta.addDeployment(timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows;
+                    }
+                }));
+        rollingWindowService.apply(delta);
+    }
+
+    private void insertIncidents(DatasetModel model, long batch, int rows) {
+        long[] ids = reserveIds("incidents_seq", rows);
+        SplittableRandom random = model.random(batch, 2);
+        LocalDateTime now = LocalDateTime.now();
+        RollingWindowDelta delta = new RollingWindowDelta();
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_INCIDENT,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        long id = ids[i / ID_BLOCK_SIZE] + i % ID_BLOCK_SIZE;
+                        int service = model.pickService(random);
+                        long createdAt = model.pickEpochSecond(random);
+                        long acknowledgeSeconds = model.lognormalSeconds(random, model.acknowledgeMedianSeconds, 1.0);
+                        long recoverySeconds = model.lognormalSeconds(random, model.recoveryMedianSeconds, model.recoverySigma);
+                        // Incidents whose recovery would end after the window are still open
+                        boolean resolved = random.nextDouble() < model.resolvedRatio && createdAt + recoverySeconds <= model.toEpochSecond;
+                        boolean acknowledged = resolved || random.nextBoolean();
+                        IncidentStatus incidentStatus = resolved ? IncidentStatus.RESOLVED
+                                : acknowledged ? IncidentStatus.ACKNOWLEDGED : IncidentStatus.TRIGGERED;
+
+                        ps.setLong(1, id);
+                        ps.setString(2, SYNTHETIC_ID_PREFIX + id);
+                        ps.setString(3, model.incidentTitles[service]);
+                        ps.setString(4, incidentStatus.name());
+                        ps.setString(5, random.nextDouble() < 0.7 ? "high" : "low");
+                        ps.setString(6, model.serviceNames[service]);
+                        ps.setLong(7, createdAt * 1000);
+                        if (acknowledged) {
+                            long acknowledgedAt = createdAt + (resolved ? Math.min(acknowledgeSeconds, recoverySeconds) : acknowledgeSeconds);
+                            acknowledgeSeconds = Math.min(acknowledgedAt, model.toEpochSecond) - createdAt;
+                            ps.setLong(8, (createdAt + acknowledgeSeconds) * 1000);
+                            ps.setLong(14, acknowledgeSeconds);
+                        } else {
+                            ps.setNull(8, Types.BIGINT);
+                            ps.setNull(14, Types.BIGINT);
+                        }
+                        if (resolved) {
+                            ps.setLong(9, (createdAt + recoverySeconds) * 1000);
+                            ps.setLong(10, recoverySeconds);
+                        } else {
+                            ps.setNull(9, Types.BIGINT);
+                            ps.setNull(10, Types.BIGINT);
+                        }
+                        ps.setString(11, SYNTHETIC_ID_PREFIX + "key-" + id);
+                        ps.setObject(12, now);
+                        ps.setObject(13, now);
+                        delta.addIncident(createdAt * 1000, resolved, recoverySeconds, acknowledged, acknowledgeSeconds);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows;
+                    }
+                }));
+        rollingWindowService.apply(delta);
+    }
+
+    /**
+     * Reserves enough sequence blocks for the given number of rows. Blocks
+     * are not contiguous when other writers draw from the same sequence.
+     */
+    private long[] reserveIds(String sequence, int rows) {
+        long[] blocks = new long[(rows + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class);
+        }
+        return blocks;
+    }
+
+    private void evictFinishedGenerations() {
+        if (generations.size() < MAX_RETAINED_GENERATIONS) {
+            return;
+        }
+        generations.values().stream()
+                .filter(job -> job.finishedAt != null)
+                .min(Comparator.comparing((GenerationJob job) -> job.submittedAt))
+                .ifPresent(job -> generations.remove(job.id));
+    }
+
+    @FunctionalInterface
+    private interface BatchWriter {
+        void write(long batch, int rows);
+    }
+
+    /**
+     * Distributions of one generation, shared read-only by its writers.
+     *
+     * Deployments and incidents pick a service with Zipf-distributed weights
+     * and a uniformly distributed time in the window, which makes each
+     * service's events a Poisson process with a rate proportional to its weight.
+     */
+    static final class DatasetModel {
+        private final long seed;
+        private final long fromEpochSecond;
+        private final long toEpochSecond;
+        private final double[] cumulativeWeights;
+        private final String[] serviceNames;
+        private final String[] repositoryNames;
+        private final String[] incidentTitles;
+        private final double failureRatio;
+        private final double cancelledRatio;
+        private final double resolvedRatio;
+        private final double recoveryMedianSeconds;
+        private final double recoverySigma;
+        private final double acknowledgeMedianSeconds;
+        private final double deploymentDurationMedianSeconds;
+
+        DatasetModel(DatasetGenerationRequest request, long seed, LocalDateTime from, LocalDateTime to) {
+            this.seed = seed;
+            this.fromEpochSecond = from.toEpochSecond(ZoneOffset.UTC);
+            this.toEpochSecond = to.toEpochSecond(ZoneOffset.UTC);
+            this.failureRatio = request.getFailureRatio();
+            this.cancelledRatio = request.getCancelledRatio();
+            this.resolvedRatio = request.getResolvedRatio();
+            this.recoveryMedianSeconds = request.getRecoveryMedian().toSeconds();
+            this.recoverySigma = request.getRecoverySigma();
+            this.acknowledgeMedianSeconds = request.getAcknowledgeMedian().toSeconds();
+            this.deploymentDurationMedianSeconds = request.getDeploymentDurationMedian().toSeconds();
+
+            int services = request.getServices();
+            cumulativeWeights = new double[services];
+            serviceNames = new String[services];
+            repositoryNames = new String[services];
+            incidentTitles = new String[services];
+            double total = 0;
+            for (int k = 0; k < services; k++) {
+                total += 1.0 / Math.pow(k + 1, request.getServiceSkew());
+                cumulativeWeights[k] = total;
+                serviceNames[k] = "service-" + (k + 1);
+                repositoryNames[k] = "synthetic/" + serviceNames[k];
+                incidentTitles[k] = "Synthetic incident on " + serviceNames[k];
+            }
+        }
+
+        SplittableRandom random(long batch, int table) {
+            return new SplittableRandom(seed + table * 0x9E3779B97F4A7C15L + batch * 0xBF58476D1CE4E5B9L);
+        }
+
+        int pickService(SplittableRandom random) {
+            double point = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+            int index = Arrays.binarySearch(cumulativeWeights, point);
+            return Math.min(index >= 0 ? index : -index - 1, cumulativeWeights.length - 1);
+        }
+
+        long pickEpochSecond(SplittableRandom random) {
+            return random.nextLong(fromEpochSecond, toEpochSecond + 1);
+        }
+
+        DeploymentStatus pickDeploymentStatus(SplittableRandom random) {
+            double draw = random.nextDouble();
+            if (draw < failureRatio) {
+                return DeploymentStatus.FAILURE;
+            }
+            return draw < failureRatio + cancelledRatio ? DeploymentStatus.CANCELLED : DeploymentStatus.SUCCESS;
+        }
+
+        /**
+         * Draws a lognormal duration with the given median, at least one second.
+         */
+        long lognormalSeconds(SplittableRandom random, double medianSeconds, double sigma) {
+            return Math.max(1, Math.round(medianSeconds * Math.exp(sigma * random.nextGaussian())));
+        }
+    }
+
+    /**
+     * Mutable progress of a submitted generation.
+     */
+    private static class GenerationJob {
+        private final String id;
+        private final DatasetGenerationRequest request;
+        private final long seed;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicLong deploymentsInserted = new AtomicLong();
+        private final AtomicLong incidentsInserted = new AtomicLong();
+        private volatile SyncJobStatus status;
+        private volatile String error;
+        private volatile long startedNanos;
+        private volatile long finishedNanos;
+        private volatile LocalDateTime finishedAt;
+
+        private GenerationJob(String id, DatasetGenerationRequest request, long seed,
+                              LocalDateTime from, LocalDateTime to) {
+            this.id = id;
+            this.request = request;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        private double elapsedSeconds() {
+            if (startedNanos == 0) {
+                return 0;
+            }
+            long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+            return Duration.ofNanos(end - startedNanos).toMillis() / 1000.0;
+        }
+
+        private DatasetGenerationResponse toResponse() {
+            long requested = request.getDeployments() + request.getIncidents();
+            long inserted = deploymentsInserted.get() + incidentsInserted.get();
+            double elapsed = elapsedSeconds();
+            return DatasetGenerationResponse.builder()
+                    .generationId(id)
+                    .status(status)
+                    .seed(seed)
+                    .from(from)
+                    .to(to)
+                    .deploymentsRequested(request.getDeployments())
+                    .incidentsRequested(request.getIncidents())
+                    .deploymentsInserted(deploymentsInserted.get())
+                    .incidentsInserted(incidentsInserted.get())
+                    .percentComplete(requested > 0 ? 100.0 * inserted / requested : 100.0)
+                    .rowsPerSecond(elapsed > 0 ? inserted / elapsed : 0)
+                    .error(error)
+                    .submittedAt(submittedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.metrics.demo.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.metrics.demo.dto.response.DeploymentExportRow;
+import com.metrics.demo.dto.response.IncidentExportRow;
+import com.metrics.demo.enums.ExportFormat;
+import com.metrics.demo.repository.DeploymentRepository;
+import com.metrics.demo.repository.IncidentRepository;
+import com.metrics.demo.service.ExportService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of ExportService.
+ *
+ * Each export reads its rows in one read-only transaction through the
+ * repositories' cursor-backed streams. Rows are projections rather than
+ * entities, and output goes through a fixed-size buffer, so memory does not
+ * grow with the number of rows.
+ *
+ * CSV values are quoted only when they contain a separator, quote or line
+ * break (RFC 4180); empty fields are nulls. Instants are ISO-8601 in UTC.
+ *
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] DEPLOYMENT_COLUMNS = {"deployment_id", "timestamp", "status",
+            "application_name", "version", "workflow_run_id", "repository_name", "workflow_name"};
+
+    private static final String[] INCIDENT_COLUMNS = {"incident_id", "title", "status", "urgency",
+            "service_name", "created_at", "acknowledged_at", "resolved_at", "recovery_seconds"};
+
+    private final DeploymentRepository deploymentRepository;
+    private final IncidentRepository incidentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter ndjsonWriter;
+
+    public ExportServiceImpl(DeploymentRepository deploymentRepository,
+                             IncidentRepository incidentRepository,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper) {
+        this.deploymentRepository = deploymentRepository;
+        this.incidentRepository = incidentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Flushing per row would turn every row into a separate network write
+        this.ndjsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+    }
+
+    @Override
+    public long exportDeployments(LocalDateTime startDate, LocalDateTime endDate, ExportFormat format,
+                                  OutputStream out) throws IOException {
+        return export(() -> deploymentRepository.streamExportRowsBetween(
+                        startDate.toInstant(ZoneOffset.UTC), endDate.toInstant(ZoneOffset.UTC)),
+                format, DEPLOYMENT_COLUMNS, ExportServiceImpl::writeDeployment, out);
+    }
+
+    @Override
+    public long exportIncidents(LocalDateTime startDate, LocalDateTime endDate, ExportFormat format,
+                                OutputStream out) throws IOException {
+        return export(() -> incidentRepository.streamExportRowsBetween(
+                        startDate.toInstant(ZoneOffset.UTC), endDate.toInstant(ZoneOffset.UTC)),
+                format, INCIDENT_COLUMNS, ExportServiceImpl::writeIncident, out);
+    }
+
+    private <T> long export(Supplier<Stream<T>> query, ExportFormat format, String[] columns,
+                            CsvRowWriter<T> csvRowWriter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        try {
+            Long rows = readOnlyTransaction.execute(status -> {
+                try (Stream<T> stream = query.get()) {
+                    return format == ExportFormat.CSV
+                            ? writeCsv(stream.iterator(), columns, csvRowWriter, writer)
+                            : writeNdjson(stream.iterator(), writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            return rows != null ? rows : 0;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> long writeCsv(Iterator<T> rows, String[] columns, CsvRowWriter<T> csvRowWriter,
+                                     Writer writer) throws IOException {
+        writer.write(String.join(",", columns));
+        writer.write("\r\n");
+        long count = 0;
+        while (rows.hasNext()) {
+            csvRowWriter.write(rows.next(), writer);
+            writer.write("\r\n");
+            count++;
+        }
+        return count;
+    }
+
+    private long writeNdjson(Iterator<?> rows, Writer writer) throws IOException {
+        long count = 0;
+        // The sequence writer is not closed: that would close the response stream
+        SequenceWriter sequence = ndjsonWriter.writeValues(writer);
+        while (rows.hasNext()) {
+            sequence.write(rows.next());
+            count++;
+        }
+        sequence.flush();
+        if (count > 0) {
+            writer.write('\n');
+        }
+        return count;
+    }
+
+    private static void writeDeployment(DeploymentExportRow row, Writer writer) throws IOException {
+        field(writer, row.getDeploymentId());
+        writer.write(',');
+        field(writer, row.getTimestamp());
+        writer.write(',');
+        field(writer, row.getStatus());
+        writer.write(',');
+        field(writer, row.getApplicationName());
+        writer.write(',');
+        field(writer, row.getVersion());
+        writer.write(',');
+        field(writer, row.getWorkflowRunId());
+        writer.write(',');
+        field(writer, row.getRepositoryName());
+        writer.write(',');
+        field(writer, row.getWorkflowName());
+    }
+
+    private static void writeIncident(IncidentExportRow row, Writer writer) throws IOException {
+        field(writer, row.getIncidentId());
+        writer.write(',');
+        field(writer, row.getTitle());
+        writer.write(',');
+        field(writer, row.getStatus());
+        writer.write(',');
+        field(writer, row.getUrgency());
+        writer.write(',');
+        field(writer, row.getServiceName());
+        writer.write(',');
+        field(writer, row.getCreatedAt());
+        writer.write(',');
+        field(writer, row.getAcknowledgedAt());
+        writer.write(',');
+        field(writer, row.getResolvedAt());
+        writer.write(',');
+        field(writer, row.getRecoverySeconds());
+    }
+
+    private static void field(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    @FunctionalInterface
+    private interface CsvRowWriter<T> {
+        void write(T row, Writer writer) throws IOException;
+    }
+}
@@ -4,8 +4,24 @@ package com.metrics.demo.service.impl;
 import com.metrics.demo.dto.external.GitHubWorkflowRun;
 import com.metrics.demo.entity.Deployment;
 import com.metrics.demo.enums.DeploymentStatus;
+import com.metrics.demo.enums.SyncJobType;
+import com.metrics.demo.enums.SyncSource;
+import com.metrics.demo.integration.DeploymentClassifier;
+import com.metrics.demo.integration.ExternalApiGuard;
+import com.metrics.demo.observability.SyncBatchWrittenEvent;
+import com.metrics.demo.observability.SyncMetrics;
+import com.metrics.demo.observability.SyncPageFetchedEvent;
 import com.metrics.demo.repository.DeploymentRepository;
+import com.metrics.demo.repository.SourceFingerprint;
 import com.metrics.demo.service.GitHubActionsService;
+import com.metrics.demo.service.RetentionService;
+import com.metrics.demo.service.RollingWindowDelta;
+import com.metrics.demo.service.RollingWindowService;
+import com.metrics.demo.service.SyncJobContext;
+import com.metrics.demo.service.SyncJobService;
+import com.metrics.demo.util.Fingerprint;
+import com.metrics.demo.util.Rfc3339;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,22 +29,28 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 /**
  * Implementation of GitHubActionsService.
  *
  * Handles integration with GitHub Actions API to fetch workflow run data
- * and synchronize it with the local database as deployment data.
+ * and synchronize it with the local database as deployment data. Only runs
+ * the {@link DeploymentClassifier} counts as deployments are stored, and its
+ * filters are sent to GitHub so other runs are not downloaded at all.
  *
  */
 @Service
@@ -38,6 +60,15 @@ public class GitHubActionsServiceImpl implements GitHubActionsService {
 
     private final DeploymentRepository deploymentRepository;
     private final WebClient.Builder webClientBuilder;
+    private final SyncJobService syncJobService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExternalApiGuard externalApiGuard;
+    private final SyncMetrics syncMetrics;
+    private final RetentionService retentionService;
+    private final RollingWindowService rollingWindowService;
+    private final DeploymentClassifier deploymentClassifier;
+
+    private WebClient webClient;
 
 
     @Value("${github.api.token}")
@@ -52,8 +83,26 @@ public class GitHubActionsServiceImpl implements GitHubActionsService {
     @Value("${github.repository.name}")
     private String repositoryName;
 
-    private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
-
+    /**
+     * Sync windows are UTC; vendor query bounds carry an explicit 'Z' offset.
+     */
+    private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+
+    private static final int PAGE_SIZE = 100;
+
+    /**
+     * Builds the API client once. The builder is cloned because the shared
+     * WebClient.Builder bean is mutable and also used by other services.
+     */
+    @PostConstruct
+    void initWebClient() {
+        webClient = webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiToken)
+                .defaultHeader(HttpHeaders.ACCEPT, "application/vnd.github+json")
+                .defaultHeader("X-GitHub-Api-Version", "2022-11-28")
+                .build();
+    }
 
     @Override
     public List<GitHubWorkflowRun> fetchWorkflowRuns(LocalDateTime since, LocalDateTime until) {
@@ -65,75 +114,88 @@ public class GitHubActionsServiceImpl implements GitHubActionsService {
                                                                   LocalDateTime since, LocalDateTime until) {
         log.info("Fetching GitHub workflow runs for {}/{} from {} to {}", owner, repo, since, until);
 
-        try {
-            WebClient webClient = webClientBuilder
-                    .baseUrl(baseUrl)
-                    .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiToken)
-                    .defaultHeader(HttpHeaders.ACCEPT, "application/vnd.github+json")
-                    .defaultHeader("X-GitHub-Api-Version", "2022-11-28")
-                    .build();
-
-            Map<String, Object> response = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/repos/{owner}/{repo}/actions/runs")
-                            .queryParam("created", since.format(ISO_FORMATTER) + ".." + until.format(ISO_FORMATTER))
-                            .queryParam("per_page", 100)
-                            .build(owner, repo))
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-                    .block();
-
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> workflowRuns = (List<Map<String, Object>>) response.get("workflow_runs");
-
-            List<GitHubWorkflowRun> result = new ArrayList<>();
-            if (workflowRuns != null) {
-                for (Map<String, Object> runData : workflowRuns) {
-                    result.add(convertMapToWorkflowRun(runData));
-                }
-            }
-
-            log.info("Fetched {} workflow runs from GitHub for {}/{}", result.size(), owner, repo);
-            return result;
-
-        } catch (WebClientResponseException e) {
-            log.error("Error fetching workflow runs from GitHub: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            throw new RuntimeException("Failed to fetch workflow runs from GitHub", e);
-        } catch (Exception e) {
-            log.error("Unexpected error fetching workflow runs from GitHub", e);
-            throw new RuntimeException("Failed to fetch workflow runs from GitHub", e);
+        List<GitHubWorkflowRun> result = new ArrayList<>();
+        for (String workflow : workflows()) {
+            int page = 1;
+            List<GitHubWorkflowRun> pageRuns;
+            do {
+                pageRuns = fetchWorkflowRunsPage(owner, repo, workflow, since, until, page++);
+                pageRuns.stream().filter(deploymentClassifier::isDeployment).forEach(result::add);
+            } while (pageRuns.size() == PAGE_SIZE);
         }
+
+        log.info("Fetched {} workflow runs from GitHub for {}/{}", result.size(), owner, repo);
+        return result;
     }
 
     @Override
     @Scheduled(fixedRate = 300000) // Every 5 minutes
-    @Transactional
     public void syncDeployments() {
         log.info("Starting scheduled deployment synchronization");
 
-        try {
-            // Fetch workflow runs from the last 24 hours
-            LocalDateTime until = LocalDateTime.now();
-            LocalDateTime since = until.minusHours(24);
+        // Fetch workflow runs from the last 24 hours; sync windows are UTC like the stored timestamps
+        LocalDateTime until = LocalDateTime.now(ZoneOffset.UTC);
+        LocalDateTime since = until.minusHours(24);
 
-            List<GitHubWorkflowRun> workflowRuns = fetchWorkflowRuns(since, until);
+        syncJobService.runJob(SyncSource.GITHUB_ACTIONS, SyncJobType.INCREMENTAL, since, until,
+                context -> syncRange(since, until, context));
+    }
 
-            for (GitHubWorkflowRun workflowRun : workflowRuns) {
-                syncDeployment(workflowRun);
+    @Override
+    public void syncRange(LocalDateTime since, LocalDateTime until, SyncJobContext context) {
+        // Checkpoints are the last committed page number, prefixed with "workflow:" when
+        // runs are listed per workflow
+        List<String> workflows = workflows();
+        int first = 0;
+        int page = 1;
+        String checkpoint = context.getResumeCheckpoint();
+        if (checkpoint != null) {
+            int separator = checkpoint.lastIndexOf(':');
+            int resumed = workflows.indexOf(separator >= 0 ? checkpoint.substring(0, separator) : null);
+            if (resumed >= 0) {
+                first = resumed;
+                page = Integer.parseInt(checkpoint.substring(separator + 1)) + 1;
+            } else {
+                log.info("Workflows changed since checkpoint {}; syncing the whole window", checkpoint);
             }
+        }
 
-            log.info("Completed deployment synchronization, processed {} workflow runs", workflowRuns.size());
-
-        } catch (Exception e) {
-            log.error("Error during scheduled deployment synchronization", e);
+        for (int index = first; index < workflows.size(); index++) {
+            String workflow = workflows.get(index);
+            List<GitHubWorkflowRun> workflowRuns;
+            do {
+                String pageCheckpoint = workflow == null ? Integer.toString(page) : workflow + ":" + page;
+                SyncPageFetchedEvent fetchedEvent = new SyncPageFetchedEvent(SyncSource.GITHUB_ACTIONS.name(),
+                        pageCheckpoint);
+                workflowRuns = fetchWorkflowRunsPage(repositoryOwner, repositoryName, workflow, since, until, page);
+                fetchedEvent.fetched(workflowRuns.size());
+                context.pageFetched(workflowRuns.size());
+                syncMetrics.rowsFetched(SyncSource.GITHUB_ACTIONS, workflowRuns.size());
+
+                List<GitHubWorkflowRun> deployments = workflowRuns.stream()
+                        .filter(deploymentClassifier::isDeployment)
+                        .toList();
+                if (deployments.size() < workflowRuns.size()) {
+                    log.debug("{} of {} workflow runs on page {} are not deployments",
+                            workflowRuns.size() - deployments.size(), workflowRuns.size(), page);
+                }
+                SyncBatchWrittenEvent writtenEvent = new SyncBatchWrittenEvent(SyncSource.GITHUB_ACTIONS.name(),
+                        deployments.size());
+                transactionTemplate.executeWithoutResult(status -> syncPage(deployments, context, writtenEvent));
+                writtenEvent.commit();
+
+                context.checkpoint(pageCheckpoint);
+                page++;
+            } while (workflowRuns.size() == PAGE_SIZE);
+            page = 1;
         }
     }
 
     @Override
     public Deployment convertToEntity(GitHubWorkflowRun workflowRun) {
-        return Deployment.builder()
+        Deployment deployment = Deployment.builder()
                 .deploymentId("gh-" + workflowRun.getId())
-                .timestamp(parseDateTime(workflowRun.getCreatedAt()))
+                .timestamp(Rfc3339.parseInstant(workflowRun.getCreatedAt()))
                 .status(parseDeploymentStatus(workflowRun.getConclusion()))
                 .applicationName(workflowRun.getRepository() != null ?
                         workflowRun.getRepository().getName() : repositoryName)
@@ -144,22 +206,25 @@ public class GitHubActionsServiceImpl implements GitHubActionsService {
                         workflowRun.getRepository().getName() : null)
                 .workflowName(workflowRun.getName())
                 .build();
+        setTimings(deployment, workflowRun);
+        deployment.setSourceFingerprint(fingerprint(deployment));
+        return deployment;
     }
 
 
     @Override
     public boolean isHealthy() {
-        try {
-            WebClient webClient = webClientBuilder
-                    .baseUrl(baseUrl)
-                    .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiToken)
-                    .defaultHeader(HttpHeaders.ACCEPT, "application/vnd.github+json")
-                    .build();
+        // Recent sync traffic (or an open circuit breaker) answers without another API call
+        Boolean recentHealth = externalApiGuard.healthFromRecentCalls(SyncSource.GITHUB_ACTIONS);
+        if (recentHealth != null) {
+            return recentHealth;
+        }
 
-            webClient.get()
+        try {
+            externalApiGuard.probe(SyncSource.GITHUB_ACTIONS, webClient.get()
                     .uri("/repos/{owner}/{repo}/actions/runs?per_page=1", repositoryOwner, repositoryName)
                     .retrieve()
-                    .bodyToMono(String.class)
+                    .bodyToMono(String.class))
                     .block();
 
             return true;
@@ -169,27 +234,161 @@ public class GitHubActionsServiceImpl implements GitHubActionsService {
         }
     }
 
-    private void syncDeployment(GitHubWorkflowRun workflowRun) {
-        String deploymentId = "gh-" + workflowRun.getId();
-        Optional<Deployment> existing = deploymentRepository.findByDeploymentId(deploymentId);
-
-        if (existing.isPresent()) {
-            // Update existing deployment
-            Deployment deployment = existing.get();
-            deployment.setStatus(parseDeploymentStatus(workflowRun.getConclusion()));
-            // Update other fields as needed
-
-            deploymentRepository.save(deployment);
-            log.debug("Updated existing deployment: {}", deployment.getDeploymentId());
-        } else {
-            // Create new deployment
-            Deployment newDeployment = convertToEntity(workflowRun);
-            deploymentRepository.save(newDeployment);
-            log.debug("Created new deployment: {}", newDeployment.getDeploymentId());
+    /**
+     * Workflows whose runs are listed separately; a single null lists the whole repository.
+     */
+    private List<String> workflows() {
+        List<String> workflows = deploymentClassifier.getWorkflows();
+        return workflows.isEmpty() ? Collections.singletonList(null) : workflows;
+    }
+
+    /**
+     * Fetches one page of the runs of a workflow, or of the whole repository when the workflow
+     * is null, filtered by GitHub as far as the deployment classification allows.
+     */
+    private List<GitHubWorkflowRun> fetchWorkflowRunsPage(String owner, String repo, String workflow,
+                                                          LocalDateTime since, LocalDateTime until, int page) {
+        log.debug("Fetching page {} of GitHub workflow runs for {}/{} ({})", page, owner, repo,
+                workflow != null ? workflow : "all workflows");
+
+        try {
+            Map<String, Object> response = syncMetrics.timeFetch(SyncSource.GITHUB_ACTIONS, () ->
+                    externalApiGuard.guard(SyncSource.GITHUB_ACTIONS, webClient.get()
+                            .uri(uriBuilder -> {
+                                uriBuilder.path(workflow != null ? "/repos/{owner}/{repo}/actions/workflows/{workflow}/runs"
+                                                : "/repos/{owner}/{repo}/actions/runs")
+                                        .queryParam("created", since.atOffset(ZoneOffset.UTC).format(ISO_FORMATTER) + ".."
+                                                + until.atOffset(ZoneOffset.UTC).format(ISO_FORMATTER));
+                                deploymentClassifier.getQueryFilters().forEach((name, value) ->
+                                        uriBuilder.queryParam(name, value));
+                                uriBuilder.queryParam("per_page", PAGE_SIZE)
+                                        .queryParam("page", page);
+                                return workflow != null ? uriBuilder.build(owner, repo, workflow)
+                                        : uriBuilder.build(owner, repo);
+                            })
+                            .retrieve()
+                            .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {}))
+                            .block());
+
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> workflowRuns = (List<Map<String, Object>>) response.get("workflow_runs");
+
+            return syncMetrics.timeParse(SyncSource.GITHUB_ACTIONS, () -> {
+                List<GitHubWorkflowRun> result = new ArrayList<>();
+                if (workflowRuns != null) {
+                    for (Map<String, Object> runData : workflowRuns) {
+                        result.add(convertMapToWorkflowRun(runData));
+                    }
+                }
+                return result;
+            });
+
+        } catch (WebClientResponseException e) {
+            log.error("Error fetching workflow runs from GitHub: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+            throw new RuntimeException("Failed to fetch workflow runs from GitHub", e);
+        } catch (Exception e) {
+            log.error("Unexpected error fetching workflow runs from GitHub", e);
+            throw new RuntimeException("Failed to fetch workflow runs from GitHub", e);
         }
     }
 
-    private GitHubWorkflowRun convertMapToWorkflowRun(Map<String, Object> runData) {
+    /**
+     * Upserts one page of workflow runs with a single fingerprint query and one batched write,
+     * instead of a lookup and a save per run. Runs whose fingerprint matches the stored one
+     * are skipped; only the deployments of changed runs are loaded and written.
+     */
+    private void syncPage(List<GitHubWorkflowRun> workflowRuns, SyncJobContext context, SyncBatchWrittenEvent event) {
+        if (workflowRuns.isEmpty()) {
+            return;
+        }
+
+        List<Deployment> converted = new ArrayList<>(workflowRuns.size());
+        for (GitHubWorkflowRun workflowRun : workflowRuns) {
+            try {
+                converted.add(convertToEntity(workflowRun));
+            } catch (RuntimeException e) {
+                log.warn("Failed to sync workflow run {}: {}", workflowRun.getId(), e.getMessage());
+                context.recordError("Workflow run " + workflowRun.getId() + ": " + e.getMessage());
+            }
+        }
+
+        Map<String, Long> storedFingerprints = new HashMap<>();
+        for (SourceFingerprint stored : deploymentRepository.findFingerprintsByDeploymentIdIn(
+                converted.stream().map(Deployment::getDeploymentId).toList())) {
+            storedFingerprints.put(stored.getSourceId(), stored.getFingerprint());
+        }
+        List<String> changedIds = converted.stream()
+                .filter(deployment -> storedFingerprints.containsKey(deployment.getDeploymentId()) &&
+                        !deployment.getSourceFingerprint().equals(storedFingerprints.get(deployment.getDeploymentId())))
+                .map(Deployment::getDeploymentId)
+                .toList();
+        Map<String, Deployment> existingById = new HashMap<>();
+        if (!changedIds.isEmpty()) {
+            for (Deployment deployment : deploymentRepository.findByDeploymentIdIn(changedIds)) {
+                existingById.put(deployment.getDeploymentId(), deployment);
+            }
+        }
+
+        List<Deployment> toSave = new ArrayList<>(converted.size());
+        RollingWindowDelta delta = new RollingWindowDelta();
+        int inserted = 0;
+        int updated = 0;
+        int skipped = 0;
+        int expired = 0;
+        Instant newest = null;
+        for (Deployment fetched : converted) {
+            String deploymentId = fetched.getDeploymentId();
+            if (fetched.getSourceFingerprint().equals(storedFingerprints.get(deploymentId))) {
+                skipped++;
+                continue;
+            }
+            Deployment deployment = existingById.get(deploymentId);
+            if (deployment != null) {
+                // Update existing deployment
+                deployment.setStatus(fetched.getStatus());
+                deployment.setApplicationName(fetched.getApplicationName());
+                deployment.setVersion(fetched.getVersion());
+                deployment.setRepositoryName(fetched.getRepositoryName());
+                deployment.setWorkflowName(fetched.getWorkflowName());
+                deployment.setQueueSeconds(fetched.getQueueSeconds());
+                deployment.setDurationSeconds(fetched.getDurationSeconds());
+                deployment.setSourceFingerprint(fetched.getSourceFingerprint());
+                updated++;
+            } else {
+                // Create new deployment
+                deployment = fetched;
+                if (retentionService.isCompacted(deployment.getTimestamp())) {
+                    // Its day is already counted in the daily rollups
+                    expired++;
+                    continue;
+                }
+                // Guards against the same run appearing twice when pages shift during paging
+                existingById.put(deploymentId, deployment);
+                delta.addDeployment(deployment);
+                inserted++;
+            }
+            storedFingerprints.put(deploymentId, deployment.getSourceFingerprint());
+            toSave.add(deployment);
+            if (deployment.getTimestamp() != null && (newest == null || deployment.getTimestamp().isAfter(newest))) {
+                newest = deployment.getTimestamp();
+            }
+        }
+
+        deploymentRepository.saveAll(toSave);
+        rollingWindowService.apply(delta);
+        context.rowsInserted(inserted);
+        context.rowsUpdated(updated);
+        context.rowsSkipped(skipped);
+        syncMetrics.rowsInserted(SyncSource.GITHUB_ACTIONS, inserted);
+        syncMetrics.rowsUpdated(SyncSource.GITHUB_ACTIONS, updated);
+        syncMetrics.rowsSkipped(SyncSource.GITHUB_ACTIONS, skipped);
+        event.written(inserted, updated, skipped);
+        syncMetrics.recordIngested(SyncSource.GITHUB_ACTIONS, newest);
+        log.debug("Synced page of {} workflow runs: {} inserted, {} updated, {} unchanged, {} past retention",
+                workflowRuns.size(), inserted, updated, skipped, expired);
+    }
+
+    GitHubWorkflowRun convertMapToWorkflowRun(Map<String, Object> runData) {
 
         @SuppressWarnings("unchecked")
         Map<String, Object> repository = (Map<String, Object>) runData.get("repository");
@@ -214,6 +413,8 @@ public class GitHubActionsServiceImpl implements GitHubActionsService {
         return GitHubWorkflowRun.builder()
                 .id(((Number) runData.get("id")).longValue())
                 .name((String) runData.get("name"))
+                .workflowId(runData.get("workflow_id") != null ? ((Number) runData.get("workflow_id")).longValue() : null)
+                .path((String) runData.get("path"))
                 .status((String) runData.get("status"))
                 .conclusion((String) runData.get("conclusion"))
                 .htmlUrl((String) runData.get("html_url"))
@@ -227,6 +428,34 @@ public class GitHubActionsServiceImpl implements GitHubActionsService {
                 .build();
     }
 
+    /**
+     * Sets the queue time of a started run and the duration of a completed one. GitHub reports
+     * no completion time; a completed run is last updated when it completes.
+     */
+    private static void setTimings(Deployment deployment, GitHubWorkflowRun workflowRun) {
+        if (workflowRun.getRunStartedAt() == null) {
+            return;
+        }
+        Instant startedAt = Rfc3339.parseInstant(workflowRun.getRunStartedAt());
+        deployment.setQueueSeconds(seconds(deployment.getTimestamp(), startedAt));
+        if ("completed".equals(workflowRun.getStatus()) && workflowRun.getUpdatedAt() != null) {
+            deployment.setDurationSeconds(seconds(startedAt, Rfc3339.parseInstant(workflowRun.getUpdatedAt())));
+        }
+    }
+
+    private static Integer seconds(Instant from, Instant to) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, from.until(to, ChronoUnit.SECONDS)));
+    }
+
+    /**
+     * Fingerprints the fields a sync writes to an existing deployment.
+     */
+    private static long fingerprint(Deployment deployment) {
+        return Fingerprint.of(deployment.getStatus(), deployment.getApplicationName(), deployment.getVersion(),
+                deployment.getRepositoryName(), deployment.getWorkflowName(), deployment.getQueueSeconds(),
+                deployment.getDurationSeconds());
+    }
+
     private DeploymentStatus parseDeploymentStatus(String conclusion) {
         if (conclusion == null) return DeploymentStatus.SUCCESS; // Running workflows
 
@@ -238,17 +467,4 @@ public class GitHubActionsServiceImpl implements GitHubActionsService {
         };
     }
 
-
-    private LocalDateTime parseDateTime(String dateTimeString) {
-        if (dateTimeString == null) return LocalDateTime.now();
-
-        try {
-            // Remove 'Z' suffix and parse
-            String cleanDateTime = dateTimeString.replace("Z", "");
-            return LocalDateTime.parse(cleanDateTime, ISO_FORMATTER);
-        } catch (Exception e) {
-            log.warn("Failed to parse datetime: {}, using current time", dateTimeString);
-            return LocalDateTime.now();
-        }
-    }
 }
@@ -0,0 +1,140 @@
+package com.metrics.demo.service.impl;
+
+import com.metrics.demo.dto.response.DashboardResponse;
+import com.metrics.demo.dto.response.PageResponse;
+import com.metrics.demo.enums.DeploymentStatus;
+import com.metrics.demo.enums.IncidentStatus;
+import com.metrics.demo.repository.DeploymentRepository;
+import com.metrics.demo.repository.IncidentRepository;
+import com.metrics.demo.repository.IncidentTransitionRepository;
+import com.metrics.demo.service.ListingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Implementation of ListingService.
+ *
+ * A cursor encodes the (time, id) of the last row of a page. The next page
+ * is read with the cursor time as the upper bound of the range, so it starts
+ * with a seek on the descending time index instead of skipping the rows of
+ * earlier pages.
+ *
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ListingServiceImpl implements ListingService {
+
+    /**
+     * Upper bound of an open-ended range; stored timestamps are epoch milliseconds.
+     */
+    private static final Instant LATEST = Instant.ofEpochMilli(Long.MAX_VALUE);
+
+    private final DeploymentRepository deploymentRepository;
+    private final IncidentRepository incidentRepository;
+    private final IncidentTransitionRepository incidentTransitionRepository;
+
+    @Override
+    public PageResponse<DashboardResponse.DeploymentSummary> listDeployments(DeploymentStatus status,
+                                                                             String applicationName,
+                                                                             LocalDateTime startDate,
+                                                                             LocalDateTime endDate,
+                                                                             String cursor, int limit) {
+        Cursor after = Cursor.decode(cursor);
+        List<DashboardResponse.DeploymentSummary> rows = deploymentRepository.findSummaryPage(
+                start(startDate), end(endDate, after), after != null ? after.id() : Long.MAX_VALUE,
+                status, applicationName, PageRequest.of(0, limit + 1));
+        return page(rows, limit, DashboardResponse.DeploymentSummary::getTimestamp,
+                DashboardResponse.DeploymentSummary::getId);
+    }
+
+    @Override
+    public PageResponse<DashboardResponse.IncidentSummary> listIncidents(IncidentStatus status, String serviceName,
+                                                                         LocalDateTime startDate,
+                                                                         LocalDateTime endDate,
+                                                                         String cursor, int limit) {
+        Cursor after = Cursor.decode(cursor);
+        List<DashboardResponse.IncidentSummary> rows = incidentRepository.findSummaryPage(
+                start(startDate), end(endDate, after), after != null ? after.id() : Long.MAX_VALUE,
+                status, serviceName, PageRequest.of(0, limit + 1));
+        return page(rows, limit, DashboardResponse.IncidentSummary::getCreatedAt,
+                DashboardResponse.IncidentSummary::getId);
+    }
+
+    @Override
+    public List<DashboardResponse.IncidentTransitionSummary> listIncidentTransitions(String incidentId) {
+        return incidentTransitionRepository.findByIncidentIdOrderByIdAsc(incidentId).stream()
+                .map(transition -> DashboardResponse.IncidentTransitionSummary.builder()
+                        .fromStatus(transition.getFromStatus())
+                        .toStatus(transition.getToStatus())
+                        .occurredAt(transition.getOccurredAt())
+                        .observedAt(transition.getObservedAt())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Cuts the one extra row fetched beyond the limit, which only tells whether a next page exists.
+     */
+    private static <T> PageResponse<T> page(List<T> rows, int limit, Function<T, Instant> time,
+                                            Function<T, Long> id) {
+        if (rows.size() <= limit) {
+            return PageResponse.<T>builder().items(rows).build();
+        }
+        List<T> items = rows.subList(0, limit);
+        T last = items.get(limit - 1);
+        return PageResponse.<T>builder()
+                .items(items)
+                .nextCursor(new Cursor(time.apply(last), id.apply(last)).encode())
+                .build();
+    }
+
+    private static Instant start(LocalDateTime startDate) {
+        return startDate != null ? startDate.toInstant(ZoneOffset.UTC) : Instant.EPOCH;
+    }
+
+    /**
+     * Requested end of the range, or the last row of the previous page; that is never later.
+     */
+    private static Instant end(LocalDateTime endDate, Cursor after) {
+        if (after != null) {
+            return after.time();
+        }
+        return endDate != null ? endDate.toInstant(ZoneOffset.UTC) : LATEST;
+    }
+
+    /**
+     * Position of the last row of a page, encoded as URL-safe Base64 of "epochMillis:id".
+     */
+    private record Cursor(Instant time, long id) {
+
+        String encode() {
+            String value = time.toEpochMilli() + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        static Cursor decode(String cursor) {
+            if (cursor == null || cursor.isEmpty()) {
+                return null;
+            }
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+                int separator = value.indexOf(':');
+                return new Cursor(Instant.ofEpochMilli(Long.parseLong(value.substring(0, separator))),
+                        Long.parseLong(value.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+    }
+}
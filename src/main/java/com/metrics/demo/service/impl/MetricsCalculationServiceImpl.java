@@ -2,18 +2,37 @@ package com.metrics.demo.service.impl;
 
 
 import com.metrics.demo.dto.response.ChangeFailureRateResponse;
+import com.metrics.demo.dto.response.DeploymentDurationResponse;
+import com.metrics.demo.dto.response.MTTAResponse;
 import com.metrics.demo.dto.response.MTTRResponse;
-import com.metrics.demo.entity.Incident;
+import com.metrics.demo.observability.MetricsCalculatedEvent;
+import com.metrics.demo.repository.AcknowledgeStats;
+import com.metrics.demo.repository.DeploymentDailyRollupRepository;
+import com.metrics.demo.repository.DeploymentDurationRollupRepository;
 import com.metrics.demo.repository.DeploymentRepository;
+import com.metrics.demo.repository.DurationBucketCount;
+import com.metrics.demo.repository.IncidentDailyRollupRepository;
 import com.metrics.demo.repository.IncidentRepository;
+import com.metrics.demo.repository.RecoveryStats;
 import com.metrics.demo.service.MetricsCalculationService;
-import lombok.RequiredArgsConstructor;
+import com.metrics.demo.service.RetentionService;
+import com.metrics.demo.util.DurationSketch;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 
@@ -23,15 +42,70 @@ import java.util.List;
  * Calculates engineering metrics based on incident and deployment data
  * stored in the database.
  *
+ * Every repository call is timed as "metrics.db.query", tagged with the
+ * query, so slow dashboards can be attributed to the database.
+ *
+ * Date ranges arrive as UTC date-times and are compared as epoch instants;
+ * all metrics are counts and sums computed in the database. Deployment
+ * duration percentiles merge per-bucket counts grouped by the database into
+ * a DurationSketch per workflow.
+ *
+ * Days compacted by the retention policy are read from the daily rollups;
+ * a compacted day counts when its start lies within the range. Ranges that
+ * start after the last compacted day query the raw tables only.
+ *
+ * Calculations run in read-only transactions, on the read connection pool.
  *
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
+@Transactional(readOnly = true)
 public class MetricsCalculationServiceImpl implements MetricsCalculationService {
 
     private final IncidentRepository incidentRepository;
     private final DeploymentRepository deploymentRepository;
+    private final DeploymentDailyRollupRepository deploymentRollupRepository;
+    private final IncidentDailyRollupRepository incidentRollupRepository;
+    private final DeploymentDurationRollupRepository durationRollupRepository;
+    private final RetentionService retentionService;
+
+    private final Timer countDeploymentsTimer;
+    private final Timer countIncidentsTimer;
+    private final Timer aggregateRecoveryTimer;
+    private final Timer aggregateAcknowledgeTimer;
+    private final Timer sumRolledUpDeploymentsTimer;
+    private final Timer sumRolledUpIncidentsTimer;
+    private final Timer aggregateRolledUpRecoveryTimer;
+    private final Timer aggregateRolledUpAcknowledgeTimer;
+    private final Timer countDurationBucketsTimer;
+    private final Timer sumRolledUpDurationBucketsTimer;
+
+    public MetricsCalculationServiceImpl(IncidentRepository incidentRepository,
+                                         DeploymentRepository deploymentRepository,
+                                         DeploymentDailyRollupRepository deploymentRollupRepository,
+                                         IncidentDailyRollupRepository incidentRollupRepository,
+                                         DeploymentDurationRollupRepository durationRollupRepository,
+                                         RetentionService retentionService,
+                                         MeterRegistry meterRegistry) {
+        this.incidentRepository = incidentRepository;
+        this.deploymentRepository = deploymentRepository;
+        this.deploymentRollupRepository = deploymentRollupRepository;
+        this.incidentRollupRepository = incidentRollupRepository;
+        this.durationRollupRepository = durationRollupRepository;
+        this.retentionService = retentionService;
+        this.countDeploymentsTimer = queryTimer(meterRegistry, "deployments.countByTimestampBetween");
+        this.countIncidentsTimer = queryTimer(meterRegistry, "incidents.countByCreatedAtBetween");
+        this.aggregateRecoveryTimer = queryTimer(meterRegistry, "incidents.aggregateRecoveryBetween");
+        this.aggregateAcknowledgeTimer = queryTimer(meterRegistry, "incidents.aggregateAcknowledgeBetween");
+        this.sumRolledUpDeploymentsTimer = queryTimer(meterRegistry, "deploymentRollups.sumDeploymentsBetween");
+        this.sumRolledUpIncidentsTimer = queryTimer(meterRegistry, "incidentRollups.sumIncidentsBetween");
+        this.aggregateRolledUpRecoveryTimer = queryTimer(meterRegistry, "incidentRollups.aggregateRecoveryBetween");
+        this.aggregateRolledUpAcknowledgeTimer = queryTimer(meterRegistry,
+                "incidentRollups.aggregateAcknowledgeBetween");
+        this.countDurationBucketsTimer = queryTimer(meterRegistry, "deployments.countDurationBucketsBetween");
+        this.sumRolledUpDurationBucketsTimer = queryTimer(meterRegistry,
+                "deploymentDurationRollups.sumDurationBucketsBetween");
+    }
 
     @Override
     public ChangeFailureRateResponse calculateChangeFailureRate(LocalDateTime startDate,
@@ -39,20 +113,33 @@ public class MetricsCalculationServiceImpl implements MetricsCalculationService
         log.info("Calculating Change Failure Rate for period {} to {}",
                 startDate, endDate);
 
+        Instant start = toInstant(startDate);
+        Instant end = toInstant(endDate);
+        MetricsCalculatedEvent event = new MetricsCalculatedEvent("changeFailureRate", start, end);
+        RolledUpDays rolledUp = rolledUpDays(start, end);
+
         // Count total deployments in the period
-        long totalDeployments = deploymentRepository.countByTimestampBetween(startDate, endDate);
+        long totalDeployments = countDeploymentsTimer.record(() ->
+                deploymentRepository.countByTimestampBetween(start, end));
+        if (rolledUp != null) {
+            totalDeployments += sumRolledUpDeploymentsTimer.record(() ->
+                    deploymentRollupRepository.sumDeploymentsBetween(rolledUp.first(), rolledUp.last()));
+        }
 
         // Count total incidents in the period
-        long totalIncidents = incidentRepository.countByCreatedAtBetween(startDate, endDate);
+        long totalIncidents = countIncidents(start, end, rolledUp);
 
         // Calculate CFR as percentage
         double cfrPercentage = totalDeployments > 0 ?
                 (double) totalIncidents / totalDeployments * 100.0 : 0.0;
 
+        event.calculated(totalDeployments, totalIncidents, rolledUp != null);
         String timeRange = determineTimeRange(startDate, endDate);
 
-        log.info("CFR calculation complete: {}% ({} incidents / {} deployments)",
-                String.format("%.2f", cfrPercentage), totalIncidents, totalDeployments);
+        if (log.isInfoEnabled()) {
+            log.info("CFR calculation complete: {}% ({} incidents / {} deployments)",
+                    String.format("%.2f", cfrPercentage), totalIncidents, totalDeployments);
+        }
 
         return ChangeFailureRateResponse.builder()
                 .changeFailureRatePercentage(cfrPercentage)
@@ -68,41 +155,40 @@ public class MetricsCalculationServiceImpl implements MetricsCalculationService
     @Override
     public MTTRResponse calculateMeanTimeToRecovery(LocalDateTime startDate,
                                                     LocalDateTime endDate) {
-        log.info("Calculating MTTR for period {} to {}}",
+        log.info("Calculating MTTR for period {} to {}",
                 startDate, endDate);
 
-        // Get all resolved incidents in the period
-        List<Incident> resolvedIncidents = incidentRepository
-                .findResolvedIncidentsBetween(startDate, endDate);
+        Instant start = toInstant(startDate);
+        Instant end = toInstant(endDate);
+        MetricsCalculatedEvent event = new MetricsCalculatedEvent("meanTimeToRecovery", start, end);
+        RolledUpDays rolledUp = rolledUpDays(start, end);
 
-        // Count unresolved incidents
-        int unresolvedCount = (int) (incidentRepository.countByCreatedAtBetween(startDate, endDate)
-                - resolvedIncidents.size());
-
-        double mttrMinutes = 0.0;
-        double mttrHours = 0.0;
-
-        if (!resolvedIncidents.isEmpty()) {
-            // Calculate total recovery time in minutes using Duration
-            long totalRecoveryTimeMinutes = resolvedIncidents.stream()
-                    .filter(incident -> incident.getResolvedAt() != null && incident.getCreatedAt() != null)
-                    .mapToLong(incident -> Duration.between(incident.getCreatedAt(), incident.getResolvedAt()).toMinutes())
-                    .sum();
-
-            // Calculate average
-            mttrMinutes = (double) totalRecoveryTimeMinutes / resolvedIncidents.size();
-            mttrHours = mttrMinutes / 60.0;
+        // Count and total recovery time of resolved incidents in the period
+        RecoveryStats recovery = aggregateRecoveryTimer.record(() ->
+                incidentRepository.aggregateRecoveryBetween(start, end));
+        if (rolledUp != null) {
+            recovery = recovery.plus(aggregateRolledUpRecoveryTimer.record(() ->
+                    incidentRollupRepository.aggregateRecoveryBetween(rolledUp.first(), rolledUp.last())));
         }
 
+        // Count unresolved incidents
+        long totalIncidents = countIncidents(start, end, rolledUp);
+        int resolvedCount = (int) recovery.resolvedIncidents();
+        int unresolvedCount = (int) (totalIncidents - resolvedCount);
+
+        double mttrMinutes = recovery.meanRecoveryMinutes();
+        double mttrHours = mttrMinutes / 60.0;
+
+        event.calculated(0, totalIncidents, rolledUp != null);
         String timeRange = determineTimeRange(startDate, endDate);
 
         log.info("MTTR calculation complete: {} minutes ({} hours) for {} resolved incidents",
-                mttrMinutes, mttrHours, resolvedIncidents.size());
+                mttrMinutes, mttrHours, resolvedCount);
 
         return MTTRResponse.builder()
                 .meanTimeToRecoveryMinutes(mttrMinutes)
                 .meanTimeToRecoveryHours(mttrHours)
-                .totalResolvedIncidents(resolvedIncidents.size())
+                .totalResolvedIncidents(resolvedCount)
                 .unresolvedIncidents(unresolvedCount)
                 .startDate(startDate)
                 .endDate(endDate)
@@ -111,6 +197,102 @@ public class MetricsCalculationServiceImpl implements MetricsCalculationService
                 .build();
     }
 
+    @Override
+    public MTTAResponse calculateMeanTimeToAcknowledge(LocalDateTime startDate,
+                                                       LocalDateTime endDate) {
+        log.info("Calculating MTTA for period {} to {}",
+                startDate, endDate);
+
+        Instant start = toInstant(startDate);
+        Instant end = toInstant(endDate);
+        MetricsCalculatedEvent event = new MetricsCalculatedEvent("meanTimeToAcknowledge", start, end);
+        RolledUpDays rolledUp = rolledUpDays(start, end);
+
+        // Count and total time to acknowledge of acknowledged incidents in the period
+        AcknowledgeStats acknowledgement = aggregateAcknowledgeTimer.record(() ->
+                incidentRepository.aggregateAcknowledgeBetween(start, end));
+        if (rolledUp != null) {
+            acknowledgement = acknowledgement.plus(aggregateRolledUpAcknowledgeTimer.record(() ->
+                    incidentRollupRepository.aggregateAcknowledgeBetween(rolledUp.first(), rolledUp.last())));
+        }
+
+        // Count unacknowledged incidents
+        long totalIncidents = countIncidents(start, end, rolledUp);
+        int acknowledgedCount = (int) acknowledgement.acknowledgedIncidents();
+        int unacknowledgedCount = (int) (totalIncidents - acknowledgedCount);
+
+        double mttaMinutes = acknowledgement.meanAcknowledgeMinutes();
+        double mttaHours = mttaMinutes / 60.0;
+
+        event.calculated(0, totalIncidents, rolledUp != null);
+        String timeRange = determineTimeRange(startDate, endDate);
+
+        log.info("MTTA calculation complete: {} minutes ({} hours) for {} acknowledged incidents",
+                mttaMinutes, mttaHours, acknowledgedCount);
+
+        return MTTAResponse.builder()
+                .meanTimeToAcknowledgeMinutes(mttaMinutes)
+                .meanTimeToAcknowledgeHours(mttaHours)
+                .totalAcknowledgedIncidents(acknowledgedCount)
+                .unacknowledgedIncidents(unacknowledgedCount)
+                .startDate(startDate)
+                .endDate(endDate)
+                .timeRange(timeRange)
+                .calculatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Override
+    public DeploymentDurationResponse calculateDeploymentDuration(LocalDateTime startDate,
+                                                                  LocalDateTime endDate) {
+        log.info("Calculating deployment duration percentiles for period {} to {}",
+                startDate, endDate);
+
+        Instant start = toInstant(startDate);
+        Instant end = toInstant(endDate);
+        MetricsCalculatedEvent event = new MetricsCalculatedEvent("deploymentDuration", start, end);
+        RolledUpDays rolledUp = rolledUpDays(start, end);
+
+        // Merge the per-bucket deployment counts of each workflow into its sketch
+        Map<WorkflowKey, DurationSketch> sketches = new HashMap<>();
+        addBuckets(sketches, countDurationBucketsTimer.record(() ->
+                deploymentRepository.countDurationBucketsBetween(start, end)));
+        if (rolledUp != null) {
+            addBuckets(sketches, sumRolledUpDurationBucketsTimer.record(() ->
+                    durationRollupRepository.sumDurationBucketsBetween(rolledUp.first(), rolledUp.last())));
+        }
+
+        List<DeploymentDurationResponse.WorkflowDuration> workflows = new ArrayList<>(sketches.size());
+        long totalDeployments = 0;
+        for (Map.Entry<WorkflowKey, DurationSketch> entry : sketches.entrySet()) {
+            DurationSketch sketch = entry.getValue();
+            totalDeployments += sketch.count();
+            workflows.add(DeploymentDurationResponse.WorkflowDuration.builder()
+                    .repositoryName(entry.getKey().repositoryName())
+                    .workflowName(entry.getKey().workflowName())
+                    .deployments(sketch.count())
+                    .p50Seconds(sketch.quantile(0.50))
+                    .p90Seconds(sketch.quantile(0.90))
+                    .p99Seconds(sketch.quantile(0.99))
+                    .build());
+        }
+        workflows.sort(Comparator.comparingLong(DeploymentDurationResponse.WorkflowDuration::getP90Seconds)
+                .reversed());
+        event.calculated(totalDeployments, 0, rolledUp != null);
+
+        log.info("Deployment duration calculation complete: {} workflows, {} completed deployments",
+                workflows.size(), totalDeployments);
+
+        return DeploymentDurationResponse.builder()
+                .workflows(workflows)
+                .totalDeployments(totalDeployments)
+                .startDate(startDate)
+                .endDate(endDate)
+                .timeRange(determineTimeRange(startDate, endDate))
+                .calculatedAt(LocalDateTime.now())
+                .build();
+    }
+
     @Override
     public String determineTimeRange(LocalDateTime startDate, LocalDateTime endDate) {
         Duration duration = Duration.between(startDate, endDate);
@@ -126,4 +308,58 @@ public class MetricsCalculationServiceImpl implements MetricsCalculationService
             return "custom";
         }
     }
+
+    private long countIncidents(Instant start, Instant end, RolledUpDays rolledUp) {
+        long incidents = countIncidentsTimer.record(() ->
+                incidentRepository.countByCreatedAtBetween(start, end));
+        if (rolledUp != null) {
+            incidents += sumRolledUpIncidentsTimer.record(() ->
+                    incidentRollupRepository.sumIncidentsBetween(rolledUp.first(), rolledUp.last()));
+        }
+        return incidents;
+    }
+
+    /**
+     * Compacted days starting within the range, or null if there are none.
+     */
+    private RolledUpDays rolledUpDays(Instant start, Instant end) {
+        LocalDate compactedBefore = retentionService.getCompactedBefore().orElse(null);
+        if (compactedBefore == null) {
+            return null;
+        }
+        LocalDate first = LocalDate.ofInstant(start, ZoneOffset.UTC);
+        if (first.atStartOfDay(ZoneOffset.UTC).toInstant().isBefore(start)) {
+            first = first.plusDays(1);
+        }
+        LocalDate last = LocalDate.ofInstant(end, ZoneOffset.UTC);
+        if (!last.isBefore(compactedBefore)) {
+            last = compactedBefore.minusDays(1);
+        }
+        return first.isAfter(last) ? null : new RolledUpDays(first, last);
+    }
+
+    private record RolledUpDays(LocalDate first, LocalDate last) {
+    }
+
+    private static void addBuckets(Map<WorkflowKey, DurationSketch> sketches, List<DurationBucketCount> buckets) {
+        for (DurationBucketCount bucket : buckets) {
+            sketches.computeIfAbsent(new WorkflowKey(bucket.repositoryName(), bucket.workflowName()),
+                    key -> new DurationSketch()).add(bucket.bucket(), bucket.count());
+        }
+    }
+
+    private record WorkflowKey(String repositoryName, String workflowName) {
+    }
+
+    private static Instant toInstant(LocalDateTime utcDateTime) {
+        return utcDateTime.toInstant(ZoneOffset.UTC);
+    }
+
+    private static Timer queryTimer(MeterRegistry meterRegistry, String query) {
+        return Timer.builder("metrics.db.query")
+                .description("Database time of a repository call made by the metrics calculations")
+                .tag("query", query)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 }
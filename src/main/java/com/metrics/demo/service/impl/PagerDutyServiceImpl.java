@@ -3,9 +3,26 @@ package com.metrics.demo.service.impl;
 
 import com.metrics.demo.dto.external.PagerDutyIncident;
 import com.metrics.demo.entity.Incident;
+import com.metrics.demo.entity.IncidentTransition;
 import com.metrics.demo.enums.IncidentStatus;
+import com.metrics.demo.enums.SyncJobType;
+import com.metrics.demo.enums.SyncSource;
+import com.metrics.demo.integration.ExternalApiGuard;
+import com.metrics.demo.observability.SyncBatchWrittenEvent;
+import com.metrics.demo.observability.SyncMetrics;
+import com.metrics.demo.observability.SyncPageFetchedEvent;
 import com.metrics.demo.repository.IncidentRepository;
+import com.metrics.demo.repository.IncidentTransitionRepository;
+import com.metrics.demo.repository.SourceFingerprint;
 import com.metrics.demo.service.PagerDutyService;
+import com.metrics.demo.service.RetentionService;
+import com.metrics.demo.service.RollingWindowDelta;
+import com.metrics.demo.service.RollingWindowService;
+import com.metrics.demo.service.SyncJobContext;
+import com.metrics.demo.service.SyncJobService;
+import com.metrics.demo.util.Fingerprint;
+import com.metrics.demo.util.Rfc3339;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,22 +31,28 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 /**
  * Implementation of PagerDutyService.
  *
  * Handles integration with PagerDuty API to fetch incident data
- * and synchronize it with the local database.
+ * and synchronize it with the local database. Every status change a sync
+ * observes is appended to the incident transition log, and the acknowledged
+ * and resolved timestamps of existing incidents follow the vendor's. Times are
+ * only ever taken from the vendor; when it reports none, the log keeps the sync's
+ * observation time separately and the incident's timestamp stays empty.
  *
  * @author Technical Lead Assignment
  */
@@ -39,7 +62,16 @@ import java.util.Optional;
 public class PagerDutyServiceImpl implements PagerDutyService {
 
     private final IncidentRepository incidentRepository;
+    private final IncidentTransitionRepository incidentTransitionRepository;
     private final WebClient.Builder webClientBuilder;
+    private final SyncJobService syncJobService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExternalApiGuard externalApiGuard;
+    private final SyncMetrics syncMetrics;
+    private final RetentionService retentionService;
+    private final RollingWindowService rollingWindowService;
+
+    private WebClient webClient;
 
     @Value("${pagerduty.api.token}")
     private String apiToken;
@@ -47,113 +79,114 @@ public class PagerDutyServiceImpl implements PagerDutyService {
     @Value("${pagerduty.api.url}")
     private String baseUrl;
 
-    @Value("${pagerduty.api.rate-limit:120}")
-    private int rateLimit;
-
-    private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    /**
+     * Sync windows are UTC; vendor query bounds carry an explicit 'Z' offset.
+     */
+    private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+
+    private static final int PAGE_SIZE = 100;
+
+    /**
+     * Builds the API client once. The builder is cloned because the shared
+     * WebClient.Builder bean is mutable and also used by other services.
+     */
+    @PostConstruct
+    void initWebClient() {
+        webClient = webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Token token=" + apiToken)
+                .defaultHeader(HttpHeaders.ACCEPT, "application/vnd.pagerduty+json;version=2")
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+    }
 
     @Override
     public List<PagerDutyIncident> fetchIncidents(LocalDateTime since, LocalDateTime until) {
         log.info("Fetching PagerDuty incidents from {} to {}", since, until);
 
-        try {
-            WebClient webClient = webClientBuilder
-                    .baseUrl(baseUrl)
-                    .defaultHeader(HttpHeaders.AUTHORIZATION, "Token token=" + apiToken)
-                    .defaultHeader(HttpHeaders.ACCEPT, "application/vnd.pagerduty+json;version=2")
-                    .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                    .build();
-
-            String sinceParam = since.format(ISO_FORMATTER) + "Z";
-            String untilParam = until.format(ISO_FORMATTER) + "Z";
-
-            Map<String, Object> response = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/incidents")
-                            .queryParam("since", sinceParam)
-                            .queryParam("until", untilParam)
-                            .queryParam("limit", 100)
-                            .build())
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-                    .block();
-
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> incidents = (List<Map<String, Object>>) response.get("incidents");
-
-            // Convert to DTOs (simplified conversion)
-            List<PagerDutyIncident> result = new ArrayList<>();
-            if (incidents != null) {
-                for (Map<String, Object> incidentData : incidents) {
-                    result.add(convertMapToIncident(incidentData));
-                }
-            }
-
-            log.info("Fetched {} incidents from PagerDuty", result.size());
-            return result;
-
-        } catch (WebClientResponseException e) {
-            log.error("Error fetching incidents from PagerDuty: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            throw new RuntimeException("Failed to fetch incidents from PagerDuty", e);
-        } catch (Exception e) {
-            log.error("Unexpected error fetching incidents from PagerDuty", e);
-            throw new RuntimeException("Failed to fetch incidents from PagerDuty", e);
-        }
+        List<PagerDutyIncident> result = new ArrayList<>();
+        int offset = 0;
+        List<PagerDutyIncident> pageIncidents;
+        do {
+            pageIncidents = fetchIncidentsPage(since, until, offset);
+            result.addAll(pageIncidents);
+            offset += PAGE_SIZE;
+        } while (pageIncidents.size() == PAGE_SIZE);
+
+        log.info("Fetched {} incidents from PagerDuty", result.size());
+        return result;
     }
 
     @Override
     @Scheduled(fixedRate = 300000) // Every 5 minutes
-    @Transactional
     public void syncIncidents() {
         log.info("Starting scheduled incident synchronization");
 
-        try {
-            // Fetch incidents from the last 24 hours
-            LocalDateTime until = LocalDateTime.now();
-            LocalDateTime since = until.minusDays(24);
-
-            List<PagerDutyIncident> incidents = fetchIncidents(since, until);
-
-            for (PagerDutyIncident pdIncident : incidents) {
-                syncIncident(pdIncident);
-            }
+        // Fetch incidents from the last 24 hours; sync windows are UTC like the stored timestamps
+        LocalDateTime until = LocalDateTime.now(ZoneOffset.UTC);
+        LocalDateTime since = until.minusHours(24);
 
-            log.info("Completed incident synchronization, processed {} incidents", incidents.size());
+        syncJobService.runJob(SyncSource.PAGERDUTY, SyncJobType.INCREMENTAL, since, until,
+                context -> syncRange(since, until, context));
+    }
 
-        } catch (Exception e) {
-            log.error("Error during scheduled incident synchronization", e);
-        }
+    @Override
+    public void syncRange(LocalDateTime since, LocalDateTime until, SyncJobContext context) {
+        // Checkpoints are the offset of the last committed page
+        int offset = context.getResumeCheckpoint() != null ?
+                Integer.parseInt(context.getResumeCheckpoint()) + PAGE_SIZE : 0;
+
+        List<PagerDutyIncident> incidents;
+        do {
+            SyncPageFetchedEvent fetchedEvent = new SyncPageFetchedEvent(SyncSource.PAGERDUTY.name(),
+                    Integer.toString(offset));
+            incidents = fetchIncidentsPage(since, until, offset);
+            fetchedEvent.fetched(incidents.size());
+            context.pageFetched(incidents.size());
+            syncMetrics.rowsFetched(SyncSource.PAGERDUTY, incidents.size());
+
+            List<PagerDutyIncident> pageIncidents = incidents;
+            SyncBatchWrittenEvent writtenEvent = new SyncBatchWrittenEvent(SyncSource.PAGERDUTY.name(),
+                    pageIncidents.size());
+            transactionTemplate.executeWithoutResult(status -> syncPage(pageIncidents, context, writtenEvent));
+            writtenEvent.commit();
+
+            context.checkpoint(Integer.toString(offset));
+            offset += PAGE_SIZE;
+        } while (incidents.size() == PAGE_SIZE);
     }
 
     @Override
     public Incident convertToEntity(PagerDutyIncident pagerDutyIncident) {
-        return Incident.builder()
+        Incident incident = Incident.builder()
                 .incidentId(pagerDutyIncident.getId())
                 .title(pagerDutyIncident.getTitle())
                 .status(parseIncidentStatus(pagerDutyIncident.getStatus()))
                 .urgency(pagerDutyIncident.getUrgency())
                 .serviceName(pagerDutyIncident.getService() != null ?
                         pagerDutyIncident.getService().getSummary() : null)
-                .createdAt(parseDateTime(pagerDutyIncident.getCreatedAt()))
+                .createdAt(Rfc3339.parseInstant(pagerDutyIncident.getCreatedAt()))
                 .acknowledgedAt(parseDateTime(pagerDutyIncident.getAcknowledgedAt()))
                 .resolvedAt(parseDateTime(pagerDutyIncident.getResolvedAt()))
                 .pagerdutyIncidentKey(pagerDutyIncident.getIncidentKey())
                 .build();
+        incident.setSourceFingerprint(fingerprint(incident));
+        return incident;
     }
 
     @Override
     public boolean isHealthy() {
-        try {
-            WebClient webClient = webClientBuilder
-                    .baseUrl(baseUrl)
-                    .defaultHeader(HttpHeaders.AUTHORIZATION, "Token token=" + apiToken)
-                    .defaultHeader(HttpHeaders.ACCEPT, "application/vnd.pagerduty+json;version=2")
-                    .build();
+        // Recent sync traffic (or an open circuit breaker) answers without another API call
+        Boolean recentHealth = externalApiGuard.healthFromRecentCalls(SyncSource.PAGERDUTY);
+        if (recentHealth != null) {
+            return recentHealth;
+        }
 
-            webClient.get()
+        try {
+            externalApiGuard.probe(SyncSource.PAGERDUTY, webClient.get()
                     .uri("/incidents?limit=1")
                     .retrieve()
-                    .bodyToMono(String.class)
+                    .bodyToMono(String.class))
                     .block();
 
             return true;
@@ -163,27 +196,223 @@ public class PagerDutyServiceImpl implements PagerDutyService {
         }
     }
 
-    private void syncIncident(PagerDutyIncident pdIncident) {
-        Optional<Incident> existing = incidentRepository.findByIncidentId(pdIncident.getId());
-
-        if (existing.isPresent()) {
-            // Update existing incident
-            Incident incident = existing.get();
-            incident.setStatus(parseIncidentStatus(pdIncident.getStatus()));
-            incident.setTitle(pdIncident.getTitle());
-            // Update other fields as needed
-
-            incidentRepository.save(incident);
-            log.debug("Updated existing incident: {}", incident.getIncidentId());
-        } else {
-            // Create new incident
-            Incident newIncident = convertToEntity(pdIncident);
-            incidentRepository.save(newIncident);
-            log.debug("Created new incident: {}", newIncident.getIncidentId());
+    private List<PagerDutyIncident> fetchIncidentsPage(LocalDateTime since, LocalDateTime until, int offset) {
+        log.debug("Fetching PagerDuty incidents at offset {}", offset);
+
+        try {
+            String sinceParam = since.atOffset(ZoneOffset.UTC).format(ISO_FORMATTER);
+            String untilParam = until.atOffset(ZoneOffset.UTC).format(ISO_FORMATTER);
+
+            Map<String, Object> response = syncMetrics.timeFetch(SyncSource.PAGERDUTY, () ->
+                    externalApiGuard.guard(SyncSource.PAGERDUTY, webClient.get()
+                            .uri(uriBuilder -> uriBuilder
+                                    .path("/incidents")
+                                    .queryParam("since", sinceParam)
+                                    .queryParam("until", untilParam)
+                                    .queryParam("limit", PAGE_SIZE)
+                                    .queryParam("offset", offset)
+                                    .build())
+                            .retrieve()
+                            .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {}))
+                            .block());
+
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> incidents = (List<Map<String, Object>>) response.get("incidents");
+
+            // Convert to DTOs (simplified conversion)
+            return syncMetrics.timeParse(SyncSource.PAGERDUTY, () -> {
+                List<PagerDutyIncident> result = new ArrayList<>();
+                if (incidents != null) {
+                    for (Map<String, Object> incidentData : incidents) {
+                        result.add(convertMapToIncident(incidentData));
+                    }
+                }
+                return result;
+            });
+
+        } catch (WebClientResponseException e) {
+            log.error("Error fetching incidents from PagerDuty: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+            throw new RuntimeException("Failed to fetch incidents from PagerDuty", e);
+        } catch (Exception e) {
+            log.error("Unexpected error fetching incidents from PagerDuty", e);
+            throw new RuntimeException("Failed to fetch incidents from PagerDuty", e);
         }
     }
 
-    private PagerDutyIncident convertMapToIncident(Map<String, Object> incidentData) {
+    /**
+     * Upserts one page of incidents with a single fingerprint query and one batched write,
+     * instead of a lookup and a save per incident. Incidents whose fingerprint matches the
+     * stored one are skipped; only the changed incidents are loaded and written. New
+     * incidents and status changes are appended to the transition log in the same
+     * transaction.
+     */
+    private void syncPage(List<PagerDutyIncident> pdIncidents, SyncJobContext context, SyncBatchWrittenEvent event) {
+        if (pdIncidents.isEmpty()) {
+            return;
+        }
+
+        List<Incident> converted = new ArrayList<>(pdIncidents.size());
+        Map<String, Instant> vendorUpdatedAt = new HashMap<>();
+        for (PagerDutyIncident pdIncident : pdIncidents) {
+            try {
+                converted.add(convertToEntity(pdIncident));
+                vendorUpdatedAt.put(pdIncident.getId(), parseDateTime(pdIncident.getUpdatedAt()));
+            } catch (RuntimeException e) {
+                log.warn("Failed to sync incident {}: {}", pdIncident.getId(), e.getMessage());
+                context.recordError("Incident " + pdIncident.getId() + ": " + e.getMessage());
+            }
+        }
+
+        Map<String, Long> storedFingerprints = new HashMap<>();
+        for (SourceFingerprint stored : incidentRepository.findFingerprintsByIncidentIdIn(
+                converted.stream().map(Incident::getIncidentId).toList())) {
+            storedFingerprints.put(stored.getSourceId(), stored.getFingerprint());
+        }
+        List<String> changedIds = converted.stream()
+                .filter(incident -> storedFingerprints.containsKey(incident.getIncidentId()) &&
+                        !incident.getSourceFingerprint().equals(storedFingerprints.get(incident.getIncidentId())))
+                .map(Incident::getIncidentId)
+                .toList();
+        Map<String, Incident> existingById = new HashMap<>();
+        if (!changedIds.isEmpty()) {
+            for (Incident incident : incidentRepository.findByIncidentIdIn(changedIds)) {
+                existingById.put(incident.getIncidentId(), incident);
+            }
+        }
+
+        List<Incident> toSave = new ArrayList<>(converted.size());
+        List<IncidentTransition> transitions = new ArrayList<>();
+        RollingWindowDelta delta = new RollingWindowDelta();
+        int inserted = 0;
+        int updated = 0;
+        int skipped = 0;
+        int expired = 0;
+        Instant newest = null;
+        Instant observedAt = Instant.now();
+        for (Incident fetched : converted) {
+            String incidentId = fetched.getIncidentId();
+            if (fetched.getSourceFingerprint().equals(storedFingerprints.get(incidentId))) {
+                skipped++;
+                continue;
+            }
+            Incident incident = existingById.get(incidentId);
+            if (incident != null) {
+                // Update existing incident
+                delta.removeIncident(incident);
+                IncidentStatus previousStatus = incident.getStatus();
+                if (fetched.getStatus() != previousStatus) {
+                    IncidentTransition transition = transition(fetched, previousStatus,
+                            vendorUpdatedAt.get(incidentId), observedAt);
+                    transitions.add(transition);
+                    fillMissingTimestamps(fetched, incident, transition.getOccurredAt());
+                } else {
+                    fillMissingTimestamps(fetched, incident, null);
+                }
+                incident.setStatus(fetched.getStatus());
+                incident.setTitle(fetched.getTitle());
+                incident.setUrgency(fetched.getUrgency());
+                incident.setServiceName(fetched.getServiceName());
+                incident.setAcknowledgedAt(fetched.getAcknowledgedAt());
+                incident.setResolvedAt(fetched.getResolvedAt());
+                incident.setPagerdutyIncidentKey(fetched.getPagerdutyIncidentKey());
+                incident.setSourceFingerprint(fetched.getSourceFingerprint());
+                delta.addIncident(incident);
+                updated++;
+            } else {
+                // Create new incident
+                incident = fetched;
+                if (retentionService.isCompacted(incident.getCreatedAt())) {
+                    // Its day is already counted in the daily rollups
+                    expired++;
+                    continue;
+                }
+                IncidentTransition transition = transition(incident, null, vendorUpdatedAt.get(incidentId),
+                        observedAt);
+                transitions.add(transition);
+                fillMissingTimestamps(incident, null, transition.getOccurredAt());
+                // Guards against the same incident appearing twice when pages shift during paging
+                existingById.put(incidentId, incident);
+                delta.addIncident(incident);
+                inserted++;
+            }
+            storedFingerprints.put(incidentId, incident.getSourceFingerprint());
+            toSave.add(incident);
+            if (incident.getCreatedAt() != null && (newest == null || incident.getCreatedAt().isAfter(newest))) {
+                newest = incident.getCreatedAt();
+            }
+        }
+
+        incidentRepository.saveAll(toSave);
+        incidentTransitionRepository.saveAll(transitions);
+        rollingWindowService.apply(delta);
+        context.rowsInserted(inserted);
+        context.rowsUpdated(updated);
+        context.rowsSkipped(skipped);
+        syncMetrics.rowsInserted(SyncSource.PAGERDUTY, inserted);
+        syncMetrics.rowsUpdated(SyncSource.PAGERDUTY, updated);
+        syncMetrics.rowsSkipped(SyncSource.PAGERDUTY, skipped);
+        event.written(inserted, updated, skipped);
+        syncMetrics.recordIngested(SyncSource.PAGERDUTY, newest);
+        log.debug("Synced page of {} incidents: {} inserted, {} updated, {} unchanged, {} past retention, " +
+                        "{} status changes", pdIncidents.size(), inserted, updated, skipped, expired,
+                transitions.size());
+    }
+
+    /**
+     * Builds the transition log entry for an incident seen with a new status. The change
+     * happened at the vendor's timestamp for that status when it reports one, else at the
+     * vendor's last update; with neither, its occurrence time stays null and only the time
+     * this sync observed it is recorded.
+     */
+    private static IncidentTransition transition(Incident fetched, IncidentStatus fromStatus, Instant vendorUpdatedAt,
+                                                 Instant observedAt) {
+        Instant occurredAt = switch (fetched.getStatus()) {
+            case TRIGGERED -> fromStatus == null ? fetched.getCreatedAt() : null;
+            case ACKNOWLEDGED -> fetched.getAcknowledgedAt();
+            case RESOLVED -> fetched.getResolvedAt();
+            default -> null;
+        };
+        if (occurredAt == null) {
+            occurredAt = vendorUpdatedAt;
+        }
+        return IncidentTransition.builder()
+                .incidentId(fetched.getIncidentId())
+                .fromStatus(fromStatus)
+                .toStatus(fetched.getStatus())
+                .occurredAt(occurredAt)
+                .observedAt(observedAt)
+                .incidentCreatedAt(fetched.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * Fills in the acknowledged and resolved timestamps the vendor left out for the fetched
+     * status: the stored ones are kept while the incident stays acknowledged or resolved,
+     * and a timestamp that is still missing is taken from the vendor's time of the transition.
+     * Without one it stays null, so the incident is left out of MTTR or MTTA rather than
+     * counted up to the sync time. Timestamps of a re-triggered incident stay cleared.
+     *
+     * @param fetched the incident as converted from the vendor record
+     * @param stored the stored incident, or null for a new incident
+     * @param occurredAt vendor time the fetched status was reached, or null if it did not change or is unknown
+     */
+    private static void fillMissingTimestamps(Incident fetched, Incident stored, Instant occurredAt) {
+        IncidentStatus status = fetched.getStatus();
+        if (fetched.getAcknowledgedAt() == null &&
+                (status == IncidentStatus.ACKNOWLEDGED || status == IncidentStatus.RESOLVED)) {
+            Instant acknowledgedAt = stored != null ? stored.getAcknowledgedAt() : null;
+            if (acknowledgedAt == null && status == IncidentStatus.ACKNOWLEDGED) {
+                acknowledgedAt = occurredAt;
+            }
+            fetched.setAcknowledgedAt(acknowledgedAt);
+        }
+        if (fetched.getResolvedAt() == null && status == IncidentStatus.RESOLVED) {
+            Instant resolvedAt = stored != null ? stored.getResolvedAt() : null;
+            fetched.setResolvedAt(resolvedAt != null ? resolvedAt : occurredAt);
+        }
+    }
+
+    PagerDutyIncident convertMapToIncident(Map<String, Object> incidentData) {
         // Simplified conversion - you may need to enhance this based on actual API response structure
         return PagerDutyIncident.builder()
                 .id((String) incidentData.get("id"))
@@ -206,6 +435,15 @@ public class PagerDutyServiceImpl implements PagerDutyService {
                 .summary((String) serviceData.get("summary"))
                 .build();
     }
+    /**
+     * Fingerprints the fields a sync writes to an existing incident.
+     */
+    private static long fingerprint(Incident incident) {
+        return Fingerprint.of(incident.getTitle(), incident.getStatus(), incident.getUrgency(),
+                incident.getServiceName(), incident.getPagerdutyIncidentKey(), incident.getAcknowledgedAt(),
+                incident.getResolvedAt());
+    }
+
     private IncidentStatus parseIncidentStatus(String status) {
         if (status == null) return IncidentStatus.TRIGGERED;
 
@@ -216,16 +454,10 @@ public class PagerDutyServiceImpl implements PagerDutyService {
         };
     }
 
-    private LocalDateTime parseDateTime(String dateTimeString) {
-        if (dateTimeString == null) return LocalDateTime.now();
-
-        try {
-            // Remove 'Z' suffix and parse
-            String cleanDateTime = dateTimeString.replace("Z", "");
-            return LocalDateTime.parse(cleanDateTime, ISO_FORMATTER);
-        } catch (Exception e) {
-            log.warn("Failed to parse datetime: {}, using current time", dateTimeString);
-            return LocalDateTime.now();
-        }
+    /**
+     * Parses an optional vendor timestamp; absent means the event has not happened yet.
+     */
+    Instant parseDateTime(String dateTimeString) {
+        return dateTimeString != null ? Rfc3339.parseInstant(dateTimeString) : null;
     }
 }
\ No newline at end of file
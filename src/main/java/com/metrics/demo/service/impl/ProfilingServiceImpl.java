@@ -0,0 +1,172 @@
+package com.metrics.demo.service.impl;
+
+import com.metrics.demo.dto.response.ProfilingResponse;
+import com.metrics.demo.exception.ProfilingInProgressException;
+import com.metrics.demo.observability.CacheLookupEvent;
+import com.metrics.demo.observability.MetricsCalculatedEvent;
+import com.metrics.demo.observability.SyncBatchWrittenEvent;
+import com.metrics.demo.observability.SyncPageFetchedEvent;
+import com.metrics.demo.service.ProfilingService;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of ProfilingService on top of jdk.jfr.
+ *
+ * The recording is continuous and written to the repository on disk, keeping
+ * only the last maxAge and maxSize of events; stopping it freezes what is
+ * left for download. The application events are enabled explicitly, so
+ * settings that do not know them still record them. Events that copy the
+ * process environment, system properties, JVM arguments or other processes'
+ * command lines are disabled whatever the settings say, as they carry the
+ * vendor API tokens.
+ *
+ */
+@Service
+@Slf4j
+public class ProfilingServiceImpl implements ProfilingService {
+
+    /**
+     * JDK events that can contain credentials passed to the process.
+     */
+    static final List<String> REDACTED_EVENTS = List.of("jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty", "jdk.JVMInformation", "jdk.SystemProcess");
+
+    private final String settings;
+    private final Configuration configuration;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Duration maxDuration;
+
+    private Recording recording;
+
+    public ProfilingServiceImpl(@Value("${profiling.settings:default}") String settings,
+                                @Value("${profiling.max-age:PT10M}") Duration maxAge,
+                                @Value("${profiling.max-size:100MB}") DataSize maxSize,
+                                @Value("${profiling.max-duration:PT1H}") Duration maxDuration) {
+        try {
+            this.configuration = Configuration.getConfiguration(settings);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the profiling settings " + settings, e);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid profiling settings " + settings, e);
+        }
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.maxDuration = maxDuration;
+    }
+
+    @Override
+    public synchronized ProfilingResponse start() {
+        if (recording != null) {
+            if (recording.getState() == RecordingState.RUNNING) {
+                throw new ProfilingInProgressException(recording.getId());
+            }
+            log.info("Discarding profiling recording {}, which was never downloaded", recording.getId());
+            recording.close();
+        }
+
+        Recording started = new Recording(configuration);
+        started.setName("metrics-dashboard-profiling");
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.setMaxSize(maxSize.toBytes());
+        started.setDuration(maxDuration);
+        started.enable(SyncPageFetchedEvent.class);
+        started.enable(SyncBatchWrittenEvent.class);
+        started.enable(MetricsCalculatedEvent.class);
+        started.enable(CacheLookupEvent.class);
+        REDACTED_EVENTS.forEach(started::disable);
+        started.start();
+        recording = started;
+
+        log.info("Started profiling recording {} with {} settings for at most {}",
+                started.getId(), settings, maxDuration);
+        return toResponse(started);
+    }
+
+    @Override
+    public synchronized Optional<ProfilingResponse> getRecording() {
+        return Optional.ofNullable(recording).map(this::toResponse);
+    }
+
+    @Override
+    public synchronized Optional<ProfilingResponse> stop() {
+        if (recording == null) {
+            return Optional.empty();
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped profiling recording {} at {} bytes", recording.getId(), recording.getSize());
+        }
+        return Optional.of(toResponse(recording));
+    }
+
+    @Override
+    public void writeRecording(long recordingId, OutputStream out) throws IOException {
+        Recording stopped;
+        synchronized (this) {
+            if (recording == null || recording.getId() != recordingId
+                    || recording.getState() != RecordingState.STOPPED) {
+                throw new IllegalArgumentException("Recording " + recordingId + " is not a stopped recording");
+            }
+            // Detach it first, so a new recording can start while this one downloads
+            stopped = recording;
+            recording = null;
+        }
+
+        try (InputStream in = stopped.getStream(null, null)) {
+            if (in != null) {
+                long bytes = in.transferTo(out);
+                log.info("Downloaded profiling recording {}: {} bytes", recordingId, bytes);
+            }
+        } finally {
+            stopped.close();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private ProfilingResponse toResponse(Recording recording) {
+        return ProfilingResponse.builder()
+                .recordingId(recording.getId())
+                .state(recording.getState().name())
+                .settings(settings)
+                .startedAt(toDateTime(recording.getStartTime()))
+                .stoppedAt(toDateTime(recording.getStopTime()))
+                .maxAge(recording.getMaxAge())
+                .maxSizeBytes(recording.getMaxSize())
+                .maxDuration(recording.getDuration())
+                .sizeBytes(recording.getSize())
+                .build();
+    }
+
+    private static LocalDateTime toDateTime(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneOffset.UTC) : null;
+    }
+}
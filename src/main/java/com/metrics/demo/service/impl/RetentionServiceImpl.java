@@ -0,0 +1,240 @@
+package com.metrics.demo.service.impl;
+
+import com.metrics.demo.dto.response.CompactionResponse;
+import com.metrics.demo.entity.Deployment;
+import com.metrics.demo.entity.DeploymentDailyRollup;
+import com.metrics.demo.entity.DeploymentDurationRollup;
+import com.metrics.demo.entity.Incident;
+import com.metrics.demo.entity.IncidentDailyRollup;
+import com.metrics.demo.enums.DeploymentStatus;
+import com.metrics.demo.repository.AcknowledgeStats;
+import com.metrics.demo.repository.DeploymentDailyRollupRepository;
+import com.metrics.demo.repository.DeploymentDurationRollupRepository;
+import com.metrics.demo.repository.DeploymentRepository;
+import com.metrics.demo.repository.DurationBucketCount;
+import com.metrics.demo.repository.IncidentDailyRollupRepository;
+import com.metrics.demo.repository.IncidentRepository;
+import com.metrics.demo.repository.IncidentTransitionRepository;
+import com.metrics.demo.repository.RecoveryStats;
+import com.metrics.demo.service.RetentionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of RetentionService.
+ *
+ * Compaction walks forward from the oldest raw event and folds one UTC day
+ * per transaction: the day's counts and duration histograms are added to its rollups and its raw rows
+ * deleted together with the day's incident transitions, so a failed run leaves every day either raw or rolled up and the
+ * next run continues where it stopped.
+ *
+ * Before folding, the retention cutoff becomes the watermark that ingestion
+ * checks, so no new raw rows are written for days being compacted. After a
+ * restart the watermark is derived from the latest rolled-up day.
+ *
+ */
+@Service
+@Slf4j
+public class RetentionServiceImpl implements RetentionService {
+
+    private final DeploymentRepository deploymentRepository;
+    private final IncidentRepository incidentRepository;
+    private final DeploymentDailyRollupRepository deploymentRollupRepository;
+    private final DeploymentDurationRollupRepository durationRollupRepository;
+    private final IncidentDailyRollupRepository incidentRollupRepository;
+    private final IncidentTransitionRepository incidentTransitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration rawDataRetention;
+
+    private final Object watermarkLock = new Object();
+
+    /**
+     * First UTC day still stored raw, or null if nothing was compacted.
+     */
+    private volatile LocalDate compactedBefore;
+    private volatile boolean watermarkLoaded;
+
+    public RetentionServiceImpl(DeploymentRepository deploymentRepository,
+                                IncidentRepository incidentRepository,
+                                DeploymentDailyRollupRepository deploymentRollupRepository,
+                                DeploymentDurationRollupRepository durationRollupRepository,
+                                IncidentDailyRollupRepository incidentRollupRepository,
+                                IncidentTransitionRepository incidentTransitionRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${retention.raw-data:P365D}") Duration rawDataRetention) {
+        if (rawDataRetention.toDays() < 1) {
+            throw new IllegalArgumentException("retention.raw-data must be at least one day");
+        }
+        this.deploymentRepository = deploymentRepository;
+        this.incidentRepository = incidentRepository;
+        this.deploymentRollupRepository = deploymentRollupRepository;
+        this.durationRollupRepository = durationRollupRepository;
+        this.incidentRollupRepository = incidentRollupRepository;
+        this.incidentTransitionRepository = incidentTransitionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rawDataRetention = rawDataRetention;
+    }
+
+    @Scheduled(cron = "${retention.compaction.cron:0 30 3 * * *}", zone = "UTC")
+    void scheduledCompaction() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            log.error("Scheduled retention compaction failed", e);
+        }
+    }
+
+    @Override
+    public synchronized CompactionResponse compact() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDate cutoff = LocalDate.now(ZoneOffset.UTC).minusDays(rawDataRetention.toDays());
+        advanceWatermark(cutoff);
+        log.info("Compacting raw deployments and incidents before {}", cutoff);
+
+        int days = 0;
+        long deployments = 0;
+        long incidents = 0;
+        LocalDate day;
+        while ((day = oldestRawDay()) != null && day.isBefore(cutoff)) {
+            LocalDate compactedDay = day;
+            long[] folded = transactionTemplate.execute(status -> compactDay(compactedDay));
+            deployments += folded[0];
+            incidents += folded[1];
+            days++;
+            log.debug("Compacted {}: {} deployments, {} incidents", compactedDay, folded[0], folded[1]);
+        }
+
+        log.info("Compaction complete: {} days, {} deployments and {} incidents folded into daily rollups",
+                days, deployments, incidents);
+        return CompactionResponse.builder()
+                .compactedBefore(watermark())
+                .daysCompacted(days)
+                .deploymentsCompacted(deployments)
+                .incidentsCompacted(incidents)
+                .startedAt(startedAt)
+                .finishedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Override
+    public Optional<LocalDate> getCompactedBefore() {
+        return Optional.ofNullable(watermark());
+    }
+
+    @Override
+    public boolean isCompacted(Instant timestamp) {
+        LocalDate watermark = watermark();
+        return watermark != null && timestamp != null
+                && LocalDate.ofInstant(timestamp, ZoneOffset.UTC).isBefore(watermark);
+    }
+
+    /**
+     * Adds one day's raw rows to its rollups and deletes them.
+     *
+     * @return deployments and incidents folded
+     */
+    private long[] compactDay(LocalDate day) {
+        LocalDateTime now = LocalDateTime.now();
+        Instant start = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+        // Timestamps are stored in milliseconds, so this covers the whole day
+        Instant end = start.plus(Duration.ofDays(1)).minusMillis(1);
+
+        long deployments = deploymentRepository.countByTimestampBetween(start, end);
+        if (deployments > 0) {
+            DeploymentDailyRollup rollup = deploymentRollupRepository.findById(day)
+                    .orElseGet(() -> DeploymentDailyRollup.builder().day(day).build());
+            rollup.setDeployments(rollup.getDeployments() + deployments);
+            rollup.setFailedDeployments(rollup.getFailedDeployments()
+                    + deploymentRepository.countByStatusAndTimestampBetween(DeploymentStatus.FAILURE, start, end));
+            rollup.setCompactedAt(now);
+            deploymentRollupRepository.save(rollup);
+            List<DurationBucketCount> durations = deploymentRepository.countDurationBucketsBetween(start, end);
+            durationRollupRepository.saveAll(durations.stream()
+                    .map(bucket -> DeploymentDurationRollup.builder()
+                            .day(day)
+                            .repositoryName(bucket.repositoryName())
+                            .workflowName(bucket.workflowName())
+                            .bucket(bucket.bucket())
+                            .deployments(bucket.count())
+                            .build())
+                    .toList());
+            deploymentRepository.deleteByTimestampBetween(start, end);
+        }
+
+        long incidents = incidentRepository.countByCreatedAtBetween(start, end);
+        if (incidents > 0) {
+            RecoveryStats recovery = incidentRepository.aggregateRecoveryBetween(start, end);
+            AcknowledgeStats acknowledgement = incidentRepository.aggregateAcknowledgeBetween(start, end);
+            IncidentDailyRollup rollup = incidentRollupRepository.findById(day)
+                    .orElseGet(() -> IncidentDailyRollup.builder().day(day).build());
+            rollup.setIncidents(rollup.getIncidents() + incidents);
+            rollup.setResolvedIncidents(rollup.getResolvedIncidents() + recovery.resolvedIncidents());
+            rollup.setTotalRecoverySeconds(rollup.getTotalRecoverySeconds() + recovery.totalRecoverySeconds());
+            rollup.setAcknowledgedIncidents(rollup.getAcknowledgedIncidents()
+                    + acknowledgement.acknowledgedIncidents());
+            rollup.setTotalAcknowledgeSeconds(rollup.getTotalAcknowledgeSeconds()
+                    + acknowledgement.totalAcknowledgeSeconds());
+            rollup.setCompactedAt(now);
+            incidentRollupRepository.save(rollup);
+            incidentTransitionRepository.deleteByIncidentCreatedAtBetween(start, end);
+            incidentRepository.deleteByCreatedAtBetween(start, end);
+        }
+
+        return new long[]{deployments, incidents};
+    }
+
+    /**
+     * UTC day of the oldest raw deployment or incident, or null if there are none.
+     */
+    private LocalDate oldestRawDay() {
+        Instant oldest = deploymentRepository.findFirstByOrderByTimestampAsc()
+                .map(Deployment::getTimestamp)
+                .orElse(null);
+        Instant oldestIncident = incidentRepository.findFirstByOrderByCreatedAtAsc()
+                .map(Incident::getCreatedAt)
+                .orElse(null);
+        if (oldest == null || (oldestIncident != null && oldestIncident.isBefore(oldest))) {
+            oldest = oldestIncident;
+        }
+        return oldest != null ? LocalDate.ofInstant(oldest, ZoneOffset.UTC) : null;
+    }
+
+    private LocalDate watermark() {
+        if (!watermarkLoaded) {
+            synchronized (watermarkLock) {
+                if (!watermarkLoaded) {
+                    LocalDate latest = later(deploymentRollupRepository.findLatestDay(),
+                            incidentRollupRepository.findLatestDay());
+                    compactedBefore = latest != null ? latest.plusDays(1) : null;
+                    watermarkLoaded = true;
+                }
+            }
+        }
+        return compactedBefore;
+    }
+
+    private void advanceWatermark(LocalDate day) {
+        synchronized (watermarkLock) {
+            compactedBefore = later(watermark(), day);
+        }
+    }
+
+    private static LocalDate later(LocalDate a, LocalDate b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+}
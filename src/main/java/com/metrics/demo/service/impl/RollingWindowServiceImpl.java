@@ -0,0 +1,283 @@
+package com.metrics.demo.service.impl;
+
+import com.metrics.demo.entity.DeploymentDailyRollup;
+import com.metrics.demo.entity.IncidentDailyRollup;
+import com.metrics.demo.repository.AcknowledgeStats;
+import com.metrics.demo.repository.DeploymentDailyRollupRepository;
+import com.metrics.demo.repository.DeploymentRepository;
+import com.metrics.demo.repository.IncidentDailyRollupRepository;
+import com.metrics.demo.repository.IncidentMinuteTotals;
+import com.metrics.demo.repository.IncidentRepository;
+import com.metrics.demo.repository.MinuteCount;
+import com.metrics.demo.repository.RecoveryStats;
+import com.metrics.demo.service.RollingWindowCounts;
+import com.metrics.demo.service.RollingWindowDelta;
+import com.metrics.demo.service.RollingWindowService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of RollingWindowService.
+ *
+ * The counters form a timing wheel of one-minute slots spanning the longest
+ * window plus a day ahead. Each slot holds the totals of the rows whose
+ * timestamp falls in its minute, and each window keeps running totals of the
+ * slots it covers: the current minute and the minutes before it, up to the
+ * window's length. When the clock enters a new minute, that minute's slot
+ * enters every window and the slot one window length back leaves it; the
+ * slot leaving the longest window is cleared for reuse. Reads and writes are
+ * O(1) per window whatever the number of rows, and memory is fixed.
+ *
+ * Windows are therefore accurate to the minute: a window starts at the
+ * beginning of its first minute rather than exactly its length before now.
+ * Rows dated before the longest window are ignored, as are rows dated more
+ * than a day ahead. Compacted days are counted at the start of their day, as
+ * in the metrics calculations.
+ *
+ */
+@Service
+@Slf4j
+public class RollingWindowServiceImpl implements RollingWindowService {
+
+    private static final List<String> RANGES = List.of("7d", "30d", "90d");
+
+    private static final long MINUTE_MILLIS = 60_000;
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * How far ahead of the clock rows are kept until their minute comes
+     */
+    private static final long FUTURE_MINUTES = MINUTES_PER_DAY;
+
+    private static final int FIELDS = 6;
+    private static final int DEPLOYMENTS = 0;
+    private static final int INCIDENTS = 1;
+    private static final int RESOLVED_INCIDENTS = 2;
+    private static final int RECOVERY_SECONDS = 3;
+    private static final int ACKNOWLEDGED_INCIDENTS = 4;
+    private static final int ACKNOWLEDGE_SECONDS = 5;
+
+    private final DeploymentRepository deploymentRepository;
+    private final IncidentRepository incidentRepository;
+    private final DeploymentDailyRollupRepository deploymentRollupRepository;
+    private final IncidentDailyRollupRepository incidentRollupRepository;
+    private final Clock clock;
+
+    private final long[] windowMinutes;
+    private final long longestWindowMinutes;
+    private final int slotCount;
+
+    /**
+     * Slot totals, FIELDS per slot; the slot of a minute is minute % slotCount
+     */
+    private final long[] slots;
+
+    /**
+     * Running totals, FIELDS per window
+     */
+    private final long[] windowTotals;
+
+    /**
+     * The minute the wheel has advanced to
+     */
+    private long currentMinute;
+
+    @Autowired
+    public RollingWindowServiceImpl(DeploymentRepository deploymentRepository,
+                                    IncidentRepository incidentRepository,
+                                    DeploymentDailyRollupRepository deploymentRollupRepository,
+                                    IncidentDailyRollupRepository incidentRollupRepository) {
+        this(deploymentRepository, incidentRepository, deploymentRollupRepository, incidentRollupRepository,
+                Clock.systemUTC());
+    }
+
+    public RollingWindowServiceImpl(DeploymentRepository deploymentRepository,
+                                    IncidentRepository incidentRepository,
+                                    DeploymentDailyRollupRepository deploymentRollupRepository,
+                                    IncidentDailyRollupRepository incidentRollupRepository,
+                                    Clock clock) {
+        this.deploymentRepository = deploymentRepository;
+        this.incidentRepository = incidentRepository;
+        this.deploymentRollupRepository = deploymentRollupRepository;
+        this.incidentRollupRepository = incidentRollupRepository;
+        this.clock = clock;
+        this.windowMinutes = RANGES.stream()
+                .mapToLong(range -> Long.parseLong(range.substring(0, range.length() - 1)) * MINUTES_PER_DAY)
+                .toArray();
+        this.longestWindowMinutes = Arrays.stream(windowMinutes).max().orElseThrow();
+        this.slotCount = Math.toIntExact(longestWindowMinutes + FUTURE_MINUTES);
+        this.slots = new long[slotCount * FIELDS];
+        this.windowTotals = new long[windowMinutes.length * FIELDS];
+        this.currentMinute = minuteOf(clock.millis());
+    }
+
+    @Override
+    public void apply(RollingWindowDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(delta);
+                }
+            });
+        } else {
+            add(delta);
+        }
+    }
+
+    @Override
+    public synchronized Optional<RollingWindowCounts> getCounts(String range) {
+        int window = RANGES.indexOf(range);
+        if (window < 0) {
+            return Optional.empty();
+        }
+        long now = clock.millis();
+        advanceTo(minuteOf(now));
+
+        int offset = window * FIELDS;
+        return Optional.of(new RollingWindowCounts(range,
+                toUtc((currentMinute - windowMinutes[window] + 1) * MINUTE_MILLIS),
+                toUtc(now),
+                windowTotals[offset + DEPLOYMENTS],
+                windowTotals[offset + INCIDENTS],
+                new RecoveryStats(windowTotals[offset + RESOLVED_INCIDENTS], windowTotals[offset + RECOVERY_SECONDS]),
+                new AcknowledgeStats(windowTotals[offset + ACKNOWLEDGED_INCIDENTS],
+                        windowTotals[offset + ACKNOWLEDGE_SECONDS])));
+    }
+
+    @Override
+    @PostConstruct
+    public void rebuild() {
+        long started = System.nanoTime();
+        long minute = minuteOf(clock.millis());
+        long firstMinute = minute - longestWindowMinutes + 1;
+
+        List<MinuteCount> deployments = deploymentRepository.countPerMinuteSince(firstMinute * MINUTE_MILLIS);
+        List<IncidentMinuteTotals> incidents = incidentRepository.aggregatePerMinuteSince(firstMinute * MINUTE_MILLIS);
+        LocalDate firstDay = LocalDate.ofInstant(Instant.ofEpochMilli(firstMinute * MINUTE_MILLIS), ZoneOffset.UTC);
+        List<DeploymentDailyRollup> deploymentRollups = deploymentRollupRepository.findByDayGreaterThanEqual(firstDay);
+        List<IncidentDailyRollup> incidentRollups = incidentRollupRepository.findByDayGreaterThanEqual(firstDay);
+
+        synchronized (this) {
+            Arrays.fill(slots, 0);
+            Arrays.fill(windowTotals, 0);
+            currentMinute = minute;
+            for (MinuteCount count : deployments) {
+                add(count.getEpochMinute(), count.getCount(), 0, 0, 0, 0, 0);
+            }
+            for (IncidentMinuteTotals totals : incidents) {
+                add(totals.getEpochMinute(), 0, totals.getIncidents(),
+                        totals.getResolvedIncidents(), totals.getTotalRecoverySeconds(),
+                        totals.getAcknowledgedIncidents(), totals.getTotalAcknowledgeSeconds());
+            }
+            for (DeploymentDailyRollup rollup : deploymentRollups) {
+                add(minuteOf(rollup.getDay()), rollup.getDeployments(), 0, 0, 0, 0, 0);
+            }
+            for (IncidentDailyRollup rollup : incidentRollups) {
+                add(minuteOf(rollup.getDay()), 0, rollup.getIncidents(),
+                        rollup.getResolvedIncidents(), rollup.getTotalRecoverySeconds(),
+                        rollup.getAcknowledgedIncidents(), rollup.getTotalAcknowledgeSeconds());
+            }
+        }
+        log.info("Loaded rolling window counters from {} deployment and {} incident minutes in {} ms",
+                deployments.size(), incidents.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private synchronized void add(RollingWindowDelta delta) {
+        advanceTo(minuteOf(clock.millis()));
+        delta.forEach((atMillis, deployments, incidents, resolvedIncidents, recoverySeconds,
+                       acknowledgedIncidents, acknowledgeSeconds) ->
+                add(minuteOf(atMillis), deployments, incidents, resolvedIncidents, recoverySeconds,
+                        acknowledgedIncidents, acknowledgeSeconds));
+    }
+
+    /**
+     * Adds to the slot of a minute and, if the minute has come, to the windows covering it.
+     */
+    private void add(long minute, long deployments, long incidents, long resolvedIncidents, long recoverySeconds,
+                     long acknowledgedIncidents, long acknowledgeSeconds) {
+        if (minute <= currentMinute - longestWindowMinutes || minute > currentMinute + FUTURE_MINUTES) {
+            return;
+        }
+        int slot = slotOf(minute);
+        slots[slot + DEPLOYMENTS] += deployments;
+        slots[slot + INCIDENTS] += incidents;
+        slots[slot + RESOLVED_INCIDENTS] += resolvedIncidents;
+        slots[slot + RECOVERY_SECONDS] += recoverySeconds;
+        slots[slot + ACKNOWLEDGED_INCIDENTS] += acknowledgedIncidents;
+        slots[slot + ACKNOWLEDGE_SECONDS] += acknowledgeSeconds;
+        if (minute > currentMinute) {
+            // Enters the windows when its minute comes
+            return;
+        }
+        for (int window = 0; window < windowMinutes.length; window++) {
+            if (minute > currentMinute - windowMinutes[window]) {
+                int offset = window * FIELDS;
+                windowTotals[offset + DEPLOYMENTS] += deployments;
+                windowTotals[offset + INCIDENTS] += incidents;
+                windowTotals[offset + RESOLVED_INCIDENTS] += resolvedIncidents;
+                windowTotals[offset + RECOVERY_SECONDS] += recoverySeconds;
+                windowTotals[offset + ACKNOWLEDGED_INCIDENTS] += acknowledgedIncidents;
+                windowTotals[offset + ACKNOWLEDGE_SECONDS] += acknowledgeSeconds;
+            }
+        }
+    }
+
+    /**
+     * Turns the wheel minute by minute up to the given minute.
+     */
+    private void advanceTo(long minute) {
+        if (minute - currentMinute >= slotCount) {
+            // Every slot, including those ahead of the clock, has left the longest window
+            Arrays.fill(slots, 0);
+            Arrays.fill(windowTotals, 0);
+            currentMinute = minute;
+            return;
+        }
+        while (currentMinute < minute) {
+            currentMinute++;
+            int entering = slotOf(currentMinute);
+            for (int window = 0; window < windowMinutes.length; window++) {
+                int leaving = slotOf(currentMinute - windowMinutes[window]);
+                int offset = window * FIELDS;
+                for (int field = 0; field < FIELDS; field++) {
+                    windowTotals[offset + field] += slots[entering + field] - slots[leaving + field];
+                }
+            }
+            Arrays.fill(slots, slotOf(currentMinute - longestWindowMinutes),
+                    slotOf(currentMinute - longestWindowMinutes) + FIELDS, 0);
+        }
+    }
+
+    private int slotOf(long minute) {
+        return (int) Math.floorMod(minute, (long) slotCount) * FIELDS;
+    }
+
+    private static long minuteOf(long epochMillis) {
+        return Math.floorDiv(epochMillis, MINUTE_MILLIS);
+    }
+
+    private static long minuteOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toEpochSecond() / 60;
+    }
+
+    private static LocalDateTime toUtc(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
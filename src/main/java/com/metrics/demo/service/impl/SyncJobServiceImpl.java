@@ -0,0 +1,303 @@
+package com.metrics.demo.service.impl;
+
+import com.metrics.demo.entity.SyncJobRun;
+import com.metrics.demo.enums.SyncJobStatus;
+import com.metrics.demo.enums.SyncJobType;
+import com.metrics.demo.enums.SyncSource;
+import com.metrics.demo.repository.SyncJobRunRepository;
+import com.metrics.demo.service.SyncJobCompletedEvent;
+import com.metrics.demo.service.SyncJobContext;
+import com.metrics.demo.service.SyncJobReservation;
+import com.metrics.demo.service.SyncJobService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of SyncJobService.
+ *
+ * Serializes jobs per source with a non-blocking lock: a job arriving while
+ * another one for the same source is running is recorded as SKIPPED instead
+ * of queueing up behind it. The lock is a single-permit semaphore rather than
+ * a thread-owned lock, so a reservation taken when a job is accepted can be
+ * released by the thread that later runs it. Job history rows are written in their own
+ * transactions so that progress and failures are persisted even when the
+ * work itself rolls back.
+ *
+ */
+@Service
+@Slf4j
+public class SyncJobServiceImpl implements SyncJobService {
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+
+    private final SyncJobRunRepository syncJobRunRepository;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate requiresNewTransaction;
+
+    private final Map<SyncSource, Semaphore> sourceLocks = new EnumMap<>(SyncSource.class);
+
+    public SyncJobServiceImpl(SyncJobRunRepository syncJobRunRepository,
+                              MeterRegistry meterRegistry,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager) {
+        this.syncJobRunRepository = syncJobRunRepository;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        for (SyncSource source : SyncSource.values()) {
+            Semaphore lock = new Semaphore(1);
+            sourceLocks.put(source, lock);
+            meterRegistry.gauge("sync.job.running", Tags.of("source", source.name()), lock,
+                    l -> l.availablePermits() == 0 ? 1 : 0);
+        }
+    }
+
+    /**
+     * Runs left in RUNNING state by a previous process can never finish;
+     * mark them failed so their checkpoints become resumable.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedRuns() {
+        Integer interrupted = requiresNewTransaction.execute(status ->
+                syncJobRunRepository.failInterruptedRuns(LocalDateTime.now()));
+        if (interrupted != null && interrupted > 0) {
+            log.warn("Marked {} interrupted sync job runs as failed", interrupted);
+        }
+    }
+
+    @Override
+    public SyncJobRun runJob(SyncSource source, SyncJobType jobType,
+                             LocalDateTime windowStart, LocalDateTime windowEnd,
+                             Consumer<SyncJobContext> work) {
+        Semaphore lock = sourceLocks.get(source);
+
+        if (!lock.tryAcquire()) {
+            log.info("Skipping {} {} sync: another run for this source is still in progress", source, jobType);
+            meterRegistry.counter("sync.job.skipped", "source", source.name(), "type", jobType.name()).increment();
+            LocalDateTime now = LocalDateTime.now();
+            return save(SyncJobRun.builder()
+                    .source(source)
+                    .jobType(jobType)
+                    .status(SyncJobStatus.SKIPPED)
+                    .windowStart(windowStart)
+                    .windowEnd(windowEnd)
+                    .startedAt(now)
+                    .finishedAt(now)
+                    .build());
+        }
+
+        try {
+            return execute(source, jobType, windowStart, windowEnd, work);
+        } finally {
+            lock.release();
+        }
+    }
+
+    @Override
+    public Optional<SyncJobReservation> reserve(SyncSource source) {
+        if (!sourceLocks.get(source).tryAcquire()) {
+            return Optional.empty();
+        }
+        return Optional.of(new Reservation(source));
+    }
+
+    @Override
+    public SyncJobRun runJob(SyncJobReservation reservation, SyncJobType jobType,
+                             LocalDateTime windowStart, LocalDateTime windowEnd,
+                             Consumer<SyncJobContext> work) {
+        if (!(reservation instanceof Reservation reserved) || reserved.service() != this
+                || !reserved.open.compareAndSet(true, false)) {
+            throw new IllegalStateException("Not an open reservation of this service: " + reservation);
+        }
+        try {
+            return execute(reserved.source, jobType, windowStart, windowEnd, work);
+        } finally {
+            sourceLocks.get(reserved.source).release();
+        }
+    }
+
+    @Override
+    public boolean isRunning(SyncSource source) {
+        return sourceLocks.get(source).availablePermits() == 0;
+    }
+
+    @Override
+    public List<SyncJobRun> getRecentRuns(SyncSource source, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return source == null ?
+                syncJobRunRepository.findAllByOrderByStartedAtDesc(page) :
+                syncJobRunRepository.findBySourceOrderByStartedAtDesc(source, page);
+    }
+
+    private SyncJobRun execute(SyncSource source, SyncJobType jobType,
+                               LocalDateTime windowStart, LocalDateTime windowEnd,
+                               Consumer<SyncJobContext> work) {
+        SyncJobRun resumable = findResumableRun(source, jobType, windowStart, windowEnd);
+        String resumeCheckpoint = resumable != null ? resumable.getCheckpoint() : null;
+
+        SyncJobRun run = save(SyncJobRun.builder()
+                .source(source)
+                .jobType(jobType)
+                .status(SyncJobStatus.RUNNING)
+                .windowStart(windowStart)
+                .windowEnd(windowEnd)
+                .startedAt(LocalDateTime.now())
+                .checkpoint(resumeCheckpoint)
+                .resumedFromRunId(resumable != null ? resumable.getId() : null)
+                .build());
+
+        if (resumable != null) {
+            log.info("Resuming {} {} sync from checkpoint {} of run {}",
+                    source, jobType, resumeCheckpoint, resumable.getId());
+        }
+
+        SyncJobContext context = new SyncJobContext(source, jobType, resumeCheckpoint,
+                checkpoint -> writeCheckpoint(run, checkpoint));
+
+        long startNanos = System.nanoTime();
+        try {
+            work.accept(context);
+            run.setStatus(SyncJobStatus.SUCCEEDED);
+            run.setErrorMessage(truncate(context.getLastError()));
+        } catch (Exception e) {
+            log.error("{} {} sync failed after {} pages", source, jobType, context.getPagesFetched(), e);
+            run.setStatus(SyncJobStatus.FAILED);
+            run.setErrorMessage(truncate(e.getMessage() != null ? e.getMessage() : e.getClass().getName()));
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        run.setFinishedAt(LocalDateTime.now());
+        run.setPagesFetched(context.getPagesFetched());
+        run.setRowsFetched(context.getRowsFetched());
+        run.setRowsInserted(context.getRowsInserted());
+        run.setRowsUpdated(context.getRowsUpdated());
+        run.setRowsSkipped(context.getRowsSkipped());
+        run.setErrorCount(context.getErrorCount() + (run.getStatus() == SyncJobStatus.FAILED ? 1 : 0));
+        run.setCheckpoint(context.getLastCheckpoint());
+
+        recordMetrics(run, elapsedNanos);
+
+        log.info("{} {} sync {} in {} ms: {} pages, {} fetched, {} inserted, {} updated, {} unchanged, {} errors",
+                source, jobType, run.getStatus(), Duration.ofNanos(elapsedNanos).toMillis(),
+                run.getPagesFetched(), run.getRowsFetched(), run.getRowsInserted(),
+                run.getRowsUpdated(), run.getRowsSkipped(), run.getErrorCount());
+
+        SyncJobRun finished = save(run);
+        // Pages commit independently, so a failed run may have changed data too
+        if (finished.getRowsInserted() + finished.getRowsUpdated() > 0) {
+            eventPublisher.publishEvent(new SyncJobCompletedEvent(finished));
+        }
+        return finished;
+    }
+
+    private SyncJobRun findResumableRun(SyncSource source, SyncJobType jobType,
+                                        LocalDateTime windowStart, LocalDateTime windowEnd) {
+        if (windowStart == null || windowEnd == null) {
+            return null;
+        }
+        return syncJobRunRepository
+                .findFirstBySourceAndJobTypeAndWindowStartAndWindowEndAndStatusOrderByStartedAtDesc(
+                        source, jobType, windowStart, windowEnd, SyncJobStatus.FAILED)
+                .filter(run -> run.getCheckpoint() != null)
+                .filter(run -> !syncJobRunRepository.existsByResumedFromRunId(run.getId()))
+                .orElse(null);
+    }
+
+    private void writeCheckpoint(SyncJobRun run, String checkpoint) {
+        // Synchronized on the run so concurrent page workers never interleave partial updates
+        synchronized (run) {
+            run.setCheckpoint(checkpoint);
+            save(run);
+        }
+    }
+
+    private void recordMetrics(SyncJobRun run, long elapsedNanos) {
+        String source = run.getSource().name();
+        String type = run.getJobType().name();
+
+        Timer.builder("sync.job.duration")
+                .description("Wall-clock duration of sync job runs")
+                .tags("source", source, "type", type, "status", run.getStatus().name())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.ofNanos(elapsedNanos));
+
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        if (seconds > 0) {
+            DistributionSummary.builder("sync.job.throughput")
+                    .description("Rows written (inserted + updated) per second of sync job runtime")
+                    .baseUnit("rows/s")
+                    .tags("source", source, "type", type)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record((run.getRowsInserted() + run.getRowsUpdated()) / seconds);
+        }
+    }
+
+    private SyncJobRun save(SyncJobRun run) {
+        SyncJobRun saved = requiresNewTransaction.execute(status -> syncJobRunRepository.save(run));
+        return saved != null ? saved : run;
+    }
+
+    private static String truncate(String message) {
+        return StringUtils.abbreviate(message, MAX_ERROR_MESSAGE_LENGTH);
+    }
+
+    /**
+     * Holds a source's permit until its job is run, or until closed.
+     */
+    private final class Reservation implements SyncJobReservation {
+        private final SyncSource source;
+        private final AtomicBoolean open = new AtomicBoolean(true);
+
+        private Reservation(SyncSource source) {
+            this.source = source;
+        }
+
+        @Override
+        public SyncSource getSource() {
+            return source;
+        }
+
+        @Override
+        public void close() {
+            if (open.compareAndSet(true, false)) {
+                sourceLocks.get(source).release();
+            }
+        }
+
+        private SyncJobServiceImpl service() {
+            return SyncJobServiceImpl.this;
+        }
+
+        @Override
+        public String toString() {
+            return "SyncJobReservation[" + source + (open.get() ? "" : ", used") + "]";
+        }
+    }
+}
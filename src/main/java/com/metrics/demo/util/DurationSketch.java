@@ -0,0 +1,97 @@
+package com.metrics.demo.util;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable histogram of durations in whole seconds, for percentiles with a
+ * bounded relative error.
+ *
+ * Durations are counted in logarithmic buckets: bucket i &gt; 0 holds the
+ * durations in (GAMMA^(i-2), GAMMA^(i-1)] seconds and bucket 0 holds zero, so
+ * every duration is reported within 1% of its true value, plus half a second
+ * of rounding to whole seconds. Buckets are small integers that the database
+ * can group by and the daily rollups can store, and sketches of disjoint sets
+ * of durations merge by adding their counts.
+ *
+ */
+public final class DurationSketch {
+
+    /**
+     * Growth factor of the bucket bounds; the relative error is (GAMMA - 1) / (GAMMA + 1)
+     */
+    static final double GAMMA = 1.02;
+
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private long[] counts = new long[64];
+    private long total;
+
+    /**
+     * Buckets a duration.
+     *
+     * @param seconds the duration in seconds; negative durations count as zero
+     * @return the bucket of the duration
+     */
+    public static int bucketOf(long seconds) {
+        if (seconds <= 0) {
+            return 0;
+        }
+        return 1 + (int) Math.ceil(Math.log(seconds) / LOG_GAMMA);
+    }
+
+    /**
+     * Duration reported for the durations of a bucket: the point of the bucket
+     * with the lowest relative error to either bound, rounded to whole seconds.
+     *
+     * @param bucket the bucket
+     * @return the duration in seconds
+     */
+    public static long valueOf(int bucket) {
+        if (bucket <= 0) {
+            return 0;
+        }
+        return Math.round(2 * Math.pow(GAMMA, bucket - 1) / (GAMMA + 1));
+    }
+
+    /**
+     * Adds durations that fall into one bucket.
+     *
+     * @param bucket the bucket
+     * @param count number of durations
+     */
+    public void add(int bucket, long count) {
+        if (bucket >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(bucket + 1, counts.length * 2));
+        }
+        counts[bucket] += count;
+        total += count;
+    }
+
+    /**
+     * @return number of durations added
+     */
+    public long count() {
+        return total;
+    }
+
+    /**
+     * Nearest-rank percentile of the added durations.
+     *
+     * @param quantile the quantile, between 0 and 1
+     * @return the duration in seconds, or null if nothing was added
+     */
+    public Long quantile(double quantile) {
+        if (total == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return valueOf(bucket);
+            }
+        }
+        return valueOf(counts.length - 1);
+    }
+}
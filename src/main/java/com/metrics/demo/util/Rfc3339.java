@@ -0,0 +1,240 @@
+package com.metrics.demo.util;
+
+import com.metrics.demo.exception.TimestampParseException;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Strict parser for RFC 3339 timestamps as returned by the vendor APIs,
+ * e.g. {@code 2025-06-01T10:15:30Z} or {@code 2025-06-01T10:15:30.123+02:00}.
+ *
+ * Fields are read at fixed positions straight into epoch seconds, without
+ * intermediate strings or java.time formatters, so the common path does not
+ * allocate. Every malformed input is rejected with a
+ * {@link TimestampParseException} naming the offending character; nothing is
+ * substituted for an invalid timestamp.
+ *
+ * Accepted: a four-digit year, 'T', 't' or a space as separator, an optional
+ * fraction of any length (truncated to nanoseconds), and 'Z', 'z' or a
+ * {@code ±HH:MM} offset. A leap second (:60) is read as :59, as java.time does.
+ *
+ */
+public final class Rfc3339 {
+
+    private static final int DAYS_0000_TO_1970 = 719_528;
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    /**
+     * Index of the first character after the seconds field.
+     */
+    private static final int END_OF_SECONDS = 19;
+
+    private Rfc3339() {
+    }
+
+    /**
+     * Parses a timestamp to seconds since the epoch; any fraction is truncated.
+     *
+     * @param text the RFC 3339 timestamp
+     * @return epoch seconds
+     * @throws TimestampParseException if the text is null or not a valid RFC 3339 timestamp
+     */
+    public static long parseEpochSecond(CharSequence text) {
+        if (text == null) {
+            throw new TimestampParseException(null, -1, "missing");
+        }
+        int length = text.length();
+        if (length < END_OF_SECONDS + 1) {
+            throw error(text, length, "too short");
+        }
+
+        int year = digits(text, 0, 4);
+        expect(text, 4, '-');
+        int month = digits(text, 5, 2);
+        expect(text, 7, '-');
+        int day = digits(text, 8, 2);
+        char separator = text.charAt(10);
+        if (separator != 'T' && separator != 't' && separator != ' ') {
+            throw error(text, 10, "expected 'T'");
+        }
+        int hour = digits(text, 11, 2);
+        expect(text, 13, ':');
+        int minute = digits(text, 14, 2);
+        expect(text, 16, ':');
+        int second = digits(text, 17, 2);
+
+        if (month < 1 || month > 12) {
+            throw error(text, 5, "month out of range");
+        }
+        if (day < 1 || day > lengthOfMonth(year, month)) {
+            throw error(text, 8, "day out of range");
+        }
+        if (hour > 23) {
+            throw error(text, 11, "hour out of range");
+        }
+        if (minute > 59) {
+            throw error(text, 14, "minute out of range");
+        }
+        if (second > 60) {
+            throw error(text, 17, "second out of range");
+        }
+
+        int index = skipFraction(text, END_OF_SECONDS);
+        int offsetSeconds = offsetSeconds(text, index);
+
+        long epochDay = epochDay(year, month, day);
+        return epochDay * SECONDS_PER_DAY + hour * 3600L + minute * 60L + Math.min(second, 59) - offsetSeconds;
+    }
+
+    /**
+     * Parses a timestamp to an Instant, keeping the fraction up to nanoseconds.
+     *
+     * @param text the RFC 3339 timestamp
+     * @return the instant
+     * @throws TimestampParseException if the text is null or not a valid RFC 3339 timestamp
+     */
+    public static Instant parseInstant(CharSequence text) {
+        long epochSecond = parseEpochSecond(text);
+        return Instant.ofEpochSecond(epochSecond, nanos(text));
+    }
+
+    /**
+     * Parses a timestamp to its date-time in UTC.
+     *
+     * @param text the RFC 3339 timestamp
+     * @return the date-time in UTC
+     * @throws TimestampParseException if the text is null or not a valid RFC 3339 timestamp
+     */
+    public static LocalDateTime parseUtcDateTime(CharSequence text) {
+        long epochSecond = parseEpochSecond(text);
+        return LocalDateTime.ofEpochSecond(epochSecond, nanos(text), ZoneOffset.UTC);
+    }
+
+    private static int digits(CharSequence text, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw error(text, i, "expected a digit");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void expect(CharSequence text, int index, char expected) {
+        if (index >= text.length() || text.charAt(index) != expected) {
+            throw error(text, index, "expected '" + expected + "'");
+        }
+    }
+
+    /**
+     * Returns the index after an optional fraction starting at the given index.
+     */
+    private static int skipFraction(CharSequence text, int index) {
+        if (index >= text.length() || text.charAt(index) != '.') {
+            return index;
+        }
+        int start = ++index;
+        while (index < text.length() && isDigit(text.charAt(index))) {
+            index++;
+        }
+        if (index == start) {
+            throw error(text, index, "expected a digit");
+        }
+        return index;
+    }
+
+    /**
+     * Reads the offset at the given index, which must end the text, in seconds east of UTC.
+     */
+    private static int offsetSeconds(CharSequence text, int index) {
+        if (index >= text.length()) {
+            throw error(text, index, "expected 'Z' or an offset");
+        }
+        char sign = text.charAt(index);
+        if (sign == 'Z' || sign == 'z') {
+            expectEnd(text, index + 1);
+            return 0;
+        }
+        if (sign != '+' && sign != '-') {
+            throw error(text, index, "expected 'Z' or an offset");
+        }
+        if (index + 6 > text.length()) {
+            throw error(text, text.length(), "incomplete offset");
+        }
+        int hours = digits(text, index + 1, 2);
+        expect(text, index + 3, ':');
+        int minutes = digits(text, index + 4, 2);
+        if (hours > 23) {
+            throw error(text, index + 1, "offset hour out of range");
+        }
+        if (minutes > 59) {
+            throw error(text, index + 4, "offset minute out of range");
+        }
+        expectEnd(text, index + 6);
+        int seconds = hours * 3600 + minutes * 60;
+        return sign == '-' ? -seconds : seconds;
+    }
+
+    private static void expectEnd(CharSequence text, int index) {
+        if (index != text.length()) {
+            throw error(text, index, "unexpected trailing characters");
+        }
+    }
+
+    /**
+     * Reads the fraction of an already validated timestamp as nanoseconds.
+     */
+    private static int nanos(CharSequence text) {
+        int index = END_OF_SECONDS;
+        if (text.charAt(index) != '.') {
+            return 0;
+        }
+        int nanos = 0;
+        int scale = 100_000_000;
+        while (++index < text.length() && isDigit(text.charAt(index)) && scale > 0) {
+            nanos += (text.charAt(index) - '0') * scale;
+            scale /= 10;
+        }
+        return nanos;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * Days since 1970-01-01 for a non-negative year; same arithmetic as LocalDate.toEpochDay.
+     */
+    private static long epochDay(int year, int month, int day) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    private static TimestampParseException error(CharSequence text, int index, String reason) {
+        return new TimestampParseException(text.toString(), index, reason);
+    }
+}
@@ -0,0 +1,67 @@
+package com.metrics.demo.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks which pool each kind of transaction reads from, using two separate
+ * in-memory databases in place of the pools.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWriteTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+                database("routing-write"), database("routing-read")));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUseTheReadPool() {
+        // When
+        String database = readOnlyTransaction.execute(status -> currentDatabase());
+
+        // Then
+        assertThat(database).isEqualTo("ROUTING-READ");
+    }
+
+    @Test
+    void readWriteTransaction_ShouldUseTheWritePool() {
+        // When
+        String database = readWriteTransaction.execute(status -> currentDatabase());
+
+        // Then
+        assertThat(database).isEqualTo("ROUTING-WRITE");
+    }
+
+    @Test
+    void statementOutsideATransaction_ShouldUseTheWritePool() {
+        // When / Then
+        assertThat(currentDatabase()).isEqualTo("ROUTING-WRITE");
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    private static DataSource database(String name) {
+        return new SimpleDriverDataSource(new org.h2.Driver(), "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
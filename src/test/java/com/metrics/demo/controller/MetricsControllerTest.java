@@ -0,0 +1,112 @@
+package com.metrics.demo.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.metrics.demo.config.BinaryFormatConfig;
+import com.metrics.demo.config.SecurityConfig;
+import com.metrics.demo.dto.response.ChangeFailureRateResponse;
+import com.metrics.demo.service.DashboardService;
+import com.metrics.demo.service.GitHubActionsService;
+import com.metrics.demo.service.MetricsCalculationService;
+import com.metrics.demo.service.PagerDutyService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(MetricsController.class)
+@Import({BinaryFormatConfig.class, SecurityConfig.class, SimpleMeterRegistry.class})
+class MetricsControllerTest {
+
+    private static final String CFR_URL =
+            "/api/v1/metrics/changeFailureRate?startDate=2024-01-01T00:00:00&endDate=2024-02-01T00:00:00";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private MetricsCalculationService metricsCalculationService;
+
+    @MockBean
+    private DashboardService dashboardService;
+
+    @MockBean
+    private PagerDutyService pagerDutyService;
+
+    @MockBean
+    private GitHubActionsService gitHubActionsService;
+
+    private final ChangeFailureRateResponse cfr = ChangeFailureRateResponse.builder()
+            .changeFailureRatePercentage(12.5)
+            .totalDeployments(800)
+            .totalIncidents(100)
+            .startDate(LocalDateTime.of(2024, 1, 1, 0, 0))
+            .endDate(LocalDateTime.of(2024, 2, 1, 0, 0))
+            .timeRange("custom")
+            .calculatedAt(LocalDateTime.of(2024, 2, 1, 0, 0, 5))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        when(metricsCalculationService.calculateChangeFailureRate(any(), any())).thenReturn(cfr);
+    }
+
+    @Test
+    void getChangeFailureRate_ShouldDefaultToJson() throws Exception {
+        // When / Then
+        mockMvc.perform(get(CFR_URL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{\"totalDeployments\":800,\"startDate\":\"2024-01-01T00:00:00\"}"));
+    }
+
+    @Test
+    void getChangeFailureRate_ShouldEncodeCborWhenAccepted() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get(CFR_URL).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // Then: same document as JSON, in fewer bytes
+        byte[] cbor = result.getResponse().getContentAsByteArray();
+        assertThat(new ObjectMapper(new CBORFactory()).readTree(cbor)).isEqualTo(jsonTree());
+        assertThat(cbor.length).isLessThan(objectMapper.writeValueAsBytes(cfr).length);
+    }
+
+    @Test
+    void getChangeFailureRate_ShouldEncodeSmileWhenAccepted() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get(CFR_URL).accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn();
+
+        // Then
+        byte[] smile = result.getResponse().getContentAsByteArray();
+        assertThat(new ObjectMapper(new SmileFactory()).readTree(smile)).isEqualTo(jsonTree());
+    }
+
+    private Object jsonTree() throws Exception {
+        return objectMapper.readTree(objectMapper.writeValueAsBytes(cfr));
+    }
+}
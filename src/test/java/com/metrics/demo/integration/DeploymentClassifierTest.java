@@ -0,0 +1,104 @@
+package com.metrics.demo.integration;
+
+import com.metrics.demo.dto.external.GitHubWorkflowRun;
+import com.metrics.demo.loadtest.VendorApiSimulator;
+import com.metrics.demo.observability.SyncMetrics;
+import com.metrics.demo.service.impl.GitHubActionsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeploymentClassifierTest {
+
+    private static final GitHubWorkflowRun DEPLOY_RUN = deployRun().build();
+
+    @Test
+    void getQueryFilters_ShouldPushDownOnlyWhatGitHubCanFilterOn() {
+        // Given
+        DeploymentClassifier classifier = new DeploymentClassifier(List.of(".github/workflows/deploy.yml@main", "42"),
+                List.of(), List.of("main"), List.of("push", "workflow_dispatch"), true);
+
+        // When / Then: GitHub filters on one event only, so events are checked on the returned runs
+        assertThat(classifier.getWorkflows()).containsExactly("deploy.yml", "42");
+        assertThat(classifier.getQueryFilters()).containsExactly(Map.entry("branch", "main"),
+                Map.entry("status", "completed"));
+    }
+
+    @Test
+    void isDeployment_ShouldRejectRunsOutsideEveryConfiguredCriterion() {
+        // Given
+        DeploymentClassifier classifier = new DeploymentClassifier(List.of("deploy.yml"), List.of("deploy"),
+                List.of("main"), List.of("push", "workflow_dispatch"), true);
+
+        // When / Then
+        assertThat(classifier.isDeployment(DEPLOY_RUN)).isTrue();
+        assertThat(classifier.isDeployment(deployRun().event("workflow_dispatch").build())).isTrue();
+        assertThat(classifier.isDeployment(deployRun().path(".github/workflows/ci.yml").workflowId(7L)
+                .build())).isFalse();
+        assertThat(classifier.isDeployment(deployRun().name("Lint").build())).isFalse();
+        assertThat(classifier.isDeployment(deployRun().headBranch("feature/x").build())).isFalse();
+        assertThat(classifier.isDeployment(deployRun().event("pull_request").build())).isFalse();
+        assertThat(classifier.isDeployment(deployRun().status("in_progress").build())).isFalse();
+    }
+
+    @Test
+    void isDeployment_WithoutCriteria_ShouldCountEveryRun() {
+        // Given
+        DeploymentClassifier classifier = new DeploymentClassifier(List.of(), List.of(), List.of(), List.of(), false);
+
+        // When / Then
+        assertThat(classifier.getQueryFilters()).isEmpty();
+        assertThat(classifier.isDeployment(deployRun().status("in_progress").event("pull_request")
+                .build())).isTrue();
+    }
+
+    @Test
+    void fetchWorkflowRuns_ShouldListEachConfiguredWorkflowWithTheFiltersPushedDown() throws Exception {
+        // Given
+        DeploymentClassifier classifier = new DeploymentClassifier(List.of("release.yml", "ci.yml"), List.of(),
+                List.of("main"), List.of("push"), true);
+        try (VendorApiSimulator simulator = new VendorApiSimulator(VendorApiSimulator.Config.builder()
+                .workflowRuns(150)
+                .latency(Duration.ZERO)
+                .latencyJitter(Duration.ZERO)
+                .build())) {
+            GitHubActionsServiceImpl gitHubActionsService = new GitHubActionsServiceImpl(null, WebClient.builder(),
+                    null, null, new ExternalApiGuard(new ApiRateLimiters(60_000, 60_000, Duration.ofSeconds(1)), 0,
+                    Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofSeconds(10), 50, 20, Duration.ofMinutes(1), 4),
+                    new SyncMetrics(new SimpleMeterRegistry()), null, null, classifier);
+            ReflectionTestUtils.setField(gitHubActionsService, "apiToken", "simulator");
+            ReflectionTestUtils.setField(gitHubActionsService, "baseUrl", simulator.getBaseUrl());
+            ReflectionTestUtils.invokeMethod(gitHubActionsService, "initWebClient");
+
+            // When
+            List<GitHubWorkflowRun> runs = gitHubActionsService.fetchWorkflowRunsForRepository("acme", "shop",
+                    simulator.getStart().minusMinutes(1), simulator.getEnd().plusMinutes(1));
+
+            // Then
+            assertThat(runs).hasSize(150);
+            assertThat(simulator.getGitHubRequestUris())
+                    .allMatch(uri -> uri.contains("branch=main&event=push&status=completed"))
+                    .anyMatch(uri -> uri.startsWith("/repos/acme/shop/actions/workflows/release.yml/runs?"))
+                    .anyMatch(uri -> uri.startsWith("/repos/acme/shop/actions/workflows/ci.yml/runs?"))
+                    .noneMatch(uri -> uri.startsWith("/repos/acme/shop/actions/runs"));
+        }
+    }
+
+    private static GitHubWorkflowRun.GitHubWorkflowRunBuilder deployRun() {
+        return GitHubWorkflowRun.builder()
+                .id(1L)
+                .name("Deploy")
+                .workflowId(42L)
+                .path(".github/workflows/deploy.yml")
+                .status("completed")
+                .headBranch("main")
+                .event("push");
+    }
+}
@@ -0,0 +1,85 @@
+package com.metrics.demo.integration;
+
+import com.metrics.demo.enums.SyncSource;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExternalApiGuardTest {
+
+    private ExternalApiGuard externalApiGuard;
+
+    @BeforeEach
+    void setUp() {
+        ApiRateLimiters apiRateLimiters = new ApiRateLimiters(60_000, 60_000, Duration.ofSeconds(1));
+        externalApiGuard = new ExternalApiGuard(apiRateLimiters, 3, Duration.ofMillis(1), Duration.ofMillis(5),
+                Duration.ofSeconds(5), 50, 4, Duration.ofMinutes(1), 2);
+    }
+
+    @Test
+    void guard_WhenServerErrorIsTransient_ShouldRetryUntilSuccess() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> attempts.incrementAndGet() < 3 ?
+                Mono.error(serverError(HttpStatus.SERVICE_UNAVAILABLE)) : Mono.just("ok"));
+
+        // When
+        String result = externalApiGuard.guard(SyncSource.GITHUB_ACTIONS, call).block();
+
+        // Then
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    void guard_WhenClientError_ShouldNotRetry() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(serverError(HttpStatus.NOT_FOUND));
+        });
+
+        // When / Then
+        assertThatThrownBy(() -> externalApiGuard.guard(SyncSource.PAGERDUTY, call).block())
+                .isInstanceOf(WebClientResponseException.NotFound.class);
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(externalApiGuard.getState(SyncSource.PAGERDUTY)).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void guard_WhenSourceKeepsFailing_ShouldOpenBreakerAndShortCircuit() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> failing = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(serverError(HttpStatus.BAD_GATEWAY));
+        });
+        assertThatThrownBy(() -> externalApiGuard.guard(SyncSource.PAGERDUTY, failing).block());
+        int attemptsUntilOpen = attempts.get();
+
+        // When / Then
+        assertThat(externalApiGuard.getState(SyncSource.PAGERDUTY)).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(externalApiGuard.healthFromRecentCalls(SyncSource.PAGERDUTY)).isFalse();
+        assertThatThrownBy(() -> externalApiGuard.guard(SyncSource.PAGERDUTY, failing).block())
+                .isInstanceOf(CallNotPermittedException.class);
+        assertThat(attempts.get()).isEqualTo(attemptsUntilOpen);
+        // Sources have independent breakers
+        assertThat(externalApiGuard.getState(SyncSource.GITHUB_ACTIONS)).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(externalApiGuard.healthFromRecentCalls(SyncSource.GITHUB_ACTIONS)).isNull();
+    }
+
+    private static WebClientResponseException serverError(HttpStatus status) {
+        return WebClientResponseException.create(status.value(), status.getReasonPhrase(), null, null, null);
+    }
+}
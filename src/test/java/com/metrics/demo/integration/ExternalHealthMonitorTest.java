@@ -0,0 +1,99 @@
+package com.metrics.demo.integration;
+
+import com.metrics.demo.dto.response.ExternalServiceHealth;
+import com.metrics.demo.enums.SyncSource;
+import com.metrics.demo.service.GitHubActionsService;
+import com.metrics.demo.service.PagerDutyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExternalHealthMonitorTest {
+
+    @Mock
+    private GitHubActionsService gitHubActionsService;
+
+    @Mock
+    private PagerDutyService pagerDutyService;
+
+    private ExternalHealthMonitor externalHealthMonitor;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        externalHealthMonitor = new ExternalHealthMonitor(gitHubActionsService, pagerDutyService,
+                Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        externalHealthMonitor.shutdown();
+    }
+
+    @Test
+    void getHealth_BeforeFirstRefresh_ShouldBeEmptyAndIndicatorUnknown() {
+        // When / Then
+        assertThat(externalHealthMonitor.getHealth(SyncSource.GITHUB_ACTIONS)).isEmpty();
+        assertThat(new ExternalServiceHealthIndicator(externalHealthMonitor, SyncSource.GITHUB_ACTIONS)
+                .health().getStatus()).isEqualTo(Status.UNKNOWN);
+    }
+
+    @Test
+    void refresh_WhenOneProbeHangs_ShouldTimeOutWithoutDelayingTheOther() {
+        // Given
+        when(gitHubActionsService.isHealthy()).thenAnswer(invocation -> release.await(5, TimeUnit.SECONDS));
+        when(pagerDutyService.isHealthy()).thenReturn(true);
+
+        // When
+        long started = System.nanoTime();
+        externalHealthMonitor.refresh();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        // Then
+        ExternalServiceHealth gitHub = externalHealthMonitor.getHealth(SyncSource.GITHUB_ACTIONS).orElseThrow();
+        ExternalServiceHealth pagerDuty = externalHealthMonitor.getHealth(SyncSource.PAGERDUTY).orElseThrow();
+        assertThat(elapsedMs).isLessThan(2000);
+        assertThat(gitHub.isHealthy()).isFalse();
+        assertThat(gitHub.getError()).contains("timed out");
+        assertThat(pagerDuty.isHealthy()).isTrue();
+        assertThat(pagerDuty.getError()).isNull();
+        assertThat(new ExternalServiceHealthIndicator(externalHealthMonitor, SyncSource.GITHUB_ACTIONS)
+                .health().getStatus()).isEqualTo(Status.DOWN);
+    }
+
+    @Test
+    void getHealth_ShouldServeCachedSnapshotWithoutProbingAgain() {
+        // Given
+        when(gitHubActionsService.isHealthy()).thenReturn(true);
+        when(pagerDutyService.isHealthy()).thenThrow(new IllegalStateException("PagerDuty returned 503"));
+        externalHealthMonitor.refresh();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            externalHealthMonitor.getHealth(SyncSource.GITHUB_ACTIONS);
+            externalHealthMonitor.getHealth(SyncSource.PAGERDUTY);
+        }
+
+        // Then
+        verify(gitHubActionsService, times(1)).isHealthy();
+        verify(pagerDutyService, times(1)).isHealthy();
+        assertThat(externalHealthMonitor.getHealth(SyncSource.PAGERDUTY).orElseThrow().getError())
+                .isEqualTo("PagerDuty returned 503");
+    }
+}
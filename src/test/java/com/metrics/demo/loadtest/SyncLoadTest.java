@@ -0,0 +1,291 @@
+package com.metrics.demo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.metrics.demo.dto.response.BackfillResponse;
+import com.metrics.demo.enums.SyncJobStatus;
+import com.metrics.demo.enums.SyncSource;
+import com.metrics.demo.repository.DeploymentRepository;
+import com.metrics.demo.repository.IncidentRepository;
+import com.metrics.demo.service.BackfillService;
+import com.metrics.demo.service.SyncJobService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * End-to-end load-test harness, fully offline.
+ *
+ * Backfills both sources from the embedded {@link VendorApiSimulator} while
+ * concurrent clients request the dashboard, then reports sync throughput,
+ * dashboard throughput and latency percentiles, and heap usage to the
+ * console and to target/loadtest-report.json.
+ *
+ * Excluded from the default build; run with:
+ *   ./mvnw test -Ploadtest
+ *
+ * Volumes and load are tunable with system properties, e.g.
+ *   ./mvnw test -Ploadtest -Dloadtest.workflow-runs=50000 -Dloadtest.latency-ms=100
+ *
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class SyncLoadTest {
+
+    private static final int WORKFLOW_RUNS = Integer.getInteger("loadtest.workflow-runs", 20_000);
+    private static final int INCIDENTS = Integer.getInteger("loadtest.incidents", 5_000);
+    private static final int LATENCY_MS = Integer.getInteger("loadtest.latency-ms", 50);
+    private static final int DASHBOARD_CLIENTS = Integer.getInteger("loadtest.dashboard-clients", 8);
+    private static final Duration TIMEOUT = Duration.ofMinutes(Integer.getInteger("loadtest.timeout-minutes", 15));
+
+    private static final VendorApiSimulator SIMULATOR = startSimulator();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BackfillService backfillService;
+
+    @Autowired
+    private SyncJobService syncJobService;
+
+    @Autowired
+    private DeploymentRepository deploymentRepository;
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    @DynamicPropertySource
+    static void vendorUrls(DynamicPropertyRegistry registry) {
+        registry.add("github.api.url", SIMULATOR::getBaseUrl);
+        registry.add("pagerduty.api.url", SIMULATOR::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopSimulator() {
+        SIMULATOR.close();
+    }
+
+    @Test
+    void syncUnderConcurrentDashboardTraffic() throws Exception {
+        // Given: scheduled syncs fire at startup; backfills need the sources to be idle
+        await().atMost(TIMEOUT).until(() ->
+                !syncJobService.isRunning(SyncSource.GITHUB_ACTIONS) && !syncJobService.isRunning(SyncSource.PAGERDUTY));
+        resetHeapPeaks();
+
+        AtomicBoolean syncing = new AtomicBoolean(true);
+        ExecutorService clients = Executors.newFixedThreadPool(DASHBOARD_CLIENTS);
+        List<Future<long[]>> dashboardLatencies = new ArrayList<>();
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        int[] dashboardErrors = new int[DASHBOARD_CLIENTS];
+
+        // When
+        long started = System.nanoTime();
+        BackfillResponse gitHub = backfillService.startBackfill(SyncSource.GITHUB_ACTIONS,
+                SIMULATOR.getStart().minusMinutes(1), SIMULATOR.getEnd().plusMinutes(1));
+        BackfillResponse pagerDuty = backfillService.startBackfill(SyncSource.PAGERDUTY,
+                SIMULATOR.getStart().minusMinutes(1), SIMULATOR.getEnd().plusMinutes(1));
+        for (int client = 0; client < DASHBOARD_CLIENTS; client++) {
+            int clientIndex = client;
+            dashboardLatencies.add(clients.submit(() ->
+                    requestDashboard(httpClient, syncing, dashboardErrors, clientIndex)));
+        }
+
+        long[] finishedAt = new long[SyncSource.values().length];
+        await().atMost(TIMEOUT).pollInterval(Duration.ofMillis(200)).until(() -> {
+            boolean done = true;
+            for (BackfillResponse backfill : List.of(gitHub, pagerDuty)) {
+                BackfillResponse progress = backfillService.getBackfill(backfill.getBackfillId()).orElseThrow();
+                if (progress.getFinishedAt() == null) {
+                    done = false;
+                } else if (finishedAt[backfill.getSource().ordinal()] == 0) {
+                    finishedAt[backfill.getSource().ordinal()] = System.nanoTime();
+                }
+            }
+            return done;
+        });
+        syncing.set(false);
+        long elapsed = System.nanoTime() - started;
+
+        long[] latencies = collect(dashboardLatencies);
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+
+        // Then
+        BackfillResponse gitHubResult = backfillService.getBackfill(gitHub.getBackfillId()).orElseThrow();
+        BackfillResponse pagerDutyResult = backfillService.getBackfill(pagerDuty.getBackfillId()).orElseThrow();
+        Map<String, Object> report = new LinkedHashMap<>();
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("workflowRuns", WORKFLOW_RUNS);
+        config.put("incidents", INCIDENTS);
+        config.put("vendorLatencyMs", LATENCY_MS);
+        config.put("dashboardClients", DASHBOARD_CLIENTS);
+        report.put("config", config);
+        Map<String, Object> sync = new LinkedHashMap<>();
+        sync.put("github", syncReport(gitHubResult, finishedAt[SyncSource.GITHUB_ACTIONS.ordinal()] - started));
+        sync.put("pagerduty", syncReport(pagerDutyResult, finishedAt[SyncSource.PAGERDUTY.ordinal()] - started));
+        sync.put("vendorRequests", SIMULATOR.getGitHubRequests().get() + SIMULATOR.getPagerDutyRequests().get());
+        sync.put("rateLimitedRequests", SIMULATOR.getRateLimitedRequests().get());
+        report.put("sync", sync);
+        report.put("dashboard", dashboardReport(latencies, Arrays.stream(dashboardErrors).sum(), elapsed));
+        report.put("heap", heapReport());
+        publish(report);
+
+        assertThat(gitHubResult.getStatus()).isEqualTo(SyncJobStatus.SUCCEEDED);
+        assertThat(pagerDutyResult.getStatus()).isEqualTo(SyncJobStatus.SUCCEEDED);
+        assertThat(deploymentRepository.count()).isEqualTo(WORKFLOW_RUNS);
+        assertThat(incidentRepository.count()).isEqualTo(INCIDENTS);
+        assertThat(Arrays.stream(dashboardErrors).sum()).isZero();
+    }
+
+    private long[] requestDashboard(HttpClient httpClient, AtomicBoolean syncing, int[] errors, int client) {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/v1/metrics/dashboard?timeRange=30d"))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long[] latencies = new long[1024];
+        int count = 0;
+        while (syncing.get()) {
+            long started = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    errors[client]++;
+                    continue;
+                }
+            } catch (IOException e) {
+                errors[client]++;
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - started;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static long[] collect(List<Future<long[]>> futures) throws Exception {
+        long[] all = new long[0];
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get(1, TimeUnit.MINUTES);
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + latencies.length);
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+        }
+        Arrays.sort(all);
+        return all;
+    }
+
+    private static Map<String, Object> syncReport(BackfillResponse backfill, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("status", backfill.getStatus());
+        report.put("seconds", round(seconds));
+        report.put("pages", backfill.getPagesFetched());
+        report.put("rowsFetched", backfill.getRowsFetched());
+        report.put("rowsPerSecond", round(backfill.getRowsFetched() / seconds));
+        report.put("errors", backfill.getErrorCount());
+        return report;
+    }
+
+    private static Map<String, Object> dashboardReport(long[] sortedLatencies, int errors, long elapsedNanos) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", sortedLatencies.length);
+        report.put("errors", errors);
+        report.put("requestsPerSecond", round(sortedLatencies.length / (elapsedNanos / 1e9)));
+        report.put("p50Ms", percentileMillis(sortedLatencies, 0.50));
+        report.put("p95Ms", percentileMillis(sortedLatencies, 0.95));
+        report.put("p99Ms", percentileMillis(sortedLatencies, 0.99));
+        report.put("maxMs", percentileMillis(sortedLatencies, 1.0));
+        return report;
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return round(sortedNanos[Math.max(0, index)] / 1e6);
+    }
+
+    private static Map<String, Object> heapReport() {
+        long peak = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+        System.gc();
+        long usedAfterGc = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("peakUsedMb", peak / (1024 * 1024));
+        report.put("usedAfterGcMb", usedAfterGc / (1024 * 1024));
+        report.put("maxMb", Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        return report;
+    }
+
+    private static void resetHeapPeaks() {
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    private static void publish(Map<String, Object> report) throws IOException {
+        String json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report);
+        Path output = Path.of("target", "loadtest-report.json");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, json);
+        System.out.println("Load test report (" + output.toAbsolutePath() + "):");
+        System.out.println(json);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static VendorApiSimulator startSimulator() {
+        try {
+            return new VendorApiSimulator(VendorApiSimulator.Config.builder()
+                    .workflowRuns(WORKFLOW_RUNS)
+                    .incidents(INCIDENTS)
+                    .latency(Duration.ofMillis(LATENCY_MS))
+                    .latencyJitter(Duration.ofMillis(LATENCY_MS / 2))
+                    .build());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the vendor API simulator", e);
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package com.metrics.demo.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded, offline stand-in for the GitHub Actions and PagerDuty APIs.
+ *
+ * Serves GET /repos/{owner}/{repo}/actions/runs (also per workflow, under
+ * /actions/workflows/{workflow}/runs) and GET /incidents from one
+ * port with deterministic synthetic data spread evenly over a time span that
+ * ends when the simulator starts. Records are computed from their index on
+ * demand, so large volumes cost no memory.
+ *
+ * Emulates the vendor behaviour the sync relies on:
+ * - pagination: GitHub page/per_page (newest first, filtered listings capped at
+ *   1000 results) and PagerDuty offset/limit (capped at offset + limit of 10000)
+ * - created/since/until range filters
+ * - GitHub branch, event and status filters; every run is a completed push to
+ *   main by the release.yml workflow
+ * - rate limits per minute with the vendors' headers and 429 plus Retry-After when exceeded
+ * - latency injection with jitter
+ *
+ */
+public class VendorApiSimulator implements AutoCloseable {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+    private static final int GITHUB_RESULT_CAP = 1000;
+    private static final int PAGERDUTY_OFFSET_CAP = 10000;
+    private static final long RUN_ID_BASE = 9_000_000_000L;
+    private static final long WORKFLOW_ID = 161_335L;
+    private static final String WORKFLOW_FILE = "release.yml";
+
+    private final Config config;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LocalDateTime end;
+    private final LocalDateTime start;
+
+    private final RateLimitWindow gitHubWindow;
+    private final RateLimitWindow pagerDutyWindow;
+
+    @Getter
+    private final AtomicLong gitHubRequests = new AtomicLong();
+
+    @Getter
+    private final AtomicLong pagerDutyRequests = new AtomicLong();
+
+    @Getter
+    private final AtomicLong rateLimitedRequests = new AtomicLong();
+
+    /**
+     * Path and query of every GitHub request, in arrival order.
+     */
+    @Getter
+    private final List<String> gitHubRequestUris = new CopyOnWriteArrayList<>();
+
+    /**
+     * Simulator settings.
+     */
+    @Getter
+    @Builder
+    public static class Config {
+        /**
+         * Number of workflow runs served by the GitHub endpoint.
+         */
+        @Builder.Default
+        private final int workflowRuns = 10_000;
+
+        /**
+         * Number of incidents served by the PagerDuty endpoint.
+         */
+        @Builder.Default
+        private final int incidents = 2_000;
+
+        /**
+         * Time span the records are spread over, ending at startup.
+         */
+        @Builder.Default
+        private final Duration span = Duration.ofDays(7);
+
+        /**
+         * Fixed latency added to every response.
+         */
+        @Builder.Default
+        private final Duration latency = Duration.ofMillis(50);
+
+        /**
+         * Uniformly distributed extra latency, up to this much.
+         */
+        @Builder.Default
+        private final Duration latencyJitter = Duration.ofMillis(25);
+
+        /**
+         * GitHub requests allowed per minute before responding with 429.
+         */
+        @Builder.Default
+        private final int gitHubRequestsPerMinute = 5_000;
+
+        /**
+         * PagerDuty requests allowed per minute before responding with 429.
+         */
+        @Builder.Default
+        private final int pagerDutyRequestsPerMinute = 5_000;
+
+        /**
+         * Share of workflow runs that fail, between 0 and 1.
+         */
+        @Builder.Default
+        private final double failureRatio = 0.1;
+
+        /**
+         * Whether incidents report when they were updated, acknowledged and resolved.
+         */
+        @Builder.Default
+        private final boolean incidentStatusTimes = true;
+
+        /**
+         * Threads serving requests.
+         */
+        @Builder.Default
+        private final int threads = 16;
+    }
+
+    public VendorApiSimulator(Config config) throws IOException {
+        this.config = config;
+        this.end = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        this.start = end.minus(config.getSpan());
+        this.gitHubWindow = new RateLimitWindow(config.getGitHubRequestsPerMinute());
+        this.pagerDutyWindow = new RateLimitWindow(config.getPagerDutyRequestsPerMinute());
+
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executor = Executors.newFixedThreadPool(config.getThreads());
+        server.setExecutor(executor);
+        server.createContext("/repos/", this::handleWorkflowRuns);
+        server.createContext("/incidents", this::handleIncidents);
+        server.start();
+    }
+
+    /**
+     * Base URL to configure as both github.api.url and pagerduty.api.url.
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Start of the span covered by the data.
+     */
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    /**
+     * End of the span covered by the data.
+     */
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleWorkflowRuns(HttpExchange exchange) throws IOException {
+        gitHubRequests.incrementAndGet();
+        gitHubRequestUris.add(exchange.getRequestURI().toString());
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String workflow = path.matches(".*/actions/workflows/[^/]+/runs") ?
+                    path.substring(path.indexOf("/workflows/") + "/workflows/".length(), path.lastIndexOf("/runs")) : null;
+            if (!path.endsWith("/actions/runs") && workflow == null) {
+                respond(exchange, 404, "{\"message\":\"Not Found\"}");
+                return;
+            }
+            if (!admit(exchange, gitHubWindow, "x-ratelimit-")) {
+                return;
+            }
+            injectLatency();
+
+            Map<String, String> query = parseQuery(exchange);
+            int perPage = Math.min(100, Integer.parseInt(query.getOrDefault("per_page", "30")));
+            int page = Integer.parseInt(query.getOrDefault("page", "1"));
+            int[] range = indexRange(config.getWorkflowRuns(), parseCreatedRange(query.get("created")));
+            boolean filteredOut = (workflow != null && !workflow.equals(WORKFLOW_FILE)
+                    && !workflow.equals(Long.toString(WORKFLOW_ID)))
+                    || !query.getOrDefault("branch", "main").equals("main")
+                    || !query.getOrDefault("event", "push").equals("push")
+                    || !query.getOrDefault("status", "completed").equals("completed");
+            int matching = filteredOut ? 0 : range[1] - range[0] + 1;
+
+            StringBuilder json = new StringBuilder(perPage * 700);
+            json.append("{\"total_count\":").append(Math.max(0, matching)).append(",\"workflow_runs\":[");
+            int from = (page - 1) * perPage;
+            int to = Math.min(Math.min(matching, GITHUB_RESULT_CAP), from + perPage);
+            for (int position = from; position < to; position++) {
+                // Newest first
+                appendWorkflowRun(json, range[1] - position, position > from);
+            }
+            json.append("]}");
+            respond(exchange, 200, json.toString());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleIncidents(HttpExchange exchange) throws IOException {
+        pagerDutyRequests.incrementAndGet();
+        try {
+            if (!admit(exchange, pagerDutyWindow, "ratelimit-")) {
+                return;
+            }
+            injectLatency();
+
+            Map<String, String> query = parseQuery(exchange);
+            int limit = Math.min(100, Integer.parseInt(query.getOrDefault("limit", "25")));
+            int offset = Integer.parseInt(query.getOrDefault("offset", "0"));
+            if (offset + limit > PAGERDUTY_OFFSET_CAP) {
+                respond(exchange, 400, "{\"error\":{\"message\":\"Invalid Input Provided\","
+                        + "\"errors\":[\"Offset must be less than " + PAGERDUTY_OFFSET_CAP + "\"]}}");
+                return;
+            }
+            LocalDateTime since = query.containsKey("since") ? parseTimestamp(query.get("since")) : start;
+            LocalDateTime until = query.containsKey("until") ? parseTimestamp(query.get("until")) : end;
+            int[] range = indexRange(config.getIncidents(), new LocalDateTime[]{since, until});
+            int matching = Math.max(0, range[1] - range[0] + 1);
+
+            StringBuilder json = new StringBuilder(limit * 500);
+            json.append("{\"incidents\":[");
+            int to = Math.min(matching, offset + limit);
+            for (int position = offset; position < to; position++) {
+                // Oldest first
+                appendIncident(json, range[0] + position, position > offset);
+            }
+            json.append("],\"limit\":").append(limit)
+                    .append(",\"offset\":").append(offset)
+                    .append(",\"total\":null,\"more\":").append(to < matching).append('}');
+            respond(exchange, 200, json.toString());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void appendWorkflowRun(StringBuilder json, int index, boolean separator) {
+        long id = RUN_ID_BASE + index;
+        LocalDateTime createdAt = timestampOf(index, config.getWorkflowRuns());
+        String created = TIMESTAMP.format(createdAt);
+        // Runs wait up to half a minute for a runner and take 4 to 14 minutes
+        LocalDateTime startedAt = createdAt.plusSeconds(index % 30);
+        LocalDateTime completedAt = startedAt.plusSeconds(240 + (index * 53L) % 600);
+        String conclusion = isFailure(index) ? "failure" : "success";
+        if (separator) {
+            json.append(',');
+        }
+        json.append("{\"id\":").append(id)
+                .append(",\"name\":\"Release Pipeline\",\"workflow_id\":").append(WORKFLOW_ID)
+                .append(",\"path\":\".github/workflows/").append(WORKFLOW_FILE)
+                .append("\",\"status\":\"completed\",\"conclusion\":\"")
+                .append(conclusion)
+                .append("\",\"html_url\":\"https://github.com/acme/shop/actions/runs/").append(id)
+                .append("\",\"created_at\":\"").append(created)
+                .append("\",\"updated_at\":\"").append(TIMESTAMP.format(completedAt))
+                .append("\",\"run_started_at\":\"").append(TIMESTAMP.format(startedAt))
+                .append("\",\"head_branch\":\"main\",\"event\":\"push\"")
+                .append(",\"repository\":{\"id\":123456789,\"name\":\"shop\",\"full_name\":\"acme/shop\"}")
+                .append(",\"head_commit\":{\"id\":\"").append(String.format("%040x", id))
+                .append("\",\"message\":\"Change ").append(index)
+                .append("\",\"timestamp\":\"").append(created).append("\"}}");
+    }
+
+    private void appendIncident(StringBuilder json, int index, boolean separator) {
+        LocalDateTime createdAt = timestampOf(index, config.getIncidents());
+        // Recent incidents may still be open; older ones were resolved within a few hours
+        boolean resolved = createdAt.isBefore(end.minusHours(2)) || index % 3 != 0;
+        LocalDateTime acknowledgedAt = createdAt.plusMinutes(1 + index % 15);
+        LocalDateTime resolvedAt = createdAt.plusMinutes(10 + (index * 37L) % 360);
+        if (separator) {
+            json.append(',');
+        }
+        json.append("{\"id\":\"PSIM").append(index)
+                .append("\",\"title\":\"Simulated incident ").append(index)
+                .append("\",\"status\":\"").append(resolved ? "resolved" : "triggered")
+                .append("\",\"incident_key\":\"sim/").append(index)
+                .append("\",\"urgency\":\"").append(index % 4 == 0 ? "high" : "low")
+                .append("\",\"created_at\":\"").append(TIMESTAMP.format(createdAt))
+                .append('"');
+        if (config.isIncidentStatusTimes()) {
+            json.append(",\"updated_at\":\"").append(TIMESTAMP.format(resolved ? resolvedAt : createdAt))
+                    .append("\",\"acknowledged_at\":\"").append(TIMESTAMP.format(acknowledgedAt)).append('"');
+        }
+        json.append(",\"resolved_at\":");
+        if (resolved && config.isIncidentStatusTimes()) {
+            json.append('"').append(TIMESTAMP.format(resolvedAt)).append('"');
+        } else {
+            json.append("null");
+        }
+        json.append(",\"service\":{\"id\":\"PSVC").append(index % 5)
+                .append("\",\"summary\":\"service-").append(index % 5).append("\"}}");
+    }
+
+    private boolean isFailure(int index) {
+        // Deterministic, evenly spread failures
+        return (index * 0.618034) % 1.0 < config.getFailureRatio();
+    }
+
+    /**
+     * Record i of n is created at start + i * span / n, so timestamps are monotonic in the index.
+     */
+    private LocalDateTime timestampOf(int index, int count) {
+        long spanSeconds = config.getSpan().toSeconds();
+        return start.plusSeconds(index * spanSeconds / count);
+    }
+
+    /**
+     * Inclusive index range of the records created within the inclusive time range.
+     */
+    private int[] indexRange(int count, LocalDateTime[] range) {
+        return new int[]{firstIndexAtOrAfter(count, range[0]), firstIndexAtOrAfter(count, range[1].plusSeconds(1)) - 1};
+    }
+
+    private int firstIndexAtOrAfter(int count, LocalDateTime timestamp) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (timestampOf(middle, count).isBefore(timestamp)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private LocalDateTime[] parseCreatedRange(String created) {
+        if (created == null || !created.contains("..")) {
+            return new LocalDateTime[]{start, end};
+        }
+        String[] bounds = created.split("\\.\\.", 2);
+        return new LocalDateTime[]{parseTimestamp(bounds[0]), parseTimestamp(bounds[1])};
+    }
+
+    private static LocalDateTime parseTimestamp(String value) {
+        return LocalDateTime.parse(value.endsWith("Z") ? value.substring(0, value.length() - 1) : value);
+    }
+
+    private boolean admit(HttpExchange exchange, RateLimitWindow window, String headerPrefix) throws IOException {
+        long remaining = window.tryAcquire();
+        long resetEpochSecond = window.resetEpochSecond();
+        exchange.getResponseHeaders().add(headerPrefix + "limit", Integer.toString(window.limit));
+        exchange.getResponseHeaders().add(headerPrefix + "remaining", Long.toString(Math.max(0, remaining)));
+        exchange.getResponseHeaders().add(headerPrefix + "reset", Long.toString(resetEpochSecond));
+        if (remaining >= 0) {
+            return true;
+        }
+        rateLimitedRequests.incrementAndGet();
+        long retryAfter = Math.max(1, resetEpochSecond - Instant.now().getEpochSecond());
+        exchange.getResponseHeaders().add("Retry-After", Long.toString(retryAfter));
+        respond(exchange, 429, "{\"message\":\"API rate limit exceeded\"}");
+        return false;
+    }
+
+    private void injectLatency() {
+        long millis = config.getLatency().toMillis();
+        long jitter = config.getLatencyJitter().toMillis();
+        if (jitter > 0) {
+            millis += ThreadLocalRandom.current().nextLong(jitter + 1);
+        }
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Map<String, String> parseQuery(HttpExchange exchange) {
+        Map<String, String> query = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return query;
+        }
+        for (String pair : raw.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Fixed one-minute window, like the vendors' hourly/minutely quotas.
+     */
+    private static class RateLimitWindow {
+        private final int limit;
+        private long windowStartEpochSecond = Instant.now().getEpochSecond();
+        private long used;
+
+        private RateLimitWindow(int limit) {
+            this.limit = limit;
+        }
+
+        /**
+         * @return remaining requests after this one, or -1 when this one is over the limit
+         */
+        private synchronized long tryAcquire() {
+            long now = Instant.now().getEpochSecond();
+            if (now - windowStartEpochSecond >= 60) {
+                windowStartEpochSecond = now;
+                used = 0;
+            }
+            if (used >= limit) {
+                return -1;
+            }
+            used++;
+            return limit - used;
+        }
+
+        private synchronized long resetEpochSecond() {
+            return windowStartEpochSecond + 60;
+        }
+    }
+}
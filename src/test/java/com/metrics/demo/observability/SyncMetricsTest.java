@@ -0,0 +1,60 @@
+package com.metrics.demo.observability;
+
+import com.metrics.demo.enums.SyncSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class SyncMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SyncMetrics syncMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        syncMetrics = new SyncMetrics(meterRegistry);
+    }
+
+    @Test
+    void recordIngested_ShouldOnlyMoveLagForward() {
+        // Given
+        double before = lag(SyncSource.PAGERDUTY);
+
+        // When
+        syncMetrics.recordIngested(SyncSource.PAGERDUTY, Instant.now().minus(Duration.ofMinutes(10)));
+        syncMetrics.recordIngested(SyncSource.PAGERDUTY, Instant.now().minus(Duration.ofDays(30)));
+
+        // Then
+        assertThat(before).isNaN();
+        assertThat(lag(SyncSource.PAGERDUTY)).isCloseTo(600, within(5.0));
+        assertThat(lag(SyncSource.GITHUB_ACTIONS)).isNaN();
+    }
+
+    @Test
+    void timeFetch_ShouldTagOutcome() {
+        // When
+        syncMetrics.timeFetch(SyncSource.GITHUB_ACTIONS, () -> "page");
+        assertThatThrownBy(() -> syncMetrics.timeFetch(SyncSource.GITHUB_ACTIONS, () -> {
+            throw new IllegalStateException("GitHub returned 502");
+        }));
+
+        // Then
+        assertThat(meterRegistry.get("sync.fetch").tags("source", "GITHUB_ACTIONS", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("sync.fetch").tags("source", "GITHUB_ACTIONS", "outcome", "error")
+                .timer().count()).isEqualTo(1);
+    }
+
+    private double lag(SyncSource source) {
+        return meterRegistry.get("sync.lag").tag("source", source.name()).gauge().value();
+    }
+}
@@ -0,0 +1,393 @@
+package com.metrics.demo.repository;
+
+import com.metrics.demo.dto.request.DatasetGenerationRequest;
+import com.metrics.demo.enums.DeploymentStatus;
+import com.metrics.demo.enums.IncidentStatus;
+import com.metrics.demo.enums.SyncJobStatus;
+import com.metrics.demo.enums.SyncJobType;
+import com.metrics.demo.enums.SyncSource;
+import com.metrics.demo.service.DatasetGeneratorService;
+import com.metrics.demo.service.impl.DatasetGeneratorServiceImpl;
+import com.metrics.demo.service.impl.RollingWindowServiceImpl;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs EXPLAIN on the SQL of every repository query against a generated dataset
+ * and fails when a query scans a whole table, or a whole index whose leading
+ * column it does not constrain.
+ *
+ * The SQL is captured from Hibernate while the repository method runs, so the
+ * plans are those of the statements the application actually issues. A new
+ * repository method must be added to {@link #queries()}.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.metrics.demo.repository.QueryPlanTest$RecordingStatementInspector")
+@Import({DatasetGeneratorServiceImpl.class, RollingWindowServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class QueryPlanTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 12, 31, 0, 0);
+
+    private static final int SYNC_JOB_RUNS = 20_000;
+
+    /**
+     * Index comment H2 puts in a plan, e.g. {@code /* PUBLIC.IDX_A: STATUS = 'X' AND T >= ?1 *}{@code /}.
+     */
+    private static final Pattern INDEX_USE = Pattern.compile("/\\* PUBLIC\\.(\\w+)(?:: (.*?))? \\*/", Pattern.DOTALL);
+
+    @Autowired
+    private DatasetGeneratorService datasetGeneratorService;
+
+    @Autowired
+    private DeploymentRepository deploymentRepository;
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    @Autowired
+    private SyncJobRunRepository syncJobRunRepository;
+
+    @Autowired
+    private DeploymentDailyRollupRepository deploymentRollupRepository;
+
+    @Autowired
+    private IncidentDailyRollupRepository incidentRollupRepository;
+
+    @Autowired
+    private IncidentTransitionRepository incidentTransitionRepository;
+
+    @Autowired
+    private DeploymentDurationRollupRepository durationRollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @BeforeAll
+    void loadDataset() {
+        String generationId = datasetGeneratorService.startGeneration(DatasetGenerationRequest.builder()
+                .deployments(200_000)
+                .incidents(50_000)
+                .from(FROM)
+                .to(TO)
+                .seed(36L)
+                .build()).getGenerationId();
+        await().atMost(Duration.ofMinutes(2)).until(() ->
+                datasetGeneratorService.getGeneration(generationId).orElseThrow().getFinishedAt() != null);
+        assertThat(datasetGeneratorService.getGeneration(generationId).orElseThrow().getStatus())
+                .isEqualTo(SyncJobStatus.SUCCEEDED);
+
+        // Mostly finished runs, a few still running and every tenth resuming an earlier one
+        jdbcTemplate.update("INSERT INTO sync_job_runs (source, job_type, status, window_start, window_end, "
+                + "started_at, finished_at, pages_fetched, rows_fetched, rows_inserted, rows_updated, rows_skipped, "
+                + "error_count, resumed_from_run_id) "
+                + "SELECT CASEWHEN(MOD(X, 2) = 0, 'GITHUB_ACTIONS', 'PAGERDUTY'), CASEWHEN(MOD(X, 7) = 0, 'BACKFILL', 'INCREMENTAL'), "
+                + "CASE WHEN MOD(X, 1000) = 0 THEN 'RUNNING' WHEN MOD(X, 50) = 0 THEN 'FAILED' ELSE 'SUCCEEDED' END, "
+                + "DATEADD(HOUR, X, TIMESTAMP '2024-01-01 00:00:00'), DATEADD(HOUR, X + 1, TIMESTAMP '2024-01-01 00:00:00'), "
+                + "DATEADD(HOUR, X + 1, TIMESTAMP '2024-01-01 00:00:00'), DATEADD(HOUR, X + 1, TIMESTAMP '2024-01-01 00:05:00'), "
+                + "0, 0, 0, 0, 0, 0, CASEWHEN(MOD(X, 10) = 0, X - 5, NULL) FROM SYSTEM_RANGE(1, ?)", SYNC_JOB_RUNS);
+        // Three years of compacted days before the generated raw data
+        for (String table : List.of("deployment_daily_rollups", "incident_daily_rollups")) {
+            String counts = table.startsWith("deployment") ? "deployments, failed_deployments"
+                    : "incidents, resolved_incidents, total_recovery_seconds, acknowledged_incidents, "
+                    + "total_acknowledge_seconds";
+            String values = table.startsWith("deployment") ? "500, 75" : "40, 38, 100000, 39, 12000";
+            jdbcTemplate.update("INSERT INTO " + table + " (day_utc, " + counts + ", compacted_at) "
+                    + "SELECT DATEADD(DAY, -X, DATE '2024-01-01'), " + values + ", CURRENT_TIMESTAMP "
+                    + "FROM SYSTEM_RANGE(1, 1095)");
+        }
+        // Twenty duration buckets of one workflow per compacted day
+        jdbcTemplate.update("INSERT INTO deployment_duration_rollups (id, day_utc, repository_name, workflow_name, "
+                + "bucket, deployments) SELECT NEXT VALUE FOR deployment_duration_rollups_seq, "
+                + "DATEADD(DAY, -1 - X / 20, DATE '2024-01-01'), 'synthetic/service-1', 'Deploy', 300 + MOD(X, 20), 25 "
+                + "FROM SYSTEM_RANGE(0, 21899)");
+        // The first sighting of every incident, plus its resolution for every other one
+        jdbcTemplate.update("INSERT INTO incident_transitions (id, incident_id, from_status, to_status, occurred_at, "
+                + "incident_created_at, observed_at) SELECT NEXT VALUE FOR incident_transitions_seq, incident_id, "
+                + "NULL, 'TRIGGERED', created_at, created_at, created_at FROM incidents");
+        jdbcTemplate.update("INSERT INTO incident_transitions (id, incident_id, from_status, to_status, occurred_at, "
+                + "incident_created_at, observed_at) SELECT NEXT VALUE FOR incident_transitions_seq, incident_id, "
+                + "'TRIGGERED', 'RESOLVED', resolved_at, created_at, resolved_at FROM incidents "
+                + "WHERE resolved_at IS NOT NULL AND MOD(id, 2) = 0");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /**
+     * Invokes every repository query once with representative arguments, keyed by
+     * {@code Repository.method}.
+     */
+    private Map<String, Runnable> queries() {
+        Instant from = Instant.parse("2024-03-01T00:00:00Z");
+        Instant to = Instant.parse("2024-03-31T00:00:00Z");
+        LocalDateTime windowStart = LocalDateTime.of(2024, 2, 1, 0, 0);
+        LocalDate firstDay = LocalDate.of(2023, 3, 1);
+        LocalDate lastDay = LocalDate.of(2023, 3, 31);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("DeploymentRepository.findByDeploymentId",
+                () -> deploymentRepository.findByDeploymentId("synthetic-dep-1"));
+        queries.put("DeploymentRepository.findByDeploymentIdIn",
+                () -> deploymentRepository.findByDeploymentIdIn(List.of("synthetic-dep-1", "synthetic-dep-2")));
+        queries.put("DeploymentRepository.findFingerprintsByDeploymentIdIn",
+                () -> deploymentRepository.findFingerprintsByDeploymentIdIn(List.of("synthetic-dep-1", "synthetic-dep-2")));
+        queries.put("DeploymentRepository.countByTimestampBetween",
+                () -> deploymentRepository.countByTimestampBetween(from, to));
+        queries.put("DeploymentRepository.countPerMinuteSince",
+                () -> deploymentRepository.countPerMinuteSince(from.toEpochMilli()));
+        queries.put("DeploymentRepository.countByStatusAndTimestampBetween",
+                () -> deploymentRepository.countByStatusAndTimestampBetween(DeploymentStatus.FAILURE, from, to));
+        queries.put("DeploymentRepository.countDurationBucketsBetween",
+                () -> deploymentRepository.countDurationBucketsBetween(from, to));
+        queries.put("DeploymentRepository.findFirstByOrderByTimestampAsc",
+                () -> deploymentRepository.findFirstByOrderByTimestampAsc());
+        queries.put("DeploymentRepository.streamExportRowsBetween",
+                () -> readOnly(() -> deploymentRepository.streamExportRowsBetween(from, to)));
+        queries.put("DeploymentRepository.findSummaryPage",
+                () -> deploymentRepository.findSummaryPage(from, to, 1_000L, DeploymentStatus.FAILURE, null, PageRequest.of(0, 51)));
+        queries.put("DeploymentRepository.deleteByTimestampBetween",
+                () -> rolledBack(() -> deploymentRepository.deleteByTimestampBetween(from, from.plusSeconds(3600))));
+        queries.put("IncidentRepository.findByIncidentId",
+                () -> incidentRepository.findByIncidentId("synthetic-inc-1"));
+        queries.put("IncidentRepository.findByIncidentIdIn",
+                () -> incidentRepository.findByIncidentIdIn(List.of("synthetic-inc-1", "synthetic-inc-2")));
+        queries.put("IncidentRepository.findFingerprintsByIncidentIdIn",
+                () -> incidentRepository.findFingerprintsByIncidentIdIn(List.of("synthetic-inc-1", "synthetic-inc-2")));
+        queries.put("IncidentRepository.countByCreatedAtBetween",
+                () -> incidentRepository.countByCreatedAtBetween(from, to));
+        queries.put("IncidentRepository.aggregateRecoveryBetween",
+                () -> incidentRepository.aggregateRecoveryBetween(from, to));
+        queries.put("IncidentRepository.aggregateAcknowledgeBetween",
+                () -> incidentRepository.aggregateAcknowledgeBetween(from, to));
+        queries.put("IncidentRepository.aggregatePerMinuteSince",
+                () -> incidentRepository.aggregatePerMinuteSince(from.toEpochMilli()));
+        queries.put("IncidentRepository.findFirstByOrderByCreatedAtAsc",
+                () -> incidentRepository.findFirstByOrderByCreatedAtAsc());
+        queries.put("IncidentRepository.streamExportRowsBetween",
+                () -> readOnly(() -> incidentRepository.streamExportRowsBetween(from, to)));
+        queries.put("IncidentRepository.findSummaryPage",
+                () -> incidentRepository.findSummaryPage(from, to, 1_000L, null, "service-1", PageRequest.of(0, 51)));
+        queries.put("IncidentRepository.deleteByCreatedAtBetween",
+                () -> rolledBack(() -> incidentRepository.deleteByCreatedAtBetween(from, from.plusSeconds(3600))));
+        queries.put("DeploymentDailyRollupRepository.sumDeploymentsBetween",
+                () -> deploymentRollupRepository.sumDeploymentsBetween(firstDay, lastDay));
+        queries.put("DeploymentDailyRollupRepository.findByDayGreaterThanEqual",
+                () -> deploymentRollupRepository.findByDayGreaterThanEqual(lastDay));
+        queries.put("DeploymentDailyRollupRepository.findLatestDay",
+                () -> deploymentRollupRepository.findLatestDay());
+        queries.put("DeploymentDurationRollupRepository.sumDurationBucketsBetween",
+                () -> durationRollupRepository.sumDurationBucketsBetween(firstDay, lastDay));
+        queries.put("IncidentDailyRollupRepository.sumIncidentsBetween",
+                () -> incidentRollupRepository.sumIncidentsBetween(firstDay, lastDay));
+        queries.put("IncidentDailyRollupRepository.aggregateRecoveryBetween",
+                () -> incidentRollupRepository.aggregateRecoveryBetween(firstDay, lastDay));
+        queries.put("IncidentDailyRollupRepository.aggregateAcknowledgeBetween",
+                () -> incidentRollupRepository.aggregateAcknowledgeBetween(firstDay, lastDay));
+        queries.put("IncidentDailyRollupRepository.findByDayGreaterThanEqual",
+                () -> incidentRollupRepository.findByDayGreaterThanEqual(lastDay));
+        queries.put("IncidentDailyRollupRepository.findLatestDay",
+                () -> incidentRollupRepository.findLatestDay());
+        queries.put("IncidentTransitionRepository.findByIncidentIdOrderByIdAsc",
+                () -> incidentTransitionRepository.findByIncidentIdOrderByIdAsc("synthetic-inc-2"));
+        queries.put("IncidentTransitionRepository.deleteByIncidentCreatedAtBetween",
+                () -> rolledBack(() -> incidentTransitionRepository.deleteByIncidentCreatedAtBetween(
+                        from, from.plusSeconds(3600))));
+        queries.put("SyncJobRunRepository.findAllByOrderByStartedAtDesc",
+                () -> syncJobRunRepository.findAllByOrderByStartedAtDesc(PageRequest.of(0, 20)));
+        queries.put("SyncJobRunRepository.findBySourceOrderByStartedAtDesc",
+                () -> syncJobRunRepository.findBySourceOrderByStartedAtDesc(SyncSource.GITHUB_ACTIONS, PageRequest.of(0, 20)));
+        queries.put("SyncJobRunRepository.findFirstBySourceAndJobTypeAndWindowStartAndWindowEndAndStatusOrderByStartedAtDesc",
+                () -> syncJobRunRepository.findFirstBySourceAndJobTypeAndWindowStartAndWindowEndAndStatusOrderByStartedAtDesc(
+                        SyncSource.GITHUB_ACTIONS, SyncJobType.INCREMENTAL, windowStart, windowStart.plusHours(1), SyncJobStatus.FAILED));
+        queries.put("SyncJobRunRepository.existsByResumedFromRunId",
+                () -> syncJobRunRepository.existsByResumedFromRunId(45L));
+        queries.put("SyncJobRunRepository.failInterruptedRuns",
+                () -> rolledBack(() -> syncJobRunRepository.failInterruptedRuns(LocalDateTime.now())));
+        return queries;
+    }
+
+    /**
+     * Opens a streaming query in the transaction it requires and reads its first row.
+     */
+    private void readOnly(Supplier<Stream<?>> query) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<?> rows = query.get()) {
+                rows.findFirst();
+            }
+        });
+    }
+
+    /**
+     * Runs a modifying query in a transaction that is rolled back, keeping the dataset intact.
+     */
+    private void rolledBack(Runnable modification) {
+        transactionTemplate.executeWithoutResult(status -> {
+            modification.run();
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    void queries_ShouldCoverEveryRepositoryQueryMethod() {
+        // Given
+        Set<String> declared = new TreeSet<>();
+        Repositories repositories = new Repositories(applicationContext);
+        for (Class<?> domainType : repositories) {
+            Class<?> repositoryInterface = repositories.getRequiredRepositoryInformation(domainType).getRepositoryInterface();
+            for (Method method : repositoryInterface.getDeclaredMethods()) {
+                if (!method.isSynthetic() && !method.isDefault()) {
+                    declared.add(repositoryInterface.getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+
+        // When / Then
+        assertThat(queries().keySet()).containsAll(declared);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> queries_ShouldNotScanWholeTables() {
+        return queries().entrySet().stream().map(query -> DynamicTest.dynamicTest(query.getKey(), () -> {
+            // Given
+            List<String> statements = RecordingStatementInspector.record(query.getValue());
+            assertThat(statements).as("SQL issued by %s", query.getKey()).isNotEmpty();
+
+            for (String sql : statements) {
+                // When
+                String plan = explain(sql);
+
+                // Then
+                assertThat(plan).as("plan of %s", sql).doesNotContain(".tableScan");
+                assertIndexSeek(sql, plan);
+            }
+        }));
+    }
+
+    @Test
+    void findSummaryPage_ShouldReadPagesInIndexOrderWithoutSorting() {
+        // Given
+        Instant cursor = Instant.parse("2024-06-01T00:00:00Z");
+        List<String> statements = new ArrayList<>();
+        statements.addAll(RecordingStatementInspector.record(() -> deploymentRepository.findSummaryPage(
+                Instant.EPOCH, cursor, 1_000L, null, null, PageRequest.of(0, 51))));
+        statements.addAll(RecordingStatementInspector.record(() -> incidentRepository.findSummaryPage(
+                Instant.EPOCH, cursor, 1_000L, IncidentStatus.RESOLVED, null, PageRequest.of(0, 51))));
+
+        // When / Then: the seek starts at the cursor and the scan stops after one page
+        assertThat(statements).hasSize(2).allSatisfy(sql -> assertThat(explain(sql))
+                .contains("_ID_DESC: ", "/* index sorted */")
+                .containsPattern("FETCH (FIRST|NEXT)"));
+    }
+
+    /**
+     * EXPLAIN on a prepared statement with unbound parameters, as the application issues it.
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.execute("EXPLAIN " + sql, (java.sql.PreparedStatement statement) -> {
+            try (var resultSet = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    /**
+     * An index that is only walked end to end is a table scan in disguise: every
+     * index must either have its leading column constrained, deliver rows in
+     * the requested order so that the row limit ends the scan early, or answer
+     * MIN/MAX from one end.
+     */
+    private void assertIndexSeek(String sql, String plan) {
+        Matcher matcher = INDEX_USE.matcher(plan);
+        assertThat(matcher.find()).as("index in plan of %s:%n%s", sql, plan).isTrue();
+        do {
+            String index = matcher.group(1);
+            String conditions = matcher.group(2);
+            String leadingColumn = jdbcTemplate.queryForObject("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS "
+                    + "WHERE INDEX_NAME = ? AND ORDINAL_POSITION = 1", String.class, index);
+            boolean seek = conditions != null && Pattern.compile("(^|AND |\\()\"?" + leadingColumn + "\"? (=|>|<|IN)")
+                    .matcher(conditions).find();
+            boolean limitedOrderedScan = plan.contains("/* index sorted */")
+                    && (plan.contains("FETCH FIRST") || plan.contains("FETCH NEXT"));
+            boolean minMaxLookup = plan.contains("/* direct lookup */");
+            assertThat(seek || limitedOrderedScan || minMaxLookup)
+                    .as("%s seeks on its leading column %s in plan of %s:%n%s", index, leadingColumn, sql, plan)
+                    .isTrue();
+        } while (matcher.find());
+    }
+
+    /**
+     * Hibernate statement inspector that records the SQL of the queries run by
+     * {@link #record(Runnable)}; configured through the test's properties.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+        private static volatile boolean recording;
+
+        static synchronized List<String> record(Runnable query) {
+            STATEMENTS.clear();
+            recording = true;
+            try {
+                query.run();
+            } finally {
+                recording = false;
+            }
+            return new ArrayList<>(STATEMENTS);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (recording) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.metrics.demo.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.metrics.demo.dto.external.GitHubWorkflowRun;
+import com.metrics.demo.dto.external.PagerDutyIncident;
+import com.metrics.demo.integration.DeploymentClassifier;
+import com.metrics.demo.repository.AcknowledgeStats;
+import com.metrics.demo.repository.DeploymentDailyRollupRepository;
+import com.metrics.demo.repository.DeploymentDurationRollupRepository;
+import com.metrics.demo.repository.DeploymentRepository;
+import com.metrics.demo.repository.IncidentDailyRollupRepository;
+import com.metrics.demo.repository.IncidentRepository;
+import com.metrics.demo.repository.RecoveryStats;
+import com.metrics.demo.service.impl.DashboardServiceImpl;
+import com.metrics.demo.service.impl.GitHubActionsServiceImpl;
+import com.metrics.demo.service.impl.MetricsCalculationServiceImpl;
+import com.metrics.demo.service.impl.PagerDutyServiceImpl;
+import com.metrics.demo.service.impl.RollingWindowServiceImpl;
+import com.metrics.demo.util.Rfc3339;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Allocation budgets for the hot paths: bytes allocated per operation by the
+ * calling thread, measured with the JVM's per-thread allocation counter after
+ * a warm-up long enough for the JIT to compile the operation.
+ *
+ * Budgets are about twice the measured allocation, so they fail on a new
+ * per-record collection, string or log message, not on JIT noise. Mockito
+ * mocks record every invocation, so repositories the operations call are
+ * plain proxies; logging runs at WARN, as disabled levels must not allocate.
+ * The figures depend on the JVM that compiled the code, so the budgets run
+ * with -Pallocation in a build job of their own on a fixed JDK; a regression
+ * fails that job.
+ */
+@Tag("allocation")
+class AllocationBudgetTest {
+
+    private static final int WARM_UP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 10_000;
+
+    private static final List<Class<?>> QUIET_LOGGERS = List.of(MetricsCalculationServiceImpl.class,
+            DashboardServiceImpl.class, GitHubActionsServiceImpl.class, PagerDutyServiceImpl.class,
+            RollingWindowServiceImpl.class);
+
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Map<Class<?>, Level> previousLevels = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        assumeThat(threadMXBean.isThreadAllocatedMemorySupported()).isTrue();
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        for (Class<?> type : QUIET_LOGGERS) {
+            Logger logger = (Logger) LoggerFactory.getLogger(type);
+            previousLevels.put(type, logger.getLevel());
+            logger.setLevel(Level.WARN);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        previousLevels.forEach((type, level) -> ((Logger) LoggerFactory.getLogger(type)).setLevel(level));
+    }
+
+    @Test
+    void calculateChangeFailureRate_ShouldStayWithinBudget() {
+        // Given
+        MetricsCalculationServiceImpl service = metricsCalculationService();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 31, 0, 0);
+
+        // When
+        long bytes = bytesPerOperation(() -> service.calculateChangeFailureRate(start, end));
+
+        // Then
+        assertThat(bytes).as("bytes per CFR calculation").isLessThanOrEqualTo(1_024);
+    }
+
+    @Test
+    void calculateMeanTimeToRecovery_ShouldStayWithinBudget() {
+        // Given
+        MetricsCalculationServiceImpl service = metricsCalculationService();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 31, 0, 0);
+
+        // When
+        long bytes = bytesPerOperation(() -> service.calculateMeanTimeToRecovery(start, end));
+
+        // Then
+        assertThat(bytes).as("bytes per MTTR calculation").isLessThanOrEqualTo(1_024);
+    }
+
+    @Test
+    void parseInstant_ShouldStayWithinBudget() {
+        // When
+        long bytes = bytesPerOperation(() -> Rfc3339.parseInstant("2024-06-01T10:15:30.123+02:00"));
+
+        // Then: only the Instant itself
+        assertThat(bytes).as("bytes per timestamp").isLessThanOrEqualTo(48);
+    }
+
+    @Test
+    void convertWorkflowRun_ShouldStayWithinBudget() {
+        // Given
+        GitHubActionsServiceImpl service = new GitHubActionsServiceImpl(null, null, null, null, null, null,
+                null, null, new DeploymentClassifier(List.of(), List.of(), List.of(), List.of(), true));
+        ReflectionTestUtils.setField(service, "repositoryName", "shop");
+        GitHubWorkflowRun workflowRun = GitHubWorkflowRun.builder()
+                .id(123456789L)
+                .name("Deploy")
+                .status("completed")
+                .conclusion("success")
+                .createdAt("2024-06-01T10:15:30Z")
+                .runStartedAt("2024-06-01T10:15:52Z")
+                .updatedAt("2024-06-01T10:24:07Z")
+                .repository(GitHubWorkflowRun.GitHubRepository.builder().name("shop").build())
+                .headCommit(GitHubWorkflowRun.GitHubCommit.builder()
+                        .id("0f3c9b2a41d6e8f7a5b4c3d2e1f0a9b8c7d6e5f4").build())
+                .build();
+
+        // When
+        long bytes = bytesPerOperation(() -> service.convertToEntity(workflowRun));
+
+        // Then
+        assertThat(bytes).as("bytes per workflow run").isLessThanOrEqualTo(768);
+    }
+
+    @Test
+    void convertIncident_ShouldStayWithinBudget() {
+        // Given
+        PagerDutyServiceImpl service = new PagerDutyServiceImpl(null, null, null, null, null, null, null,
+                null, null);
+        PagerDutyIncident incident = PagerDutyIncident.builder()
+                .id("Q1W2E3R4T5Y6U7")
+                .title("Checkout latency above SLO")
+                .status("resolved")
+                .urgency("high")
+                .service(PagerDutyIncident.PagerDutyService.builder().summary("checkout").build())
+                .createdAt("2024-06-01T10:15:30Z")
+                .acknowledgedAt("2024-06-01T10:19:02Z")
+                .resolvedAt("2024-06-01T11:02:45Z")
+                .incidentKey("checkout-latency")
+                .build();
+
+        // When
+        long bytes = bytesPerOperation(() -> service.convertToEntity(incident));
+
+        // Then
+        assertThat(bytes).as("bytes per incident").isLessThanOrEqualTo(512);
+    }
+
+    @Test
+    void refreshSnapshots_ShouldStayWithinBudget() {
+        // Given
+        RollingWindowServiceImpl rollingWindowService = new RollingWindowServiceImpl(
+                mock(DeploymentRepository.class), mock(IncidentRepository.class),
+                mock(DeploymentDailyRollupRepository.class), mock(IncidentDailyRollupRepository.class));
+        DashboardServiceImpl dashboardService = new DashboardServiceImpl(
+                mock(MetricsCalculationService.class), rollingWindowService);
+
+        // When
+        long bytes = bytesPerOperation(dashboardService::refreshSnapshots);
+
+        // Then: three snapshots of three metrics each
+        assertThat(bytes).as("bytes per dashboard refresh").isLessThanOrEqualTo(8_192);
+    }
+
+    private long bytesPerOperation(Runnable operation) {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            operation.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            operation.run();
+        }
+        return (threadMXBean.getThreadAllocatedBytes(threadId) - before) / MEASURED_ITERATIONS;
+    }
+
+    private static MetricsCalculationServiceImpl metricsCalculationService() {
+        DeploymentRepository deploymentRepository = stub(DeploymentRepository.class,
+                Map.of("countByTimestampBetween", 1_200L));
+        IncidentRepository incidentRepository = stub(IncidentRepository.class, Map.of(
+                "countByCreatedAtBetween", 96L,
+                "aggregateRecoveryBetween", new RecoveryStats(90L, 90L * 2_400),
+                "aggregateAcknowledgeBetween", new AcknowledgeStats(94L, 94L * 300)));
+        RetentionService retentionService = stub(RetentionService.class,
+                Map.of("getCompactedBefore", Optional.empty()));
+        return new MetricsCalculationServiceImpl(incidentRepository, deploymentRepository,
+                stub(DeploymentDailyRollupRepository.class, Map.of()),
+                stub(IncidentDailyRollupRepository.class, Map.of()),
+                stub(DeploymentDurationRollupRepository.class, Map.of()),
+                retentionService, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Proxy answering each method with a fixed result by method name; unlike a mock,
+     * it keeps no record of its invocations.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Map<String, Object> results) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> results.get(method.getName()));
+    }
+}
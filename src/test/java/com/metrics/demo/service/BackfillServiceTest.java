@@ -0,0 +1,197 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.dto.response.BackfillResponse;
+import com.metrics.demo.entity.SyncJobRun;
+import com.metrics.demo.enums.SyncJobStatus;
+import com.metrics.demo.enums.SyncJobType;
+import com.metrics.demo.enums.SyncSource;
+import com.metrics.demo.exception.SyncInProgressException;
+import com.metrics.demo.repository.SyncJobRunRepository;
+import com.metrics.demo.service.impl.BackfillServiceImpl;
+import com.metrics.demo.service.impl.SyncJobServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BackfillServiceTest {
+
+    @Mock
+    private SyncJobService syncJobService;
+
+    @Mock
+    private GitHubActionsService gitHubActionsService;
+
+    @Mock
+    private PagerDutyService pagerDutyService;
+
+    private BackfillServiceImpl backfillService;
+
+    @BeforeEach
+    void setUp() {
+        backfillService = new BackfillServiceImpl(syncJobService, gitHubActionsService, pagerDutyService,
+                2, Duration.ofDays(1), Duration.ofDays(7));
+    }
+
+    @AfterEach
+    void tearDown() {
+        backfillService.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void startBackfill_ShouldImportEverySliceAndReportProgress() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 1, 4, 0, 0);
+        List<LocalDateTime[]> imported = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            SyncJobContext context = invocation.getArgument(2);
+            imported.add(new LocalDateTime[]{invocation.getArgument(0), invocation.getArgument(1)});
+            context.pageFetched(10);
+            context.rowsInserted(10);
+            return null;
+        }).when(gitHubActionsService).syncRange(any(), any(), any());
+        SyncJobReservation reservation = mock(SyncJobReservation.class);
+        when(syncJobService.reserve(SyncSource.GITHUB_ACTIONS)).thenReturn(Optional.of(reservation));
+        when(syncJobService.runJob(eq(reservation), eq(SyncJobType.BACKFILL), eq(from), eq(to), any()))
+                .thenAnswer(invocation -> {
+                    SyncJobContext context = new SyncJobContext(SyncSource.GITHUB_ACTIONS, SyncJobType.BACKFILL,
+                            null, checkpoint -> { });
+                    ((Consumer<SyncJobContext>) invocation.getArgument(4)).accept(context);
+                    return SyncJobRun.builder().id(1L).status(SyncJobStatus.SUCCEEDED).build();
+                });
+
+        // When
+        BackfillResponse submitted = backfillService.startBackfill(SyncSource.GITHUB_ACTIONS, from, to);
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() ->
+                backfillService.getBackfill(submitted.getBackfillId()).orElseThrow().getFinishedAt() != null);
+        BackfillResponse finished = backfillService.getBackfill(submitted.getBackfillId()).orElseThrow();
+        assertThat(finished.getStatus()).isEqualTo(SyncJobStatus.SUCCEEDED);
+        assertThat(finished.getSlicesTotal()).isEqualTo(4);
+        assertThat(finished.getSlicesCompleted()).isEqualTo(4);
+        assertThat(finished.getRowsInserted()).isEqualTo(40);
+        assertThat(finished.getPercentComplete()).isEqualTo(100.0);
+        assertThat(imported).hasSize(4);
+    }
+
+    @Test
+    void startBackfill_WhenSourceIsSyncing_ShouldReject() {
+        // Given
+        when(syncJobService.reserve(SyncSource.PAGERDUTY)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> backfillService.startBackfill(SyncSource.PAGERDUTY,
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0)))
+                .isInstanceOf(SyncInProgressException.class);
+    }
+
+    @Test
+    void startBackfill_WhenASyncStartsBeforeTheBackfillRuns_ShouldSkipTheSync() throws Exception {
+        // Given: the real job service, whose coordinator cannot start the backfill yet
+        SyncJobRunRepository syncJobRunRepository = mock(SyncJobRunRepository.class);
+        when(syncJobRunRepository.save(any(SyncJobRun.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        SyncJobServiceImpl jobService = new SyncJobServiceImpl(syncJobRunRepository, new SimpleMeterRegistry(),
+                event -> { }, mock(PlatformTransactionManager.class));
+        BackfillServiceImpl service = new BackfillServiceImpl(jobService, gitHubActionsService, pagerDutyService,
+                2, Duration.ofDays(1), Duration.ofDays(7));
+        CountDownLatch syncAttempted = new CountDownLatch(1);
+        doAnswer(invocation -> syncAttempted.await(5, TimeUnit.SECONDS))
+                .when(gitHubActionsService).syncRange(any(), any(), any());
+        try {
+            // When
+            BackfillResponse submitted = service.startBackfill(SyncSource.GITHUB_ACTIONS,
+                    LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 3, 0, 0));
+            SyncJobRun scheduled = jobService.runJob(SyncSource.GITHUB_ACTIONS, SyncJobType.INCREMENTAL,
+                    LocalDateTime.of(2024, 1, 3, 0, 0), LocalDateTime.of(2024, 1, 4, 0, 0), context -> { });
+            syncAttempted.countDown();
+
+            // Then
+            assertThat(scheduled.getStatus()).isEqualTo(SyncJobStatus.SKIPPED);
+            await().atMost(Duration.ofSeconds(5)).until(() ->
+                    service.getBackfill(submitted.getBackfillId()).orElseThrow().getFinishedAt() != null);
+            assertThat(service.getBackfill(submitted.getBackfillId()).orElseThrow().getStatus())
+                    .isEqualTo(SyncJobStatus.SUCCEEDED);
+            assertThat(jobService.isRunning(SyncSource.GITHUB_ACTIONS)).isFalse();
+        } finally {
+            syncAttempted.countDown();
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void startBackfill_WhileASyncHoldsTheSource_ShouldRejectInsteadOfSkipping() throws Exception {
+        // Given: a sync is running on the real job service
+        SyncJobRunRepository syncJobRunRepository = mock(SyncJobRunRepository.class);
+        when(syncJobRunRepository.save(any(SyncJobRun.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        SyncJobServiceImpl jobService = new SyncJobServiceImpl(syncJobRunRepository, new SimpleMeterRegistry(),
+                event -> { }, mock(PlatformTransactionManager.class));
+        BackfillServiceImpl service = new BackfillServiceImpl(jobService, gitHubActionsService, pagerDutyService,
+                2, Duration.ofDays(1), Duration.ofDays(7));
+        CountDownLatch syncStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> jobService.runJob(SyncSource.PAGERDUTY, SyncJobType.INCREMENTAL,
+                    LocalDateTime.of(2024, 1, 31, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0), context -> {
+                        syncStarted.countDown();
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }));
+            assertThat(syncStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When & Then
+            assertThatThrownBy(() -> service.startBackfill(SyncSource.PAGERDUTY,
+                    LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0)))
+                    .isInstanceOf(SyncInProgressException.class);
+            assertThat(service.getBackfills()).isEmpty();
+
+            // Once the sync finishes, the source can be reserved again
+            release.countDown();
+            await().atMost(Duration.ofSeconds(5)).until(() -> !jobService.isRunning(SyncSource.PAGERDUTY));
+            assertThat(jobService.reserve(SyncSource.PAGERDUTY)).isPresent();
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void startBackfill_WithInvertedWindow_ShouldReject() {
+        assertThatThrownBy(() -> backfillService.startBackfill(SyncSource.GITHUB_ACTIONS,
+                LocalDateTime.of(2024, 2, 1, 0, 0), LocalDateTime.of(2024, 1, 1, 0, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,188 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.dto.response.ChangeFailureRateResponse;
+import com.metrics.demo.dto.response.DeploymentDurationResponse;
+import com.metrics.demo.dto.response.MTTRResponse;
+import com.metrics.demo.service.impl.CoalescingMetricsCalculationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingMetricsCalculationServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 2, 1, 0, 0);
+    private static final int CALLERS = 8;
+
+    @Mock
+    private MetricsCalculationService delegate;
+
+    private MeterRegistry meterRegistry;
+
+    private CoalescingMetricsCalculationService service;
+
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new CoalescingMetricsCalculationService(delegate, meterRegistry, Duration.ofSeconds(1));
+        callers = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void calculateChangeFailureRate_ShouldRunOneCalculationForConcurrentIdenticalCalls() throws Exception {
+        // Given: the first calculation blocks until every caller has arrived
+        CountDownLatch release = new CountDownLatch(1);
+        ChangeFailureRateResponse response = ChangeFailureRateResponse.builder().totalDeployments(42).build();
+        when(delegate.calculateChangeFailureRate(any(), any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return response;
+        });
+
+        // When
+        List<Future<ChangeFailureRateResponse>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            // Callers computing their own range within the same second share the calculation
+            LocalDateTime end = END.plusNanos(i * 100_000_000L);
+            results.add(callers.submit(() -> service.calculateChangeFailureRate(START, end)));
+        }
+        await().atMost(Duration.ofSeconds(10)).until(() -> count("changeFailureRate", "coalesced") == CALLERS - 1);
+        release.countDown();
+
+        // Then
+        for (Future<ChangeFailureRateResponse> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo(response);
+        }
+        verify(delegate, times(1)).calculateChangeFailureRate(any(), any());
+        assertThat(count("changeFailureRate", "executed")).isEqualTo(1);
+    }
+
+    @Test
+    void calculateDeploymentDuration_ShouldGiveEachJoiningCallerItsOwnCopy() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        DeploymentDurationResponse response = DeploymentDurationResponse.builder()
+                .timeRange("30d")
+                .workflows(List.of(DeploymentDurationResponse.WorkflowDuration.builder()
+                        .workflowName("Deploy").p90Seconds(600).build()))
+                .build();
+        when(delegate.calculateDeploymentDuration(any(), any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return response;
+        });
+        List<Future<DeploymentDurationResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            results.add(callers.submit(() -> service.calculateDeploymentDuration(START, END)));
+        }
+        await().atMost(Duration.ofSeconds(10)).until(() -> count("deploymentDuration", "coalesced") == 1);
+        release.countDown();
+        DeploymentDurationResponse first = results.get(0).get(10, TimeUnit.SECONDS);
+        DeploymentDurationResponse second = results.get(1).get(10, TimeUnit.SECONDS);
+
+        // When: one caller modifies its response
+        first.setTimeRange("custom");
+        first.getWorkflows().get(0).setP90Seconds(0);
+
+        // Then
+        assertThat(second.getTimeRange()).isEqualTo("30d");
+        assertThat(second.getWorkflows().get(0).getP90Seconds()).isEqualTo(600);
+    }
+
+    @Test
+    void calculateMeanTimeToRecovery_ShouldShareTheLeadersFailureWithWaitingCallers() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.calculateMeanTimeToRecovery(any(), any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            throw new IllegalStateException("database unavailable");
+        });
+
+        // When
+        List<Future<MTTRResponse>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> service.calculateMeanTimeToRecovery(START, END)));
+        }
+        await().atMost(Duration.ofSeconds(10)).until(() -> count("meanTimeToRecovery", "coalesced") == CALLERS - 1);
+        release.countDown();
+
+        // Then
+        for (Future<MTTRResponse> result : results) {
+            assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+                    .hasRootCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("database unavailable");
+        }
+        verify(delegate, times(1)).calculateMeanTimeToRecovery(any(), any());
+    }
+
+    @Test
+    void calculateChangeFailureRate_ShouldCalculateAgainOnceTheFlightHasLanded() {
+        // Given
+        when(delegate.calculateChangeFailureRate(START, END))
+                .thenReturn(ChangeFailureRateResponse.builder().totalDeployments(1).build())
+                .thenReturn(ChangeFailureRateResponse.builder().totalDeployments(2).build());
+
+        // When
+        ChangeFailureRateResponse first = service.calculateChangeFailureRate(START, END);
+        ChangeFailureRateResponse second = service.calculateChangeFailureRate(START, END);
+
+        // Then: sequential calls are not cached
+        assertThat(first.getTotalDeployments()).isEqualTo(1);
+        assertThat(second.getTotalDeployments()).isEqualTo(2);
+        assertThat(count("changeFailureRate", "executed")).isEqualTo(2);
+        assertThat(count("changeFailureRate", "coalesced")).isZero();
+    }
+
+    @Test
+    void calculate_ShouldNotCoalesceDifferentMetricsOrRanges() {
+        // Given
+        when(delegate.calculateChangeFailureRate(any(), any())).thenReturn(ChangeFailureRateResponse.builder().build());
+        when(delegate.calculateMeanTimeToRecovery(any(), any())).thenReturn(MTTRResponse.builder().build());
+
+        // When
+        service.calculateChangeFailureRate(START, END);
+        service.calculateChangeFailureRate(START, END.plusDays(1));
+        service.calculateMeanTimeToRecovery(START, END);
+
+        // Then
+        verify(delegate, times(2)).calculateChangeFailureRate(any(), any());
+        verify(delegate, times(1)).calculateMeanTimeToRecovery(any(), any());
+    }
+
+    private double count(String metric, String outcome) {
+        return meterRegistry.get("metrics.calculation.requests")
+                .tag("metric", metric)
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,156 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.dto.response.ChangeFailureRateResponse;
+import com.metrics.demo.dto.response.DashboardResponse;
+import com.metrics.demo.dto.response.DashboardSnapshot;
+import com.metrics.demo.dto.response.MTTRResponse;
+import com.metrics.demo.repository.AcknowledgeStats;
+import com.metrics.demo.repository.RecoveryStats;
+import com.metrics.demo.service.impl.DashboardServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private MetricsCalculationService metricsCalculationService;
+
+    @Mock
+    private RollingWindowService rollingWindowService;
+
+    @InjectMocks
+    private DashboardServiceImpl dashboardService;
+
+    @Test
+    void getDashboard_ShouldServeBuiltInRangesFromTheLastRefresh() {
+        // Given
+        stubMetrics(10, 2);
+        dashboardService.refreshSnapshots();
+
+        // When
+        DashboardSnapshot first = dashboardService.getDashboard("30d", null, null);
+        DashboardSnapshot second = dashboardService.getDashboard("30D", null, null);
+
+        // Then: no calculation beyond the refresh of the three ranges
+        assertThat(second).isSameAs(first);
+        assertThat(first.getDashboard().getSummary().getTimeRange()).isEqualTo("30d");
+        assertThat(first.getDashboard().getSummary().getTotalDeployments()).isEqualTo(10);
+        verify(metricsCalculationService, times(3)).calculateChangeFailureRate(any(), any());
+        verify(metricsCalculationService, times(3)).calculateMeanTimeToRecovery(any(), any());
+    }
+
+    @Test
+    void refreshSnapshots_ShouldReplaceSnapshotsWithCurrentData() {
+        // Given
+        stubMetrics(10, 2);
+        dashboardService.refreshSnapshots();
+        stubMetrics(25, 4);
+
+        // When
+        dashboardService.refreshSnapshots();
+
+        // Then
+        DashboardSnapshot snapshot = dashboardService.getDashboard("7d", null, null);
+        assertThat(snapshot.getDashboard().getSummary().getTotalDeployments()).isEqualTo(25);
+        assertThat(snapshot.getDashboard().getSummary().getTotalIncidents()).isEqualTo(4);
+    }
+
+    @Test
+    void refreshSnapshots_WhenCalculationFails_ShouldKeepThePreviousSnapshot() {
+        // Given
+        stubMetrics(10, 2);
+        dashboardService.refreshSnapshots();
+        DashboardSnapshot before = dashboardService.getDashboard("90d", null, null);
+        when(metricsCalculationService.calculateChangeFailureRate(any(), any()))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        // When
+        dashboardService.refreshSnapshots();
+
+        // Then
+        assertThat(dashboardService.getDashboard("90d", null, null)).isSameAs(before);
+    }
+
+    @Test
+    void getDashboard_BeforeFirstRefresh_ShouldCalculateOnDemand() {
+        // Given
+        stubMetrics(10, 2);
+
+        // When
+        DashboardSnapshot snapshot = dashboardService.getDashboard("unknown", null, null);
+
+        // Then: unknown ranges fall back to 7d
+        assertThat(snapshot.getDashboard().getSummary().getTimeRange()).isEqualTo("7d");
+        assertThat(dashboardService.getDashboard("7d", null, null)).isSameAs(snapshot);
+    }
+
+    @Test
+    void getDashboard_ForCustomRange_ShouldCalculateEveryTime() {
+        // Given
+        stubMetrics(10, 2);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+        // When
+        dashboardService.getDashboard("custom", start, end);
+        dashboardService.getDashboard("custom", start, end);
+
+        // Then
+        verify(metricsCalculationService, times(2)).calculateChangeFailureRate(start, end);
+        assertThatThrownBy(() -> dashboardService.getDashboard("custom", start, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void refreshSnapshots_ShouldBuildBuiltInRangesFromTheRollingCounters() {
+        // Given
+        LocalDateTime end = LocalDateTime.of(2024, 6, 1, 12, 0);
+        when(rollingWindowService.getCounts(any())).thenAnswer(invocation -> Optional.of(new RollingWindowCounts(
+                invocation.getArgument(0), end.minusDays(30), end, 200, 10, new RecoveryStats(8, 8 * 5_400),
+                new AcknowledgeStats(9, 9 * 300))));
+
+        // When
+        dashboardService.refreshSnapshots();
+
+        // Then
+        DashboardSnapshot snapshot = dashboardService.getDashboard("30d", null, null);
+        assertThat(snapshot.getDashboard().getChangeFailureRate().getChangeFailureRatePercentage()).isEqualTo(5.0);
+        assertThat(snapshot.getDashboard().getMeanTimeToRecovery().getMeanTimeToRecoveryMinutes()).isEqualTo(90.0);
+        assertThat(snapshot.getDashboard().getMeanTimeToRecovery().getUnresolvedIncidents()).isEqualTo(2);
+        assertThat(snapshot.getDashboard().getMeanTimeToAcknowledge().getMeanTimeToAcknowledgeMinutes()).isEqualTo(5.0);
+        assertThat(snapshot.getDashboard().getMeanTimeToAcknowledge().getUnacknowledgedIncidents()).isEqualTo(1);
+        assertThat(snapshot.getDashboard().getSummary())
+                .returns("30d", DashboardResponse.DashboardSummary::getTimeRange)
+                .returns(200, DashboardResponse.DashboardSummary::getTotalDeployments);
+        verify(metricsCalculationService, never()).calculateChangeFailureRate(any(), any());
+        verify(metricsCalculationService, never()).calculateMeanTimeToRecovery(any(), any());
+        verify(metricsCalculationService, never()).calculateMeanTimeToAcknowledge(any(), any());
+    }
+
+    private void stubMetrics(long deployments, long incidents) {
+        when(metricsCalculationService.calculateChangeFailureRate(any(), any()))
+                .thenReturn(ChangeFailureRateResponse.builder()
+                        .totalDeployments(deployments)
+                        .totalIncidents(incidents)
+                        .build());
+        when(metricsCalculationService.calculateMeanTimeToRecovery(any(), any()))
+                .thenReturn(MTTRResponse.builder()
+                        .totalResolvedIncidents((int) incidents)
+                        .build());
+    }
+}
@@ -0,0 +1,163 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.dto.request.DatasetGenerationRequest;
+import com.metrics.demo.dto.response.DatasetGenerationResponse;
+import com.metrics.demo.entity.Deployment;
+import com.metrics.demo.enums.DeploymentStatus;
+import com.metrics.demo.enums.SyncJobStatus;
+import com.metrics.demo.repository.DeploymentRepository;
+import com.metrics.demo.repository.IncidentRepository;
+import com.metrics.demo.service.impl.DatasetGeneratorServiceImpl;
+import com.metrics.demo.service.impl.RollingWindowServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs the generator against the real schema; the generator commits its own
+ * batches, so tests run outside a test-managed transaction.
+ */
+@DataJpaTest
+@Import({DatasetGeneratorServiceImpl.class, RollingWindowServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DatasetGeneratorServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 3, 31, 0, 0);
+
+    @Autowired
+    private DatasetGeneratorService datasetGeneratorService;
+
+    @Autowired
+    private DeploymentRepository deploymentRepository;
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        deploymentRepository.deleteAllInBatch();
+        incidentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void startGeneration_ShouldInsertRowsSatisfyingEntityConstraints() {
+        // Given
+        DatasetGenerationRequest request = DatasetGenerationRequest.builder()
+                .deployments(5_250)
+                .incidents(1_230)
+                .from(FROM)
+                .to(TO)
+                .services(10)
+                .failureRatio(0.2)
+                .seed(7L)
+                .build();
+
+        // When
+        DatasetGenerationResponse result = generate(request);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(SyncJobStatus.SUCCEEDED);
+        assertThat(result.getDeploymentsInserted()).isEqualTo(5_250);
+        assertThat(result.getIncidentsInserted()).isEqualTo(1_230);
+        assertThat(deploymentRepository.count()).isEqualTo(5_250);
+        assertThat(incidentRepository.count()).isEqualTo(1_230);
+
+        assertThat(deploymentRepository.countByTimestampBetween(utc(FROM), utc(TO))).isEqualTo(5_250);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT application_name) FROM deployments", Long.class)).isEqualTo(10);
+        double failed = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM deployments WHERE status = 'FAILURE'", Long.class);
+        assertThat(failed / 5_250).isBetween(0.17, 0.23);
+
+        // Resolution and acknowledgement never precede creation, and only resolved incidents have resolvedAt
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM incidents WHERE resolved_at < created_at "
+                + "OR acknowledged_at < created_at OR acknowledged_at > resolved_at", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM incidents "
+                + "WHERE (status = 'RESOLVED') <> (resolved_at IS NOT NULL)", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM incidents "
+                + "WHERE recovery_seconds <> (resolved_at - created_at) / 1000", Long.class)).isZero();
+        assertThat(incidentRepository.aggregateRecoveryBetween(utc(FROM), utc(TO)).resolvedIncidents()).isPositive();
+    }
+
+    @Test
+    void startGeneration_ShouldReserveIdsThatJpaInsertsDoNotReuse() {
+        // Given
+        generate(DatasetGenerationRequest.builder().deployments(250).incidents(0).from(FROM).to(TO).seed(1L).build());
+
+        // When
+        Deployment saved = deploymentRepository.save(Deployment.builder()
+                .deploymentId("123")
+                .timestamp(utc(TO))
+                .status(DeploymentStatus.SUCCESS)
+                .build());
+
+        // Then
+        assertThat(deploymentRepository.count()).isEqualTo(251);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM deployments WHERE id = ?", Long.class, saved.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void startGeneration_ShouldGenerateTheSameDataForTheSameSeed() {
+        // Given
+        DatasetGenerationRequest request = DatasetGenerationRequest.builder()
+                .deployments(2_000).incidents(500).from(FROM).to(TO).seed(42L).build();
+
+        // When
+        generate(request);
+        List<String> first = snapshot();
+        tearDown();
+        generate(request);
+        List<String> second = snapshot();
+
+        // Then
+        assertThat(second).hasSize(2_500).isEqualTo(first);
+    }
+
+    @Test
+    void startGeneration_ShouldRejectInconsistentRequests() {
+        assertThatThrownBy(() -> datasetGeneratorService.startGeneration(DatasetGenerationRequest.builder()
+                .failureRatio(0.8).cancelledRatio(0.3).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> datasetGeneratorService.startGeneration(DatasetGenerationRequest.builder()
+                .from(TO).to(FROM).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Instant utc(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC);
+    }
+
+    private DatasetGenerationResponse generate(DatasetGenerationRequest request) {
+        String generationId = datasetGeneratorService.startGeneration(request).getGenerationId();
+        await().atMost(Duration.ofSeconds(30)).until(() ->
+                datasetGeneratorService.getGeneration(generationId).orElseThrow().getFinishedAt() != null);
+        return datasetGeneratorService.getGeneration(generationId).orElseThrow();
+    }
+
+    private List<String> snapshot() {
+        // Ids depend on the sequence, so compare the generated values only
+        return jdbcTemplate.queryForList("SELECT CONCAT(timestamp, status, application_name, version) AS fingerprint "
+                        + "FROM deployments UNION ALL SELECT CONCAT(created_at, status, service_name, "
+                        + "COALESCE(CAST(resolved_at AS VARCHAR), '-')) FROM incidents ORDER BY 1", String.class);
+    }
+}
@@ -0,0 +1,158 @@
+package com.metrics.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metrics.demo.dto.request.DatasetGenerationRequest;
+import com.metrics.demo.dto.response.IncidentExportRow;
+import com.metrics.demo.entity.Deployment;
+import com.metrics.demo.enums.DeploymentStatus;
+import com.metrics.demo.enums.ExportFormat;
+import com.metrics.demo.repository.DeploymentRepository;
+import com.metrics.demo.repository.IncidentRepository;
+import com.metrics.demo.service.impl.DatasetGeneratorServiceImpl;
+import com.metrics.demo.service.impl.ExportServiceImpl;
+import com.metrics.demo.service.impl.RollingWindowServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Exports generated data from the real schema; the generator commits its own
+ * batches, so tests run outside a test-managed transaction.
+ */
+@DataJpaTest
+@Import({ExportServiceImpl.class, DatasetGeneratorServiceImpl.class, RollingWindowServiceImpl.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExportServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private DatasetGeneratorService datasetGeneratorService;
+
+    @Autowired
+    private DeploymentRepository deploymentRepository;
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        deploymentRepository.deleteAllInBatch();
+        incidentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void exportDeployments_ShouldWriteHeaderAndEveryRowInRangeOldestFirst() throws Exception {
+        // Given
+        generate(3_000, 0);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 15, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 2, 15, 0, 0);
+        long expected = deploymentRepository.countByTimestampBetween(utc(start), utc(end));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = exportService.exportDeployments(start, end, ExportFormat.CSV, out);
+
+        // Then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(rows).isEqualTo(expected).isPositive();
+        assertThat(lines).hasSize((int) expected + 1);
+        assertThat(lines.get(0)).isEqualTo("deployment_id,timestamp,status,application_name,version,"
+                + "workflow_run_id,repository_name,workflow_name");
+        List<Instant> timestamps = lines.subList(1, lines.size()).stream()
+                .map(line -> Instant.parse(line.split(",")[1]))
+                .toList();
+        assertThat(timestamps).isSorted().allMatch(t -> !t.isBefore(utc(start)) && !t.isAfter(utc(end)));
+    }
+
+    @Test
+    void exportDeployments_ShouldQuoteFieldsContainingSeparators() throws Exception {
+        // Given
+        deploymentRepository.save(Deployment.builder()
+                .deploymentId("gh-1")
+                .timestamp(utc(FROM))
+                .status(DeploymentStatus.SUCCESS)
+                .workflowName("Release \"prod\", eu\nsecond line")
+                .build());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exportService.exportDeployments(FROM, TO, ExportFormat.CSV, out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith(
+                "gh-1,2024-01-01T00:00:00Z,SUCCESS,,,,,\"Release \"\"prod\"\", eu\nsecond line\"\r\n");
+    }
+
+    @Test
+    void exportIncidents_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        // Given
+        generate(0, 800);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = exportService.exportIncidents(FROM, TO, ExportFormat.NDJSON, out);
+
+        // Then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(rows).isEqualTo(800);
+        assertThat(lines).hasSize(800);
+        IncidentExportRow first = objectMapper.readValue(lines.get(0), IncidentExportRow.class);
+        assertThat(first.getIncidentId()).startsWith(DatasetGeneratorService.SYNTHETIC_ID_PREFIX);
+        assertThat(first.getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    void exportIncidents_ShouldWriteNothingForAnEmptyRange() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = exportService.exportIncidents(FROM, TO, ExportFormat.NDJSON, out);
+
+        // Then
+        assertThat(rows).isZero();
+        assertThat(out.size()).isZero();
+    }
+
+    private void generate(int deployments, int incidents) {
+        String generationId = datasetGeneratorService.startGeneration(DatasetGenerationRequest.builder()
+                .deployments(deployments)
+                .incidents(incidents)
+                .from(FROM)
+                .to(TO)
+                .seed(38L)
+                .build()).getGenerationId();
+        await().atMost(Duration.ofSeconds(30)).until(() ->
+                datasetGeneratorService.getGeneration(generationId).orElseThrow().getFinishedAt() != null);
+    }
+
+    private static Instant utc(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC);
+    }
+}
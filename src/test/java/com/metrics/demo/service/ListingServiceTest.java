@@ -0,0 +1,212 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.dto.request.DatasetGenerationRequest;
+import com.metrics.demo.dto.response.DashboardResponse;
+import com.metrics.demo.dto.response.PageResponse;
+import com.metrics.demo.entity.Deployment;
+import com.metrics.demo.entity.IncidentTransition;
+import com.metrics.demo.enums.DeploymentStatus;
+import com.metrics.demo.enums.IncidentStatus;
+import com.metrics.demo.repository.DeploymentRepository;
+import com.metrics.demo.repository.IncidentRepository;
+import com.metrics.demo.repository.IncidentTransitionRepository;
+import com.metrics.demo.service.impl.DatasetGeneratorServiceImpl;
+import com.metrics.demo.service.impl.ListingServiceImpl;
+import com.metrics.demo.service.impl.RollingWindowServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Pages through generated data against the real schema; the generator commits
+ * its own batches, so tests run outside a test-managed transaction.
+ */
+@DataJpaTest
+@Import({ListingServiceImpl.class, DatasetGeneratorServiceImpl.class, RollingWindowServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ListingServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @Autowired
+    private ListingService listingService;
+
+    @Autowired
+    private DatasetGeneratorService datasetGeneratorService;
+
+    @Autowired
+    private DeploymentRepository deploymentRepository;
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    @Autowired
+    private IncidentTransitionRepository incidentTransitionRepository;
+
+    @AfterEach
+    void tearDown() {
+        deploymentRepository.deleteAllInBatch();
+        incidentRepository.deleteAllInBatch();
+        incidentTransitionRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void listDeployments_ShouldVisitEveryDeploymentInRangeOnceNewestFirst() {
+        // Given
+        generate(2_000, 0);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 10, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 2, 10, 0, 0);
+        long expected = deploymentRepository.countByTimestampBetween(utc(start), utc(end));
+
+        // When
+        List<DashboardResponse.DeploymentSummary> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            PageResponse<DashboardResponse.DeploymentSummary> page =
+                    listingService.listDeployments(null, null, start, end, cursor, 100);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(100);
+            visited.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Then
+        assertThat(visited).hasSize((int) expected);
+        assertThat(pages).isEqualTo((int) Math.ceil(expected / 100.0));
+        assertThat(visited).extracting(DashboardResponse.DeploymentSummary::getId).doesNotHaveDuplicates();
+        assertThat(visited).isSortedAccordingTo(Comparator
+                .comparing(DashboardResponse.DeploymentSummary::getTimestamp)
+                .thenComparing(DashboardResponse.DeploymentSummary::getId)
+                .reversed());
+        assertThat(visited).allMatch(d -> !d.getTimestamp().isBefore(utc(start)) && !d.getTimestamp().isAfter(utc(end)));
+    }
+
+    @Test
+    void listDeployments_ShouldNotSkipRowsSharingATimestampAcrossPages() {
+        // Given
+        Instant timestamp = utc(FROM);
+        for (int i = 0; i < 5; i++) {
+            deploymentRepository.save(Deployment.builder()
+                    .deploymentId("gh-" + i)
+                    .timestamp(timestamp)
+                    .status(DeploymentStatus.SUCCESS)
+                    .build());
+        }
+
+        // When
+        PageResponse<DashboardResponse.DeploymentSummary> first = listingService.listDeployments(null, null, null, null, null, 2);
+        PageResponse<DashboardResponse.DeploymentSummary> second = listingService.listDeployments(null, null, null, null, first.getNextCursor(), 2);
+        PageResponse<DashboardResponse.DeploymentSummary> third = listingService.listDeployments(null, null, null, null, second.getNextCursor(), 2);
+
+        // Then
+        List<String> ids = new ArrayList<>();
+        List.of(first, second, third).forEach(page -> page.getItems().forEach(d -> ids.add(d.getDeploymentId())));
+        assertThat(ids).containsExactly("gh-4", "gh-3", "gh-2", "gh-1", "gh-0");
+        assertThat(third.getNextCursor()).isNull();
+    }
+
+    @Test
+    void listIncidents_ShouldApplyStatusAndServiceFilters() {
+        // Given
+        generate(0, 1_500);
+
+        // When
+        List<DashboardResponse.IncidentSummary> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageResponse<DashboardResponse.IncidentSummary> page =
+                    listingService.listIncidents(IncidentStatus.RESOLVED, "service-1", FROM, TO, cursor, 50);
+            visited.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertThat(visited).isNotEmpty()
+                .allMatch(i -> i.getStatus() == IncidentStatus.RESOLVED && "service-1".equals(i.getServiceName()))
+                .allMatch(i -> i.getRecoveryTimeMinutes()
+                        .equals(Duration.between(i.getCreatedAt(), i.getResolvedAt()).toMinutes()));
+        assertThat(visited).extracting(DashboardResponse.IncidentSummary::getId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void listIncidents_ShouldRejectAMalformedCursor() {
+        // When / Then
+        assertThatThrownBy(() -> listingService.listIncidents(null, null, null, null, "not-a-cursor", 50))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    void listIncidentTransitions_ShouldReturnTheIncidentsTimelineOldestFirst() {
+        // Given
+        Instant createdAt = utc(FROM);
+        Instant observedAt = createdAt.plus(Duration.ofMinutes(30));
+        incidentTransitionRepository.saveAll(List.of(
+                transition("PD-1", null, IncidentStatus.TRIGGERED, createdAt, createdAt, observedAt),
+                transition("PD-2", null, IncidentStatus.TRIGGERED, createdAt, createdAt, observedAt),
+                transition("PD-1", IncidentStatus.TRIGGERED, IncidentStatus.RESOLVED, null, createdAt,
+                        observedAt.plus(Duration.ofMinutes(30)))));
+
+        // When
+        List<DashboardResponse.IncidentTransitionSummary> timeline = listingService.listIncidentTransitions("PD-1");
+
+        // Then: a change the vendor gave no time for keeps only its observation time
+        assertThat(timeline)
+                .extracting(DashboardResponse.IncidentTransitionSummary::getFromStatus,
+                        DashboardResponse.IncidentTransitionSummary::getToStatus,
+                        DashboardResponse.IncidentTransitionSummary::getOccurredAt,
+                        DashboardResponse.IncidentTransitionSummary::getObservedAt)
+                .containsExactly(
+                        tuple(null, IncidentStatus.TRIGGERED, createdAt, observedAt),
+                        tuple(IncidentStatus.TRIGGERED, IncidentStatus.RESOLVED, null,
+                                observedAt.plus(Duration.ofMinutes(30))));
+        assertThat(listingService.listIncidentTransitions("PD-3")).isEmpty();
+    }
+
+    private void generate(int deployments, int incidents) {
+        String generationId = datasetGeneratorService.startGeneration(DatasetGenerationRequest.builder()
+                .deployments(deployments)
+                .incidents(incidents)
+                .from(FROM)
+                .to(TO)
+                .seed(40L)
+                .build()).getGenerationId();
+        await().atMost(Duration.ofSeconds(30)).until(() ->
+                datasetGeneratorService.getGeneration(generationId).orElseThrow().getFinishedAt() != null);
+    }
+
+    private static IncidentTransition transition(String incidentId, IncidentStatus fromStatus, IncidentStatus toStatus,
+                                                 Instant occurredAt, Instant createdAt, Instant observedAt) {
+        return IncidentTransition.builder()
+                .incidentId(incidentId)
+                .fromStatus(fromStatus)
+                .toStatus(toStatus)
+                .occurredAt(occurredAt)
+                .observedAt(observedAt)
+                .incidentCreatedAt(createdAt)
+                .build();
+    }
+
+    private static Instant utc(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC);
+    }
+}
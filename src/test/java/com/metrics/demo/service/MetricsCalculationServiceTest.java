@@ -1,24 +1,38 @@
 package com.metrics.demo.service;
 
 import com.metrics.demo.dto.response.ChangeFailureRateResponse;
+import com.metrics.demo.dto.response.DeploymentDurationResponse;
+import com.metrics.demo.dto.response.MTTAResponse;
 import com.metrics.demo.dto.response.MTTRResponse;
-import com.metrics.demo.entity.Incident;
-import com.metrics.demo.enums.IncidentStatus;
+import com.metrics.demo.repository.AcknowledgeStats;
+import com.metrics.demo.repository.DeploymentDailyRollupRepository;
+import com.metrics.demo.repository.DeploymentDurationRollupRepository;
 import com.metrics.demo.repository.DeploymentRepository;
+import com.metrics.demo.repository.DurationBucketCount;
+import com.metrics.demo.repository.IncidentDailyRollupRepository;
 import com.metrics.demo.repository.IncidentRepository;
+import com.metrics.demo.repository.RecoveryStats;
 import com.metrics.demo.service.impl.MetricsCalculationServiceImpl;
+import com.metrics.demo.util.DurationSketch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +43,21 @@ class MetricsCalculationServiceTest {
     @Mock
     private DeploymentRepository deploymentRepository;
 
+    @Mock
+    private DeploymentDailyRollupRepository deploymentRollupRepository;
+
+    @Mock
+    private IncidentDailyRollupRepository incidentRollupRepository;
+
+    @Mock
+    private DeploymentDurationRollupRepository durationRollupRepository;
+
+    @Mock
+    private RetentionService retentionService;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
 
     private MetricsCalculationServiceImpl metricsCalculationService;
@@ -39,8 +68,8 @@ class MetricsCalculationServiceTest {
         LocalDateTime startDate = LocalDateTime.now().minusDays(7);
         LocalDateTime endDate = LocalDateTime.now();
 
-        when(incidentRepository.countByCreatedAtBetween(startDate, endDate)).thenReturn(2L);
-        when(deploymentRepository.countByTimestampBetween(startDate, endDate)).thenReturn(10L);
+        when(incidentRepository.countByCreatedAtBetween(utc(startDate), utc(endDate))).thenReturn(2L);
+        when(deploymentRepository.countByTimestampBetween(utc(startDate), utc(endDate))).thenReturn(10L);
 
         // When
         ChangeFailureRateResponse response = metricsCalculationService.calculateChangeFailureRate(startDate, endDate);
@@ -48,6 +77,8 @@ class MetricsCalculationServiceTest {
         // Then
         assertThat(response).isNotNull();
         assertThat(response.getChangeFailureRatePercentage()).isEqualTo(20.0);
+        assertThat(meterRegistry.get("metrics.db.query")
+                .tag("query", "deployments.countByTimestampBetween").timer().count()).isEqualTo(1);
     }
 
     @Test
@@ -55,13 +86,12 @@ class MetricsCalculationServiceTest {
         // Given
         LocalDateTime startDate = LocalDateTime.now().minusDays(7);
         LocalDateTime endDate = LocalDateTime.now();
-        List<Incident> incidents = Arrays.asList(
-                createMockIncident(Duration.ofHours(2)),
-                createMockIncident(Duration.ofHours(4))
-        );
 
-        when(incidentRepository.findResolvedIncidentsBetween(startDate, endDate))
-                .thenReturn(incidents);
+        // Two resolved incidents recovering in 2 and 4 hours, one still open
+        long totalRecoverySeconds = Duration.ofHours(2).plusHours(4).toSeconds();
+        when(incidentRepository.aggregateRecoveryBetween(utc(startDate), utc(endDate)))
+                .thenReturn(new RecoveryStats(2, totalRecoverySeconds));
+        when(incidentRepository.countByCreatedAtBetween(utc(startDate), utc(endDate))).thenReturn(3L);
 
         // When
         MTTRResponse response = metricsCalculationService.calculateMeanTimeToRecovery(startDate, endDate);
@@ -69,15 +99,113 @@ class MetricsCalculationServiceTest {
         // Then
         assertThat(response).isNotNull();
         assertThat(response.getMeanTimeToRecoveryHours()).isEqualTo(3);
+        assertThat(response.getTotalResolvedIncidents()).isEqualTo(2);
+        assertThat(response.getUnresolvedIncidents()).isEqualTo(1);
+    }
+
+    @Test
+    void calculateDeploymentDuration_ShouldMergeRawAndRolledUpBucketsPerWorkflow() {
+        // Given: days before March 10 are compacted
+        LocalDateTime startDate = LocalDateTime.of(2025, 3, 1, 0, 0);
+        LocalDateTime endDate = LocalDateTime.of(2025, 3, 20, 0, 0);
+        when(retentionService.getCompactedBefore()).thenReturn(Optional.of(LocalDate.of(2025, 3, 10)));
+
+        // Deploy runs 90 times for 5 minutes and 10 times for 20 minutes; Release runs once for 1 minute
+        int fiveMinutes = DurationSketch.bucketOf(300);
+        int twentyMinutes = DurationSketch.bucketOf(1_200);
+        when(deploymentRepository.countDurationBucketsBetween(utc(startDate), utc(endDate))).thenReturn(List.of(
+                new DurationBucketCount("shop", "Deploy", fiveMinutes, 40),
+                new DurationBucketCount("shop", "Deploy", twentyMinutes, 10),
+                new DurationBucketCount("shop", "Release", DurationSketch.bucketOf(60), 1)));
+        when(durationRollupRepository.sumDurationBucketsBetween(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 9)))
+                .thenReturn(List.of(new DurationBucketCount("shop", "Deploy", fiveMinutes, 50)));
+
+        // When
+        DeploymentDurationResponse response = metricsCalculationService.calculateDeploymentDuration(startDate, endDate);
+
+        // Then: the slowest p90 comes first
+        assertThat(response.getTotalDeployments()).isEqualTo(101);
+        assertThat(response.getWorkflows())
+                .extracting(DeploymentDurationResponse.WorkflowDuration::getWorkflowName,
+                        DeploymentDurationResponse.WorkflowDuration::getDeployments,
+                        DeploymentDurationResponse.WorkflowDuration::getP50Seconds,
+                        DeploymentDurationResponse.WorkflowDuration::getP90Seconds,
+                        DeploymentDurationResponse.WorkflowDuration::getP99Seconds)
+                .containsExactly(
+                        tuple("Deploy", 100L, DurationSketch.valueOf(fiveMinutes), DurationSketch.valueOf(fiveMinutes),
+                                DurationSketch.valueOf(twentyMinutes)),
+                        tuple("Release", 1L, 60L, 60L, 60L));
+    }
+
+    @Test
+    void calculateMTTR_ShouldCombineRawAndRolledUpDays() {
+        // Given: days before March 10 are compacted; the range starts mid-day on March 1
+        LocalDateTime startDate = LocalDateTime.of(2025, 3, 1, 12, 0);
+        LocalDateTime endDate = LocalDateTime.of(2025, 3, 20, 0, 0);
+        when(retentionService.getCompactedBefore()).thenReturn(Optional.of(LocalDate.of(2025, 3, 10)));
+
+        // March 1 starts before the range, so only March 2 to 9 come from the rollups
+        when(incidentRollupRepository.aggregateRecoveryBetween(LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 9)))
+                .thenReturn(new RecoveryStats(3, Duration.ofHours(9).toSeconds()));
+        when(incidentRollupRepository.sumIncidentsBetween(LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 9)))
+                .thenReturn(4L);
+        when(incidentRepository.aggregateRecoveryBetween(utc(startDate), utc(endDate)))
+                .thenReturn(new RecoveryStats(1, Duration.ofHours(1).toSeconds()));
+        when(incidentRepository.countByCreatedAtBetween(utc(startDate), utc(endDate))).thenReturn(1L);
+
+        // When
+        MTTRResponse response = metricsCalculationService.calculateMeanTimeToRecovery(startDate, endDate);
+
+        // Then
+        assertThat(response.getMeanTimeToRecoveryHours()).isEqualTo(2.5);
+        assertThat(response.getTotalResolvedIncidents()).isEqualTo(4);
+        assertThat(response.getUnresolvedIncidents()).isEqualTo(1);
+    }
+
+    @Test
+    void calculateMTTA_ShouldCombineRawAndRolledUpDays() {
+        // Given: days before March 10 are compacted
+        LocalDateTime startDate = LocalDateTime.of(2025, 3, 1, 0, 0);
+        LocalDateTime endDate = LocalDateTime.of(2025, 3, 20, 0, 0);
+        when(retentionService.getCompactedBefore()).thenReturn(Optional.of(LocalDate.of(2025, 3, 10)));
+
+        when(incidentRollupRepository.aggregateAcknowledgeBetween(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 9)))
+                .thenReturn(new AcknowledgeStats(3, Duration.ofMinutes(30).toSeconds()));
+        when(incidentRollupRepository.sumIncidentsBetween(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 9)))
+                .thenReturn(4L);
+        when(incidentRepository.aggregateAcknowledgeBetween(utc(startDate), utc(endDate)))
+                .thenReturn(new AcknowledgeStats(1, Duration.ofMinutes(10).toSeconds()));
+        when(incidentRepository.countByCreatedAtBetween(utc(startDate), utc(endDate))).thenReturn(2L);
+
+        // When
+        MTTAResponse response = metricsCalculationService.calculateMeanTimeToAcknowledge(startDate, endDate);
+
+        // Then
+        assertThat(response.getMeanTimeToAcknowledgeMinutes()).isEqualTo(10.0);
+        assertThat(response.getTotalAcknowledgedIncidents()).isEqualTo(4);
+        assertThat(response.getUnacknowledgedIncidents()).isEqualTo(2);
+        assertThat(meterRegistry.get("metrics.db.query")
+                .tag("query", "incidents.aggregateAcknowledgeBetween").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void calculateChangeFailureRate_ShouldSkipRollupsForRangesAfterTheCompactedDays() {
+        // Given
+        LocalDateTime startDate = LocalDateTime.of(2025, 3, 10, 0, 0);
+        LocalDateTime endDate = LocalDateTime.of(2025, 3, 17, 0, 0);
+        when(retentionService.getCompactedBefore()).thenReturn(Optional.of(LocalDate.of(2025, 3, 10)));
+        when(incidentRepository.countByCreatedAtBetween(utc(startDate), utc(endDate))).thenReturn(1L);
+        when(deploymentRepository.countByTimestampBetween(utc(startDate), utc(endDate))).thenReturn(4L);
+
+        // When
+        ChangeFailureRateResponse response = metricsCalculationService.calculateChangeFailureRate(startDate, endDate);
+
+        // Then
+        assertThat(response.getChangeFailureRatePercentage()).isEqualTo(25.0);
+        verifyNoInteractions(deploymentRollupRepository, incidentRollupRepository);
     }
 
-    private Incident createMockIncident(Duration recoveryTime) {
-        LocalDateTime createdAt = LocalDateTime.now().minus(recoveryTime);
-        LocalDateTime resolvedAt = LocalDateTime.now();
-        return Incident.builder()
-                .createdAt(createdAt)
-                .resolvedAt(resolvedAt)
-                .status(IncidentStatus.RESOLVED)
-                .build();
+    private static Instant utc(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC);
     }
-}
\ No newline at end of file
+}
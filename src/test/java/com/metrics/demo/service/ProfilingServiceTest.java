@@ -0,0 +1,123 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.dto.response.ProfilingResponse;
+import com.metrics.demo.exception.ProfilingInProgressException;
+import com.metrics.demo.observability.MetricsCalculatedEvent;
+import com.metrics.demo.observability.SyncBatchWrittenEvent;
+import com.metrics.demo.service.impl.ProfilingServiceImpl;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProfilingServiceTest {
+
+    private final ProfilingServiceImpl profilingService = new ProfilingServiceImpl("default",
+            Duration.ofMinutes(10), DataSize.ofMegabytes(50), Duration.ofHours(1));
+
+    @TempDir
+    private Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        profilingService.shutdown();
+    }
+
+    @Test
+    void stopAndWriteRecording_ShouldContainTheApplicationEvents() throws Exception {
+        // Given
+        ProfilingResponse started = profilingService.start();
+        Instant rangeStart = Instant.parse("2024-01-01T00:00:00Z");
+        new MetricsCalculatedEvent("changeFailureRate", rangeStart, rangeStart.plus(Duration.ofDays(7)))
+                .calculated(120, 9, true);
+        SyncBatchWrittenEvent written = new SyncBatchWrittenEvent("GITHUB_ACTIONS", 100);
+        written.written(60, 30, 10);
+        written.commit();
+
+        // When
+        ProfilingResponse stopped = profilingService.stop().orElseThrow();
+        Path file = tempDir.resolve("profiling.jfr");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            profilingService.writeRecording(stopped.getRecordingId(), out);
+        }
+
+        // Then
+        assertThat(started.getState()).isEqualTo("RUNNING");
+        assertThat(stopped.getRecordingId()).isEqualTo(started.getRecordingId());
+        assertThat(stopped.getState()).isEqualTo("STOPPED");
+        assertThat(stopped.getMaxAge()).isEqualTo(Duration.ofMinutes(10));
+        assertThat(stopped.getMaxDuration()).isEqualTo(Duration.ofHours(1));
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent calculated = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.metrics.demo.MetricsCalculated"))
+                .findFirst().orElseThrow();
+        assertThat(calculated.getString("metric")).isEqualTo("changeFailureRate");
+        assertThat(calculated.getInstant("rangeStart")).isEqualTo(rangeStart);
+        assertThat(calculated.getLong("deployments")).isEqualTo(120);
+        assertThat(calculated.getLong("incidents")).isEqualTo(9);
+        assertThat(calculated.getBoolean("rolledUpDays")).isTrue();
+
+        RecordedEvent batch = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.metrics.demo.SyncBatchWritten"))
+                .findFirst().orElseThrow();
+        assertThat(batch.getInt("rows")).isEqualTo(100);
+        assertThat(batch.getInt("inserted")).isEqualTo(60);
+        assertThat(batch.getInt("skipped")).isEqualTo(10);
+
+        // A downloaded recording is discarded
+        assertThat(profilingService.getRecording()).isEmpty();
+    }
+
+    @Test
+    void writeRecording_ShouldLeaveOutTheEnvironmentAndSystemProperties() throws Exception {
+        // Given
+        ProfilingResponse started = profilingService.start();
+        profilingService.stop();
+
+        // When
+        Path file = tempDir.resolve("profiling.jfr");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            profilingService.writeRecording(started.getRecordingId(), out);
+        }
+
+        // Then: the default settings record these at every chunk, and they carry the API tokens
+        assertThat(RecordingFile.readAllEvents(file))
+                .isNotEmpty()
+                .extracting(event -> event.getEventType().getName())
+                .doesNotContain("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty",
+                        "jdk.JVMInformation", "jdk.SystemProcess");
+    }
+
+    @Test
+    void start_WhileRecording_ShouldBeRejected() {
+        // Given
+        long recordingId = profilingService.start().getRecordingId();
+
+        // When / Then
+        assertThatThrownBy(profilingService::start)
+                .isInstanceOf(ProfilingInProgressException.class)
+                .hasMessageContaining(Long.toString(recordingId));
+        assertThat(profilingService.getRecording()).get()
+                .extracting(ProfilingResponse::getState).isEqualTo("RUNNING");
+    }
+
+    @Test
+    void stop_WithoutRecording_ShouldBeEmpty() {
+        assertThat(profilingService.stop()).isEmpty();
+        assertThatThrownBy(() -> profilingService.writeRecording(1, OutputStream.nullOutputStream()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,180 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.dto.request.DatasetGenerationRequest;
+import com.metrics.demo.dto.response.ChangeFailureRateResponse;
+import com.metrics.demo.dto.response.CompactionResponse;
+import com.metrics.demo.dto.response.DeploymentDurationResponse;
+import com.metrics.demo.dto.response.MTTAResponse;
+import com.metrics.demo.dto.response.MTTRResponse;
+import com.metrics.demo.entity.Deployment;
+import com.metrics.demo.entity.Incident;
+import com.metrics.demo.repository.DeploymentDailyRollupRepository;
+import com.metrics.demo.repository.DeploymentDurationRollupRepository;
+import com.metrics.demo.repository.DeploymentRepository;
+import com.metrics.demo.repository.IncidentDailyRollupRepository;
+import com.metrics.demo.repository.IncidentRepository;
+import com.metrics.demo.repository.IncidentTransitionRepository;
+import com.metrics.demo.service.impl.DatasetGeneratorServiceImpl;
+import com.metrics.demo.service.impl.MetricsCalculationServiceImpl;
+import com.metrics.demo.service.impl.RetentionServiceImpl;
+import com.metrics.demo.service.impl.RollingWindowServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Compacts generated data against the real schema; compaction commits one
+ * transaction per day, so tests run outside a test-managed transaction.
+ */
+@DataJpaTest(properties = "retention.raw-data=P30D")
+@Import({DatasetGeneratorServiceImpl.class, RetentionServiceImpl.class, MetricsCalculationServiceImpl.class,
+        RollingWindowServiceImpl.class,
+        SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RetentionServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now(ZoneOffset.UTC);
+    private static final LocalDate CUTOFF = TODAY.minusDays(30);
+    private static final LocalDateTime FROM = TODAY.minusDays(60).atStartOfDay();
+    private static final LocalDateTime TO = TODAY.atStartOfDay();
+
+    @Autowired
+    private RetentionService retentionService;
+
+    @Autowired
+    private MetricsCalculationService metricsCalculationService;
+
+    @Autowired
+    private DatasetGeneratorService datasetGeneratorService;
+
+    @Autowired
+    private DeploymentRepository deploymentRepository;
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    @Autowired
+    private DeploymentDailyRollupRepository deploymentRollupRepository;
+
+    @Autowired
+    private IncidentDailyRollupRepository incidentRollupRepository;
+
+    @Autowired
+    private DeploymentDurationRollupRepository durationRollupRepository;
+
+    @Autowired
+    private IncidentTransitionRepository incidentTransitionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        String generationId = datasetGeneratorService.startGeneration(DatasetGenerationRequest.builder()
+                .deployments(6_000)
+                .incidents(1_500)
+                .from(FROM)
+                .to(TO)
+                .seed(37L)
+                .build()).getGenerationId();
+        await().atMost(Duration.ofSeconds(30)).until(() ->
+                datasetGeneratorService.getGeneration(generationId).orElseThrow().getFinishedAt() != null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        deploymentRepository.deleteAllInBatch();
+        incidentRepository.deleteAllInBatch();
+        deploymentRollupRepository.deleteAllInBatch();
+        incidentRollupRepository.deleteAllInBatch();
+        durationRollupRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void compact_ShouldFoldExpiredDaysIntoRollupsWithoutChangingMetrics() {
+        // Given
+        ChangeFailureRateResponse cfrBefore = metricsCalculationService.calculateChangeFailureRate(FROM, TO);
+        MTTRResponse mttrBefore = metricsCalculationService.calculateMeanTimeToRecovery(FROM, TO);
+        MTTAResponse mttaBefore = metricsCalculationService.calculateMeanTimeToAcknowledge(FROM, TO);
+        DeploymentDurationResponse durationBefore = metricsCalculationService.calculateDeploymentDuration(FROM, TO);
+        long deploymentsBefore = deploymentRepository.count();
+
+        // When
+        CompactionResponse result = retentionService.compact();
+
+        // Then: only days from the cutoff on are stored raw
+        assertThat(result.getCompactedBefore()).isEqualTo(CUTOFF);
+        assertThat(result.getDaysCompacted()).isEqualTo(30);
+        assertThat(deploymentRepository.count()).isEqualTo(deploymentsBefore - result.getDeploymentsCompacted());
+        assertThat(oldestRawDay()).isEqualTo(CUTOFF);
+        assertThat(deploymentRollupRepository.findLatestDay()).isEqualTo(CUTOFF.minusDays(1));
+
+        // Metrics over whole days are unchanged
+        ChangeFailureRateResponse cfrAfter = metricsCalculationService.calculateChangeFailureRate(FROM, TO);
+        MTTRResponse mttrAfter = metricsCalculationService.calculateMeanTimeToRecovery(FROM, TO);
+        MTTAResponse mttaAfter = metricsCalculationService.calculateMeanTimeToAcknowledge(FROM, TO);
+        DeploymentDurationResponse durationAfter = metricsCalculationService.calculateDeploymentDuration(FROM, TO);
+        assertThat(cfrAfter.getTotalDeployments()).isEqualTo(cfrBefore.getTotalDeployments());
+        assertThat(cfrAfter.getTotalIncidents()).isEqualTo(cfrBefore.getTotalIncidents());
+        assertThat(mttrAfter.getTotalResolvedIncidents()).isEqualTo(mttrBefore.getTotalResolvedIncidents());
+        assertThat(mttrAfter.getUnresolvedIncidents()).isEqualTo(mttrBefore.getUnresolvedIncidents());
+        assertThat(mttrAfter.getMeanTimeToRecoveryMinutes())
+                .isCloseTo(mttrBefore.getMeanTimeToRecoveryMinutes(), within(1e-9));
+        assertThat(mttaAfter.getTotalAcknowledgedIncidents()).isEqualTo(mttaBefore.getTotalAcknowledgedIncidents());
+        assertThat(mttaAfter.getMeanTimeToAcknowledgeMinutes())
+                .isCloseTo(mttaBefore.getMeanTimeToAcknowledgeMinutes(), within(1e-9));
+        assertThat(durationAfter.getTotalDeployments()).isEqualTo(deploymentsBefore);
+        assertThat(durationAfter.getWorkflows()).isEqualTo(durationBefore.getWorkflows());
+
+        // A second run has nothing left to fold
+        assertThat(retentionService.compact().getDaysCompacted()).isZero();
+    }
+
+    @Test
+    void isCompacted_ShouldDropEventsBeforeTheCutoffOnly() {
+        // When
+        retentionService.compact();
+
+        // Then
+        Instant cutoff = CUTOFF.atStartOfDay(ZoneOffset.UTC).toInstant();
+        assertThat(retentionService.isCompacted(cutoff.minusMillis(1))).isTrue();
+        assertThat(retentionService.isCompacted(cutoff)).isFalse();
+    }
+
+    @Test
+    void getCompactedBefore_ShouldBeRestoredFromTheRollupsAfterARestart() {
+        // Given
+        retentionService.compact();
+
+        // When
+        RetentionService restarted = new RetentionServiceImpl(deploymentRepository, incidentRepository,
+                deploymentRollupRepository, durationRollupRepository, incidentRollupRepository, incidentTransitionRepository, transactionManager,
+                Duration.ofDays(30));
+
+        // Then
+        assertThat(restarted.getCompactedBefore()).contains(CUTOFF);
+    }
+
+    private LocalDate oldestRawDay() {
+        Instant deployment = deploymentRepository.findFirstByOrderByTimestampAsc().map(Deployment::getTimestamp).orElseThrow();
+        Instant incident = incidentRepository.findFirstByOrderByCreatedAtAsc().map(Incident::getCreatedAt).orElseThrow();
+        return LocalDate.ofInstant(deployment.isBefore(incident) ? deployment : incident, ZoneOffset.UTC);
+    }
+}
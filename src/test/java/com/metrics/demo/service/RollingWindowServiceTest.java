@@ -0,0 +1,278 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.dto.request.DatasetGenerationRequest;
+import com.metrics.demo.entity.Incident;
+import com.metrics.demo.enums.IncidentStatus;
+import com.metrics.demo.repository.DeploymentDailyRollupRepository;
+import com.metrics.demo.repository.DeploymentRepository;
+import com.metrics.demo.repository.IncidentDailyRollupRepository;
+import com.metrics.demo.repository.IncidentRepository;
+import com.metrics.demo.repository.AcknowledgeStats;
+import com.metrics.demo.repository.RecoveryStats;
+import com.metrics.demo.service.impl.DatasetGeneratorServiceImpl;
+import com.metrics.demo.service.impl.RollingWindowServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Checks the counters against the database on generated data, and their
+ * window arithmetic on a clock the tests move. The generator commits its own
+ * batches, so tests run outside a test-managed transaction.
+ */
+@DataJpaTest
+@Import({DatasetGeneratorServiceImpl.class, RollingWindowServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RollingWindowServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T12:00:30Z");
+
+    @Autowired
+    private RollingWindowService rollingWindowService;
+
+    @Autowired
+    private DatasetGeneratorService datasetGeneratorService;
+
+    @Autowired
+    private DeploymentRepository deploymentRepository;
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    @Autowired
+    private DeploymentDailyRollupRepository deploymentRollupRepository;
+
+    @Autowired
+    private IncidentDailyRollupRepository incidentRollupRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private MutableClock clock;
+
+    private RollingWindowServiceImpl counters;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW);
+        counters = new RollingWindowServiceImpl(deploymentRepository, incidentRepository,
+                deploymentRollupRepository, incidentRollupRepository, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        deploymentRepository.deleteAllInBatch();
+        incidentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getCounts_ShouldMatchTheDatabaseWhenIngestedAndWhenRebuilt() {
+        // Given: data over the last 100 days, counted by the generator as it is written
+        rollingWindowService.rebuild();
+        LocalDateTime to = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+        String generationId = datasetGeneratorService.startGeneration(DatasetGenerationRequest.builder()
+                .deployments(20_000)
+                .incidents(4_000)
+                .from(to.minusDays(100))
+                .to(to)
+                .seed(43L)
+                .build()).getGenerationId();
+        await().atMost(Duration.ofSeconds(30)).until(() ->
+                datasetGeneratorService.getGeneration(generationId).orElseThrow().getFinishedAt() != null);
+
+        // When / Then
+        assertCountsMatchDatabase();
+        rollingWindowService.rebuild();
+        assertCountsMatchDatabase();
+    }
+
+    @Test
+    void getCounts_ShouldDropRowsAsTheyAgeOutOfEachWindow() {
+        // Given
+        RollingWindowDelta delta = new RollingWindowDelta();
+        delta.addDeployment(NOW.minus(Duration.ofDays(8)).toEpochMilli());
+        delta.addDeployment(NOW.minus(Duration.ofHours(1)).toEpochMilli());
+        delta.addIncident(NOW.minus(Duration.ofDays(2)).toEpochMilli(), true, 1_800, true, 300);
+        delta.addIncident(NOW.minus(Duration.ofDays(2)).toEpochMilli(), false, 0, false, 0);
+        delta.addDeployment(NOW.minus(Duration.ofDays(91)).toEpochMilli());
+        counters.apply(delta);
+
+        // When / Then
+        assertThat(counters.getCounts("7d").orElseThrow())
+                .returns(1L, RollingWindowCounts::deployments)
+                .returns(2L, RollingWindowCounts::incidents)
+                .returns(new RecoveryStats(1, 1_800), RollingWindowCounts::recovery)
+                .returns(new AcknowledgeStats(1, 300), RollingWindowCounts::acknowledgement);
+        assertThat(counters.getCounts("30d").orElseThrow().deployments()).isEqualTo(2);
+
+        clock.advance(Duration.ofDays(6));
+        assertThat(counters.getCounts("7d").orElseThrow())
+                .returns(1L, RollingWindowCounts::deployments)
+                .returns(0L, RollingWindowCounts::incidents)
+                .returns(new RecoveryStats(0, 0), RollingWindowCounts::recovery)
+                .returns(new AcknowledgeStats(0, 0), RollingWindowCounts::acknowledgement);
+
+        clock.advance(Duration.ofDays(60));
+        assertThat(counters.getCounts("30d").orElseThrow().deployments()).isZero();
+        assertThat(counters.getCounts("90d").orElseThrow())
+                .returns(2L, RollingWindowCounts::deployments)
+                .returns(2L, RollingWindowCounts::incidents);
+
+        clock.advance(Duration.ofDays(365));
+        assertThat(counters.getCounts("90d").orElseThrow().deployments()).isZero();
+    }
+
+    @Test
+    void getCounts_ShouldCountRowsDatedAheadOnceTheirMinuteComes() {
+        // Given
+        RollingWindowDelta delta = new RollingWindowDelta();
+        delta.addDeployment(NOW.plus(Duration.ofMinutes(30)).toEpochMilli());
+        counters.apply(delta);
+        assertThat(counters.getCounts("7d").orElseThrow().deployments()).isZero();
+
+        // When
+        clock.advance(Duration.ofMinutes(30));
+
+        // Then
+        assertThat(counters.getCounts("7d").orElseThrow().deployments()).isEqualTo(1);
+    }
+
+    @Test
+    void apply_ShouldCountAnIncidentAsAcknowledgedOnceItIsUpdated() {
+        // Given
+        Incident incident = Incident.builder()
+                .incidentId("PD2")
+                .status(IncidentStatus.TRIGGERED)
+                .createdAt(NOW.minus(Duration.ofHours(2)))
+                .build();
+        RollingWindowDelta inserted = new RollingWindowDelta();
+        inserted.addIncident(incident);
+        counters.apply(inserted);
+
+        // When
+        RollingWindowDelta updated = new RollingWindowDelta();
+        updated.removeIncident(incident);
+        incident.setStatus(IncidentStatus.ACKNOWLEDGED);
+        incident.setAcknowledgedAt(NOW.minus(Duration.ofMinutes(110)));
+        updated.addIncident(incident);
+        counters.apply(updated);
+
+        // Then
+        assertThat(counters.getCounts("7d").orElseThrow())
+                .returns(1L, RollingWindowCounts::incidents)
+                .returns(new RecoveryStats(0, 0), RollingWindowCounts::recovery)
+                .returns(new AcknowledgeStats(1, 600), RollingWindowCounts::acknowledgement);
+    }
+
+    @Test
+    void apply_ShouldMoveAnUpdatedIncidentBetweenResolvedAndUnresolved() {
+        // Given
+        Incident incident = Incident.builder()
+                .incidentId("PD1")
+                .status(IncidentStatus.TRIGGERED)
+                .createdAt(NOW.minus(Duration.ofHours(3)))
+                .resolvedAt(NOW.minus(Duration.ofHours(1)))
+                .build();
+        RollingWindowDelta inserted = new RollingWindowDelta();
+        inserted.addIncident(incident);
+        counters.apply(inserted);
+
+        // When
+        RollingWindowDelta updated = new RollingWindowDelta();
+        updated.removeIncident(incident);
+        incident.setStatus(IncidentStatus.RESOLVED);
+        updated.addIncident(incident);
+        counters.apply(updated);
+
+        // Then
+        assertThat(counters.getCounts("7d").orElseThrow())
+                .returns(1L, RollingWindowCounts::incidents)
+                .returns(new RecoveryStats(1, 7_200), RollingWindowCounts::recovery);
+    }
+
+    @Test
+    void apply_WithinATransaction_ShouldCountRowsOnlyOnceCommitted() {
+        // Given
+        RollingWindowDelta rolledBack = new RollingWindowDelta();
+        rolledBack.addDeployment(NOW.toEpochMilli());
+        RollingWindowDelta committed = new RollingWindowDelta();
+        committed.addDeployment(NOW.toEpochMilli());
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            counters.apply(rolledBack);
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            counters.apply(committed);
+            assertThat(counters.getCounts("7d").orElseThrow().deployments()).isZero();
+        });
+
+        // Then
+        assertThat(counters.getCounts("7d").orElseThrow().deployments()).isEqualTo(1);
+        assertThat(counters.getCounts("custom")).isEmpty();
+    }
+
+    private void assertCountsMatchDatabase() {
+        for (String range : List.of("7d", "30d", "90d")) {
+            RollingWindowCounts counts = rollingWindowService.getCounts(range).orElseThrow();
+            Instant start = counts.startDate().toInstant(ZoneOffset.UTC);
+            Instant end = counts.endDate().toInstant(ZoneOffset.UTC);
+
+            assertThat(counts.deployments()).as(range).isPositive()
+                    .isEqualTo(deploymentRepository.countByTimestampBetween(start, end));
+            assertThat(counts.incidents()).as(range)
+                    .isEqualTo(incidentRepository.countByCreatedAtBetween(start, end));
+            assertThat(counts.recovery()).as(range)
+                    .isEqualTo(incidentRepository.aggregateRecoveryBetween(start, end));
+            assertThat(counts.acknowledgement()).as(range)
+                    .isEqualTo(incidentRepository.aggregateAcknowledgeBetween(start, end));
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
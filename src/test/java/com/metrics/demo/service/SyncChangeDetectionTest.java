@@ -0,0 +1,278 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.entity.Deployment;
+import com.metrics.demo.entity.Incident;
+import com.metrics.demo.entity.IncidentTransition;
+import com.metrics.demo.enums.IncidentStatus;
+import com.metrics.demo.enums.SyncJobType;
+import com.metrics.demo.enums.SyncSource;
+import com.metrics.demo.integration.ApiRateLimiters;
+import com.metrics.demo.integration.DeploymentClassifier;
+import com.metrics.demo.integration.ExternalApiGuard;
+import com.metrics.demo.loadtest.VendorApiSimulator;
+import com.metrics.demo.observability.SyncMetrics;
+import com.metrics.demo.repository.DeploymentRepository;
+import com.metrics.demo.repository.IncidentRepository;
+import com.metrics.demo.repository.IncidentTransitionRepository;
+import com.metrics.demo.service.impl.GitHubActionsServiceImpl;
+import com.metrics.demo.service.impl.PagerDutyServiceImpl;
+import com.metrics.demo.util.DurationSketch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Syncs from the embedded vendor simulator twice and checks that records
+ * whose content is unchanged are skipped without being written, that run
+ * timings are stored, and that incident status changes are applied and logged. Pages commit
+ * in their own transactions, so tests run outside a test-managed one.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SyncChangeDetectionTest {
+
+    private static final int WORKFLOW_RUNS = 300;
+    private static final int INCIDENTS = 200;
+
+    private static final VendorApiSimulator SIMULATOR = startSimulator();
+
+    @Autowired
+    private DeploymentRepository deploymentRepository;
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    @Autowired
+    private IncidentTransitionRepository incidentTransitionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private GitHubActionsServiceImpl gitHubActionsService;
+
+    private PagerDutyServiceImpl pagerDutyService;
+
+    @BeforeEach
+    void setUp() {
+        ExternalApiGuard externalApiGuard = new ExternalApiGuard(
+                new ApiRateLimiters(60_000, 60_000, Duration.ofSeconds(1)), 0, Duration.ofMillis(1),
+                Duration.ofMillis(5), Duration.ofSeconds(10), 50, 20, Duration.ofMinutes(1), 4);
+        SyncMetrics syncMetrics = new SyncMetrics(new SimpleMeterRegistry());
+
+        gitHubActionsService = new GitHubActionsServiceImpl(deploymentRepository, WebClient.builder(),
+                mock(SyncJobService.class), transactionTemplate, externalApiGuard, syncMetrics,
+                mock(RetentionService.class), mock(RollingWindowService.class),
+                new DeploymentClassifier(List.of(), List.of(), List.of(), List.of(), true));
+        ReflectionTestUtils.setField(gitHubActionsService, "apiToken", "simulator");
+        ReflectionTestUtils.setField(gitHubActionsService, "baseUrl", SIMULATOR.getBaseUrl());
+        ReflectionTestUtils.setField(gitHubActionsService, "repositoryOwner", "acme");
+        ReflectionTestUtils.setField(gitHubActionsService, "repositoryName", "shop");
+        ReflectionTestUtils.invokeMethod(gitHubActionsService, "initWebClient");
+
+        pagerDutyService = new PagerDutyServiceImpl(incidentRepository, incidentTransitionRepository, WebClient.builder(),
+                mock(SyncJobService.class), transactionTemplate, externalApiGuard, syncMetrics,
+                mock(RetentionService.class), mock(RollingWindowService.class));
+        ReflectionTestUtils.setField(pagerDutyService, "apiToken", "simulator");
+        ReflectionTestUtils.setField(pagerDutyService, "baseUrl", SIMULATOR.getBaseUrl());
+        ReflectionTestUtils.invokeMethod(pagerDutyService, "initWebClient");
+    }
+
+    @AfterEach
+    void tearDown() {
+        deploymentRepository.deleteAllInBatch();
+        incidentRepository.deleteAllInBatch();
+        incidentTransitionRepository.deleteAllInBatch();
+    }
+
+    @AfterAll
+    static void stopSimulator() {
+        SIMULATOR.close();
+    }
+
+    @Test
+    void syncRange_WhenWorkflowRunsAreUnchanged_ShouldSkipThem() {
+        // Given
+        SyncJobContext first = syncGitHub();
+        Deployment changed = deploymentRepository.findAll().get(0);
+        jdbcTemplate.update("UPDATE deployments SET workflow_name = 'Stale', source_fingerprint = 0 WHERE id = ?",
+                changed.getId());
+        Map<Long, LocalDateTime> updatedBefore = recordUpdatedAt();
+
+        // When
+        SyncJobContext second = syncGitHub();
+
+        // Then
+        assertThat(first.getRowsInserted()).isEqualTo(WORKFLOW_RUNS);
+        assertThat(second.getRowsInserted()).isZero();
+        assertThat(second.getRowsUpdated()).isEqualTo(1);
+        assertThat(second.getRowsSkipped()).isEqualTo(WORKFLOW_RUNS - 1);
+        Deployment restored = deploymentRepository.findById(changed.getId()).orElseThrow();
+        assertThat(restored.getWorkflowName()).isEqualTo(changed.getWorkflowName());
+        assertThat(restored.getSourceFingerprint()).isEqualTo(changed.getSourceFingerprint());
+        Map<Long, LocalDateTime> updatedAfter = recordUpdatedAt();
+        updatedBefore.remove(changed.getId());
+        updatedAfter.remove(changed.getId());
+        assertThat(updatedAfter).isEqualTo(updatedBefore);
+    }
+
+    @Test
+    void syncRange_ShouldStoreTheQueueTimeAndDurationOfRuns() {
+        // When
+        syncGitHub();
+
+        // Then
+        assertThat(deploymentRepository.findAll()).hasSize(WORKFLOW_RUNS).allSatisfy(deployment -> {
+            assertThat(deployment.getQueueSeconds()).isBetween(0, 29);
+            assertThat(deployment.getDurationSeconds()).isBetween(240, 839);
+            assertThat(deployment.getDurationBucket())
+                    .isEqualTo(DurationSketch.bucketOf(deployment.getDurationSeconds()));
+        });
+    }
+
+    @Test
+    void syncRange_WhenIncidentsAreUnchanged_ShouldSkipThem() {
+        // Given
+        SyncJobContext first = syncPagerDuty();
+        Incident changed = incidentRepository.findAll().get(0);
+        jdbcTemplate.update("UPDATE incidents SET title = 'Stale', source_fingerprint = NULL WHERE id = ?",
+                changed.getId());
+
+        // When
+        SyncJobContext second = syncPagerDuty();
+
+        // Then
+        assertThat(first.getRowsInserted()).isEqualTo(INCIDENTS);
+        assertThat(second.getRowsInserted()).isZero();
+        assertThat(second.getRowsUpdated()).isEqualTo(1);
+        assertThat(second.getRowsSkipped()).isEqualTo(INCIDENTS - 1);
+        assertThat(incidentRepository.findById(changed.getId()).orElseThrow())
+                .returns(changed.getTitle(), Incident::getTitle)
+                .returns(changed.getSourceFingerprint(), Incident::getSourceFingerprint);
+    }
+
+    @Test
+    void syncRange_WhenAStoredIncidentWasResolved_ShouldFillItsResolutionAndRecordTheTransition() {
+        // Given: the incident was stored while still triggered
+        syncPagerDuty();
+        Incident resolved = incidentRepository.findAll().stream()
+                .filter(incident -> incident.getStatus() == IncidentStatus.RESOLVED)
+                .findFirst().orElseThrow();
+        jdbcTemplate.update("UPDATE incidents SET status = 'TRIGGERED', acknowledged_at = NULL, resolved_at = NULL, "
+                + "recovery_seconds = NULL, acknowledge_seconds = NULL, source_fingerprint = NULL WHERE id = ?",
+                resolved.getId());
+
+        // When
+        SyncJobContext second = syncPagerDuty();
+
+        // Then
+        assertThat(second.getRowsUpdated()).isEqualTo(1);
+        assertThat(incidentRepository.findById(resolved.getId()).orElseThrow())
+                .returns(IncidentStatus.RESOLVED, Incident::getStatus)
+                .returns(resolved.getResolvedAt(), Incident::getResolvedAt)
+                .returns(resolved.getRecoverySeconds(), Incident::getRecoverySeconds)
+                .returns(resolved.getAcknowledgeSeconds(), Incident::getAcknowledgeSeconds);
+        assertThat(incidentTransitionRepository.findByIncidentIdOrderByIdAsc(resolved.getIncidentId()))
+                .extracting(IncidentTransition::getFromStatus, IncidentTransition::getToStatus,
+                        IncidentTransition::getOccurredAt)
+                .containsExactly(
+                        tuple(null, IncidentStatus.RESOLVED, resolved.getResolvedAt()),
+                        tuple(IncidentStatus.TRIGGERED, IncidentStatus.RESOLVED, resolved.getResolvedAt()));
+        assertThat(incidentTransitionRepository.count()).isEqualTo(INCIDENTS + 1);
+        assertThat(incidentTransitionRepository.findAll()).allMatch(transition -> transition.getObservedAt() != null);
+    }
+
+    @Test
+    void syncRange_WhenTheVendorReportsNoStatusTimes_ShouldNotTakeTheSyncTimeForThem() throws IOException {
+        // Given
+        try (VendorApiSimulator simulator = new VendorApiSimulator(VendorApiSimulator.Config.builder()
+                .workflowRuns(0)
+                .incidents(INCIDENTS)
+                .latency(Duration.ZERO)
+                .latencyJitter(Duration.ZERO)
+                .incidentStatusTimes(false)
+                .build())) {
+            ReflectionTestUtils.setField(pagerDutyService, "baseUrl", simulator.getBaseUrl());
+            ReflectionTestUtils.invokeMethod(pagerDutyService, "initWebClient");
+            Instant before = Instant.now();
+
+            // When
+            SyncJobContext context = new SyncJobContext(SyncSource.PAGERDUTY, SyncJobType.INCREMENTAL, null,
+                    checkpoint -> { });
+            pagerDutyService.syncRange(simulator.getStart().minusMinutes(1), simulator.getEnd().plusMinutes(1),
+                    context);
+
+            // Then: resolved incidents stay out of MTTR, and the log keeps only when the change was seen
+            assertThat(context.getRowsInserted()).isEqualTo(INCIDENTS);
+            List<Incident> resolved = incidentRepository.findAll().stream()
+                    .filter(incident -> incident.getStatus() == IncidentStatus.RESOLVED)
+                    .toList();
+            assertThat(resolved).isNotEmpty()
+                    .allMatch(incident -> incident.getResolvedAt() == null && incident.getRecoverySeconds() == null);
+            assertThat(incidentTransitionRepository.findAll())
+                    .filteredOn(transition -> transition.getToStatus() == IncidentStatus.RESOLVED)
+                    .hasSize(resolved.size())
+                    .allMatch(transition -> transition.getOccurredAt() == null
+                            && !transition.getObservedAt().isBefore(before.truncatedTo(ChronoUnit.MILLIS)));
+        }
+    }
+
+    private Map<Long, LocalDateTime> recordUpdatedAt() {
+        return deploymentRepository.findAll().stream()
+                .collect(Collectors.toMap(Deployment::getId, Deployment::getRecordUpdatedAt));
+    }
+
+    private SyncJobContext syncGitHub() {
+        SyncJobContext context = new SyncJobContext(SyncSource.GITHUB_ACTIONS, SyncJobType.INCREMENTAL, null,
+                checkpoint -> { });
+        gitHubActionsService.syncRange(SIMULATOR.getStart().minusMinutes(1), SIMULATOR.getEnd().plusMinutes(1),
+                context);
+        return context;
+    }
+
+    private SyncJobContext syncPagerDuty() {
+        SyncJobContext context = new SyncJobContext(SyncSource.PAGERDUTY, SyncJobType.INCREMENTAL, null,
+                checkpoint -> { });
+        pagerDutyService.syncRange(SIMULATOR.getStart().minusMinutes(1), SIMULATOR.getEnd().plusMinutes(1),
+                context);
+        return context;
+    }
+
+    private static VendorApiSimulator startSimulator() {
+        try {
+            return new VendorApiSimulator(VendorApiSimulator.Config.builder()
+                    .workflowRuns(WORKFLOW_RUNS)
+                    .incidents(INCIDENTS)
+                    .latency(Duration.ZERO)
+                    .latencyJitter(Duration.ZERO)
+                    .build());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the vendor API simulator", e);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.metrics.demo.service;
+
+import com.metrics.demo.entity.SyncJobRun;
+import com.metrics.demo.enums.SyncJobStatus;
+import com.metrics.demo.enums.SyncJobType;
+import com.metrics.demo.enums.SyncSource;
+import com.metrics.demo.repository.SyncJobRunRepository;
+import com.metrics.demo.service.impl.SyncJobServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SyncJobServiceTest {
+
+    @Mock
+    private SyncJobRunRepository syncJobRunRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private final List<Object> publishedEvents = new CopyOnWriteArrayList<>();
+
+    private SyncJobServiceImpl syncJobService;
+
+    private final LocalDateTime windowStart = LocalDateTime.of(2025, 6, 1, 0, 0);
+    private final LocalDateTime windowEnd = LocalDateTime.of(2025, 6, 2, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        syncJobService = new SyncJobServiceImpl(syncJobRunRepository, meterRegistry, publishedEvents::add,
+                transactionManager);
+        lenient().when(syncJobRunRepository.save(any(SyncJobRun.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void runJob_WhenWorkSucceeds_ShouldRecordCountersAndMetrics() {
+        // When
+        SyncJobRun run = syncJobService.runJob(SyncSource.GITHUB_ACTIONS, SyncJobType.INCREMENTAL,
+                windowStart, windowEnd, context -> {
+                    context.pageFetched(2);
+                    context.rowsInserted(1);
+                    context.rowsUpdated(1);
+                    context.checkpoint("1");
+                });
+
+        // Then
+        assertThat(run.getStatus()).isEqualTo(SyncJobStatus.SUCCEEDED);
+        assertThat(run.getPagesFetched()).isEqualTo(1);
+        assertThat(run.getRowsFetched()).isEqualTo(2);
+        assertThat(run.getRowsInserted()).isEqualTo(1);
+        assertThat(run.getRowsUpdated()).isEqualTo(1);
+        assertThat(run.getCheckpoint()).isEqualTo("1");
+        assertThat(run.getFinishedAt()).isNotNull();
+        assertThat(meterRegistry.get("sync.job.duration").tag("status", "SUCCEEDED").timer().count())
+                .isEqualTo(1);
+        assertThat(publishedEvents).containsExactly(new SyncJobCompletedEvent(run));
+    }
+
+    @Test
+    void runJob_WhenNothingChanged_ShouldNotPublishCompletion() {
+        // When
+        syncJobService.runJob(SyncSource.PAGERDUTY, SyncJobType.INCREMENTAL,
+                windowStart, windowEnd, context -> context.pageFetched(0));
+
+        // Then
+        assertThat(publishedEvents).isEmpty();
+    }
+
+    @Test
+    void runJob_WhenWorkThrows_ShouldRecordFailureInsteadOfPropagating() {
+        // When
+        SyncJobRun run = syncJobService.runJob(SyncSource.PAGERDUTY, SyncJobType.INCREMENTAL,
+                windowStart, windowEnd, context -> {
+                    throw new IllegalStateException("PagerDuty returned 503");
+                });
+
+        // Then
+        assertThat(run.getStatus()).isEqualTo(SyncJobStatus.FAILED);
+        assertThat(run.getErrorMessage()).isEqualTo("PagerDuty returned 503");
+        assertThat(run.getErrorCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reserve_ShouldHoldTheSourceUntilTheReservedJobFinishes() {
+        // Given
+        SyncJobReservation reservation = syncJobService.reserve(SyncSource.GITHUB_ACTIONS).orElseThrow();
+
+        // When
+        SyncJobRun skipped = syncJobService.runJob(SyncSource.GITHUB_ACTIONS, SyncJobType.INCREMENTAL,
+                windowStart, windowEnd, context -> {
+                    throw new AssertionError("A reserved source must not run other jobs");
+                });
+        Optional<SyncJobReservation> second = syncJobService.reserve(SyncSource.GITHUB_ACTIONS);
+        AtomicBoolean runningDuringReservedJob = new AtomicBoolean();
+        SyncJobRun reserved = syncJobService.runJob(reservation, SyncJobType.BACKFILL, windowStart, windowEnd,
+                context -> runningDuringReservedJob.set(syncJobService.isRunning(SyncSource.GITHUB_ACTIONS)));
+
+        // Then
+        assertThat(skipped.getStatus()).isEqualTo(SyncJobStatus.SKIPPED);
+        assertThat(second).isEmpty();
+        assertThat(reserved.getStatus()).isEqualTo(SyncJobStatus.SUCCEEDED);
+        assertThat(runningDuringReservedJob).isTrue();
+        assertThat(syncJobService.isRunning(SyncSource.GITHUB_ACTIONS)).isFalse();
+        assertThatThrownBy(() -> syncJobService.runJob(reservation, SyncJobType.BACKFILL, windowStart, windowEnd,
+                context -> { })).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void reserve_WhenClosedWithoutRunning_ShouldReleaseTheSource() {
+        // Given
+        SyncJobReservation reservation = syncJobService.reserve(SyncSource.PAGERDUTY).orElseThrow();
+
+        // When
+        reservation.close();
+        reservation.close();
+
+        // Then
+        assertThat(syncJobService.isRunning(SyncSource.PAGERDUTY)).isFalse();
+        assertThat(syncJobService.runJob(SyncSource.PAGERDUTY, SyncJobType.INCREMENTAL, windowStart, windowEnd,
+                context -> { }).getStatus()).isEqualTo(SyncJobStatus.SUCCEEDED);
+        assertThatThrownBy(() -> syncJobService.runJob(reservation, SyncJobType.BACKFILL, windowStart, windowEnd,
+                context -> { })).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void runJob_WhenSameSourceIsRunning_ShouldSkip() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> syncJobService.runJob(SyncSource.GITHUB_ACTIONS, SyncJobType.BACKFILL,
+                    windowStart, windowEnd, context -> {
+                        started.countDown();
+                        awaitQuietly(release);
+                    }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When
+            SyncJobRun skipped = syncJobService.runJob(SyncSource.GITHUB_ACTIONS, SyncJobType.INCREMENTAL,
+                    windowStart, windowEnd, context -> {
+                        throw new AssertionError("Overlapping run must not execute");
+                    });
+            SyncJobRun otherSource = syncJobService.runJob(SyncSource.PAGERDUTY, SyncJobType.INCREMENTAL,
+                    windowStart, windowEnd, context -> { });
+
+            // Then
+            assertThat(skipped.getStatus()).isEqualTo(SyncJobStatus.SKIPPED);
+            assertThat(otherSource.getStatus()).isEqualTo(SyncJobStatus.SUCCEEDED);
+            assertThat(syncJobService.isRunning(SyncSource.GITHUB_ACTIONS)).isTrue();
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void runJob_WhenFailedRunHasCheckpoint_ShouldResumeFromIt() {
+        // Given
+        SyncJobRun failed = SyncJobRun.builder()
+                .id(7L)
+                .source(SyncSource.GITHUB_ACTIONS)
+                .jobType(SyncJobType.BACKFILL)
+                .status(SyncJobStatus.FAILED)
+                .windowStart(windowStart)
+                .windowEnd(windowEnd)
+                .checkpoint("3")
+                .build();
+        when(syncJobRunRepository.findFirstBySourceAndJobTypeAndWindowStartAndWindowEndAndStatusOrderByStartedAtDesc(
+                SyncSource.GITHUB_ACTIONS, SyncJobType.BACKFILL, windowStart, windowEnd, SyncJobStatus.FAILED))
+                .thenReturn(Optional.of(failed));
+        when(syncJobRunRepository.existsByResumedFromRunId(7L)).thenReturn(false);
+        AtomicReference<String> resumedFrom = new AtomicReference<>();
+
+        // When
+        SyncJobRun run = syncJobService.runJob(SyncSource.GITHUB_ACTIONS, SyncJobType.BACKFILL,
+                windowStart, windowEnd, context -> resumedFrom.set(context.getResumeCheckpoint()));
+
+        // Then
+        assertThat(resumedFrom.get()).isEqualTo("3");
+        assertThat(run.getResumedFromRunId()).isEqualTo(7L);
+        assertThat(run.getCheckpoint()).isEqualTo("3");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
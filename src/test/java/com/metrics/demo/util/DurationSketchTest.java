@@ -0,0 +1,46 @@
+package com.metrics.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DurationSketchTest {
+
+    @Test
+    void valueOf_ShouldReportEveryDurationWithinOnePercentAndRounding() {
+        for (long seconds = 0; seconds <= 100_000; seconds++) {
+            long reported = DurationSketch.valueOf(DurationSketch.bucketOf(seconds));
+            assertThat((double) reported).isCloseTo(seconds, within(seconds * 0.01 + 0.5));
+        }
+        assertThat(DurationSketch.bucketOf(-5)).isZero();
+    }
+
+    @Test
+    void quantile_ShouldMatchTheExactPercentilesWithinOnePercent() {
+        // Given
+        SplittableRandom random = new SplittableRandom(7);
+        long[] durations = new long[10_000];
+        DurationSketch sketch = new DurationSketch();
+        for (int i = 0; i < durations.length; i++) {
+            durations[i] = Math.round(480 * Math.exp(0.6 * random.nextGaussian()));
+            sketch.add(DurationSketch.bucketOf(durations[i]), 1);
+        }
+        Arrays.sort(durations);
+
+        // When / Then
+        assertThat(sketch.count()).isEqualTo(durations.length);
+        for (double quantile : new double[]{0.5, 0.9, 0.99}) {
+            long exact = durations[(int) Math.ceil(quantile * durations.length) - 1];
+            assertThat((double) sketch.quantile(quantile)).isCloseTo(exact, within(exact * 0.01 + 0.5));
+        }
+    }
+
+    @Test
+    void quantile_OfAnEmptySketch_ShouldBeNull() {
+        assertThat(new DurationSketch().quantile(0.5)).isNull();
+    }
+}
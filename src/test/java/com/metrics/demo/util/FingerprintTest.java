@@ -0,0 +1,40 @@
+package com.metrics.demo.util;
+
+import com.metrics.demo.enums.DeploymentStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FingerprintTest {
+
+    @Test
+    void of_ShouldBeStableForEqualFields() {
+        assertThat(Fingerprint.of(DeploymentStatus.SUCCESS, "shop", "abc123"))
+                .isEqualTo(Fingerprint.of(DeploymentStatus.SUCCESS, "shop", "abc123"));
+        assertThat(Fingerprint.of(DeploymentStatus.SUCCESS)).isEqualTo(Fingerprint.of("SUCCESS"));
+    }
+
+    @Test
+    void of_ShouldHashIntegersAsTheirDecimalDigits() {
+        for (long value : new long[]{0, 7, 495, -12, 1_234_567_890_123L, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertThat(Fingerprint.of(value)).isEqualTo(Fingerprint.of(Long.toString(value)));
+        }
+        assertThat(Fingerprint.of(495)).isEqualTo(Fingerprint.of("495"));
+        assertThat(Fingerprint.of(Instant.ofEpochSecond(1_717_236_930, 123_000_000)))
+                .isEqualTo(Fingerprint.of("1717236930.123000000"))
+                .isNotEqualTo(Fingerprint.of(Instant.ofEpochSecond(1_717_236_930, 124_000_000)));
+    }
+
+    @Test
+    void of_ShouldTellFieldsApart() {
+        assertThat(Fingerprint.of("ab", "c")).isNotEqualTo(Fingerprint.of("a", "bc"));
+        assertThat(Fingerprint.of((Object) null)).isNotEqualTo(Fingerprint.of(""));
+        assertThat(Fingerprint.of("shop", null)).isNotEqualTo(Fingerprint.of(null, "shop"));
+        assertThat(Fingerprint.of(DeploymentStatus.SUCCESS, "shop"))
+                .isNotEqualTo(Fingerprint.of(DeploymentStatus.FAILURE, "shop"));
+        // Characters beyond Latin-1 hash both bytes
+        assertThat(Fingerprint.of("Ł")).isNotEqualTo(Fingerprint.of("A"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.metrics.demo.util;
+
+import com.metrics.demo.exception.TimestampParseException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Rfc3339Test {
+
+    @Test
+    void parseEpochSecond_ShouldMatchJavaTimeAcrossTheCalendar() {
+        // Given: random instants from 1900 to 2100 with random offsets
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long epochSecond = -2_208_988_800L + (long) (random.nextDouble() * 6_311_433_600L);
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds((random.nextInt(48) - 24) * 1800);
+            String text = OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), offset)
+                    .format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+
+            // When / Then
+            assertThat(Rfc3339.parseEpochSecond(text)).as(text).isEqualTo(epochSecond);
+        }
+    }
+
+    @Test
+    void parseUtcDateTime_ShouldConvertOffsetsAndKeepFractions() {
+        assertThat(Rfc3339.parseUtcDateTime("2025-06-01T10:15:30Z"))
+                .isEqualTo(LocalDateTime.of(2025, 6, 1, 10, 15, 30));
+        assertThat(Rfc3339.parseUtcDateTime("2025-06-01T12:15:30.5+02:00"))
+                .isEqualTo(LocalDateTime.of(2025, 6, 1, 10, 15, 30, 500_000_000));
+        assertThat(Rfc3339.parseUtcDateTime("2025-01-01t00:30:00-01:00"))
+                .isEqualTo(LocalDateTime.of(2025, 1, 1, 1, 30));
+        assertThat(Rfc3339.parseUtcDateTime("2024-02-29 23:59:59.1234567891z"))
+                .isEqualTo(LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_789));
+    }
+
+    @Test
+    void parseInstant_ShouldMatchInstantParse() {
+        assertThat(Rfc3339.parseInstant("2025-06-01T10:15:30.123456Z"))
+                .isEqualTo(Instant.parse("2025-06-01T10:15:30.123456Z"));
+        assertThat(Rfc3339.parseInstant("1969-12-31T23:59:59.999Z"))
+                .isEqualTo(Instant.parse("1969-12-31T23:59:59.999Z"));
+    }
+
+    @Test
+    void parseEpochSecond_ShouldReadLeapSecondAsTheLastSecondOfTheMinute() {
+        assertThat(Rfc3339.parseEpochSecond("2016-12-31T23:59:60Z"))
+                .isEqualTo(Rfc3339.parseEpochSecond("2016-12-31T23:59:59Z"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "2025-06-01",
+            "2025-06-01T10:15:30",
+            "2025-06-01T10:15:30.Z",
+            "2025-06-01T10:15:30+02",
+            "2025-06-01T10:15:30+0200",
+            "2025-06-01T10:15:30+24:00",
+            "2025-06-01T10:15:30ZZ",
+            "2025-06-01T10:15:30Z ",
+            "2025-13-01T10:15:30Z",
+            "2025-02-29T10:15:30Z",
+            "1900-02-29T10:15:30Z",
+            "2025-06-31T10:15:30Z",
+            "2025-06-01T24:00:00Z",
+            "2025-06-01T10:60:00Z",
+            "2025-06-01T10:15:61Z",
+            "2025/06/01T10:15:30Z",
+            "2025-06-01X10:15:30Z",
+            "+2025-06-01T10:15:30Z",
+            "2025-06-0lT10:15:30Z"
+    })
+    void parseEpochSecond_ShouldRejectInvalidTimestamps(String text) {
+        assertThatThrownBy(() -> Rfc3339.parseEpochSecond(text))
+                .isInstanceOf(TimestampParseException.class)
+                .hasMessageContaining(text);
+    }
+
+    @Test
+    void parseEpochSecond_ShouldReportTheOffendingIndex() {
+        assertThatThrownBy(() -> Rfc3339.parseEpochSecond("2025-06-01T10:1x:30Z"))
+                .isInstanceOfSatisfying(TimestampParseException.class, e -> {
+                    assertThat(e.getErrorIndex()).isEqualTo(15);
+                    assertThat(e.getInput()).isEqualTo("2025-06-01T10:1x:30Z");
+                });
+        assertThatThrownBy(() -> Rfc3339.parseEpochSecond(null))
+                .isInstanceOf(TimestampParseException.class)
+                .hasMessage("Missing timestamp");
+    }
+}